@@ -0,0 +1,64 @@
+package ppi.sensors.benchmark.cli.jmh;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import ppi.sensors.benchmark.cli.PointMeshGenerator;
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.getNamesForType;
+
+/**
+ * Punkt wejścia do benchmarków JMH (profil Maven'a "jmh").
+ * <p>
+ * Uruchamia benchmarki z pakietu {@link ppi.sensors.benchmark.cli.jmh} w trybie przepustowości,
+ * z profilerem GC (alokacja na operację), a nazwy generatorów siatki i sekwencji zastępuje
+ * wszystkimi generatorami znalezionymi przez {@link ppi.sensors.benchmark.cli.util.NamedServiceLoader}.
+ * Argumenty przekazywane są do JMH - mają pierwszeństwo przed ustawieniami domyślnymi
+ * (np. "-p meshType=square", "-wi 5", "-f 3", "-prof stack" zamiast profilera GC lub nazwa benchmarku
+ * jako wyrażenie regularne). Ustawienie domyślne stosowane jest tylko wtedy, gdy argumenty go nie podają.
+ */
+public class Benchmarks {
+
+    /**
+     * Entry point.
+     *
+     * @param args argumenty dla JMH (jak dla org.openjdk.jmh.Main).
+     * @throws RunnerException            w przypadku błędu wykonania benchmarków.
+     * @throws CommandLineOptionException w przypadku niepoprawnych argumentów.
+     */
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        final var commandLine = new CommandLineOptions(args);
+        final var builder = new OptionsBuilder();
+        // wartości ustawione w builderze mają pierwszeństwo przed rodzicem (linią poleceń) - domyślne
+        // ustawiane są więc tylko wtedy, gdy nie podano ich w argumentach
+        if (commandLine.getIncludes().isEmpty()) builder.include(Benchmarks.class.getPackageName() + ".*");
+        if (commandLine.getBenchModes().isEmpty()) builder.mode(Mode.Throughput);
+        if (!commandLine.getTimeUnit().hasValue()) builder.timeUnit(TimeUnit.SECONDS);
+        if (!commandLine.getWarmupIterations().hasValue()) builder.warmupIterations(3);
+        if (!commandLine.getWarmupTime().hasValue()) builder.warmupTime(TimeValue.seconds(1));
+        if (!commandLine.getMeasurementIterations().hasValue()) builder.measurementIterations(5);
+        if (!commandLine.getMeasurementTime().hasValue()) builder.measurementTime(TimeValue.seconds(1));
+        if (!commandLine.getForkCount().hasValue()) builder.forks(1);
+        if (commandLine.getProfilers().isEmpty()) builder.addProfiler(GCProfiler.class);
+        if (!commandLine.getParameter("meshType").hasValue())
+            builder.param("meshType", getNamesForType(PointMeshGenerator.class).toArray(String[]::new));
+        if (!commandLine.getParameter("generatorType").hasValue())
+            builder.param("generatorType", getNamesForType(PointSequenceGenerator.class).toArray(String[]::new));
+        final var options = builder.parent(commandLine).build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Prywatny konstruktor - klasa zawiera wyłącznie metodę main.
+     */
+    private Benchmarks() {
+    }
+}
@@ -0,0 +1,94 @@
+package ppi.sensors.benchmark.cli.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ppi.sensors.benchmark.cli.model.CoverageKernel;
+import ppi.sensors.benchmark.cli.model.CoverageKernels;
+import ppi.sensors.benchmark.cli.model.ScalarCoverageKernel;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark jądra obliczeń pokrycia - porównuje {@link ScalarCoverageKernel} z implementacją wektorową
+ * (patrz {@link CoverageKernels}). Implementacja wektorowa wymaga JDK 17+ i dodania modułu
+ * (argument JMH: <code>-jvmArgsAppend --add-modules=jdk.incubator.vector</code>) - bez niego
+ * wariant "vector" mierzy implementację skalarną.
+ */
+@State(Scope.Thread)
+public class CoverageKernelBenchmark {
+
+    /**
+     * Implementacja jądra: "scalar" lub "vector".
+     */
+    @Param({"scalar", "vector"})
+    public String kernelType;
+
+    /**
+     * Liczba punktów we fragmencie.
+     */
+    @Param({"64", "4096"})
+    public int blockSize;
+
+    /**
+     * Testowana implementacja jądra.
+     */
+    private CoverageKernel kernel;
+
+    /**
+     * Współrzędne x punktów.
+     */
+    private double[] xs;
+
+    /**
+     * Współrzędne y punktów.
+     */
+    private double[] ys;
+
+    /**
+     * Numery punktów.
+     */
+    private int[] ids;
+
+    /**
+     * Liczniki punktów.
+     */
+    private int[] counts;
+
+    /**
+     * Przygotowuje punkty jednostajnie rozłożone w kwadracie o boku 100.
+     */
+    @Setup
+    public void setup() {
+        final var vector = CoverageKernels.vector();
+        kernel = "vector".equals(kernelType) && vector != null ? vector : ScalarCoverageKernel.INSTANCE;
+        final var random = new Random(31L);
+        xs = random.doubles(blockSize, 0, 100).toArray();
+        ys = random.doubles(blockSize, 0, 100).toArray();
+        ids = IntStream.range(0, blockSize).toArray();
+        counts = new int[blockSize];
+    }
+
+    /**
+     * Fragment POI sprawdzany względem jednego sensora.
+     *
+     * @return liczba POI w zasięgu.
+     */
+    @Benchmark
+    public int count() {
+        return kernel.count(50, 50, xs, ys, 0, blockSize, 10 * 10);
+    }
+
+    /**
+     * Fragment sensorów sprawdzany względem jednego POI, z aktualizacją liczników.
+     *
+     * @return liczba sensorów w zasięgu.
+     */
+    @Benchmark
+    public int cover() {
+        return kernel.cover(50, 50, xs, ys, ids, 0, blockSize, 10 * 10, counts);
+    }
+}
@@ -0,0 +1,85 @@
+package ppi.sensors.benchmark.cli.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.sampling.BernoulliIndexSource;
+import ppi.sensors.benchmark.cli.sampling.ExactCountIndexSource;
+
+import java.util.Random;
+
+import static java.util.stream.IntStream.range;
+
+/**
+ * Benchmark wykluczania węzłów siatki.
+ * <p>
+ * Porównuje filtr losujący liczbę dla każdego węzła (dawna implementacja w
+ * {@link ppi.sensors.benchmark.cli.Generator}) z {@link BernoulliIndexSource}
+ * oraz z wyborem dokładnej liczby węzłów przez {@link ExactCountIndexSource}.
+ */
+@State(Scope.Thread)
+public class ExclusionBenchmark {
+
+    /**
+     * Liczba węzłów siatki.
+     */
+    @Param({"10000", "1000000"})
+    public int meshSize;
+
+    /**
+     * Prawdopodobieństwo, że węzeł nie zostanie wykluczony.
+     */
+    @Param({"0.05", "0.5", "0.95"})
+    public double density;
+
+    /**
+     * Ziarno dla kolejnego wywołania.
+     */
+    private long seed;
+
+    /**
+     * Filtr strumienia losujący liczbę dla każdego węzła siatki.
+     *
+     * @param blackhole konsument wyników, zapobiegający eliminacji martwego kodu.
+     */
+    @Benchmark
+    public void perNodeFilter(Blackhole blackhole) {
+        final var random = new Random(seed++);
+        final IndexSource indices = () -> range(0, meshSize).filter(p -> random.nextDouble() < density).iterator();
+        consume(indices, blackhole);
+    }
+
+    /**
+     * Losowanie przerw o rozkładzie geometrycznym.
+     *
+     * @param blackhole konsument wyników, zapobiegający eliminacji martwego kodu.
+     */
+    @Benchmark
+    public void geometricSkip(Blackhole blackhole) {
+        consume(new BernoulliIndexSource(meshSize, density, seed++), blackhole);
+    }
+
+    /**
+     * Wybór dokładnej liczby węzłów (oczekiwanej dla danej gęstości).
+     *
+     * @param blackhole konsument wyników, zapobiegający eliminacji martwego kodu.
+     */
+    @Benchmark
+    public void exactCount(Blackhole blackhole) {
+        consume(new ExactCountIndexSource(meshSize, (int) (meshSize * density), seed++), blackhole);
+    }
+
+    /**
+     * Przechodzi wszystkie indeksy ze źródła.
+     *
+     * @param indices   źródło indeksów.
+     * @param blackhole konsument wyników.
+     */
+    private static void consume(IndexSource indices, Blackhole blackhole) {
+        final var iterator = indices.iterator();
+        while (iterator.hasNext()) blackhole.consume(iterator.nextInt());
+    }
+}
@@ -0,0 +1,81 @@
+package ppi.sensors.benchmark.cli.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import ppi.sensors.benchmark.cli.PointMeshGenerator;
+import ppi.sensors.benchmark.cli.model.Point;
+
+import java.util.List;
+
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.loadNamedService;
+
+/**
+ * Benchmark generatorów siatki {@link PointMeshGenerator}.
+ * <p>
+ * Mierzy zarówno zbudowanie siatki jako listy punktów ({@link PointMeshGenerator#createMesh(double, int)}),
+ * jak i przejście wszystkich punktów leniwej siatki ({@link PointMeshGenerator#createMeshPoints(double, int)}).
+ * Lista nazw generatorów podmieniana jest przez {@link Benchmarks} na wszystkie generatory
+ * znalezione przez {@link ppi.sensors.benchmark.cli.util.NamedServiceLoader}.
+ */
+@State(Scope.Benchmark)
+public class MeshGeneratorBenchmark {
+
+    /**
+     * Nazwa generatora siatki.
+     */
+    @Param({"square", "triangle", "honeycomb"})
+    public String meshType;
+
+    /**
+     * Odległość pomiędzy węzłami siatki.
+     */
+    @Param({"1.0", "0.1"})
+    public double distance;
+
+    /**
+     * Długość boku obszaru.
+     */
+    @Param({"100"})
+    public int sideLength;
+
+    /**
+     * Testowany generator siatki.
+     */
+    private PointMeshGenerator generator;
+
+    /**
+     * Ładuje generator siatki o nazwie {@link #meshType}.
+     */
+    @Setup
+    public void setUp() {
+        generator = loadNamedService(PointMeshGenerator.class, meshType);
+    }
+
+    /**
+     * Buduje siatkę jako listę punktów.
+     *
+     * @return lista punktów siatki.
+     */
+    @Benchmark
+    public List<Point> createMesh() {
+        return generator.createMesh(distance, sideLength);
+    }
+
+    /**
+     * Tworzy leniwą siatkę i odczytuje współrzędne wszystkich jej punktów.
+     *
+     * @param blackhole konsument wyników, zapobiegający eliminacji martwego kodu.
+     */
+    @Benchmark
+    public void iterateMeshPoints(Blackhole blackhole) {
+        final var mesh = generator.createMeshPoints(distance, sideLength);
+        for (var i = 0; i < mesh.size(); i++) {
+            blackhole.consume(mesh.x(i));
+            blackhole.consume(mesh.y(i));
+        }
+    }
+}
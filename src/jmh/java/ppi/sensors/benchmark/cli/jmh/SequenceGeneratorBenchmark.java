@@ -0,0 +1,68 @@
+package ppi.sensors.benchmark.cli.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.loadNamedService;
+
+/**
+ * Benchmark generatorów sekwencji punktów {@link PointSequenceGenerator}.
+ * <p>
+ * Każde wywołanie używa innego ziarna - tak jak kolejne instancje w {@link ppi.sensors.benchmark.cli.Generator}.
+ * Lista nazw generatorów podmieniana jest przez {@link Benchmarks} na wszystkie generatory
+ * znalezione przez {@link ppi.sensors.benchmark.cli.util.NamedServiceLoader}.
+ */
+@State(Scope.Thread)
+public class SequenceGeneratorBenchmark {
+
+    /**
+     * Nazwa generatora sekwencji.
+     */
+    @Param({"random", "gaussian", "halton", "sobol", "poissondisk", "thomas", "matern"})
+    public String generatorType;
+
+    /**
+     * Liczba punktów w sekwencji.
+     */
+    @Param({"1000", "10000"})
+    public int count;
+
+    /**
+     * Długość boku obszaru.
+     */
+    @Param({"100"})
+    public int sideLength;
+
+    /**
+     * Testowany generator sekwencji.
+     */
+    private PointSequenceGenerator generator;
+
+    /**
+     * Ziarno dla kolejnego wywołania.
+     */
+    private long seed;
+
+    /**
+     * Ładuje generator sekwencji o nazwie {@link #generatorType}.
+     */
+    @Setup
+    public void setUp() {
+        generator = loadNamedService(PointSequenceGenerator.class, generatorType);
+    }
+
+    /**
+     * Generuje sekwencję punktów.
+     *
+     * @return sekwencja punktów.
+     */
+    @Benchmark
+    public PointSet createSequence() {
+        return generator.createSequencePoints(count, sideLength, seed++);
+    }
+}
@@ -0,0 +1,135 @@
+package ppi.sensors.benchmark.cli.jmh;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import ppi.sensors.benchmark.cli.impl.SquareMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.io.InstanceWriter;
+import ppi.sensors.benchmark.cli.io.OutputFormat;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import static java.util.stream.IntStream.range;
+
+/**
+ * Benchmark zapisu pliku z rozmieszczeniem POI.
+ * <p>
+ * Mierzy {@link JsonMapper#writeValue(OutputStream, Object)} dla obiektu {@link PoiData}
+ * z wypełnioną listą punktów (bez kosztu I/O) oraz zapis do pliku przez {@link InstanceWriter}
+ * dla każdego z formatów {@link OutputFormat}.
+ */
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    /**
+     * Liczba POI w pliku.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * Mapper używany do serializacji.
+     */
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    /**
+     * Dane z wypełnioną listą punktów.
+     */
+    private PoiData data;
+
+    /**
+     * Siatka, z której pochodzą punkty.
+     */
+    private PointSet mesh;
+
+    /**
+     * Przygotowuje dane - siatkę kwadratową o (co najmniej) {@link #size} punktach.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var side = (int) Math.ceil(Math.sqrt(size)) - 1;
+        mesh = new SquareMeshGeneratorImpl().createMeshPoints(1.0, side);
+        data = new PoiData();
+        data.name = "square";
+        data.seed = 1L;
+        data.density = 1.0;
+        data.xRange = data.yRange = side;
+        data.range = 1.0;
+        data.pois = mesh.asList();
+    }
+
+    /**
+     * Serializuje obiekt {@link PoiData} do strumienia, który odrzuca dane.
+     *
+     * @throws IOException w przypadku błędu serializacji.
+     */
+    @Benchmark
+    public void writeValue() throws IOException {
+        jsonMapper.writeValue(OutputStream.nullOutputStream(), data);
+    }
+
+    /**
+     * Zapisuje plik przez {@link InstanceWriter} wybranego formatu.
+     *
+     * @param target writer i plik docelowy.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Benchmark
+    public void writeFile(FileTarget target) throws IOException {
+        target.writer.writePoiData(target.file, data, mesh, () -> range(0, mesh.size()).iterator());
+    }
+
+    /**
+     * Stan dla {@link #writeFile(FileTarget)} - writer wybranego formatu i plik tymczasowy.
+     */
+    @State(Scope.Thread)
+    public static class FileTarget {
+
+        /**
+         * Format pliku.
+         */
+        @Param({"json", "bin", "lattice"})
+        public String format;
+
+        /**
+         * Writer wybranego formatu.
+         */
+        private InstanceWriter writer;
+
+        /**
+         * Plik tymczasowy.
+         */
+        private File file;
+
+        /**
+         * Tworzy writer i plik tymczasowy.
+         *
+         * @throws IOException w przypadku problemów z utworzeniem pliku tymczasowego.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            writer = OutputFormat.forName(format).orElseThrow().createWriter(JsonMapper.builder().build());
+            file = Files.createTempFile("poi", "." + writer.getExtension()).toFile();
+        }
+
+        /**
+         * Usuwa plik tymczasowy.
+         *
+         * @throws IOException w przypadku problemów z usunięciem pliku.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+}
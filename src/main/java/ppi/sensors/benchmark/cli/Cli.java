@@ -4,13 +4,23 @@ import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.ParameterException;
+import ppi.sensors.benchmark.cli.io.ContainerFormat;
+import ppi.sensors.benchmark.cli.io.OutputBackendType;
+import ppi.sensors.benchmark.cli.io.OutputFormat;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.util.NamedServiceCache;
+import ppi.sensors.benchmark.cli.util.Pipeline;
 import ppi.sensors.benchmark.cli.util.ValidationException;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
 
 import static java.lang.System.err;
 import static java.lang.System.exit;
@@ -18,7 +28,6 @@ import static java.lang.System.out;
 import static java.text.MessageFormat.format;
 import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.getNamesForType;
 import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.hasNamedService;
-import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.loadNamedService;
 
 /**
  * Główna klasa programu (z metodą main, ustawiona jak main-class w pliku MANIFEST.MF).
@@ -102,6 +111,73 @@ public class Cli {
      */
     public static final int MIN_POI_EXCLUSION_CHANCE = 0;
 
+    /**
+     * Wartość maksymalna dla {@link #threads}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int MAX_THREAD_COUNT = 256;
+
+    /**
+     * Wartość minmalna dla {@link #threads}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int MIN_THREAD_COUNT = 1;
+
+    /**
+     * Wartość maksymalna dla {@link #queueCapacity}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int MAX_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Wartość minmalna dla {@link #queueCapacity}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int MIN_QUEUE_CAPACITY = 1;
+
+    /**
+     * Wartość maksymalna dla {@link #inFlight}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int MAX_IN_FLIGHT = 1024;
+
+    /**
+     * Wartość minmalna dla {@link #inFlight}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int MIN_IN_FLIGHT = 1;
+
+    /**
+     * Wartość maksymalna dla {@link #instanceCount} w trybie dużej skali ({@link #largeScale}).
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int LARGE_MAX_INSTANCE_COUNT = 100000;
+
+    /**
+     * Wartość maksymalna dla {@link #sideLength} w trybie dużej skali ({@link #largeScale}).
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int LARGE_MAX_SIDE_LENGTH = 1000000;
+
+    /**
+     * Wartość minimalna dla {@link #poiDistance} w relacji do wartości {@link #sideLength}
+     * w trybie dużej skali ({@link #largeScale}). Liczba węzłów siatki ograniczona jest dodatkowo
+     * przez {@link Integer#MAX_VALUE}.
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final double LARGE_MIN_POI_DISTANCE_TO_SIDE_LENGTH = 0.00001;
+
+    /**
+     * Wartość maksymalna dla {@link #sensorCount} w trybie dużej skali ({@link #largeScale}).
+     * Używane podczas walidacji w {@link #validate()}.
+     */
+    public static final int LARGE_MAX_SENSOR_COUNT = 100000000;
+
+    /**
+     * Liczba bajtów w megabajcie (MiB) - jednostce {@link #memoryBudget}.
+     */
+    public static final long MIB = 1L << 20;
+
     /**
      * Zestaw message'y dla komunikatów błędu.
      */
@@ -132,6 +208,14 @@ public class Cli {
     @Option(names = {"-e", "--poiExclusion"}, required = true, paramLabel = "<int>")
     /* visible for tests */ int poiExclusionChance;
 
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-c", "--poiCount".
+     * Znaczenie:
+     * Dokładna liczba POI w każdej instancji (zamiast losowego wykluczania z "-e", "--poiExclusion").
+     */
+    @Option(names = {"-c", "--poiCount"}, paramLabel = "<int>")
+    /* visible for tests */ Integer poiCount;
+
     /**
      * Pole do którego wczytywana jest wartość parametru "-m", "--poiMeshType".
      * Znaczenie:
@@ -156,6 +240,23 @@ public class Cli {
     @Option(names = {"-g", "--generatorType"}, required = true, paramLabel = "<string>")
     /* visible for tests */ String sensorSequenceType;
 
+    /**
+     * Pole do którego wczytywane są wartości parametru "-p", "--generatorParam".
+     * Znaczenie:
+     * Parametry generatora dystrybucji sensorów w postaci klucz=wartość
+     * (patrz {@link PointSequenceGenerator#withParameters(Map)}) - domyślnie brak.
+     */
+    @Option(names = {"-p", "--generatorParam"}, paramLabel = "<key=value>")
+    /* visible for tests */ Map<String, String> generatorParams = new LinkedHashMap<>();
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--commRadius".
+     * Znaczenie:
+     * Promień komunikacji sensorów - jeśli podany, obok plików sensorów zapisywane są statystyki spójności sieci.
+     */
+    @Option(names = {"--commRadius"}, paramLabel = "<float>")
+    /* visible for tests */ Double commRadius;
+
     /**
      * Pole do którego wczytywana jest wartość parametru "-l", "--sideLength".
      * Znaczenie:
@@ -172,22 +273,182 @@ public class Cli {
     @Option(names = {"-o", "--outDir"}, paramLabel = "<file>")
     /* visible for tests */ String outDir = ".";
 
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-t", "--threads".
+     * Znaczenie:
+     * Liczba wątków używanych do generowania instancji - domyślnie 1.
+     */
+    @Option(names = {"-t", "--threads"}, paramLabel = "<int>")
+    /* visible for tests */ int threads = 1;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--pipeline".
+     * Znaczenie:
+     * Tryb potokowy - generowanie ({@link #threads} wątków), serializacja ({@link #serializerThreads})
+     * i zapis ({@link #writerThreads}) wykonywane równolegle, połączone kolejkami o pojemności {@link #queueCapacity}
+     * (patrz {@link Pipeline}).
+     */
+    @Option(names = {"--pipeline"})
+    /* visible for tests */ boolean pipeline;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--serializerThreads".
+     * Znaczenie:
+     * Liczba wątków serializujących w trybie potokowym - domyślnie 1.
+     */
+    @Option(names = {"--serializerThreads"}, paramLabel = "<int>")
+    /* visible for tests */ int serializerThreads = 1;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--writerThreads".
+     * Znaczenie:
+     * Liczba wątków zapisujących w trybie potokowym - domyślnie 2.
+     */
+    @Option(names = {"--writerThreads"}, paramLabel = "<int>")
+    /* visible for tests */ int writerThreads = 2;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--queueCapacity".
+     * Znaczenie:
+     * Pojemność kolejek pomiędzy etapami w trybie potokowym (liczba instancji) - domyślnie 4.
+     */
+    @Option(names = {"--queueCapacity"}, paramLabel = "<int>")
+    /* visible for tests */ int queueCapacity = 4;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-r", "--seed".
+     * Znaczenie:
+     * Ziarno główne generatora - domyślnie current timestamp.
+     * To samo ziarno daje identyczne pliki niezależnie od liczby wątków.
+     */
+    @Option(names = {"-r", "--seed"}, paramLabel = "<long>")
+    /* visible for tests */ Long seed;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-f", "--format".
+     * Znaczenie:
+     * Format plików wyjściowych (patrz {@link OutputFormat}) - domyślnie json.
+     */
+    @Option(names = {"-f", "--format"}, paramLabel = "<string>")
+    /* visible for tests */ String format = "json";
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--outputBackend".
+     * Znaczenie:
+     * Zapis plików zserializowanych w pamięci (patrz {@link OutputBackendType}) - domyślnie brak
+     * (pliki zapisywane bezpośrednio przez writer formatu, a w trybie potokowym - przez channel).
+     */
+    @Option(names = {"--outputBackend"}, paramLabel = "<string>")
+    /* visible for tests */ String outputBackend;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--inFlight".
+     * Znaczenie:
+     * Liczba buforów bezpośrednich {@link #outputBackend}'u (po 1 MiB) - maksymalna liczba jednocześnie
+     * trwających zapisów - domyślnie {@value OutputBackendType#DEFAULT_IN_FLIGHT}.
+     */
+    @Option(names = {"--inFlight"}, paramLabel = "<int>")
+    /* visible for tests */ int inFlight = OutputBackendType.DEFAULT_IN_FLIGHT;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--preallocate".
+     * Znaczenie:
+     * Czy {@link #outputBackend} ma ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    @Option(names = {"--preallocate"})
+    /* visible for tests */ boolean preallocate;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--container".
+     * Znaczenie:
+     * Czy wszystkie pliki instancji mają być dopisane do jednego pliku kontenera (patrz {@link ContainerFormat})
+     * w katalogu {@link #outDir} zamiast do osobnych plików w katalogach {@value #DIR_NAME_POI}
+     * i {@value #DIR_NAME_SENSOR}.
+     */
+    @Option(names = {"--container"})
+    /* visible for tests */ boolean container;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--rng".
+     * Znaczenie:
+     * Typ generatora liczb losowych (patrz {@link RngType}) - domyślnie jdk.
+     */
+    @Option(names = {"--rng"}, paramLabel = "<string>")
+    /* visible for tests */ String rng = "jdk";
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--meshCache".
+     * Znaczenie:
+     * Katalog dyskowej pamięci podręcznej siatek POI (patrz {@link MeshCache}) - domyślnie wyłączona.
+     */
+    @Option(names = {"--meshCache"}, paramLabel = "<file>")
+    /* visible for tests */ String meshCacheDir;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--largeScale".
+     * Znaczenie:
+     * Tryb dużej skali - podniesione limity liczby instancji, boku obszaru, gęstości siatki i liczby sensorów.
+     * Generowanie rozpoczyna się tylko, jeśli szacowane zużycie pamięci mieści się w {@link #memoryBudget}, a przy
+     * serializacji w pamięci ({@link #pipeline}, {@link #outputBackend}, {@link #container}) - jeśli każdy plik
+     * zmieści się w jednym buforze.
+     */
+    @Option(names = {"--largeScale"})
+    /* visible for tests */ boolean largeScale;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--memoryBudget".
+     * Znaczenie:
+     * Budżet pamięci (sterty) w MiB dla trybu dużej skali - domyślnie maksymalny rozmiar sterty JVM.
+     */
+    @Option(names = {"--memoryBudget"}, paramLabel = "<int>")
+    /* visible for tests */ Long memoryBudget;
+
     /**
      * Help command - opcja wyświetlenia pomocy.
      */
     @Option(names = {"-h", "--help"}, usageHelp = true)
     /* visible for tests */ boolean help;
 
+    /**
+     * Źródło generatorów siatki i sekwencji - domyślnie własne dla każdego obiektu {@link Cli},
+     * współdzielone między konfiguracjami w trybie {@link SweepCommand}.
+     */
+    /* visible for tests */ NamedServiceCache services = new NamedServiceCache();
+
+    /**
+     * Współdzielona pula wątków dla {@link Generator}'a (patrz {@link Generator#setExecutor})
+     * lub <code>null</code>, gdy generator ma tworzyć własną pulę.
+     */
+    /* visible for tests */ ExecutorService executor;
+
+    /**
+     * Pamięć podręczna siatek POI dla {@link Generator}'a - współdzielona między konfiguracjami
+     * w trybie {@link SweepCommand}, a przy pojedynczym uruchomieniu tworzona tylko dla {@link #meshCacheDir}.
+     */
+    /* visible for tests */ MeshCache meshCache;
+
     /**
      * Entry point do programu.
      * Parsuje argumenty przy użyciu biblioteki Picocli, a następnie tworzy instancje {@link Cli}
      * i wywoluje na niej metodę {@link #run()}.
+     * Jeśli pierwszym argumentem jest nazwa podkomendy ({@link EvaluateCommand#NAME}, {@link SweepCommand#NAME}),
+     * pozostałe argumenty przekazywane są do metody main podkomendy. (Podkomendy nie są rejestrowane w Picocli,
+     * bo ten wymagałby podania obowiązkowych opcji generatora także przy podkomendzie).
      *
      * @param args argumenty z linii poleceń.
      * @throws IOException w przypadku problemów z zapisem plików lub utworzeniem katalogu.
      */
     public static void main(String... args) throws IOException {
 
+        if (args.length > 0 && EvaluateCommand.NAME.equals(args[0])) {
+            EvaluateCommand.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && SweepCommand.NAME.equals(args[0])) {
+            SweepCommand.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         final var cli = new Cli();
         final var commandLine = new CommandLine(cli);
 
@@ -245,22 +506,50 @@ public class Cli {
      * @throws IOException w przypadku problemów z zapisem plików lub utworzeniem katalogu.
      */
     /* visible for tests */ void generate() throws IOException {
+        createGenerator().generate();
+    }
+
+    /**
+     * Tworzy obiekt {@link Generator}'a i konfiguruje go zgodnie z wartościami pól odczytanych
+     * z argumentów commandline.
+     *
+     * @return skonfigurowany generator.
+     */
+    private Generator createGenerator() {
         final var generator = new Generator();
 
         generator.setInstanceCount(instanceCount);
         generator.setSideLength(sideLength);
         generator.setPoiDensity(1.0 - poiExclusionChance / 100.0);
         generator.setPoiDistance(poiDistance);
+        generator.setPoiCount(poiCount);
         generator.setSensorCount(sensorCount);
-        generator.setPointMeshGenerator(loadNamedService(PointMeshGenerator.class, poiMeshType));
-        generator.setPointSequenceGenerator(loadNamedService(PointSequenceGenerator.class, sensorSequenceType));
+        generator.setCommRadius(commRadius);
+        generator.setThreads(threads);
+        if (seed == null) seed = System.nanoTime();
+        generator.setSeed(seed);
+        generator.setOutputFormat(OutputFormat.forName(format).orElseThrow());
+        generator.setRngType(RngType.forName(rng).orElseThrow());
+        generator.setExecutor(executor);
+        if (outputBackend != null)
+            generator.setOutputBackend(OutputBackendType.forName(outputBackend).orElseThrow().create(inFlight, preallocate));
+        if (pipeline) generator.setPipeline(new Pipeline(threads, serializerThreads, writerThreads, queueCapacity));
+        if (meshCache == null && meshCacheDir != null)
+            meshCache = new MeshCache(MeshCache.DEFAULT_MAX_BYTES, Paths.get(meshCacheDir));
+        generator.setMeshCache(meshCache);
+        generator.setPointMeshGenerator(services.get(PointMeshGenerator.class, poiMeshType));
+        generator.setPointSequenceGenerator(services.get(PointSequenceGenerator.class, sensorSequenceType)
+                .withParameters(generatorParams));
 
         final var normalizedOut = Paths.get(outDir).toAbsolutePath().normalize().toString();
         final var subDirName = (poiMeshType + "_" + sensorSequenceType + "_" + sideLength).toLowerCase();
-        generator.setPoiOutPath(Paths.get(normalizedOut, DIR_NAME_POI, subDirName));
-        generator.setSensorOutPath(Paths.get(normalizedOut, DIR_NAME_SENSOR, subDirName));
-
-        generator.generate();
+        if (container) {
+            generator.setContainerPath(Paths.get(normalizedOut, subDirName + "." + ContainerFormat.EXTENSION));
+        } else {
+            generator.setPoiOutPath(Paths.get(normalizedOut, DIR_NAME_POI, subDirName));
+            generator.setSensorOutPath(Paths.get(normalizedOut, DIR_NAME_SENSOR, subDirName));
+        }
+        return generator;
     }
 
     /**
@@ -271,18 +560,21 @@ public class Cli {
     /* visible for tests */ void validate() throws ValidationException {
         final var errors = new ArrayList<String>();
 
-        if (instanceCount < MIN_INSTANCE_COUNT || instanceCount > MAX_INSTANCE_COUNT)
+        final var maxInstanceCount = largeScale ? LARGE_MAX_INSTANCE_COUNT : MAX_INSTANCE_COUNT;
+        if (instanceCount < MIN_INSTANCE_COUNT || instanceCount > maxInstanceCount)
             errors.add(msg("error.instanceCount", instanceCount,
-                    MIN_INSTANCE_COUNT, MAX_INSTANCE_COUNT));
+                    MIN_INSTANCE_COUNT, maxInstanceCount));
 
-        if (sideLength < MIN_SIDE_LENGTH || sideLength > MAX_SIDE_LENGTH)
-            errors.add(msg("error.sideLength", sideLength, MIN_SIDE_LENGTH, MAX_SIDE_LENGTH));
+        final var maxSideLength = largeScale ? LARGE_MAX_SIDE_LENGTH : MAX_SIDE_LENGTH;
+        if (sideLength < MIN_SIDE_LENGTH || sideLength > maxSideLength)
+            errors.add(msg("error.sideLength", sideLength, MIN_SIDE_LENGTH, maxSideLength));
 
-        final var minPoiDistance = MIN_POI_DISTANCE_TO_SIDE_LENGTH * sideLength;
+        final var minDistanceRatio = largeScale ? LARGE_MIN_POI_DISTANCE_TO_SIDE_LENGTH : MIN_POI_DISTANCE_TO_SIDE_LENGTH;
+        final var minPoiDistance = minDistanceRatio * sideLength;
         final var maxPoiDistance = MAX_POI_DISTANCE_TO_SIDE_LENGTH * sideLength;
         if (poiDistance < minPoiDistance || poiDistance > maxPoiDistance)
             errors.add(msg("error.poiDistance", poiDistance, minPoiDistance, maxPoiDistance,
-                    sideLength, MIN_POI_DISTANCE_TO_SIDE_LENGTH, MAX_POI_DISTANCE_TO_SIDE_LENGTH));
+                    sideLength, minDistanceRatio, MAX_POI_DISTANCE_TO_SIDE_LENGTH));
 
         if (poiExclusionChance < MIN_POI_EXCLUSION_CHANCE || poiExclusionChance > MAX_POI_EXCLUSION_CHANCE)
             errors.add(msg("error.poiExclusionChance", poiExclusionChance,
@@ -291,16 +583,98 @@ public class Cli {
         if (poiMeshType == null || !hasNamedService(PointMeshGenerator.class, poiMeshType))
             errors.add(msg("error.poiMeshType", poiMeshType, getNamesForType(PointMeshGenerator.class)));
 
-        if (sensorCount < MIN_SENSOR_COUNT || sensorCount > MAX_SENSOR_COUNT)
-            errors.add(msg("error.sensorCount", sensorCount, MIN_SENSOR_COUNT, MAX_SENSOR_COUNT));
+        if (poiCount != null && errors.isEmpty()) {
+            try {
+                final var meshSize = services.get(PointMeshGenerator.class, poiMeshType)
+                        .createMeshPoints(poiDistance, sideLength).size();
+                if (poiCount < 0 || poiCount > meshSize)
+                    errors.add(msg("error.poiCount", poiCount, meshSize, poiMeshType));
+            } catch (IllegalArgumentException e) {
+                errors.add(msg("error.meshSize", poiMeshType, e.getMessage()));
+            }
+        }
+
+        final var maxSensorCount = largeScale ? LARGE_MAX_SENSOR_COUNT : MAX_SENSOR_COUNT;
+        if (sensorCount < MIN_SENSOR_COUNT || sensorCount > maxSensorCount)
+            errors.add(msg("error.sensorCount", sensorCount, MIN_SENSOR_COUNT, maxSensorCount));
 
-        if (sensorSequenceType == null || !hasNamedService(PointSequenceGenerator.class, sensorSequenceType))
+        if (sensorSequenceType == null || !hasNamedService(PointSequenceGenerator.class, sensorSequenceType)) {
             errors.add(msg("error.sensorSequenceType", sensorSequenceType, getNamesForType(PointSequenceGenerator.class)));
+        } else {
+            try {
+                final var sequenceGenerator = services.get(PointSequenceGenerator.class, sensorSequenceType)
+                        .withParameters(generatorParams);
+                if (sensorCount >= MIN_SENSOR_COUNT && sideLength >= MIN_SIDE_LENGTH)
+                    sequenceGenerator.checkSequence(sensorCount, sideLength);
+            } catch (IllegalArgumentException e) {
+                errors.add(msg("error.generatorParam", sensorSequenceType, e.getMessage()));
+            }
+        }
+
+        if (commRadius != null && !(commRadius > 0))
+            errors.add(msg("error.commRadius", commRadius));
+
+        if (threads < MIN_THREAD_COUNT || threads > MAX_THREAD_COUNT)
+            errors.add(msg("error.threads", threads, MIN_THREAD_COUNT, MAX_THREAD_COUNT));
+
+        if (serializerThreads < MIN_THREAD_COUNT || serializerThreads > MAX_THREAD_COUNT)
+            errors.add(msg("error.pipelineThreads", "serializerThreads", serializerThreads, MIN_THREAD_COUNT, MAX_THREAD_COUNT));
+
+        if (writerThreads < MIN_THREAD_COUNT || writerThreads > MAX_THREAD_COUNT)
+            errors.add(msg("error.pipelineThreads", "writerThreads", writerThreads, MIN_THREAD_COUNT, MAX_THREAD_COUNT));
+
+        if (queueCapacity < MIN_QUEUE_CAPACITY || queueCapacity > MAX_QUEUE_CAPACITY)
+            errors.add(msg("error.queueCapacity", queueCapacity, MIN_QUEUE_CAPACITY, MAX_QUEUE_CAPACITY));
+
+        if (format == null || OutputFormat.forName(format).isEmpty())
+            errors.add(msg("error.format", format, OutputFormat.getNames()));
+
+        if (outputBackend != null && OutputBackendType.forName(outputBackend).isEmpty())
+            errors.add(msg("error.outputBackend", outputBackend, OutputBackendType.getNames()));
+
+        if (inFlight < MIN_IN_FLIGHT || inFlight > MAX_IN_FLIGHT)
+            errors.add(msg("error.inFlight", inFlight, MIN_IN_FLIGHT, MAX_IN_FLIGHT));
+
+        if (rng == null || RngType.forName(rng).isEmpty())
+            errors.add(msg("error.rng", rng, RngType.getNames()));
 
         final var outPath = Paths.get(outDir);
         if (!Files.exists(outPath) || !Files.isDirectory(outPath))
             errors.add(msg("error.outDir", outDir));
 
+        if (meshCacheDir != null && Files.exists(Paths.get(meshCacheDir)) && !Files.isDirectory(Paths.get(meshCacheDir)))
+            errors.add(msg("error.meshCache", meshCacheDir));
+
+        if (memoryBudget != null && memoryBudget <= 0)
+            errors.add(msg("error.memoryBudget", memoryBudget));
+
+        if (errors.isEmpty()) {
+            try {
+                createGenerator().checkSequences();
+            } catch (IllegalArgumentException e) {
+                errors.add(msg("error.generatorParam", sensorSequenceType, e.getMessage()));
+            }
+        }
+
+        if (largeScale && errors.isEmpty()) {
+            final var budget = memoryBudget != null ? memoryBudget : Runtime.getRuntime().maxMemory() / MIB;
+            final var generator = createGenerator();
+            try {
+                final var estimate = generator.estimateHeapBytes();
+                if (estimate > budget * MIB)
+                    errors.add(msg("error.memoryEstimate", (estimate + MIB - 1) / MIB, budget));
+            } catch (IllegalArgumentException e) {
+                errors.add(msg("error.meshSize", poiMeshType, e.getMessage()));
+            }
+            if (errors.isEmpty()) {
+                try {
+                    generator.checkSerializedSizes();
+                } catch (IllegalArgumentException e) {
+                    errors.add(msg("error.serializedSize", e.getMessage()));
+                }
+            }
+        }
+
         if (errors.size() > 0) throw new ValidationException(String.join("\n", errors));
     }
 }
@@ -0,0 +1,212 @@
+package ppi.sensors.benchmark.cli;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import ppi.sensors.benchmark.cli.coverage.CoverageEvaluator;
+import ppi.sensors.benchmark.cli.coverage.CoverageReport;
+import ppi.sensors.benchmark.cli.io.ContainerReader;
+import ppi.sensors.benchmark.cli.io.Instance;
+import ppi.sensors.benchmark.cli.io.InstanceReader;
+import ppi.sensors.benchmark.cli.util.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static java.lang.System.err;
+import static java.lang.System.exit;
+import static java.lang.System.out;
+import static ppi.sensors.benchmark.cli.Cli.MAX_THREAD_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.MIN_THREAD_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.msg;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_SENSOR;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.kindName;
+
+/**
+ * Podkomenda "evaluate" - ocena pokrycia POI przez sensory dla pary wygenerowanych plików.
+ * Uruchamiana przez {@link Cli#main(String...)}, gdy pierwszym argumentem jest {@link #NAME}.
+ * <p>
+ * Wczytuje plik POI i plik sensorów (w dowolnym formacie, patrz {@link InstanceReader}),
+ * ocenia pokrycie przy pomocy {@link CoverageEvaluator}, wypisuje podsumowanie, a pełny raport
+ * (niepokryte POI, liczba POI pokrytych przez każdy sensor) opcjonalnie zapisuje do pliku JSON.
+ * Jeśli podano {@link #instance}, instancje odczytywane są z plików kontenera (patrz {@link ContainerReader}).
+ */
+@Command(
+        name = "java -jar benchmark-cli.jar " + EvaluateCommand.NAME,
+        sortOptions = false,
+        resourceBundle = "ppi.sensors.benchmark.cli.EvaluateMessages")
+public class EvaluateCommand {
+
+    /**
+     * Nazwa podkomendy (pierwszy argument programu).
+     */
+    public static final String NAME = "evaluate";
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-p", "--poiFile".
+     * Znaczenie:
+     * Plik z rozmieszczeniem POI.
+     */
+    @Option(names = {"-p", "--poiFile"}, required = true, paramLabel = "<file>")
+    /* visible for tests */ String poiFile;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-s", "--sensorFile".
+     * Znaczenie:
+     * Plik z rozmieszczeniem sensorów.
+     */
+    @Option(names = {"-s", "--sensorFile"}, required = true, paramLabel = "<file>")
+    /* visible for tests */ String sensorFile;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-i", "--instance".
+     * Znaczenie:
+     * Numer instancji odczytywanej z plików kontenera - domyślnie brak ({@link #poiFile} i {@link #sensorFile}
+     * są plikami instancji).
+     */
+    @Option(names = {"-i", "--instance"}, paramLabel = "<int>")
+    /* visible for tests */ Integer instance;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-r", "--range".
+     * Znaczenie:
+     * Zasięg sensora - domyślnie wartość "range" z pliku POI.
+     */
+    @Option(names = {"-r", "--range"}, paramLabel = "<float>")
+    /* visible for tests */ Double range;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-t", "--threads".
+     * Znaczenie:
+     * Liczba wątków używanych dla dużych instancji - domyślnie liczba procesorów.
+     */
+    @Option(names = {"-t", "--threads"}, paramLabel = "<int>")
+    /* visible for tests */ int threads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREAD_COUNT);
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-o", "--report".
+     * Znaczenie:
+     * Plik, do którego zapisany zostanie pełny raport w formacie JSON - domyślnie brak.
+     */
+    @Option(names = {"-o", "--report"}, paramLabel = "<file>")
+    /* visible for tests */ String reportFile;
+
+    /**
+     * Help command - opcja wyświetlenia pomocy.
+     */
+    @Option(names = {"-h", "--help"}, usageHelp = true)
+    /* visible for tests */ boolean help;
+
+    /**
+     * Entry point podkomendy - wywoływany z {@link Cli#main(String...)} z argumentami za nazwą podkomendy.
+     *
+     * @param args argumenty podkomendy.
+     * @throws IOException w przypadku problemów z odczytem lub zapisem plików.
+     */
+    public static void main(String... args) throws IOException {
+
+        final var command = new EvaluateCommand();
+        final var commandLine = new CommandLine(command);
+
+        try {
+            commandLine.parseArgs(args);
+        } catch (ParameterException e) {
+            err.println(e.getClass().getName() + ": " + e.getMessage());
+            e.getCommandLine().usage(out);
+            exit(1);
+        }
+
+        if (command.help) {
+            commandLine.usage(out);
+            exit(0);
+        }
+
+        try {
+            final var report = command.run();
+            out.printf("POI: %d, covered: %d (%.2f%%), uncovered: %d, sensors: %d, range: %s%n",
+                    report.poiCount, report.coveredCount, 100.0 * report.coverage,
+                    report.poiCount - report.coveredCount, report.sensorCoverage.length, report.range);
+        } catch (ValidationException e) {
+            err.println(e.getMessage());
+            commandLine.usage(out);
+        }
+    }
+
+    /**
+     * Waliduje parametry, wczytuje pliki i ocenia pokrycie.
+     * Jeśli podano {@link #reportFile} - zapisuje do niego raport.
+     *
+     * @return raport z pokrycia.
+     * @throws IOException         w przypadku problemów z odczytem lub zapisem plików.
+     * @throws ValidationException w przypadku gdy parametry lub zawartość plików nie spełniają kryteriów walidacyjnych.
+     */
+    public CoverageReport run() throws IOException, ValidationException {
+        validate();
+
+        final var jsonMapper = JsonMapper.builder().build();
+        final var pois = open(Paths.get(poiFile), KIND_POI, jsonMapper);
+        final var sensors = open(Paths.get(sensorFile), KIND_SENSOR, jsonMapper);
+        final var errors = new ArrayList<String>();
+        if (!pois.isPoiData()) errors.add(msg("error.poiFileContent", poiFile));
+        if (sensors.isPoiData()) errors.add(msg("error.sensorFileContent", sensorFile));
+        final var sensingRange = range != null ? range : pois.getHeader().range;
+        if (!(sensingRange > 0)) errors.add(msg("error.range", sensingRange));
+        if (errors.size() > 0) throw new ValidationException(String.join("\n", errors));
+
+        final var report = new CoverageEvaluator(threads).evaluate(pois, sensors, sensingRange);
+        if (reportFile != null) jsonMapper.writeValue(Paths.get(reportFile).toFile(), report);
+        return report;
+    }
+
+    /**
+     * Otwiera instancję z pliku instancji lub, jeśli podano {@link #instance}, z wpisu pliku kontenera.
+     *
+     * @param path       ścieżka do pliku.
+     * @param kind       rodzaj wpisu kontenera ({@link ppi.sensors.benchmark.cli.io.ContainerFormat#KIND_POI}
+     *                   lub {@link ppi.sensors.benchmark.cli.io.ContainerFormat#KIND_SENSOR}).
+     * @param jsonMapper mapper używany do odczytu instancji JSON.
+     * @return otwarta instancja.
+     * @throws IOException         w przypadku problemów z odczytem pliku.
+     * @throws ValidationException gdy kontener nie zawiera wpisu dla instancji {@link #instance}.
+     */
+    private Instance open(Path path, short kind, JsonMapper jsonMapper) throws IOException, ValidationException {
+        if (instance == null) return InstanceReader.open(path, jsonMapper);
+        try (var container = ContainerReader.open(path)) {
+            if (!container.contains(kind, instance))
+                throw new ValidationException(msg("error.containerEntry", path, kindName(kind), instance));
+            return container.instance(kind, instance, jsonMapper);
+        }
+    }
+
+    /**
+     * Sprawdza wartości pól obiektu pod kątem zgodności z kryteriami walidacyjnymi.
+     *
+     * @throws ValidationException gdy któreś z pól nie spełnia kryteriów walidacyjnych.
+     */
+    /* visible for tests */ void validate() throws ValidationException {
+        final var errors = new ArrayList<String>();
+
+        if (poiFile == null || !Files.isRegularFile(Paths.get(poiFile)))
+            errors.add(msg("error.inputFile", poiFile));
+
+        if (sensorFile == null || !Files.isRegularFile(Paths.get(sensorFile)))
+            errors.add(msg("error.inputFile", sensorFile));
+
+        if (instance != null && instance < 1)
+            errors.add(msg("error.instance", instance));
+
+        if (range != null && !(range > 0))
+            errors.add(msg("error.range", range));
+
+        if (threads < MIN_THREAD_COUNT || threads > MAX_THREAD_COUNT)
+            errors.add(msg("error.threads", threads, MIN_THREAD_COUNT, MAX_THREAD_COUNT));
+
+        if (errors.size() > 0) throw new ValidationException(String.join("\n", errors));
+    }
+}
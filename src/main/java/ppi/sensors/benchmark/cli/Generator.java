@@ -3,22 +3,63 @@ package ppi.sensors.benchmark.cli;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ppi.sensors.benchmark.cli.io.ContainerFormat;
+import ppi.sensors.benchmark.cli.io.ContainerWriter;
+import ppi.sensors.benchmark.cli.io.InstanceWriter;
+import ppi.sensors.benchmark.cli.io.OutputBackend;
+import ppi.sensors.benchmark.cli.io.OutputBackendType;
+import ppi.sensors.benchmark.cli.io.OutputFormat;
+import ppi.sensors.benchmark.cli.model.IndexSource;
 import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.network.ConnectivityAnalyzer;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.sampling.BernoulliIndexSource;
+import ppi.sensors.benchmark.cli.sampling.ExactCountIndexSource;
+import ppi.sensors.benchmark.cli.util.Pipeline;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Random;
-
-import static java.util.stream.Collectors.toList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_CONNECTIVITY;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_SENSOR;
 import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.getServiceName;
+import static ppi.sensors.benchmark.cli.util.Seeds.POI_STREAM;
+import static ppi.sensors.benchmark.cli.util.Seeds.SENSOR_STREAM;
+import static ppi.sensors.benchmark.cli.util.Seeds.deriveSeed;
 
 /**
  * Głowna klasa generatora. Odpowiada za generowanie plików benchmarkujących,
  * na podstawie ustawień i przekazanych generatorów siatki {@link PointMeshGenerator}
  * oraz sekwencji punktów {@link PointSequenceGenerator}.
  *
+ * <p>
+ * Każda instancja generowana jest z własnym ziarnem, wyznaczonym z ziarna głównego {@link #seed}
+ * i numeru instancji (patrz {@link ppi.sensors.benchmark.cli.util.Seeds}). Dzięki temu wygenerowane
+ * pliki są identyczne niezależnie od liczby wątków {@link #threads}. Generatory liczb losowych
+ * z niezależnymi strumieniami ({@link #rngType}) pozwalają dodatkowo dzielić generowanie sensorów jednej
+ * instancji na fragmenty z osobnymi strumieniami.
+ *
+ * <p>
+ * W trybie potokowym ({@link #pipeline}) generowanie, serializacja i zapis instancji wykonywane są przez osobne
+ * grupy wątków połączone kolejkami o ograniczonej pojemności, więc obliczenia nakładają się z zapisem na dysk.
+ *
+ * <p>
+ * Jeśli ustawiono {@link #containerPath}, wszystkie pliki instancji dopisywane są do jednego pliku kontenera
+ * (patrz {@link ContainerFormat}) zamiast tworzenia osobnego pliku dla każdej instancji.
+ *
  * @see PointMeshGenerator
  * @see PointSequenceGenerator
  */
@@ -29,6 +70,41 @@ public class Generator {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 
+    /**
+     * Sufiks nazwy pliku ze statystykami spójności sieci sensorów (zapisywanego obok pliku instancji).
+     */
+    public static final String CONNECTIVITY_SUFFIX = ".connectivity.json";
+
+    /**
+     * Szacunkowy narzut pamięci (poza listą sąsiedztwa) analizy spójności na jeden sensor, w bajtach -
+     * siatka komórek ({@link ppi.sensors.benchmark.cli.model.PointGrid}), tablice grafu, union-find
+     * i rozmiary składowych.
+     */
+    private static final long CONNECTIVITY_BYTES_PER_SENSOR = 80;
+
+    /**
+     * Szacunkowy stały narzut pamięci na jedną generowaną instancję (obiekty pomocnicze, bufory writer'a), w bajtach.
+     */
+    private static final long INSTANCE_OVERHEAD_BYTES = 64 * 1024;
+
+    /**
+     * Szacunkowy rozmiar punktu zserializowanego w pamięci w trybie potokowym, w bajtach - górne oszacowanie
+     * dla JSON'a (format binarny zajmuje 16 bajtów na punkt).
+     */
+    private static final long SERIALIZED_BYTES_PER_POINT = 48;
+
+    /**
+     * Liczba odchyleń standardowych ponad wartość oczekiwaną liczby POI przy sprawdzaniu rozmiaru pliku
+     * serializowanego w pamięci (patrz {@link #checkSerializedSizes()}).
+     */
+    private static final double POI_COUNT_DEVIATIONS = 6;
+
+    /**
+     * Zapis plików zserializowanych w pamięci używany w trybie potokowym, gdy nie ustawiono {@link #outputBackend}.
+     */
+    private static final OutputBackend DEFAULT_PIPELINE_OUTPUT =
+            OutputBackendType.CHANNEL.create(OutputBackendType.DEFAULT_IN_FLIGHT, false);
+
     /**
      * Liczba instancji - czyli liczba wygenerowanych plików.
      * Dotyczy zarówno plików z rozmieszczeniem sensorów jak i plików
@@ -52,11 +128,22 @@ public class Generator {
      */
     private double poiDistance;
 
+    /**
+     * Dokładna liczba POI w każdej instancji lub <code>null</code>, gdy liczba POI wynika
+     * z {@link #poiDensity} (każdy punkt siatki wykluczany jest niezależnie).
+     */
+    private Integer poiCount;
+
     /**
      * Liczba sensorów do wygenerowania.
      */
     private int sensorCount;
 
+    /**
+     * Promień komunikacji sensorów lub <code>null</code>, gdy analiza spójności sieci sensorów jest wyłączona.
+     */
+    private Double commRadius;
+
     /**
      * Katalog do zapisu wygenerowanych plików z rozmieszczeniem POI.
      */
@@ -67,6 +154,17 @@ public class Generator {
      */
     private Path sensorOutPath;
 
+    /**
+     * Plik kontenera, do którego dopisywane są wszystkie pliki instancji, lub <code>null</code>, gdy pliki
+     * zapisywane są osobno w katalogach {@link #poiOutPath} i {@link #sensorOutPath}.
+     */
+    private Path containerPath;
+
+    /**
+     * Kontener otwarty na czas generowania (gdy ustawiono {@link #containerPath}) lub <code>null</code>.
+     */
+    private ContainerWriter container;
+
     /**
      * Generator siatki punktów.
      * Używany do generowania siatki punktów zainteresowania (POI).
@@ -79,12 +177,57 @@ public class Generator {
      */
     private PointSequenceGenerator pointSequenceGenerator;
 
+    /**
+     * Liczba wątków używanych do generowania instancji.
+     * Dla wartości 1 instancje generowane są sekwencyjnie w bieżącym wątku.
+     */
+    private int threads = 1;
+
+    /**
+     * Ziarno główne, z którego wyznaczane są ziarna poszczególnych instancji.
+     */
+    private long seed = System.nanoTime();
+
+    /**
+     * Typ generatora liczb losowych używanego przy wykluczaniu POI i przez generatory sensorów -
+     * domyślnie {@link RngType#JDK}.
+     */
+    private RngType rngType = RngType.JDK;
+
+    /**
+     * Współdzielona pula wątków lub <code>null</code>, gdy generator tworzy własną pulę
+     * (zgodnie z {@link #threads}) na czas generowania.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Pamięć podręczna siatek POI lub <code>null</code>, gdy siatka tworzona jest przy każdym generowaniu.
+     */
+    private MeshCache meshCache;
+
+    /**
+     * Potok generowanie - serializacja - zapis lub <code>null</code>, gdy każda instancja jest generowana
+     * i zapisywana przez to samo zadanie (zgodnie z {@link #threads} lub na {@link #executor}).
+     */
+    private Pipeline pipeline;
+
+    /**
+     * Zapis plików zserializowanych w pamięci lub <code>null</code>, gdy pliki zapisywane są bezpośrednio
+     * przez {@link #instanceWriter} (w trybie potokowym - przez {@link #DEFAULT_PIPELINE_OUTPUT}).
+     */
+    private OutputBackend outputBackend;
+
     /**
      * Instancja {@link JsonMapper}'a z biblioteki Jackson.
      * Używana do dumpowania obiektów na format JSON.
      */
     private final JsonMapper jsonMapper;
 
+    /**
+     * Writer zapisujący pliki instancji w wybranym formacie - domyślnie {@link OutputFormat#JSON}.
+     */
+    private InstanceWriter instanceWriter;
+
     /**
      * Domyślny konstruktor.
      * Tworzy obiekt {@link Generator}'a z domyślnym {@link JsonMapper}'em.
@@ -101,6 +244,7 @@ public class Generator {
      */
     public Generator(JsonMapper jsonMapper) {
         this.jsonMapper = jsonMapper;
+        this.instanceWriter = OutputFormat.JSON.createWriter(jsonMapper);
     }
 
     /**
@@ -113,7 +257,21 @@ public class Generator {
      *                     katalogow ze ścieżek zapisu.
      */
     public void generate() throws IOException {
-        LOGGER.info("Generator started.");
+        LOGGER.info("Generator started with master seed = {}, threads = {}.", seed, threads);
+        if (containerPath != null) {
+            final var parent = containerPath.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (var writer = new ContainerWriter(containerPath, instanceWriter.getExtension())) {
+                container = writer;
+                generatePoiData(null);
+                generateSensorData(null);
+                writer.finish();
+            } finally {
+                container = null;
+            }
+            LOGGER.info("Generator finished - container {}.", containerPath);
+            return;
+        }
         Files.createDirectories(poiOutPath);
         Files.createDirectories(sensorOutPath);
         generatePoiData(poiOutPath.toFile());
@@ -121,6 +279,107 @@ public class Generator {
         LOGGER.info("Generator finished.");
     }
 
+    /**
+     * Sprawdza czy sekwencje sensorów wszystkich instancji mogą zostać utworzone
+     * (patrz {@link PointSequenceGenerator#checkSequence(int, int, long, RngType)}) - bez zapisu plików.
+     * Powinno być wołane przed {@link #generate()} (np. podczas walidacji parametrów programu), aby generowanie
+     * nie zostało przerwane po zapisaniu części plików. Sprawdzenie wykonywane jest tymi samymi wątkami
+     * co generowanie i tylko jeśli wykonalność sekwencji zależy od ziarna
+     * (patrz {@link PointSequenceGenerator#requiresSeedCheck(int, int)}).
+     *
+     * @throws IllegalArgumentException jeśli sekwencji którejś z instancji nie da się utworzyć.
+     */
+    public void checkSequences() {
+        if (!pointSequenceGenerator.requiresSeedCheck(sensorCount, sideLength)) return;
+        try {
+            forEachInstanceTask(i -> {
+                try {
+                    pointSequenceGenerator.checkSequence(sensorCount, sideLength, deriveSeed(seed, SENSOR_STREAM, i), rngType);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("instance " + i + ": " + e.getMessage(), e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sprawdza czy pliki instancji zmieszczą się w jednym buforze przy serializacji w pamięci
+     * (patrz {@link InstanceWriter#MAX_SERIALIZED_SIZE}) - w trybie potokowym ({@link #pipeline}), przy zapisie przez
+     * {@link #outputBackend} i do kontenera ({@link #containerPath}). Przy zapisie bezpośrednio do plików nic nie jest
+     * sprawdzane. Powinno być wołane przed {@link #generate()}, aby generowanie nie zostało przerwane po zapisaniu
+     * części plików.
+     * <p>
+     * Liczba POI (jeśli nie podano {@link #poiCount}) ma rozkład dwumianowy - ograniczana jest z góry wartością
+     * oczekiwaną powiększoną o {@link #POI_COUNT_DEVIATIONS} odchyleń standardowych.
+     *
+     * @throws IllegalArgumentException jeśli plik POI lub sensorów może nie zmieścić się w buforze.
+     */
+    public void checkSerializedSizes() {
+        if (pipeline == null && outputBackend == null && containerPath == null) return;
+        final var mesh = pointMeshGenerator.createMeshPoints(poiDistance, sideLength);
+        final var size = mesh.size();
+        final var mean = size * poiDensity;
+        final var pois = poiCount != null ? poiCount
+                : Math.min(size, (long) Math.ceil(mean + POI_COUNT_DEVIATIONS * Math.sqrt(mean * (1 - poiDensity))));
+        checkSerializedSize("POI", instanceWriter.poiDataSizeBound(getServiceName(pointMeshGenerator), size, pois));
+        checkSerializedSize("sensor", instanceWriter.sensorDataSizeBound(getServiceName(pointSequenceGenerator), sensorCount));
+    }
+
+    /**
+     * Sprawdza czy plik o podanym rozmiarze zmieści się w buforze przy serializacji w pamięci.
+     *
+     * @param kind  rodzaj pliku (do komunikatu błędu).
+     * @param bytes górne ograniczenie rozmiaru pliku.
+     * @throws IllegalArgumentException jeśli plik może nie zmieścić się w buforze.
+     */
+    private static void checkSerializedSize(String kind, long bytes) {
+        if (bytes > InstanceWriter.MAX_SERIALIZED_SIZE)
+            throw new IllegalArgumentException(kind + " file of up to " + bytes + " bytes exceeds the in-memory limit of "
+                    + InstanceWriter.MAX_SERIALIZED_SIZE + " bytes");
+    }
+
+    /**
+     * Szacuje maksymalne zużycie sterty podczas generowania dla bieżącej konfiguracji.
+     * Generowanie i zapis są strumieniowe, więc zużycie nie zależy od liczby instancji, a jedynie od liczby
+     * instancji generowanych jednocześnie (liczby wątków):
+     * <ul>
+     *     <li>siatka POI - współdzielona przez wszystkie instancje (leniwe siatki zajmują stałą pamięć),</li>
+     *     <li>wybór dokładnej liczby POI ({@link #poiCount}) - bitmapa 1 bit na węzeł siatki na instancję,</li>
+     *     <li>sensory - 16 bajtów na sensor na instancję,</li>
+     *     <li>analiza spójności ({@link #commRadius}) - graf sensorów, z oczekiwaną liczbą sąsiadów
+     *     wynikającą z gęstości sensorów i pola koła komunikacji.</li>
+     * </ul>
+     * Pliki binarne zapisywane są przez mapowanie (poza stertą), a JSON strumieniowo. W trybie potokowym
+     * ({@link #pipeline}) jednocześnie przetwarzanych jest do {@link Pipeline#capacity()} instancji,
+     * a każda z nich dodatkowo jest serializowana w pamięci - tak samo jak przy zapisie przez {@link #outputBackend}.
+     * Bufory {@link #outputBackend}'u są poza stertą. Przy zapisie do kontenera ({@link #containerPath})
+     * pliki również są serializowane w pamięci.
+     *
+     * @return szacunkowe zużycie sterty w bajtach.
+     * @throws IllegalArgumentException jeśli siatka dla podanych parametrów ma zbyt wiele węzłów.
+     */
+    public long estimateHeapBytes() {
+        final var mesh = pointMeshGenerator.createMeshPoints(poiDistance, sideLength);
+        final var parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : threads;
+        final var concurrent = Math.max(1, Math.min(pipeline != null ? pipeline.capacity() : parallelism, instanceCount));
+
+        var poiBytes = INSTANCE_OVERHEAD_BYTES + (poiCount != null ? mesh.size() / 8 : 0);
+        var sensorBytes = INSTANCE_OVERHEAD_BYTES + 16L * sensorCount;
+        if (pipeline != null || outputBackend != null || containerPath != null) {
+            final var pois = poiCount != null ? poiCount : (long) (mesh.size() * poiDensity);
+            poiBytes += SERIALIZED_BYTES_PER_POINT * pois;
+            sensorBytes += SERIALIZED_BYTES_PER_POINT * sensorCount;
+        }
+        if (commRadius != null) {
+            final var coveredFraction = Math.min(1.0, Math.PI * commRadius * commRadius / ((double) sideLength * sideLength));
+            final var expectedNeighbours = (sensorCount - 1) * coveredFraction;
+            sensorBytes += CONNECTIVITY_BYTES_PER_SENSOR * sensorCount + (long) (4 * sensorCount * expectedNeighbours);
+        }
+        return MeshCache.byteSize(mesh) + concurrent * Math.max(poiBytes, sensorBytes);
+    }
+
     /**
      * Setter dla pola {@link #instanceCount}.
      *
@@ -161,6 +420,16 @@ public class Generator {
         this.poiDistance = poiDistance;
     }
 
+    /**
+     * Setter dla pola {@link #poiCount}.
+     *
+     * @param poiCount Dokładna liczba POI w każdej instancji lub <code>null</code>,
+     *                 gdy liczba POI ma wynikać z gęstości {@link #poiDensity}.
+     */
+    public void setPoiCount(Integer poiCount) {
+        this.poiCount = poiCount;
+    }
+
     /**
      * Setter dla pola {@link #sensorCount}.
      *
@@ -170,6 +439,104 @@ public class Generator {
         this.sensorCount = sensorCount;
     }
 
+    /**
+     * Setter dla pola {@link #commRadius}.
+     *
+     * @param commRadius Promień komunikacji sensorów lub <code>null</code>,
+     *                   gdy analiza spójności sieci sensorów ma być wyłączona.
+     */
+    public void setCommRadius(Double commRadius) {
+        this.commRadius = commRadius;
+    }
+
+    /**
+     * Setter dla pola {@link #threads}.
+     *
+     * @param threads Liczba wątków używanych do generowania instancji.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Setter dla pola {@link #executor}.
+     *
+     * @param executor Współdzielona pula wątków (np. wspólna dla wielu konfiguracji) lub <code>null</code>,
+     *                 gdy generator ma tworzyć własną pulę. Generator nie zamyka przekazanej puli.
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Setter dla pola {@link #meshCache}.
+     *
+     * @param meshCache Pamięć podręczna siatek POI (np. wspólna dla wielu konfiguracji) lub <code>null</code>,
+     *                  gdy siatka ma być tworzona przy każdym generowaniu.
+     */
+    public void setMeshCache(MeshCache meshCache) {
+        this.meshCache = meshCache;
+    }
+
+    /**
+     * Setter dla pola {@link #pipeline}.
+     *
+     * @param pipeline Potok generowanie - serializacja - zapis lub <code>null</code>, gdy każda instancja ma być
+     *                 generowana i zapisywana przez to samo zadanie. W trybie potokowym {@link #executor}
+     *                 nie jest używany - potok tworzy własne wątki dla każdego etapu.
+     */
+    public void setPipeline(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Setter dla pola {@link #outputBackend}.
+     *
+     * @param outputBackend Zapis plików zserializowanych w pamięci (patrz {@link OutputBackendType})
+     *                      lub <code>null</code>, gdy pliki mają być zapisywane bezpośrednio przez writer formatu.
+     */
+    public void setOutputBackend(OutputBackend outputBackend) {
+        this.outputBackend = outputBackend;
+    }
+
+    /**
+     * Setter dla pola {@link #containerPath}.
+     *
+     * @param containerPath Plik kontenera, do którego mają być dopisywane wszystkie pliki instancji,
+     *                      lub <code>null</code>, gdy pliki mają być zapisywane osobno w katalogach
+     *                      {@link #poiOutPath} i {@link #sensorOutPath} (w trybie kontenera nie są używane).
+     */
+    public void setContainerPath(Path containerPath) {
+        this.containerPath = containerPath;
+    }
+
+    /**
+     * Setter dla pola {@link #seed}.
+     *
+     * @param seed Ziarno główne, z którego wyznaczane są ziarna poszczególnych instancji.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Setter dla pola {@link #rngType}.
+     *
+     * @param rngType Typ generatora liczb losowych używanego przy wykluczaniu POI i przez generatory sensorów.
+     */
+    public void setRngType(RngType rngType) {
+        this.rngType = rngType;
+    }
+
+    /**
+     * Ustawia format plików wyjściowych - tworzy odpowiedni {@link #instanceWriter}.
+     *
+     * @param outputFormat format plików wyjściowych.
+     */
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.instanceWriter = outputFormat.createWriter(jsonMapper);
+    }
+
     /**
      * Setter dla pola {@link #poiOutPath}.
      *
@@ -210,49 +577,335 @@ public class Generator {
 
     /**
      * Generuje pliki z danymi dla rozmieszczenia POI (Point of Interest).
+     * Punkty, które przeszły losowe wykluczanie, są zapisywane strumieniowo
+     * (patrz {@link InstanceWriter}) - bez tworzenia listy punktów dla każdej instancji.
+     * <p>
+     * Wykluczanie realizowane jest przez {@link BernoulliIndexSource} (koszt proporcjonalny do liczby POI),
+     * a gdy ustawiono {@link #poiCount} - przez {@link ExactCountIndexSource}. W tym drugim przypadku
+     * w pliku zapisywana jest gęstość wynikająca z liczby POI i rozmiaru siatki.
+     * Jeśli ustawiono {@link #meshCache}, siatka pobierana jest z pamięci podręcznej.
      *
-     * @param outDir katalog w którym zapisane zostaną wygenerowane pliki.
+     * @param outDir katalog w którym zapisane zostaną wygenerowane pliki
+     *               (<code>null</code> przy zapisie do kontenera - nazwy plików służą wtedy tylko do logowania).
      * @throws IOException w przypadku gdy istnieje problem w zapisie do katalogu.
      */
     /* visible for tests */ void generatePoiData(File outDir) throws IOException {
 
-        final var random = new Random();
-
-        final var data = new PoiData();
-        data.range = poiDistance;
-        data.name = getServiceName(pointMeshGenerator);
-        data.density = poiDensity;
-        data.xRange = data.yRange = sideLength;
-
-        final var mesh = pointMeshGenerator.createMesh(poiDistance, sideLength);
+        final var name = getServiceName(pointMeshGenerator);
+        final var mesh = meshCache != null
+                ? meshCache.get(pointMeshGenerator, poiDistance, sideLength)
+                : pointMeshGenerator.createMeshPoints(poiDistance, sideLength);
+        final var density = poiCount != null ? (double) poiCount / mesh.size() : poiDensity;
 
         LOGGER.info("Generating POI data with params: side length = {}, instance count = {}, distance = {}, density = {}, mesh type = {}",
-                sideLength, instanceCount, data.range, data.density, data.name);
-
-        for (var i = 1; i <= instanceCount; i++) {
-            final var file = new File(outDir, i + ".json");
-            data.seed = System.nanoTime();
-            random.setSeed(data.seed);
-            data.pois = mesh.stream().filter(p -> random.nextDouble() < poiDensity).collect(toList());
-            jsonMapper.writeValue(file, data);
-            LOGGER.info("Generated file {}", file);
-        }
+                sideLength, instanceCount, poiDistance, density, name);
+
+        forEachInstance(i -> {
+            final var file = new File(outDir, i + "." + instanceWriter.getExtension());
+            final var data = new PoiData();
+            data.range = poiDistance;
+            data.name = name;
+            data.density = density;
+            data.xRange = data.yRange = sideLength;
+            data.seed = deriveSeed(seed, POI_STREAM, i);
+            final IndexSource indices = poiCount != null
+                    ? new ExactCountIndexSource(mesh.size(), poiCount, data.seed, rngType)
+                    : new BernoulliIndexSource(mesh.size(), poiDensity, data.seed, rngType);
+            return List.of(new InstanceFile(KIND_POI, i, file,
+                    () -> instanceWriter.writePoiData(file, data, mesh, indices),
+                    () -> instanceWriter.serializePoiData(data, mesh, indices)));
+        });
     }
 
     /**
      * Generuje pliki z danymi dla rozmieszczenia sensorów.
+     * Jeśli ustawiono {@link #commRadius}, obok każdego pliku zapisywane są statystyki spójności
+     * sieci sensorów (patrz {@link ConnectivityAnalyzer}) w pliku JSON z sufiksem {@link #CONNECTIVITY_SUFFIX}.
      *
-     * @param outDir katalog w którym zapisane zostaną wygenerowane pliki.
+     * @param outDir katalog w którym zapisane zostaną wygenerowane pliki
+     *               (<code>null</code> przy zapisie do kontenera - nazwy plików służą wtedy tylko do logowania).
      * @throws IOException w przypadku gdy istnieje problem w zapisie do katalogu.
      */
     /* visible for tests */ void generateSensorData(File outDir) throws IOException {
+        final var name = getServiceName(pointSequenceGenerator);
         LOGGER.info("Generating sensor data with params: side length = {}, instance count = {}, sensor count = {}, generator type = {}",
-                sideLength, instanceCount, sensorCount, getServiceName(pointSequenceGenerator));
-        for (int i = 1; i <= instanceCount; i++) {
-            final var file = new File(outDir, i + ".json");
-            final var data = pointSequenceGenerator.createSequence(sensorCount, sideLength);
-            jsonMapper.writeValue(file, data);
-            LOGGER.info("Generated file {}", file);
+                sideLength, instanceCount, sensorCount, name);
+        forEachInstance(i -> {
+            final var file = new File(outDir, i + "." + instanceWriter.getExtension());
+            final var header = new PoiData();
+            header.name = name;
+            header.seed = deriveSeed(seed, SENSOR_STREAM, i);
+            header.density = 1.0;
+            header.xRange = header.yRange = sideLength;
+            final var data = pointSequenceGenerator.createSequencePoints(sensorCount, sideLength, header.seed, rngType);
+            final var sensorFile = new InstanceFile(KIND_SENSOR, i, file,
+                    () -> instanceWriter.writeSensorData(file, header, data),
+                    () -> instanceWriter.serializeSensorData(header, data));
+            if (commRadius == null) return List.of(sensorFile);
+
+            final var statsFile = new File(outDir, i + CONNECTIVITY_SUFFIX);
+            final var stats = new ConnectivityAnalyzer(1).analyze(data, commRadius);
+            return List.of(sensorFile, new InstanceFile(KIND_CONNECTIVITY, i, statsFile,
+                    () -> jsonMapper.writeValue(statsFile, stats),
+                    () -> ByteBuffer.wrap(jsonMapper.writeValueAsBytes(stats))));
+        });
+    }
+
+    /**
+     * Generuje i zapisuje pliki każdej instancji o numerze z przedziału [1, {@link #instanceCount}].
+     * Jeśli ustawiono {@link #pipeline}, pliki instancji są serializowane i zapisywane przez kolejne etapy potoku
+     * (generowanie instancji, w tym analiza spójności, wykonywane jest w etapie generowania). W przeciwnym wypadku
+     * pliki zapisywane są przez zadanie generujące instancję (patrz {@link #forEachInstanceTask(InstanceTask)}) -
+     * bezpośrednio przez {@link #instanceWriter} lub, jeśli ustawiono {@link #outputBackend}, serializowane
+     * w pamięci i zapisywane przez niego. Przy zapisie do kontenera pliki zawsze są serializowane w pamięci
+     * (patrz {@link #write(SerializedFile, OutputBackend)}).
+     *
+     * @param generator generator plików pojedynczej instancji.
+     * @throws IOException w przypadku gdy generowanie lub zapis którejś z instancji zakończyły się błędem.
+     */
+    private void forEachInstance(InstanceGenerator generator) throws IOException {
+        if (pipeline == null) {
+            forEachInstanceTask(i -> {
+                for (var instanceFile : generator.generate(i)) {
+                    if (container != null || outputBackend != null) {
+                        write(instanceFile.serialize(), outputBackend);
+                    } else {
+                        instanceFile.writer.write();
+                        LOGGER.info("Generated file {}", instanceFile.file);
+                    }
+                }
+            });
+            return;
+        }
+        final var output = outputBackend != null ? outputBackend : DEFAULT_PIPELINE_OUTPUT;
+        pipeline.<List<InstanceFile>, List<SerializedFile>>run(instanceCount, i -> generator.generate(i + 1), files -> {
+            final var serialized = new ArrayList<SerializedFile>(files.size());
+            for (var instanceFile : files) serialized.add(instanceFile.serialize());
+            return serialized;
+        }, files -> {
+            for (var serializedFile : files) write(serializedFile, output);
+        });
+    }
+
+    /**
+     * Zapisuje plik zserializowany w pamięci - dopisuje go do kontenera, jeśli jest otwarty,
+     * a w przeciwnym wypadku zapisuje przez podany backend.
+     *
+     * @param serializedFile plik zserializowany w pamięci.
+     * @param output         backend zapisu plików (nieużywany przy zapisie do kontenera).
+     * @throws IOException w przypadku problemów z zapisem.
+     */
+    private void write(SerializedFile serializedFile, OutputBackend output) throws IOException {
+        if (container != null) {
+            container.append(serializedFile.kind, serializedFile.index, serializedFile.bytes);
+            LOGGER.info("Generated container entry {} {}", ContainerFormat.kindName(serializedFile.kind), serializedFile.index);
+        } else {
+            output.write(serializedFile.file, serializedFile.bytes);
+            LOGGER.info("Generated file {}", serializedFile.file);
+        }
+    }
+
+    /**
+     * Wykonuje zadanie dla każdego numeru instancji z przedziału [1, {@link #instanceCount}].
+     * Jeśli ustawiono współdzieloną pulę {@link #executor}, zadania wykonywane są na niej.
+     * W przeciwnym wypadku, dla {@link #threads} większego od 1 zadania rozdzielane są na pulę wątków
+     * typu work-stealing, a dla 1 wykonywane są sekwencyjnie w bieżącym wątku.
+     *
+     * @param task zadanie generujące pojedynczą instancję.
+     * @throws IOException w przypadku gdy któreś z zadań zakończyło się błędem zapisu.
+     */
+    private void forEachInstanceTask(InstanceTask task) throws IOException {
+        if (executor == null && threads <= 1) {
+            for (var i = 1; i <= instanceCount; i++) task.run(i);
+            return;
+        }
+
+        final var tasks = new ArrayList<Callable<Void>>(instanceCount);
+        for (var i = 1; i <= instanceCount; i++) {
+            final var index = i;
+            tasks.add(() -> {
+                task.run(index);
+                return null;
+            });
+        }
+
+        final var pool = executor != null ? executor : Executors.newWorkStealingPool(threads);
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generation interrupted.", e);
+        } catch (ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            if (pool != executor) pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Zadanie generujące pojedynczą instancję o podanym numerze.
+     * Używane wewnętrznie przez {@link #forEachInstanceTask(InstanceTask)}.
+     */
+    @FunctionalInterface
+    private interface InstanceTask {
+
+        /**
+         * Generuje instancję o podanym numerze.
+         *
+         * @param index numer instancji (liczony od 1).
+         * @throws IOException w przypadku problemów z zapisem pliku.
+         */
+        void run(int index) throws IOException;
+    }
+
+    /**
+     * Generator plików pojedynczej instancji o podanym numerze.
+     * Używany wewnętrznie przez {@link #forEachInstance(InstanceGenerator)}.
+     */
+    @FunctionalInterface
+    private interface InstanceGenerator {
+
+        /**
+         * Generuje instancję o podanym numerze.
+         *
+         * @param index numer instancji (liczony od 1).
+         * @return pliki instancji do zapisania.
+         * @throws IOException w przypadku błędu generowania.
+         */
+        List<InstanceFile> generate(int index) throws IOException;
+    }
+
+    /**
+     * Operacja na pliku instancji, która może zakończyć się błędem zapisu.
+     */
+    @FunctionalInterface
+    private interface FileWriter {
+
+        /**
+         * Zapisuje plik.
+         *
+         * @throws IOException w przypadku problemów z zapisem pliku.
+         */
+        void write() throws IOException;
+    }
+
+    /**
+     * Serializacja pliku instancji w pamięci.
+     */
+    @FunctionalInterface
+    private interface FileSerializer {
+
+        /**
+         * Tworzy zawartość pliku.
+         *
+         * @return bufor z zawartością pliku.
+         * @throws IOException w przypadku błędu serializacji.
+         */
+        ByteBuffer serialize() throws IOException;
+    }
+
+    /**
+     * Wygenerowany (jeszcze niezapisany) plik instancji - zapisywany bezpośrednio lub serializowany w pamięci
+     * w trybie potokowym.
+     */
+    private static final class InstanceFile {
+
+        /**
+         * Rodzaj pliku - rodzaj wpisu kontenera (patrz {@link ContainerFormat}).
+         */
+        private final short kind;
+
+        /**
+         * Numer instancji.
+         */
+        private final int index;
+
+        /**
+         * Plik docelowy.
+         */
+        private final File file;
+
+        /**
+         * Bezpośredni zapis pliku.
+         */
+        private final FileWriter writer;
+
+        /**
+         * Serializacja zawartości pliku w pamięci.
+         */
+        private final FileSerializer serializer;
+
+        /**
+         * Konstruktor.
+         *
+         * @param kind       rodzaj pliku - rodzaj wpisu kontenera.
+         * @param index      numer instancji.
+         * @param file       plik docelowy.
+         * @param writer     bezpośredni zapis pliku.
+         * @param serializer serializacja zawartości pliku w pamięci.
+         */
+        private InstanceFile(short kind, int index, File file, FileWriter writer, FileSerializer serializer) {
+            this.kind = kind;
+            this.index = index;
+            this.file = file;
+            this.writer = writer;
+            this.serializer = serializer;
+        }
+
+        /**
+         * Serializuje zawartość pliku w pamięci.
+         *
+         * @return plik zserializowany w pamięci.
+         * @throws IOException w przypadku błędu serializacji.
+         */
+        private SerializedFile serialize() throws IOException {
+            return new SerializedFile(kind, index, file, serializer.serialize());
+        }
+    }
+
+    /**
+     * Plik instancji zserializowany w pamięci, oczekujący na zapis.
+     */
+    private static final class SerializedFile {
+
+        /**
+         * Rodzaj pliku - rodzaj wpisu kontenera (patrz {@link ContainerFormat}).
+         */
+        private final short kind;
+
+        /**
+         * Numer instancji.
+         */
+        private final int index;
+
+        /**
+         * Plik docelowy.
+         */
+        private final File file;
+
+        /**
+         * Zawartość pliku.
+         */
+        private final ByteBuffer bytes;
+
+        /**
+         * Konstruktor.
+         *
+         * @param kind  rodzaj pliku - rodzaj wpisu kontenera.
+         * @param index numer instancji.
+         * @param file  plik docelowy.
+         * @param bytes zawartość pliku.
+         */
+        private SerializedFile(short kind, int index, File file, ByteBuffer bytes) {
+            this.kind = kind;
+            this.index = index;
+            this.file = file;
+            this.bytes = bytes;
         }
     }
 }
@@ -0,0 +1,242 @@
+package ppi.sensors.benchmark.cli;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ppi.sensors.benchmark.cli.io.BinaryInstanceWriter;
+import ppi.sensors.benchmark.cli.io.MappedInstance;
+import ppi.sensors.benchmark.cli.model.LatticeMesh;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.getServiceName;
+
+/**
+ * Pamięć podręczna siatek POI, według klucza: rodzaj siatki, odległość, długość boku.
+ * Siatki są niemodyfikowalne, więc jedna instancja współdzielona jest przez kolejne uruchomienia
+ * {@link Generator}'a (np. w {@link SweepCommand}) oraz przez wątki.
+ * <p>
+ * Poziom pamięciowy ograniczony jest sumarycznym rozmiarem siatek w bajtach - po przekroczeniu limitu
+ * usuwane są najdawniej używane siatki (LRU). Siatki większe niż cały limit nie są zapamiętywane.
+ * <p>
+ * Opcjonalny poziom dyskowy zapisuje siatki w formacie binarnym (patrz {@link ppi.sensors.benchmark.cli.io.BinaryFormat})
+ * i odczytuje je przez mapowanie pliku ({@link MappedInstance}), więc kolejne uruchomienia programu
+ * pomijają budowanie siatki. Na dysk trafiają tylko siatki zmaterializowane - leniwe siatki
+ * {@link LatticeMesh} tworzone są w czasie stałym i zajmują stałą ilość pamięci.
+ */
+public class MeshCache {
+
+    /**
+     * Domyślny limit rozmiaru poziomu pamięciowego - 256 MiB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    /**
+     * Szacunkowy rozmiar leniwej siatki {@link LatticeMesh} w bajtach (niezależny od liczby punktów).
+     */
+    private static final long LAZY_MESH_BYTES = 64;
+
+    /**
+     * Logger używany do wyświetlania informacji o trafieniach w poziom dyskowy.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MeshCache.class);
+
+    /**
+     * Limit sumarycznego rozmiaru siatek w poziomie pamięciowym, w bajtach.
+     */
+    private final long maxBytes;
+
+    /**
+     * Katalog poziomu dyskowego lub <code>null</code>, gdy poziom dyskowy jest wyłączony.
+     */
+    private final Path directory;
+
+    /**
+     * Siatki w poziomie pamięciowym, w kolejności od najdawniej używanej.
+     * Dostęp synchronizowany na obiekcie pamięci podręcznej.
+     */
+    private final LinkedHashMap<String, PointSet> meshes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Sumaryczny rozmiar siatek w poziomie pamięciowym, w bajtach.
+     */
+    private long bytes;
+
+    /**
+     * Konstruktor pamięci podręcznej bez poziomu dyskowego.
+     *
+     * @param maxBytes limit sumarycznego rozmiaru siatek w pamięci, w bajtach.
+     */
+    public MeshCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param maxBytes  limit sumarycznego rozmiaru siatek w pamięci, w bajtach.
+     * @param directory katalog poziomu dyskowego lub <code>null</code>, gdy poziom dyskowy ma być wyłączony.
+     */
+    public MeshCache(long maxBytes, Path directory) {
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+    }
+
+    /**
+     * Zwraca siatkę dla podanych parametrów - z pamięci, z dysku lub tworzy ją przez
+     * {@link PointMeshGenerator#createMeshPoints(double, int)}.
+     * Przy wywołaniu z wielu wątków naraz siatka może zostać zbudowana więcej niż raz,
+     * ale wszystkie wywołania zwracają tę samą (pierwszą zapamiętaną) instancję.
+     *
+     * @param generator  generator siatki.
+     * @param distance   odległość pomiędzy node'ami siatki.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return siatka punktów.
+     * @throws IOException w przypadku problemów z zapisem siatki w poziomie dyskowym.
+     */
+    public PointSet get(PointMeshGenerator generator, double distance, int sideLength) throws IOException {
+        final var name = getServiceName(generator);
+        final var key = name + "_" + distance + "_" + sideLength;
+
+        synchronized (this) {
+            final var cached = meshes.get(key);
+            if (cached != null) return cached;
+        }
+
+        var mesh = load(key, name, distance, sideLength);
+        if (mesh == null) {
+            mesh = generator.createMeshPoints(distance, sideLength);
+            store(key, name, distance, sideLength, mesh);
+        }
+        return put(key, mesh);
+    }
+
+    /**
+     * Zwraca sumaryczny rozmiar siatek w poziomie pamięciowym.
+     *
+     * @return rozmiar siatek w bajtach.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Zwraca liczbę siatek w poziomie pamięciowym.
+     *
+     * @return liczba siatek.
+     */
+    public synchronized int size() {
+        return meshes.size();
+    }
+
+    /**
+     * Zapamiętuje siatkę w poziomie pamięciowym (jeśli nie została zapamiętana w międzyczasie przez inny wątek)
+     * i usuwa najdawniej używane siatki, jeśli przekroczony został limit.
+     *
+     * @param key  klucz siatki.
+     * @param mesh siatka.
+     * @return zapamiętana siatka dla podanego klucza.
+     */
+    private synchronized PointSet put(String key, PointSet mesh) {
+        final var existing = meshes.get(key);
+        if (existing != null) return existing;
+
+        final var size = byteSize(mesh);
+        if (size > maxBytes) return mesh;
+
+        meshes.put(key, mesh);
+        bytes += size;
+        final var iterator = meshes.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= byteSize(iterator.next());
+            iterator.remove();
+        }
+        return mesh;
+    }
+
+    /**
+     * Wczytuje siatkę z poziomu dyskowego.
+     * Uszkodzony lub niepasujący plik jest ignorowany (siatka zostanie zbudowana i zapisana ponownie).
+     *
+     * @param key        klucz siatki.
+     * @param name       nazwa rodzaju siatki.
+     * @param distance   odległość pomiędzy node'ami siatki.
+     * @param sideLength długość boku obszaru.
+     * @return siatka lub <code>null</code>, gdy poziom dyskowy jest wyłączony lub nie zawiera siatki.
+     */
+    private PointSet load(String key, String name, double distance, int sideLength) {
+        if (directory == null) return null;
+        final var file = file(key);
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            final var instance = MappedInstance.open(file);
+            final var header = instance.getHeader();
+            if (instance.isPoiData() && Objects.equals(name, header.name) && header.range == distance && header.xRange == sideLength) {
+                LOGGER.info("Loaded mesh from cache file {}", file);
+                return instance;
+            }
+            LOGGER.warn("Ignoring mesh cache file {} - parameters do not match.", file);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring mesh cache file {} - {}", file, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Zapisuje siatkę w poziomie dyskowym (jeśli jest włączony i siatka jest zmaterializowana).
+     * Plik zapisywany jest pod nazwą tymczasową i przenoszony, więc równoległe uruchomienia programu
+     * nie odczytają niepełnego pliku.
+     *
+     * @param key        klucz siatki.
+     * @param name       nazwa rodzaju siatki.
+     * @param distance   odległość pomiędzy node'ami siatki.
+     * @param sideLength długość boku obszaru.
+     * @param mesh       siatka.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    private void store(String key, String name, double distance, int sideLength, PointSet mesh) throws IOException {
+        if (directory == null || mesh instanceof LatticeMesh) return;
+        Files.createDirectories(directory);
+        final var header = new PoiData();
+        header.name = name;
+        header.range = distance;
+        header.density = 1.0;
+        header.xRange = header.yRange = sideLength;
+        final var temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            new BinaryInstanceWriter().writePoiData(temp.toFile(), header, mesh, () -> IntStream.range(0, mesh.size()).iterator());
+            Files.move(temp, file(key), ATOMIC_MOVE, REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Zwraca ścieżkę pliku siatki w poziomie dyskowym.
+     *
+     * @param key klucz siatki.
+     * @return ścieżka pliku.
+     */
+    private Path file(String key) {
+        return directory.resolve(key + ".mesh.bin");
+    }
+
+    /**
+     * Szacuje rozmiar siatki w bajtach - dwie współrzędne double na punkt dla siatek zmaterializowanych
+     * oraz stały rozmiar dla siatek leniwych.
+     *
+     * @param mesh siatka.
+     * @return szacunkowy rozmiar siatki w bajtach.
+     */
+    /* visible for tests */ static long byteSize(PointSet mesh) {
+        return mesh instanceof LatticeMesh ? LAZY_MESH_BYTES : 16L * mesh.size();
+    }
+}
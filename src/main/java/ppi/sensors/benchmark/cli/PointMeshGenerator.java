@@ -1,6 +1,8 @@
 package ppi.sensors.benchmark.cli;
 
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
 
 import java.util.List;
 
@@ -31,4 +33,19 @@ public interface PointMeshGenerator {
      * @return lista punktów tworzących siatkę.
      */
     List<Point> createMesh(double distance, int sideLength);
+
+    /**
+     * Zwraca siatkę punktów jako {@link PointSet} - bez osobnego obiektu dla każdego punktu.
+     * Używane przez {@link Generator}.
+     * <p>
+     * Domyślna implementacja kopiuje wynik {@link #createMesh(double, int)} do {@link PointBuffer}'a.
+     * Implementacje powinny ją nadpisać i tworzyć siatkę bezpośrednio.
+     *
+     * @param distance   odległość pomiędzy node'ami siatki.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return zbiór punktów tworzących siatkę.
+     */
+    default PointSet createMeshPoints(double distance, int sideLength) {
+        return PointBuffer.of(createMesh(distance, sideLength));
+    }
 }
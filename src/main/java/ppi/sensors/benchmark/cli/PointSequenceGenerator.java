@@ -1,8 +1,14 @@
 package ppi.sensors.benchmark.cli;
 
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.util.GeneratorParameters;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Generator sekwencji punktów.
@@ -11,7 +17,11 @@ import java.util.List;
  * Aktualnie dostępne implementacje to:
  * {@link ppi.sensors.benchmark.cli.impl.GaussianSequenceGeneratorImpl},
  * {@link ppi.sensors.benchmark.cli.impl.HaltonSequenceGeneratorImpl},
- * {@link ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl}.
+ * {@link ppi.sensors.benchmark.cli.impl.MaternSequenceGeneratorImpl},
+ * {@link ppi.sensors.benchmark.cli.impl.PoissonDiskSequenceGeneratorImpl},
+ * {@link ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl},
+ * {@link ppi.sensors.benchmark.cli.impl.SobolSequenceGeneratorImpl},
+ * {@link ppi.sensors.benchmark.cli.impl.ThomasSequenceGeneratorImpl}.
  *
  * @see ppi.sensors.benchmark.cli.util.NamedServiceLoader
  * @see ppi.sensors.benchmark.cli.util.ServiceName
@@ -27,4 +37,119 @@ public interface PointSequenceGenerator {
      * @return sekwencja punktów jako lista.
      */
     List<Point> createSequence(int count, int sideLength);
+
+    /**
+     * Zwraca sekwencje punktów zgodnie z zadanymi parametrami, wyznaczoną wyłącznie na podstawie
+     * przekazanego ziarna. Dwa wywołania z tymi samymi parametrami zwracają tę samą sekwencję,
+     * niezależnie od stanu generatora - dzięki temu metoda może być wołana równolegle z wielu wątków.
+     * <p>
+     * Domyślna implementacja ignoruje ziarno i deleguje do {@link #createSequence(int, int)}.
+     * Implementacje, które chcą być używane przy generowaniu wielowątkowym, powinny ją nadpisać.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @return sekwencja punktów jako lista.
+     */
+    default List<Point> createSequence(int count, int sideLength, long seed) {
+        return createSequence(count, sideLength);
+    }
+
+    /**
+     * Zwraca sekwencje punktów jako {@link PointSet} - bez osobnego obiektu dla każdego punktu.
+     * Poza typem wyniku działa tak samo jak {@link #createSequence(int, int, long)}.
+     * Używane przez {@link Generator}.
+     * <p>
+     * Domyślna implementacja kopiuje wynik {@link #createSequence(int, int, long)} do {@link PointBuffer}'a.
+     * Implementacje powinny ją nadpisać i tworzyć sekwencję bezpośrednio.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @return sekwencja punktów.
+     */
+    default PointSet createSequencePoints(int count, int sideLength, long seed) {
+        return PointBuffer.of(createSequence(count, sideLength, seed));
+    }
+
+    /**
+     * Zwraca sekwencje punktów jako {@link PointSet}, używając generatora liczb losowych podanego typu.
+     * Używane przez {@link Generator}.
+     * <p>
+     * Domyślna implementacja ignoruje typ generatora i deleguje do {@link #createSequencePoints(int, int, long)} -
+     * właściwe dla generatorów deterministycznych (np. ciągów o niskiej rozbieżności), które używają ziarna
+     * tylko do wyboru fragmentu ciągu. Generatory losowe powinny ją nadpisać.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @param rngType    typ generatora liczb losowych.
+     * @return sekwencja punktów.
+     */
+    default PointSet createSequencePoints(int count, int sideLength, long seed, RngType rngType) {
+        return createSequencePoints(count, sideLength, seed);
+    }
+
+    /**
+     * Zwraca generator skonfigurowany podanymi parametrami (parametr programu "-p", "--generatorParam").
+     * Generator, na którym wołana jest metoda, nie jest modyfikowany - dzięki temu jedna instancja może być
+     * współdzielona przez konfiguracje z różnymi parametrami (np. w {@link SweepCommand}).
+     * <p>
+     * Domyślna implementacja nie obsługuje żadnych parametrów - zwraca ten sam generator dla pustej mapy.
+     *
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return generator z podanymi parametrami.
+     * @throws IllegalArgumentException jeśli parametr nie jest obsługiwany lub ma niepoprawną wartość.
+     * @see ppi.sensors.benchmark.cli.util.GeneratorParameters
+     */
+    default PointSequenceGenerator withParameters(Map<String, String> parameters) {
+        GeneratorParameters.checkKeys(parameters, Set.of());
+        return this;
+    }
+
+    /**
+     * Sprawdza czy generator może utworzyć sekwencję o podanych parametrach - wołane podczas walidacji
+     * parametrów programu, aby niewykonalna konfiguracja została odrzucona przed rozpoczęciem generowania.
+     * <p>
+     * Domyślna implementacja akceptuje wszystkie parametry.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @throws IllegalArgumentException jeśli sekwencji o podanych parametrach nie da się utworzyć.
+     * @see #checkSequence(int, int, long, RngType)
+     */
+    default void checkSequence(int count, int sideLength) {
+    }
+
+    /**
+     * Sprawdza czy wykonalność sekwencji o podanych parametrach zależy od ziarna - czyli czy
+     * {@link #checkSequence(int, int, long, RngType)} może odrzucić którąś z instancji. Jeśli nie,
+     * {@link Generator#checkSequences()} nie wykonuje sprawdzenia dla poszczególnych instancji.
+     * <p>
+     * Domyślna implementacja zwraca <code>false</code>.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return <code>true</code> jeśli sekwencje należy sprawdzić dla ziarna każdej instancji.
+     */
+    default boolean requiresSeedCheck(int count, int sideLength) {
+        return false;
+    }
+
+    /**
+     * Sprawdza czy sekwencja o podanym ziarnie może zostać utworzona - dla generatorów, dla których wykonalność
+     * zależy od ziarna (np. wypełnienie obszaru punktami o minimalnej odległości). Wołane przez
+     * {@link Generator#checkSequences()} dla każdej instancji przed zapisem pierwszego pliku, aby generowanie
+     * nie zostało przerwane po zapisaniu części plików - tylko jeśli {@link #requiresSeedCheck(int, int)}.
+     * <p>
+     * Domyślna implementacja akceptuje wszystkie parametry.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @param rngType    typ generatora liczb losowych.
+     * @throws IllegalArgumentException jeśli sekwencji o podanym ziarnie nie da się utworzyć.
+     */
+    default void checkSequence(int count, int sideLength, long seed, RngType rngType) {
+    }
 }
@@ -0,0 +1,323 @@
+package ppi.sensors.benchmark.cli;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import ppi.sensors.benchmark.cli.model.SweepDefinition;
+import ppi.sensors.benchmark.cli.util.NamedServiceCache;
+import ppi.sensors.benchmark.cli.util.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static java.lang.System.err;
+import static java.lang.System.exit;
+import static java.lang.System.out;
+import static ppi.sensors.benchmark.cli.Cli.MAX_THREAD_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.MIN_THREAD_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.msg;
+
+/**
+ * Podkomenda "sweep" - generowanie plików dla wszystkich kombinacji parametrów z pliku definicji
+ * ({@link SweepDefinition}) w jednym procesie.
+ * Uruchamiana przez {@link Cli#main(String...)}, gdy pierwszym argumentem jest {@link #NAME}.
+ * <p>
+ * Dla każdej kombinacji tworzony jest obiekt {@link Cli} - walidacja i konfiguracja {@link Generator}'a
+ * są więc takie same jak przy pojedynczym uruchomieniu. Wszystkie kombinacje współdzielą pulę wątków
+ * oraz załadowane generatory ({@link NamedServiceCache}), a kolejne kombinacje korzystają z już
+ * rozgrzanego (JIT) kodu. Siatki POI współdzielone są przez {@link MeshCache} (np. ta sama siatka
+ * dla wszystkich generatorów sensorów i liczby sensorów).
+ * <p>
+ * Pliki zapisywane są w takim samym układzie katalogów jak przez {@link Cli#generate()}
+ * (<code>poi/&lt;mesh&gt;_&lt;gen&gt;_&lt;side&gt;</code>). Jeśli któraś z pozostałych osi
+ * (odległość, wykluczenie, liczba POI, liczba sensorów) ma więcej niż jedną wartość, to każda jej wartość
+ * dostaje osobny katalog główny (np. <code>exclusion_20/poi/...</code>), aby pliki różnych kombinacji
+ * nie nadpisywały się.
+ */
+@Command(
+        name = "java -jar benchmark-cli.jar " + SweepCommand.NAME,
+        sortOptions = false,
+        resourceBundle = "ppi.sensors.benchmark.cli.SweepMessages")
+public class SweepCommand {
+
+    /**
+     * Nazwa podkomendy (pierwszy argument programu).
+     */
+    public static final String NAME = "sweep";
+
+    /**
+     * Logger używany do wyświetlania informacji o przebiegu przeglądu.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SweepCommand.class);
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-s", "--sweepFile".
+     * Znaczenie:
+     * Plik JSON z definicją przeglądu parametrów.
+     */
+    @Option(names = {"-s", "--sweepFile"}, required = true, paramLabel = "<file>")
+    /* visible for tests */ String sweepFile;
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-o", "--outDir".
+     * Znaczenie:
+     * Folder gdzie zapisać wyniki - domyślnie current working directory.
+     */
+    @Option(names = {"-o", "--outDir"}, paramLabel = "<file>")
+    /* visible for tests */ String outDir = ".";
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "-t", "--threads".
+     * Znaczenie:
+     * Liczba wątków współdzielonej puli - domyślnie liczba procesorów.
+     */
+    @Option(names = {"-t", "--threads"}, paramLabel = "<int>")
+    /* visible for tests */ int threads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREAD_COUNT);
+
+    /**
+     * Pole do którego wczytywana jest wartość parametru "--meshCache".
+     * Znaczenie:
+     * Katalog dyskowej pamięci podręcznej siatek POI - domyślnie tylko pamięć podręczna w pamięci.
+     */
+    @Option(names = {"--meshCache"}, paramLabel = "<file>")
+    /* visible for tests */ String meshCacheDir;
+
+    /**
+     * Help command - opcja wyświetlenia pomocy.
+     */
+    @Option(names = {"-h", "--help"}, usageHelp = true)
+    /* visible for tests */ boolean help;
+
+    /**
+     * Entry point podkomendy - wywoływany z {@link Cli#main(String...)} z argumentami za nazwą podkomendy.
+     *
+     * @param args argumenty podkomendy.
+     * @throws IOException w przypadku problemów z odczytem definicji lub zapisem plików.
+     */
+    public static void main(String... args) throws IOException {
+
+        final var command = new SweepCommand();
+        final var commandLine = new CommandLine(command);
+
+        try {
+            commandLine.parseArgs(args);
+        } catch (ParameterException e) {
+            err.println(e.getClass().getName() + ": " + e.getMessage());
+            e.getCommandLine().usage(out);
+            exit(1);
+        }
+
+        if (command.help) {
+            commandLine.usage(out);
+            exit(0);
+        }
+
+        try {
+            command.run();
+        } catch (ValidationException e) {
+            err.println(e.getMessage());
+            commandLine.usage(out);
+        }
+    }
+
+    /**
+     * Wczytuje definicję, waliduje wszystkie kombinacje, a następnie generuje pliki dla każdej z nich.
+     * Generowanie rozpoczyna się dopiero, gdy wszystkie kombinacje są poprawne. Współdzielona pula wątków
+     * przypisywana jest kombinacjom przed walidacją - szacowanie pamięci uwzględnia liczbę instancji
+     * generowanych jednocześnie na tej puli.
+     *
+     * @throws IOException         w przypadku problemów z odczytem definicji lub zapisem plików.
+     * @throws ValidationException w przypadku gdy parametry lub któraś z kombinacji nie spełniają kryteriów walidacyjnych.
+     */
+    public void run() throws IOException, ValidationException {
+        validate();
+
+        final var combinations = expand(readDefinition());
+        final var executor = Executors.newWorkStealingPool(threads);
+        try {
+            final var errors = new ArrayList<String>();
+            for (var combination : combinations) {
+                combination.cli.executor = executor;
+                try {
+                    combination.cli.validate();
+                } catch (ValidationException e) {
+                    errors.add(msg("error.sweepCombination", combination.label(), e.getMessage()));
+                }
+            }
+            if (errors.size() > 0) throw new ValidationException(String.join("\n", errors));
+
+            final var services = new NamedServiceCache();
+            final var meshCache = new MeshCache(MeshCache.DEFAULT_MAX_BYTES, meshCacheDir != null ? Paths.get(meshCacheDir) : null);
+            var done = 0;
+            for (var combination : combinations) {
+                LOGGER.info("Sweep: combination {} of {}: {}", ++done, combinations.size(), combination.label());
+                final var root = Paths.get(outDir).resolve(combination.root);
+                Files.createDirectories(root);
+                combination.cli.outDir = root.toString();
+                combination.cli.services = services;
+                combination.cli.meshCache = meshCache;
+                combination.cli.generate();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sprawdza wartości pól obiektu pod kątem zgodności z kryteriami walidacyjnymi.
+     *
+     * @throws ValidationException gdy któreś z pól nie spełnia kryteriów walidacyjnych.
+     */
+    /* visible for tests */ void validate() throws ValidationException {
+        final var errors = new ArrayList<String>();
+
+        if (sweepFile == null || !Files.isRegularFile(Paths.get(sweepFile)))
+            errors.add(msg("error.inputFile", sweepFile));
+
+        if (threads < MIN_THREAD_COUNT || threads > MAX_THREAD_COUNT)
+            errors.add(msg("error.threads", threads, MIN_THREAD_COUNT, MAX_THREAD_COUNT));
+
+        final var outPath = Paths.get(outDir);
+        if (!Files.exists(outPath) || !Files.isDirectory(outPath))
+            errors.add(msg("error.outDir", outDir));
+
+        if (meshCacheDir != null && Files.exists(Paths.get(meshCacheDir)) && !Files.isDirectory(Paths.get(meshCacheDir)))
+            errors.add(msg("error.meshCache", meshCacheDir));
+
+        if (errors.size() > 0) throw new ValidationException(String.join("\n", errors));
+    }
+
+    /**
+     * Wczytuje plik definicji i sprawdza obecność wymaganych pól.
+     *
+     * @return definicja przeglądu.
+     * @throws IOException         w przypadku problemów z odczytem pliku.
+     * @throws ValidationException gdy plik nie jest poprawnym plikiem definicji.
+     */
+    private SweepDefinition readDefinition() throws IOException, ValidationException {
+        final SweepDefinition definition;
+        try {
+            definition = JsonMapper.builder().build().readValue(Paths.get(sweepFile).toFile(), SweepDefinition.class);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException(msg("error.sweepFile", sweepFile, e.getOriginalMessage()));
+        }
+
+        final var errors = new ArrayList<String>();
+        if (definition.instanceCount == null) errors.add(msg("error.sweepField", "instanceCount"));
+        if (isEmpty(definition.poiMeshType)) errors.add(msg("error.sweepField", "poiMeshType"));
+        if (isEmpty(definition.generatorType)) errors.add(msg("error.sweepField", "generatorType"));
+        if (isEmpty(definition.sideLength)) errors.add(msg("error.sweepField", "sideLength"));
+        if (isEmpty(definition.poiDistance)) errors.add(msg("error.sweepField", "poiDistance"));
+        if (isEmpty(definition.poiExclusion) && isEmpty(definition.poiCount))
+            errors.add(msg("error.sweepField", "poiExclusion"));
+        if (isEmpty(definition.sensorCount)) errors.add(msg("error.sweepField", "sensorCount"));
+        if (errors.size() > 0) throw new ValidationException(String.join("\n", errors));
+        return definition;
+    }
+
+    /**
+     * Rozwija definicję w listę kombinacji - po jednym skonfigurowanym obiekcie {@link Cli} na kombinację.
+     *
+     * @param definition definicja przeglądu.
+     * @return lista kombinacji.
+     */
+    /* visible for tests */ static List<Combination> expand(SweepDefinition definition) {
+        final var exclusions = isEmpty(definition.poiExclusion) ? List.of(0) : definition.poiExclusion;
+        final var poiCounts = isEmpty(definition.poiCount) ? Collections.<Integer>singletonList(null) : definition.poiCount;
+
+        final var combinations = new ArrayList<Combination>();
+        for (var distance : definition.poiDistance)
+            for (var exclusion : exclusions)
+                for (var poiCount : poiCounts)
+                    for (var sensorCount : definition.sensorCount)
+                        for (var mesh : definition.poiMeshType)
+                            for (var generator : definition.generatorType)
+                                for (var side : definition.sideLength) {
+                                    final var cli = new Cli();
+                                    cli.instanceCount = definition.instanceCount;
+                                    cli.poiMeshType = mesh;
+                                    cli.sensorSequenceType = generator;
+                                    cli.sideLength = side;
+                                    cli.poiDistance = distance;
+                                    cli.poiExclusionChance = exclusion;
+                                    cli.poiCount = poiCount;
+                                    cli.sensorCount = sensorCount;
+                                    cli.commRadius = definition.commRadius;
+                                    cli.seed = definition.seed;
+                                    cli.largeScale = Boolean.TRUE.equals(definition.largeScale);
+                                    cli.memoryBudget = definition.memoryBudget;
+                                    cli.threads = 1;
+                                    if (definition.format != null) cli.format = definition.format;
+                                    if (definition.rng != null) cli.rng = definition.rng;
+                                    if (definition.generatorParam != null) cli.generatorParams = definition.generatorParam;
+
+                                    var root = Paths.get("");
+                                    if (definition.poiDistance.size() > 1) root = root.resolve("distance_" + distance);
+                                    if (exclusions.size() > 1) root = root.resolve("exclusion_" + exclusion);
+                                    if (poiCounts.size() > 1) root = root.resolve("poiCount_" + poiCount);
+                                    if (definition.sensorCount.size() > 1) root = root.resolve("sensors_" + sensorCount);
+                                    combinations.add(new Combination(cli, root));
+                                }
+        return combinations;
+    }
+
+    /**
+     * Sprawdza czy lista jest pusta lub nie została podana.
+     *
+     * @param values lista.
+     * @return <code>true</code> dla pustej listy lub <code>null</code>.
+     */
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+
+    /**
+     * Pojedyncza kombinacja parametrów.
+     */
+    /* visible for tests */ static final class Combination {
+
+        /**
+         * Obiekt {@link Cli} skonfigurowany parametrami kombinacji.
+         */
+        /* visible for tests */ final Cli cli;
+
+        /**
+         * Katalog główny kombinacji (względem katalogu wyjściowego przeglądu).
+         */
+        /* visible for tests */ final Path root;
+
+        /**
+         * Konstruktor.
+         *
+         * @param cli  obiekt {@link Cli} skonfigurowany parametrami kombinacji.
+         * @param root katalog główny kombinacji.
+         */
+        private Combination(Cli cli, Path root) {
+            this.cli = cli;
+            this.root = root;
+        }
+
+        /**
+         * Zwraca opis kombinacji - do logów i komunikatów błędów.
+         *
+         * @return opis kombinacji.
+         */
+        /* visible for tests */ String label() {
+            return "mesh=" + cli.poiMeshType + ", generator=" + cli.sensorSequenceType
+                    + ", side=" + cli.sideLength + ", distance=" + cli.poiDistance
+                    + (cli.poiCount != null ? ", poiCount=" + cli.poiCount : ", exclusion=" + cli.poiExclusionChance)
+                    + ", sensors=" + cli.sensorCount;
+        }
+    }
+}
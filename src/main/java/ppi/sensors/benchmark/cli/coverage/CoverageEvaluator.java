@@ -0,0 +1,128 @@
+package ppi.sensors.benchmark.cli.coverage;
+
+import ppi.sensors.benchmark.cli.model.PointGrid;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.util.Arrays;
+
+import static ppi.sensors.benchmark.cli.util.Parallel.chunkCount;
+import static ppi.sensors.benchmark.cli.util.Parallel.forEachChunk;
+
+/**
+ * Ocena pokrycia POI przez zbiór sensorów - POI jest pokryty, jeśli co najmniej jeden sensor
+ * znajduje się w odległości nie większej niż zasięg.
+ * <p>
+ * Sensory umieszczane są w {@link PointGrid}, więc dla każdego POI sprawdzane są tylko sensory
+ * z sąsiednich komórek - czas działania jest w przybliżeniu liniowy względem liczby POI i sensorów
+ * (zamiast iloczynu). Dla dużych instancji POI dzielone są na fragmenty przetwarzane równolegle
+ * (patrz {@link ppi.sensors.benchmark.cli.util.Parallel}), każdy z własnymi licznikami,
+ * które są na końcu sumowane - wynik nie zależy od liczby wątków.
+ */
+public class CoverageEvaluator {
+
+    /**
+     * Minimalna liczba POI, od której ocena wykonywana jest równolegle.
+     */
+    /* visible for tests */ static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Liczba wątków używanych dla dużych instancji.
+     */
+    private final int threads;
+
+    /**
+     * Konstruktor.
+     *
+     * @param threads liczba wątków używanych dla dużych instancji (1 - zawsze sekwencyjnie).
+     */
+    public CoverageEvaluator(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Ocenia pokrycie POI przez sensory.
+     *
+     * @param pois    zbiór POI.
+     * @param sensors zbiór sensorów.
+     * @param range   zasięg sensora.
+     * @return raport z pokrycia.
+     */
+    public CoverageReport evaluate(PointSet pois, PointSet sensors, double range) {
+        final var grid = new PointGrid(sensors, range);
+        final var size = pois.size();
+        final var chunkCount = chunkCount(size, threads, PARALLEL_THRESHOLD);
+        final var chunks = new Chunk[chunkCount];
+        forEachChunk(size, chunkCount, threads,
+                (c, from, to) -> chunks[c] = evaluateChunk(grid, pois, sensors.size(), from, to));
+
+        final var report = new CoverageReport();
+        report.range = range;
+        report.poiCount = size;
+        report.sensorCoverage = new int[sensors.size()];
+        var uncoveredCount = 0;
+        for (var chunk : chunks) {
+            for (var s = 0; s < chunk.counts.length; s++) report.sensorCoverage[s] += chunk.counts[s];
+            uncoveredCount += chunk.uncovered.length;
+        }
+
+        report.uncoveredPois = new int[uncoveredCount];
+        var position = 0;
+        for (var chunk : chunks) {
+            System.arraycopy(chunk.uncovered, 0, report.uncoveredPois, position, chunk.uncovered.length);
+            position += chunk.uncovered.length;
+        }
+        report.coveredCount = size - uncoveredCount;
+        report.coverage = size > 0 ? (double) report.coveredCount / size : 1.0;
+        return report;
+    }
+
+    /**
+     * Ocenia pokrycie POI z przedziału indeksów [from, to).
+     *
+     * @param grid        indeks sensorów.
+     * @param pois        zbiór POI.
+     * @param sensorCount liczba sensorów.
+     * @param from        pierwszy indeks POI.
+     * @param to          indeks POI za ostatnim.
+     * @return wynik dla fragmentu.
+     */
+    private static Chunk evaluateChunk(PointGrid grid, PointSet pois, int sensorCount, int from, int to) {
+        final var counts = new int[sensorCount];
+        var uncovered = new int[16];
+        var uncoveredCount = 0;
+        for (var i = from; i < to; i++) {
+            if (grid.cover(pois.x(i), pois.y(i), counts) == 0) {
+                if (uncoveredCount == uncovered.length) uncovered = Arrays.copyOf(uncovered, uncoveredCount * 2);
+                uncovered[uncoveredCount++] = i;
+            }
+        }
+        return new Chunk(counts, Arrays.copyOf(uncovered, uncoveredCount));
+    }
+
+    /**
+     * Wynik oceny fragmentu zbioru POI.
+     */
+    private static final class Chunk {
+
+        /**
+         * Liczba POI z fragmentu pokrytych przez każdy z sensorów.
+         */
+        private final int[] counts;
+
+        /**
+         * Indeksy niepokrytych POI z fragmentu - rosnąco.
+         */
+        private final int[] uncovered;
+
+        /**
+         * Konstruktor.
+         *
+         * @param counts    liczba POI z fragmentu pokrytych przez każdy z sensorów.
+         * @param uncovered indeksy niepokrytych POI z fragmentu.
+         */
+        private Chunk(int[] counts, int[] uncovered) {
+            this.counts = counts;
+            this.uncovered = uncovered;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ppi.sensors.benchmark.cli.coverage;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Wynik oceny pokrycia POI przez zbiór sensorów (patrz {@link CoverageEvaluator}).
+ * Używany do serializacji raportu do pliku JSON.
+ */
+public class CoverageReport {
+
+    /**
+     * Zasięg sensora użyty do oceny.
+     */
+    @JsonProperty
+    public double range;
+
+    /**
+     * Liczba POI.
+     */
+    @JsonProperty
+    public int poiCount;
+
+    /**
+     * Liczba POI pokrytych przez co najmniej jeden sensor.
+     */
+    @JsonProperty
+    public int coveredCount;
+
+    /**
+     * Stosunek liczby pokrytych POI do liczby wszystkich POI (1.0 dla pustego zbioru POI).
+     */
+    @JsonProperty
+    public double coverage;
+
+    /**
+     * Indeksy (w pliku POI) punktów, które nie są pokryte przez żaden sensor - rosnąco.
+     */
+    @JsonProperty
+    public int[] uncoveredPois;
+
+    /**
+     * Liczba POI pokrytych przez każdy z sensorów - indeksowana numerem sensora w pliku.
+     */
+    @JsonProperty
+    public int[] sensorCoverage;
+}
@@ -0,0 +1,228 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.sampling.AliasTable;
+import ppi.sensors.benchmark.cli.util.Parallel;
+import ppi.sensors.benchmark.cli.util.Seeds;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getDoubles;
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getInt;
+
+/**
+ * Bazowy generator sekwencji punktów tworzących skupiska (klastrowy proces punktowy Neymana-Scotta):
+ * środki skupisk rozmieszczone są jednostajnie w obszarze, a każdy punkt należy do jednego ze skupisk
+ * i leży w jego pobliżu - wg rozkładu zależnego od klasy dziedziczącej.
+ * <p>
+ * Skupisko każdego punktu losowane jest w czasie stałym z tablicy aliasów ({@link AliasTable}),
+ * z prawdopodobieństwem proporcjonalnym do wagi skupiska, więc skupiska mogą mieć różną oczekiwaną liczność.
+ * Punkty ułożone są w wyniku skupiskami, a punkty każdego skupiska wyznaczane są z osobnego strumienia liczb
+ * losowych, z ziarnem zależnym od ziarna sekwencji i numeru skupiska ({@link Seeds#CLUSTER_STREAM}).
+ * Skupiska generowane są więc równolegle (na puli, na której działa bieżący wątek - {@link Parallel#currentPool()};
+ * poza pulą sekwencyjnie), a wynik zależy tylko od ziarna - nie od liczby wątków.
+ * <p>
+ * Punkty spoza obszaru są odrzucane i losowane ponownie (a nie "przycinane" do granic),
+ * tak jak w {@link GaussianSequenceGeneratorImpl}.
+ * <p>
+ * Wspólne parametry (patrz {@link #withParameters(Map)}):
+ * <ul>
+ *     <li>{@value #CLUSTERS} - liczba skupisk, z przedziału [1, {@value #MAX_CLUSTERS}],
+ *     domyślnie {@value #DEFAULT_CLUSTERS},</li>
+ *     <li>{@value #WEIGHTS} - nieujemne wagi skupisk oddzielone przecinkami (liczba wag wyznacza liczbę skupisk),
+ *     domyślnie wszystkie skupiska mają jednakową wagę.</li>
+ * </ul>
+ */
+public abstract class ClusterSequenceGeneratorImpl implements PointSequenceGenerator {
+
+    /**
+     * Klucz parametru liczby skupisk.
+     */
+    public static final String CLUSTERS = "clusters";
+
+    /**
+     * Klucz parametru wag skupisk.
+     */
+    public static final String WEIGHTS = "weights";
+
+    /**
+     * Domyślna liczba skupisk.
+     */
+    public static final int DEFAULT_CLUSTERS = 10;
+
+    /**
+     * Maksymalna liczba skupisk - ogranicza pamięć potrzebną na środki skupisk i tablicę aliasów.
+     */
+    public static final int MAX_CLUSTERS = 1 << 22;
+
+    /**
+     * Minimalna liczba punktów, od której skupiska generowane są równolegle.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Liczba skupisk.
+     */
+    protected final int clusters;
+
+    /**
+     * Tablica aliasów do losowania skupiska punktu, wg wag skupisk.
+     */
+    private final AliasTable table;
+
+    /**
+     * Konstruktor.
+     *
+     * @param clusters liczba skupisk.
+     * @param weights  wagi skupisk (o długości równej liczbie skupisk) lub <code>null</code> dla wag jednakowych.
+     * @throws IllegalArgumentException jeśli liczba skupisk leży poza dopuszczalnym przedziałem, lub wagi
+     *                                  są niepoprawne.
+     */
+    protected ClusterSequenceGeneratorImpl(int clusters, double[] weights) {
+        if (clusters < 1 || clusters > MAX_CLUSTERS)
+            throw new IllegalArgumentException(CLUSTERS + "=" + clusters + " is out of range [1, " + MAX_CLUSTERS + "]");
+        if (weights != null && weights.length != clusters)
+            throw new IllegalArgumentException(WEIGHTS + " has " + weights.length + " values, expected "
+                    + CLUSTERS + "=" + clusters);
+        this.clusters = clusters;
+        this.table = new AliasTable(weights != null ? weights : uniformWeights(clusters));
+    }
+
+    /**
+     * Zwraca liczbę skupisk z parametrów generatora - podaną wprost, lub wyznaczoną z liczby wag.
+     *
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return liczba skupisk.
+     * @throws IllegalArgumentException jeśli parametr ma niepoprawną wartość.
+     */
+    protected static int clusters(Map<String, String> parameters) {
+        final var weights = weights(parameters);
+        final var defaultClusters = weights != null ? weights.length : DEFAULT_CLUSTERS;
+        return getInt(parameters, CLUSTERS, defaultClusters, 1, MAX_CLUSTERS);
+    }
+
+    /**
+     * Zwraca wagi skupisk z parametrów generatora.
+     *
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return wagi skupisk lub <code>null</code>, jeśli nie zostały podane.
+     * @throws IllegalArgumentException jeśli parametr ma niepoprawną wartość.
+     */
+    protected static double[] weights(Map<String, String> parameters) {
+        return getDoubles(parameters, WEIGHTS, 0, Double.MAX_VALUE, true);
+    }
+
+    /**
+     * Zwraca sekwencję punktów z ziarnem wyznaczonym z bieżącego czasu.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength) {
+        return createSequence(count, sideLength, System.nanoTime());
+    }
+
+    /**
+     * Zwraca sekwencję punktów wyznaczoną na podstawie ziarna.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed).asList();
+    }
+
+    /**
+     * Zwraca sekwencję punktów wyznaczoną na podstawie ziarna, z generatorem liczb losowych {@link RngType#JDK}.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @return sekwencja punktów.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed, RngType.JDK);
+    }
+
+    /**
+     * Zwraca sekwencję punktów wyznaczoną na podstawie ziarna, z generatorem liczb losowych podanego typu.
+     * Środki skupisk i liczności skupisk losowane są jednym strumieniem, a punkty skupisk - równolegle,
+     * każde skupisko własnym strumieniem.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @param rngType    typ generatora liczb losowych.
+     * @return sekwencja punktów.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed, RngType rngType) {
+        final var rng = rngType.create(seed);
+        final var centerXs = new double[clusters];
+        final var centerYs = new double[clusters];
+        for (var c = 0; c < clusters; c++) {
+            centerXs[c] = rng.nextDouble() * sideLength;
+            centerYs[c] = rng.nextDouble() * sideLength;
+        }
+
+        // Pozycja pierwszego punktu każdego skupiska w wyniku (sumy prefiksowe liczności).
+        final var offsets = new int[clusters + 1];
+        if (clusters == 1) offsets[1] = count;
+        else {
+            for (var i = 0; i < count; i++) offsets[table.next(rng) + 1]++;
+            for (var c = 0; c < clusters; c++) offsets[c + 1] += offsets[c];
+        }
+
+        final var xs = new double[count];
+        final var ys = new double[count];
+        final var pool = Parallel.currentPool();
+        final var chunkCount = Math.min(Parallel.chunkCount(count, Parallel.parallelism(pool), PARALLEL_THRESHOLD), clusters);
+        Parallel.forEachChunk(clusters, chunkCount, pool, (chunk, from, to) -> {
+            for (var c = from; c < to; c++) {
+                final var clusterRng = rngType.create(Seeds.deriveSeed(seed, Seeds.CLUSTER_STREAM, c));
+                for (var i = offsets[c]; i < offsets[c + 1]; i++)
+                    nextPoint(clusterRng, centerXs[c], centerYs[c], sideLength, xs, ys, i);
+            }
+        });
+        return PointBuffer.wrap(xs, ys);
+    }
+
+    /**
+     * Wyznacza punkt skupiska o podanym środku, leżący wewnątrz obszaru.
+     *
+     * @param rng        generator liczb pseudolosowych skupiska.
+     * @param centerX    współrzędna x środka skupiska.
+     * @param centerY    współrzędna y środka skupiska.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param xs         tablica współrzędnych x, do której należy zapisać punkt.
+     * @param ys         tablica współrzędnych y, do której należy zapisać punkt.
+     * @param index      pozycja punktu w tablicach.
+     */
+    protected abstract void nextPoint(Rng rng, double centerX, double centerY, int sideLength,
+                                      double[] xs, double[] ys, int index);
+
+    /**
+     * Zwraca jednakowe wagi dla wszystkich skupisk.
+     *
+     * @param clusters liczba skupisk.
+     * @return wagi skupisk.
+     */
+    private static double[] uniformWeights(int clusters) {
+        final var uniform = new double[clusters];
+        Arrays.fill(uniform, 1);
+        return uniform;
+    }
+}
@@ -1,21 +1,80 @@
 package ppi.sensors.benchmark.cli.impl;
 
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.random.Ziggurat;
 import ppi.sensors.benchmark.cli.util.ServiceName;
 
+import java.util.Map;
+import java.util.Set;
+
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.checkKeys;
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getDouble;
+
+
 /**
  * Pseudolosowy generator sekwencji punktów opartej na rozkładzie Gaussa.
  * Jest to w zasadzie specjalizacja klasy {@link RandomSequenceGeneratorImpl},
  * różniąca się od oryginału tylko tym, że następna wartość pseudolosowa jest
- * generowana według rozkładu Gaussa.
+ * generowana według rozkładu Gaussa (metodą ziggurat, patrz {@link Ziggurat}).
+ * <p>
+ * Rozkład jest obcięty do obszaru: wartości spoza przedziału [0, sideLength] są odrzucane
+ * i losowane ponownie (a nie "przycinane" do granic), więc przy brzegach obszaru nie powstają
+ * skupiska punktów. Współrzędne losowane są niezależnie, więc jest to równoważne odrzucaniu punktów
+ * spoza kwadratu.
+ * <p>
+ * Parametry (patrz {@link #withParameters(Map)}), podawane jako ułamek długości boku obszaru:
+ * <ul>
+ *     <li>{@value #MEAN} - średnia, z przedziału [0, 1], domyślnie 1/2,</li>
+ *     <li>{@value #SIGMA} - odchylenie standardowe, z przedziału (0, {@value #MAX_SIGMA}], domyślnie 1/6.</li>
+ * </ul>
  */
 @ServiceName("gaussian")
 public class GaussianSequenceGeneratorImpl extends RandomSequenceGeneratorImpl {
 
+    /**
+     * Klucz parametru średniej.
+     */
+    public static final String MEAN = "mean";
+
+    /**
+     * Klucz parametru odchylenia standardowego.
+     */
+    public static final String SIGMA = "sigma";
+
+    /**
+     * Domyślna średnia (ułamek długości boku) - środek obszaru.
+     */
+    public static final double DEFAULT_MEAN = 0.5;
+
+    /**
+     * Domyślne odchylenie standardowe (ułamek długości boku) - obszar obejmuje +/- 3 sigma.
+     */
+    public static final double DEFAULT_SIGMA = 1.0 / 6.0;
+
+    /**
+     * Maksymalne odchylenie standardowe (ułamek długości boku).
+     * Ogranicza liczbę odrzuceń - dla większych wartości rozkład i tak jest praktycznie jednostajny.
+     */
+    public static final double MAX_SIGMA = 10.0;
+
+    /**
+     * Średnia rozkładu jako ułamek długości boku obszaru.
+     */
+    private final double mean;
+
+    /**
+     * Odchylenie standardowe rozkładu jako ułamek długości boku obszaru.
+     */
+    private final double sigma;
+
     /**
      * Konstruktor z domyślnym ziarnem generatora losowego.
      */
     public GaussianSequenceGeneratorImpl() {
         super();
+        this.mean = DEFAULT_MEAN;
+        this.sigma = DEFAULT_SIGMA;
     }
 
     /**
@@ -24,22 +83,56 @@ public class GaussianSequenceGeneratorImpl extends RandomSequenceGeneratorImpl {
      * @param seed ziarno dla generatora losowego.
      */
     public GaussianSequenceGeneratorImpl(long seed) {
+        this(seed, DEFAULT_MEAN, DEFAULT_SIGMA);
+    }
+
+    /**
+     * Konstruktor z możliwością przekazania ziarna oraz parametrów rozkładu.
+     *
+     * @param seed  ziarno dla generatora losowego.
+     * @param mean  średnia jako ułamek długości boku obszaru, z przedziału [0, 1].
+     * @param sigma odchylenie standardowe jako ułamek długości boku obszaru, z przedziału (0, {@link #MAX_SIGMA}].
+     * @throws IllegalArgumentException jeśli parametry leżą poza dopuszczalnymi przedziałami.
+     */
+    public GaussianSequenceGeneratorImpl(long seed, double mean, double sigma) {
         super(seed);
+        if (!(mean >= 0 && mean <= 1)) throw new IllegalArgumentException("mean=" + mean + " is out of range [0, 1]");
+        if (!(sigma > 0 && sigma <= MAX_SIGMA))
+            throw new IllegalArgumentException("sigma=" + sigma + " is out of range (0, " + MAX_SIGMA + "]");
+        this.mean = mean;
+        this.sigma = sigma;
     }
 
     /**
-     * Zwraca nastepną liczbe pseudolosową, wg rozkładu Gaussa o średniej 1/2 sideLength
-     * i odchyleniu standardowym 1/6 * sideLength. Wartości spoza przedziału [0, sideLength]
-     * są "przycinane" do granic przedziału.
+     * Zwraca generator z podanymi parametrami {@value #MEAN} i {@value #SIGMA}
+     * (parametry niepodane mają wartości domyślne).
      *
-     * @return następna liczba pseudolosowa wg rozkładu Gaussa.
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return nowy generator z podanymi parametrami.
+     * @throws IllegalArgumentException jeśli parametr nie jest obsługiwany lub ma niepoprawną wartość.
+     */
+    @Override
+    public PointSequenceGenerator withParameters(Map<String, String> parameters) {
+        checkKeys(parameters, Set.of(MEAN, SIGMA));
+        return new GaussianSequenceGeneratorImpl(System.nanoTime(),
+                getDouble(parameters, MEAN, DEFAULT_MEAN, 0, 1, true),
+                getDouble(parameters, SIGMA, DEFAULT_SIGMA, 0, MAX_SIGMA, false));
+    }
+
+    /**
+     * Zwraca nastepną liczbe pseudolosową, wg rozkładu Gaussa o średniej {@link #mean} * sideLength
+     * i odchyleniu standardowym {@link #sigma} * sideLength, obciętego do przedziału [0, sideLength].
+     * Wartości spoza przedziału są odrzucane.
+     *
+     * @param rng        generator liczb pseudolosowych.
      * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return następna liczba pseudolosowa wg rozkładu Gaussa.
      */
     @Override
-    protected double nextDouble(int sideLength) {
-        double d = random.nextGaussian();
-        if (d < -3) d = -3.0;
-        else if (d > 3) d = 3.0;
-        return sideLength * (d + 3.0) / 6.0 ;
+    protected double nextDouble(Rng rng, int sideLength) {
+        double d;
+        do d = sideLength * (mean + sigma * rng.nextGaussian());
+        while (d < 0 || d > sideLength);
+        return d;
     }
 }
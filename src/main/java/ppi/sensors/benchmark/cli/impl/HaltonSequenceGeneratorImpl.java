@@ -2,30 +2,37 @@ package ppi.sensors.benchmark.cli.impl;
 
 import ppi.sensors.benchmark.cli.PointSequenceGenerator;
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+import ppi.sensors.benchmark.cli.sequence.HaltonSequence;
+import ppi.sensors.benchmark.cli.util.Parallel;
 import ppi.sensors.benchmark.cli.util.ServiceName;
 
 import java.util.List;
-
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Stream.generate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 /**
  * Generator ciągu punktów wg. ciągu Haltona.
  * Współrzędna x n-tego punktu zawiera n-tą liczbę ciągu Haltona dla bazy 2.
  * Współrzędna y n-tego punktu zawiera n-tą liczbę ciągu Haltona dla bazy 3.
  * <p>
- * Implementacja oparta na pseudokodzie z https://en.wikipedia.org/wiki/Halton_sequence.
+ * Wyrazy ciągu wyznaczane są przyrostowo przez {@link HaltonSequence}. Generator jest bezstanowy -
+ * te same parametry dają zawsze tę samą sekwencję, więc może być używany z wielu wątków.
+ * Długie sekwencje generowane są równolegle we fragmentach, z wynikiem identycznym jak przy
+ * generowaniu sekwencyjnym. Fragmenty wykonywane są na puli, na której działa bieżący wątek
+ * ({@link Parallel#currentPool()}, np. pula generowania instancji) - poza pulą sekwencyjnie.
  */
 @ServiceName("halton")
 public class HaltonSequenceGeneratorImpl implements PointSequenceGenerator {
 
     /**
-     * Licznik - wykorzystywany wewnętrznie.
+     * Minimalna długość sekwencji, od której generowanie dzielone jest na wątki.
      */
-    private int counter = 0;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
 
     /**
-     * Zwraca sekwencje punktów. Gdzie dla n-tego punktu współrzędna x
+     * Zwraca sekwencje punktów. Gdzie dla n-tego punktu (n od 1) współrzędna x
      * to n-ty wyraz ciągu Haltona o bazie 2, zaś współrzędna y to n-ty wyraz ciągu
      * Haltona o bazie 3.
      *
@@ -35,42 +42,46 @@ public class HaltonSequenceGeneratorImpl implements PointSequenceGenerator {
      */
     @Override
     public List<Point> createSequence(int count, int sideLength) {
-        return generate(() -> nextPoint(sideLength)).sequential().limit(count).collect(toList());
+        final var spliterator = new HaltonSequence.PointSpliterator(2, 3, 1, 1L + count, sideLength);
+        return StreamSupport.stream(spliterator, count >= PARALLEL_THRESHOLD).collect(Collectors.toList());
     }
 
     /**
-     * Zwraca kolejny punkt (wg licznika {@link #counter}).
-     * Gdzie współrzędna x to kolejny wyraz ciągu Haltona o bazie 2,
-     * zaś współrzędna y to kolejny wyraz ciągu Haltona o bazie 3.
+     * Zwraca sekwencje punktów ciągu Haltona zaczynającą się od indeksu wyznaczonego
+     * na podstawie ziarna (tzw. "random-start Halton"). Wynik zależy wyłącznie od parametrów.
      *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
      * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
-     * @return Zwraca kolejny punkt (wg licznika {@link #counter})
+     * @param seed       ziarno, z którego wyznaczany jest indeks pierwszego wyrazu ciągu.
+     * @return sekwencja punktów jako lista.
      */
-    public Point nextPoint(int sideLength) {
-        final int index = ++counter;
-        return new Point(
-                haltonNumber(index, 2) * sideLength,
-                haltonNumber(index, 3) * sideLength);
+    @Override
+    public List<Point> createSequence(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed).asList();
     }
 
     /**
-     * Zwraca kolejny wyraz ciągu Haltona dla podanego indeksu i bazy.
-     * Implementacja oparta na pseudokodzie z https://en.wikipedia.org/wiki/Halton_sequence.
+     * Zwraca sekwencje punktów ciągu Haltona jako {@link PointBuffer}.
+     * Działa tak samo jak {@link #createSequence(int, int, long)}.
      *
-     * @param index - index wyrazu ciągu Haltona.
-     * @param base  - baza (oczekiwana liczba pierwsza).
-     * @return kolejny wyraz ciągu Haltona dla podanego indeksu i bazy.
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno, z którego wyznaczany jest indeks pierwszego wyrazu ciągu.
+     * @return sekwencja punktów.
      */
-    private double haltonNumber(int index, int base) {
-        double result = 0.0;
-        double factor = 1.0;
-
-        while (index > 0) {
-            factor /= base;
-            result += factor * (index % base);
-            index /= base;
-        }
-
-        return result;
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed) {
+        final int start = 1 + (int) Math.floorMod(seed, (long) Integer.MAX_VALUE - count);
+        final var xs = new double[count];
+        final var ys = new double[count];
+        final var pool = Parallel.currentPool();
+        final var chunkCount = Parallel.chunkCount(count, Parallel.parallelism(pool), PARALLEL_THRESHOLD);
+        Parallel.forEachChunk(count, chunkCount, pool, (c, from, to) -> {
+            if (from == to) return;
+            final var sequence = new HaltonSequence();
+            sequence.jump(start + (long) from);
+            sequence.fill(xs, ys, from, to, sideLength);
+        });
+        return PointBuffer.wrap(xs, ys);
     }
 }
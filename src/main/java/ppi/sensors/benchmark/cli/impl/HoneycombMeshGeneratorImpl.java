@@ -2,9 +2,10 @@ package ppi.sensors.benchmark.cli.impl;
 
 import ppi.sensors.benchmark.cli.PointMeshGenerator;
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.LatticeMesh;
+import ppi.sensors.benchmark.cli.model.PointSet;
 import ppi.sensors.benchmark.cli.util.ServiceName;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -22,16 +23,60 @@ public class HoneycombMeshGeneratorImpl implements PointMeshGenerator {
      */
     @Override
     public List<Point> createMesh(double distance, int sideLength) {
-        final List<Point> result = new ArrayList<>();
-        final double h = distance * Math.sqrt(3) / 2;
-        boolean odd = false;
-        for (double y = 0.0; y <= sideLength; y += h, odd = !odd) {
-            int i = odd ? 1 : 2;
-            for (double x = odd ? distance / 2.0 : 0.0; x <= sideLength; x += distance, i++) {
-                if (i % 3 == 0) continue;
-                result.add(new Point(x, y));
-            }
+        return createMeshPoints(distance, sideLength).asList();
+    }
+
+    /**
+     * Zwraca zbiór punktów tworzących siatkę opartą na sześciokątach foremnych (aka "plaster miodu").
+     *
+     * @param distance   odległość pomiędzy node'ami siatki - długość boku sześciokąta foremnego.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return zbiór punktów tworzących siatkę.
+     */
+    @Override
+    public PointSet createMeshPoints(double distance, int sideLength) {
+        return new HoneycombMesh(distance, sideLength);
+    }
+
+    /**
+     * Leniwa siatka "plaster miodu". Jest to siatka trójkątna, w której co trzeci węzeł
+     * w każdym wierszu jest pominięty - w wierszach parzystych pomijane są kolumny 1, 4, 7, ...,
+     * w nieparzystych kolumny 2, 5, 8, ...
+     */
+    private static class HoneycombMesh extends LatticeMesh {
+
+        /**
+         * Konstruktor.
+         *
+         * @param distance   odległość pomiędzy node'ami siatki - długość boku sześciokąta foremnego.
+         * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+         */
+        HoneycombMesh(double distance, int sideLength) {
+            super(distance, distance * Math.sqrt(3) / 2, distance / 2.0, sideLength);
+        }
+
+        /**
+         * Zwraca liczbę punktów w wierszu, po pominięciu co trzeciej kolumny.
+         *
+         * @param odd     <code>true</code> dla wiersza nieparzystego.
+         * @param columns liczba kolumn w wierszu.
+         * @return liczba punktów w wierszu.
+         */
+        @Override
+        protected int columnCount(boolean odd, long columns) {
+            return super.columnCount(odd, odd ? columns - columns / 3 : columns - (columns + 1) / 3);
+        }
+
+        /**
+         * Zwraca numer kolumny k-tego punktu w wierszu, z pominięciem co trzeciej kolumny.
+         *
+         * @param odd <code>true</code> dla wiersza nieparzystego.
+         * @param k   numer punktu w wierszu.
+         * @return numer kolumny.
+         */
+        @Override
+        protected int column(boolean odd, int k) {
+            return odd ? k + k / 2 : k + (k + 1) / 2;
         }
-        return result;
     }
 }
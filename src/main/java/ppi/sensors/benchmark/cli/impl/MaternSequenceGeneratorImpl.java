@@ -0,0 +1,111 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.util.ServiceName;
+
+import java.util.Map;
+import java.util.Set;
+
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.checkKeys;
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getDouble;
+
+/**
+ * Generator sekwencji punktów wg procesu Matérna - punkty skupiska rozłożone są jednostajnie w kole
+ * o zadanym promieniu wokół środka skupiska (obciętym do obszaru).
+ * <p>
+ * Parametry (patrz {@link #withParameters(Map)}) - oprócz wspólnych parametrów
+ * {@link ClusterSequenceGeneratorImpl skupisk}:
+ * <ul>
+ *     <li>{@value #RADIUS} - promień skupiska jako ułamek długości boku obszaru, z przedziału
+ *     (0, {@value #MAX_RADIUS}], domyślnie {@value #DEFAULT_RADIUS}.</li>
+ * </ul>
+ */
+@ServiceName("matern")
+public class MaternSequenceGeneratorImpl extends ClusterSequenceGeneratorImpl {
+
+    /**
+     * Klucz parametru promienia skupiska.
+     */
+    public static final String RADIUS = "radius";
+
+    /**
+     * Domyślny promień skupiska (ułamek długości boku).
+     */
+    public static final double DEFAULT_RADIUS = 0.1;
+
+    /**
+     * Maksymalny promień skupiska (ułamek długości boku). Dla promienia nie większego niż bok obszaru
+     * co najmniej ćwiartka koła leży w obszarze, więc liczba odrzuceń jest ograniczona.
+     */
+    public static final double MAX_RADIUS = 1.0;
+
+    /**
+     * Promień skupiska jako ułamek długości boku obszaru.
+     */
+    private final double radius;
+
+    /**
+     * Konstruktor z domyślnymi parametrami.
+     */
+    public MaternSequenceGeneratorImpl() {
+        this(DEFAULT_CLUSTERS, null, DEFAULT_RADIUS);
+    }
+
+    /**
+     * Konstruktor z możliwością przekazania parametrów.
+     *
+     * @param clusters liczba skupisk.
+     * @param weights  wagi skupisk (o długości równej liczbie skupisk) lub <code>null</code> dla wag jednakowych.
+     * @param radius   promień skupiska jako ułamek długości boku obszaru, z przedziału (0, {@link #MAX_RADIUS}].
+     * @throws IllegalArgumentException jeśli parametry leżą poza dopuszczalnymi przedziałami.
+     */
+    public MaternSequenceGeneratorImpl(int clusters, double[] weights, double radius) {
+        super(clusters, weights);
+        if (!(radius > 0 && radius <= MAX_RADIUS))
+            throw new IllegalArgumentException(RADIUS + "=" + radius + " is out of range (0, " + MAX_RADIUS + "]");
+        this.radius = radius;
+    }
+
+    /**
+     * Zwraca generator z podanymi parametrami {@value #CLUSTERS}, {@value #WEIGHTS} i {@value #RADIUS}
+     * (parametry niepodane mają wartości domyślne).
+     *
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return nowy generator z podanymi parametrami.
+     * @throws IllegalArgumentException jeśli parametr nie jest obsługiwany lub ma niepoprawną wartość.
+     */
+    @Override
+    public PointSequenceGenerator withParameters(Map<String, String> parameters) {
+        checkKeys(parameters, Set.of(CLUSTERS, WEIGHTS, RADIUS));
+        return new MaternSequenceGeneratorImpl(clusters(parameters), weights(parameters),
+                getDouble(parameters, RADIUS, DEFAULT_RADIUS, 0, MAX_RADIUS, false));
+    }
+
+    /**
+     * Wyznacza punkt o rozkładzie jednostajnym w kole wokół środka skupiska - metodą odrzucania z kwadratu
+     * opisanego na kole, bez funkcji trygonometrycznych i pierwiastków. Punkty spoza obszaru są odrzucane.
+     *
+     * @param rng        generator liczb pseudolosowych skupiska.
+     * @param centerX    współrzędna x środka skupiska.
+     * @param centerY    współrzędna y środka skupiska.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param xs         tablica współrzędnych x, do której należy zapisać punkt.
+     * @param ys         tablica współrzędnych y, do której należy zapisać punkt.
+     * @param index      pozycja punktu w tablicach.
+     */
+    @Override
+    protected void nextPoint(Rng rng, double centerX, double centerY, int sideLength,
+                             double[] xs, double[] ys, int index) {
+        final var scale = radius * sideLength;
+        double u, v, x, y;
+        do {
+            u = 2 * rng.nextDouble() - 1;
+            v = 2 * rng.nextDouble() - 1;
+            x = centerX + scale * u;
+            y = centerY + scale * v;
+        } while (u * u + v * v > 1 || x < 0 || x > sideLength || y < 0 || y > sideLength);
+        xs[index] = x;
+        ys[index] = y;
+    }
+}
@@ -0,0 +1,645 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.sampling.ExactCountIndexSource;
+import ppi.sensors.benchmark.cli.util.Parallel;
+import ppi.sensors.benchmark.cli.util.ServiceName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.checkKeys;
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getDouble;
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getInt;
+
+/**
+ * Generator sekwencji punktów o rozkładzie Poissona z minimalną odległością ("blue noise") -
+ * żadne dwa punkty nie leżą bliżej niż promień {@link #radius}.
+ * <p>
+ * Punkty wyznaczane są algorytmem Bridsona: kolejne punkty losowane są w pierścieniu [r, 2r) wokół punktów
+ * "aktywnych" (jednostajnie, metodą odrzucania z kwadratu), a punkt aktywny, wokół którego nie udało się
+ * umieścić nowego punktu w {@link #attempts} próbach, przestaje być aktywny. Sprawdzanie odległości używa
+ * siatki pomocniczej o boku komórki r / &radic;2 (co najwyżej jeden punkt w komórce, kolizja możliwa tylko
+ * z punktami w {@link #NEIGHBOURS 20 komórkach sąsiednich}), więc czas działania jest liniowy względem liczby punktów.
+ * <p>
+ * Obszar dzielony jest na kafelki po {@link #TILE_CELLS} x {@link #TILE_CELLS} komórek przetwarzane w czterech
+ * fazach wg. parzystości współrzędnych kafelka. Kafelki tej samej fazy nie sąsiadują ze sobą, więc są
+ * wypełniane równolegle bez synchronizacji (na puli, na której działa bieżący wątek - {@link Parallel#currentPool()};
+ * poza pulą sekwencyjnie), a kafelki kolejnych faz uzupełniają brzegi kafelków wcześniejszych.
+ * Każdy kafelek ma własny strumień liczb losowych ({@link Rng#split()}), więc wynik zależy tylko od ziarna.
+ * <p>
+ * Wypełnienie jest maksymalne (brak miejsca na kolejny punkt), zwykle z większą liczbą punktów niż żądana -
+ * z niego wybierany jest losowy podzbiór o żądanej liczności (podzbiór zachowuje minimalną odległość).
+ * Jeśli żądana liczba punktów nie mieści się w obszarze przy danym promieniu, zgłaszany jest
+ * {@link IllegalArgumentException}. Liczba punktów wypełnienia zależy od ziarna, więc {@link #checkSequence(int, int)}
+ * odrzuca tylko liczby większe od oczekiwanej, a dokładne sprawdzenie dla danego ziarna wykonuje
+ * {@link #checkSequence(int, int, long, RngType)} (wypełniając obszar - wołane przed generowaniem przez
+ * {@link ppi.sensors.benchmark.cli.Generator#checkSequences()}, tylko gdy liczba punktów jest bliska oczekiwanej,
+ * patrz {@link #requiresSeedCheck(int, int)}).
+ * <p>
+ * Parametry (patrz {@link #withParameters(Map)}):
+ * <ul>
+ *     <li>{@value #RADIUS} - minimalna odległość pomiędzy punktami, domyślnie dobierana do liczby punktów
+ *     i pola obszaru (patrz {@link #defaultRadius(int, int)}),</li>
+ *     <li>{@value #ATTEMPTS} - liczba prób umieszczenia punktu wokół punktu aktywnego, domyślnie
+ *     {@value #DEFAULT_ATTEMPTS}.</li>
+ * </ul>
+ */
+@ServiceName("poissondisk")
+public class PoissonDiskSequenceGeneratorImpl implements PointSequenceGenerator {
+
+    /**
+     * Klucz parametru minimalnej odległości.
+     */
+    public static final String RADIUS = "radius";
+
+    /**
+     * Klucz parametru liczby prób.
+     */
+    public static final String ATTEMPTS = "attempts";
+
+    /**
+     * Domyślna liczba prób umieszczenia punktu wokół punktu aktywnego (wartość z pracy Bridsona).
+     */
+    public static final int DEFAULT_ATTEMPTS = 30;
+
+    /**
+     * Maksymalna liczba prób umieszczenia punktu wokół punktu aktywnego.
+     */
+    public static final int MAX_ATTEMPTS = 1000;
+
+    /**
+     * Liczba punktów maksymalnego wypełnienia na jednostkę r<sup>2</sup> pola (wyznaczona doświadczalnie
+     * dla {@link #DEFAULT_ATTEMPTS} prób). Używana do wyznaczenia domyślnego promienia.
+     */
+    private static final double MAXIMAL_DENSITY = 0.62;
+
+    /**
+     * Docelowy stosunek żądanej liczby punktów do liczby punktów maksymalnego wypełnienia przy domyślnym
+     * promieniu - zapas chroniący przed wypełnieniem mniejszym niż żądana liczba punktów.
+     */
+    private static final double DEFAULT_FILL = 0.8;
+
+    /**
+     * Względny zapas poniżej oczekiwanej liczby punktów maksymalnego wypełnienia, w którym wypełnienie ma
+     * wystarczająco punktów niezależnie od ziarna (rozrzut wypełnień wynosi kilka procent).
+     */
+    private static final double SAFE_FILL_MARGIN = 0.1;
+
+    /**
+     * Zapas poniżej oczekiwanej liczby punktów maksymalnego wypełnienia, w krotnościach jej pierwiastka -
+     * dla małych obszarów, w których względny rozrzut wypełnień jest większy.
+     */
+    private static final double SAFE_FILL_DEVIATIONS = 3;
+
+    /**
+     * Logarytm dwójkowy {@link #TILE_CELLS}.
+     */
+    private static final int TILE_SHIFT = 5;
+
+    /**
+     * Długość boku kafelka w komórkach siatki pomocniczej. Musi wynosić co najmniej 2 komórki
+     * (promień sprawdzania sąsiadów), aby kafelki tej samej fazy nie wpływały na siebie.
+     */
+    private static final int TILE_CELLS = 1 << TILE_SHIFT;
+
+    /**
+     * Przesunięcia komórek sąsiednich, w których może leżeć punkt bliższy niż r - w odległości do 2 komórek,
+     * bez narożnych (odległe o co najmniej r), od najbliższych (najczęściej zawierających punkt kolidujący).
+     */
+    private static final int[][] NEIGHBOURS = {
+            {-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, -1}, {1, -1}, {-1, 1}, {1, 1},
+            {-2, 0}, {2, 0}, {0, -2}, {0, 2}, {-2, -1}, {2, -1}, {-2, 1}, {2, 1}, {-1, -2}, {1, -2}, {-1, 2}, {1, 2}};
+
+    /**
+     * Maksymalna liczba komórek siatki pomocniczej.
+     */
+    private static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    /**
+     * Minimalna odległość pomiędzy punktami lub <code>null</code> dla promienia domyślnego.
+     */
+    private final Double radius;
+
+    /**
+     * Liczba prób umieszczenia punktu wokół punktu aktywnego.
+     */
+    private final int attempts;
+
+    /**
+     * Konstruktor z domyślnymi parametrami.
+     */
+    public PoissonDiskSequenceGeneratorImpl() {
+        this(null, DEFAULT_ATTEMPTS);
+    }
+
+    /**
+     * Konstruktor z możliwością przekazania parametrów.
+     *
+     * @param radius   minimalna odległość pomiędzy punktami lub <code>null</code> dla promienia domyślnego.
+     * @param attempts liczba prób umieszczenia punktu wokół punktu aktywnego.
+     * @throws IllegalArgumentException jeśli parametry leżą poza dopuszczalnymi przedziałami.
+     */
+    public PoissonDiskSequenceGeneratorImpl(Double radius, int attempts) {
+        if (radius != null && !(radius > 0 && radius < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("radius=" + radius + " must be positive");
+        if (attempts < 1 || attempts > MAX_ATTEMPTS)
+            throw new IllegalArgumentException("attempts=" + attempts + " is out of range [1, " + MAX_ATTEMPTS + "]");
+        this.radius = radius;
+        this.attempts = attempts;
+    }
+
+    /**
+     * Zwraca generator z podanymi parametrami {@value #RADIUS} i {@value #ATTEMPTS}
+     * (parametry niepodane mają wartości domyślne).
+     *
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return nowy generator z podanymi parametrami.
+     * @throws IllegalArgumentException jeśli parametr nie jest obsługiwany lub ma niepoprawną wartość.
+     */
+    @Override
+    public PointSequenceGenerator withParameters(Map<String, String> parameters) {
+        checkKeys(parameters, Set.of(RADIUS, ATTEMPTS));
+        return new PoissonDiskSequenceGeneratorImpl(
+                parameters.containsKey(RADIUS) ? getDouble(parameters, RADIUS, 0, 0, Double.MAX_VALUE, false) : null,
+                getInt(parameters, ATTEMPTS, DEFAULT_ATTEMPTS, 1, MAX_ATTEMPTS));
+    }
+
+    /**
+     * Zwraca sekwencję punktów z ziarnem wyznaczonym z bieżącego czasu.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength) {
+        return createSequence(count, sideLength, System.nanoTime());
+    }
+
+    /**
+     * Zwraca sekwencję punktów wyznaczoną na podstawie ziarna.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed).asList();
+    }
+
+    /**
+     * Zwraca sekwencję punktów wyznaczoną na podstawie ziarna, z generatorem liczb losowych {@link RngType#JDK}.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @return sekwencja punktów.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed, RngType.JDK);
+    }
+
+    /**
+     * Zwraca sekwencję punktów wyznaczoną na podstawie ziarna, z generatorem liczb losowych podanego typu.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @param rngType    typ generatora liczb losowych.
+     * @return sekwencja punktów.
+     * @throws IllegalArgumentException jeśli żądana liczba punktów nie mieści się w obszarze przy danym promieniu.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed, RngType rngType) {
+        final var rng = rngType.create(seed);
+        final var sampling = sample(count, sideLength, rng);
+        final var total = sampling.size();
+        final var xs = new double[count];
+        final var ys = new double[count];
+        final var iterator = new ExactCountIndexSource(total, count, rng.nextLong(), rngType).iterator();
+        for (var i = 0; i < count; i++) {
+            final var index = iterator.nextInt();
+            xs[i] = sampling.x(index);
+            ys[i] = sampling.y(index);
+        }
+        return PointBuffer.wrap(xs, ys);
+    }
+
+    /**
+     * Sprawdza czy wykonalność sekwencji zależy od ziarna - tylko dla promienia podanego parametrem, gdy liczba
+     * punktów jest bliska oczekiwanej liczbie punktów maksymalnego wypełnienia (różni się od niej o mniej niż
+     * {@link #SAFE_FILL_MARGIN} tej liczby, ale nie mniej niż {@link #SAFE_FILL_DEVIATIONS} jej pierwiastka).
+     * Przy domyślnym promieniu żądana liczba punktów stanowi {@link #DEFAULT_FILL} wypełnienia, więc
+     * sprawdzenie nie jest potrzebne.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return <code>true</code> jeśli wypełnienie dla któregoś ziarna może mieć mniej punktów niż żądana liczba.
+     */
+    @Override
+    public boolean requiresSeedCheck(int count, int sideLength) {
+        if (radius == null) return false;
+        final var expected = expectedCount(radius, sideLength);
+        return count > expected - Math.max(SAFE_FILL_MARGIN * expected, SAFE_FILL_DEVIATIONS * Math.sqrt(expected));
+    }
+
+    /**
+     * Sprawdza czy sekwencja o podanym ziarnie może zostać utworzona - wypełnia obszar tak samo jak
+     * {@link #createSequencePoints(int, int, long, RngType)} i porównuje liczbę punktów wypełnienia z żądaną.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla danej sekwencji.
+     * @param rngType    typ generatora liczb losowych.
+     * @throws IllegalArgumentException jeśli żądana liczba punktów nie mieści się w obszarze przy danym promieniu.
+     */
+    @Override
+    public void checkSequence(int count, int sideLength, long seed, RngType rngType) {
+        sample(count, sideLength, rngType.create(seed));
+    }
+
+    /**
+     * Sprawdza czy podana liczba punktów zmieści się w obszarze przy zadanym promieniu - porównując ją
+     * z oczekiwaną liczbą punktów maksymalnego wypełnienia (z uwzględnieniem brzegów obszaru).
+     * Dla promienia domyślnego zawsze jest spełnione. Wypełnienie może mieć mniej punktów niż oczekiwana
+     * liczba - zależnie od ziarna, patrz {@link #checkSequence(int, int, long, RngType)}.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @throws IllegalArgumentException jeśli punkty nie zmieszczą się w obszarze.
+     */
+    @Override
+    public void checkSequence(int count, int sideLength) {
+        if (radius == null) return;
+        final var expected = expectedCount(radius, sideLength);
+        if (count > expected)
+            throw new IllegalArgumentException("Cannot fit " + count + " points at radius " + radius
+                    + " in area of side length " + sideLength + " (about " + expected + " fit)");
+    }
+
+    /**
+     * Wypełnia obszar punktami o minimalnej odległości i sprawdza czy wypełnienie ma co najmniej żądaną
+     * liczbę punktów.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param rng        generator liczb losowych sekwencji.
+     * @return wypełnienie obszaru.
+     * @throws IllegalArgumentException jeśli żądana liczba punktów nie mieści się w obszarze przy danym promieniu.
+     */
+    private Sampling sample(int count, int sideLength, Rng rng) {
+        final var r = radius != null ? radius : defaultRadius(count, sideLength);
+        final var bound = maxCount(r, sideLength);
+        if (count > bound)
+            throw new IllegalArgumentException("Cannot fit " + count + " points at radius " + r
+                    + " in area of side length " + sideLength + " (at most " + bound + ")");
+
+        final var sampling = new Sampling(r, sideLength, rng);
+        if (sampling.size() < count)
+            throw new IllegalArgumentException("Cannot fit " + count + " points at radius " + r
+                    + " in area of side length " + sideLength + " (only " + sampling.size() + " placed)");
+        return sampling;
+    }
+
+    /**
+     * Zwraca domyślny promień - taki, przy którym maksymalne wypełnienie obszaru ma ok. 1 / {@link #DEFAULT_FILL}
+     * raza więcej punktów niż żądana liczba.
+     *
+     * @param count      liczba punktów.
+     * @param sideLength długość boku obszaru.
+     * @return domyślny promień.
+     */
+    /* visible for tests */ static double defaultRadius(int count, int sideLength) {
+        return sideLength * Math.sqrt(MAXIMAL_DENSITY * DEFAULT_FILL / Math.max(1, count));
+    }
+
+    /**
+     * Zwraca oczekiwaną liczbę punktów maksymalnego wypełnienia kwadratu o podanym boku (z uwzględnieniem
+     * brzegów obszaru - kwadrat powiększony o r / 2).
+     *
+     * @param r          minimalna odległość pomiędzy punktami.
+     * @param sideLength długość boku obszaru.
+     * @return oczekiwana liczba punktów maksymalnego wypełnienia.
+     */
+    private static long expectedCount(double r, int sideLength) {
+        final var side = sideLength + r / 2;
+        return (long) (MAXIMAL_DENSITY * side * side / (r * r));
+    }
+
+    /**
+     * Zwraca górne ograniczenie liczby punktów o minimalnej odległości r w kwadracie o podanym boku -
+     * z gęstości najgęstszego (heksagonalnego) upakowania kół o promieniu r / 2 w kwadracie powiększonym o r / 2.
+     *
+     * @param r          minimalna odległość pomiędzy punktami.
+     * @param sideLength długość boku obszaru.
+     * @return górne ograniczenie liczby punktów.
+     */
+    private static long maxCount(double r, int sideLength) {
+        final var side = sideLength + r;
+        final var bound = 2 / Math.sqrt(3) * side * side / (r * r);
+        return bound >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) bound;
+    }
+
+    /**
+     * Maksymalne wypełnienie obszaru punktami o minimalnej odległości - siatka pomocnicza i kafelki.
+     */
+    private final class Sampling {
+
+        /**
+         * Minimalna odległość pomiędzy punktami.
+         */
+        private final double r;
+
+        /**
+         * Kwadrat minimalnej odległości.
+         */
+        private final double r2;
+
+        /**
+         * Długość boku obszaru.
+         */
+        private final int sideLength;
+
+        /**
+         * Długość boku komórki siatki pomocniczej.
+         */
+        private final double cell;
+
+        /**
+         * Liczba komórek w wierszu siatki pomocniczej.
+         */
+        private final int cellsPerSide;
+
+        /**
+         * Liczba kafelków w wierszu.
+         */
+        private final int tilesPerSide;
+
+        /**
+         * Siatka pomocnicza - dla każdej komórki indeks punktu w kafelku zawierającym komórkę, powiększony o 1
+         * (0 - komórka pusta). Komórki ułożone są kafelkami (patrz {@link #cellIndex(int, int)}), więc komórki
+         * kafelka zajmują ciągły fragment tablicy.
+         */
+        private final int[] grid;
+
+        /**
+         * Kafelki, wierszami.
+         */
+        private final Tile[] tiles;
+
+        /**
+         * Pozycja pierwszego punktu każdego kafelka w wyniku (sumy prefiksowe liczby punktów).
+         */
+        private final int[] offsets;
+
+        /**
+         * Konstruktor - wypełnia obszar.
+         *
+         * @param r          minimalna odległość pomiędzy punktami.
+         * @param sideLength długość boku obszaru.
+         * @param rng        generator liczb losowych, z którego wydzielane są strumienie kafelków.
+         * @throws IllegalArgumentException jeśli siatka pomocnicza byłaby zbyt duża.
+         */
+        Sampling(double r, int sideLength, Rng rng) {
+            this.r = r;
+            this.r2 = r * r;
+            this.sideLength = sideLength;
+            this.cell = r / Math.sqrt(2);
+            final var cells = Math.max(1, (long) Math.ceil(sideLength / cell));
+            final var tileCount = (cells + TILE_CELLS - 1) / TILE_CELLS;
+            if (tileCount * tileCount * TILE_CELLS * TILE_CELLS > MAX_CELLS)
+                throw new IllegalArgumentException("Radius " + r + " too small for area of side length " + sideLength + ".");
+            this.cellsPerSide = (int) cells;
+            this.tilesPerSide = (int) tileCount;
+            this.grid = new int[tilesPerSide * tilesPerSide * TILE_CELLS * TILE_CELLS];
+            this.tiles = new Tile[tilesPerSide * tilesPerSide];
+            for (var t = 0; t < tiles.length; t++) tiles[t] = new Tile(t % tilesPerSide, t / tilesPerSide, rng.split());
+
+            final var pool = Parallel.currentPool();
+            final var threads = Parallel.parallelism(pool);
+            for (var phase = 0; phase < 4; phase++) {
+                final var phaseTiles = new ArrayList<Tile>();
+                for (var tile : tiles)
+                    if ((tile.tx & 1) == (phase & 1) && (tile.ty & 1) == (phase >> 1)) phaseTiles.add(tile);
+                Parallel.forEachChunk(phaseTiles.size(), Parallel.chunkCount(phaseTiles.size(), threads, 2), pool,
+                        (c, from, to) -> {
+                            for (var i = from; i < to; i++) phaseTiles.get(i).fill();
+                        });
+            }
+
+            this.offsets = new int[tiles.length + 1];
+            for (var t = 0; t < tiles.length; t++) {
+                final var end = (long) offsets[t] + tiles[t].size;
+                if (end > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many points at radius " + r + ".");
+                offsets[t + 1] = (int) end;
+            }
+        }
+
+        /**
+         * Zwraca liczbę punktów wypełnienia.
+         *
+         * @return liczba punktów.
+         */
+        int size() {
+            return offsets[tiles.length];
+        }
+
+        /**
+         * Zwraca współrzędną x punktu o podanym indeksie (punkty numerowane kolejnymi kafelkami).
+         *
+         * @param index indeks punktu.
+         * @return współrzędna x.
+         */
+        double x(int index) {
+            final var t = tileOf(index);
+            return tiles[t].xs[index - offsets[t]];
+        }
+
+        /**
+         * Zwraca współrzędną y punktu o podanym indeksie (punkty numerowane kolejnymi kafelkami).
+         *
+         * @param index indeks punktu.
+         * @return współrzędna y.
+         */
+        double y(int index) {
+            final var t = tileOf(index);
+            return tiles[t].ys[index - offsets[t]];
+        }
+
+        /**
+         * Zwraca numer kafelka zawierającego punkt o podanym indeksie.
+         *
+         * @param index indeks punktu.
+         * @return numer kafelka.
+         */
+        private int tileOf(int index) {
+            final var found = Arrays.binarySearch(offsets, index);
+            if (found < 0) return -found - 2;
+            var t = found;
+            while (offsets[t + 1] == index) t++;
+            return t;
+        }
+
+        /**
+         * Zwraca numer komórki siatki pomocniczej dla współrzędnej.
+         *
+         * @param v współrzędna.
+         * @return numer komórki w wierszu lub kolumnie.
+         */
+        private int cellOf(double v) {
+            return Math.min((int) (v / cell), cellsPerSide - 1);
+        }
+
+        /**
+         * Zwraca pozycję komórki w {@link #grid} - numer kafelka razy liczba komórek kafelka
+         * plus pozycja komórki w kafelku. Numer kafelka to pozycja przesunięta o 2 * {@link #TILE_SHIFT} bitów.
+         *
+         * @param cx numer komórki w wierszu.
+         * @param cy numer komórki w kolumnie.
+         * @return pozycja komórki.
+         */
+        private int cellIndex(int cx, int cy) {
+            final var tile = (cy >> TILE_SHIFT) * tilesPerSide + (cx >> TILE_SHIFT);
+            return tile << 2 * TILE_SHIFT | (cy & TILE_CELLS - 1) << TILE_SHIFT | cx & TILE_CELLS - 1;
+        }
+
+        /**
+         * Kafelek obszaru - punkty leżące w jego komórkach i strumień liczb losowych.
+         * Punkty kafelka zapisywane są wyłącznie przez wątek wypełniający kafelek.
+         */
+        private final class Tile {
+
+            /**
+             * Kolumna kafelka.
+             */
+            private final int tx;
+
+            /**
+             * Wiersz kafelka.
+             */
+            private final int ty;
+
+            /**
+             * Strumień liczb losowych kafelka.
+             */
+            private final Rng rng;
+
+            /**
+             * Współrzędne x punktów kafelka.
+             */
+            private double[] xs = new double[16];
+
+            /**
+             * Współrzędne y punktów kafelka.
+             */
+            private double[] ys = new double[16];
+
+            /**
+             * Liczba punktów kafelka.
+             */
+            private int size;
+
+            /**
+             * Konstruktor.
+             *
+             * @param tx  kolumna kafelka.
+             * @param ty  wiersz kafelka.
+             * @param rng strumień liczb losowych kafelka.
+             */
+            Tile(int tx, int ty, Rng rng) {
+                this.tx = tx;
+                this.ty = ty;
+                this.rng = rng;
+            }
+
+            /**
+             * Wypełnia kafelek algorytmem Bridsona, zaczynając od losowego punktu kafelka.
+             */
+            void fill() {
+                final var minX = tx * TILE_CELLS * cell;
+                final var minY = ty * TILE_CELLS * cell;
+                final var maxX = Math.min(sideLength, (tx + 1) * TILE_CELLS * cell);
+                final var maxY = Math.min(sideLength, (ty + 1) * TILE_CELLS * cell);
+                if (!(minX < maxX && minY < maxY)) return;
+
+                var active = new int[16];
+                var activeSize = 0;
+                for (var a = 0; a < attempts && activeSize == 0; a++) {
+                    final var x = minX + rng.nextDouble() * (maxX - minX);
+                    final var y = minY + rng.nextDouble() * (maxY - minY);
+                    if (x < maxX && y < maxY && tryAdd(x, y)) active[activeSize++] = size - 1;
+                }
+
+                while (activeSize > 0) {
+                    final var j = rng.nextInt(activeSize);
+                    final var px = xs[active[j]];
+                    final var py = ys[active[j]];
+                    var placed = false;
+                    for (var a = 0; a < attempts && !placed; a++) {
+                        double dx, dy, d2;
+                        do {
+                            final var bits = rng.nextLong();
+                            dx = ((bits >>> 32) * 0x1p-30 - 2) * r;
+                            dy = ((bits & 0xffffffffL) * 0x1p-30 - 2) * r;
+                            d2 = dx * dx + dy * dy;
+                        } while (d2 < r2 || d2 >= 4 * r2);
+                        final var x = px + dx;
+                        final var y = py + dy;
+                        if (x >= minX && x < maxX && y >= minY && y < maxY && tryAdd(x, y)) {
+                            if (activeSize == active.length) active = Arrays.copyOf(active, 2 * activeSize);
+                            active[activeSize++] = size - 1;
+                            placed = true;
+                        }
+                    }
+                    if (!placed) active[j] = active[--activeSize];
+                }
+            }
+
+            /**
+             * Dodaje punkt do kafelka, jeśli w odległości mniejszej niż r nie ma innego punktu.
+             *
+             * @param x współrzędna x punktu (wewnątrz kafelka).
+             * @param y współrzędna y punktu (wewnątrz kafelka).
+             * @return <code>true</code> jeśli punkt został dodany.
+             */
+            private boolean tryAdd(double x, double y) {
+                final var cx = cellOf(x);
+                final var cy = cellOf(y);
+                final var index = cellIndex(cx, cy);
+                if (grid[index] != 0) return false;
+                for (var offset : NEIGHBOURS) {
+                    final var nx = cx + offset[0];
+                    final var ny = cy + offset[1];
+                    if (nx < 0 || ny < 0 || nx >= cellsPerSide || ny >= cellsPerSide) continue;
+                    final var neighbour = cellIndex(nx, ny);
+                    final var value = grid[neighbour];
+                    if (value == 0) continue;
+                    final var owner = tiles[neighbour >> 2 * TILE_SHIFT];
+                    final var dx = owner.xs[value - 1] - x;
+                    final var dy = owner.ys[value - 1] - y;
+                    if (dx * dx + dy * dy < r2) return false;
+                }
+                if (size == xs.length) {
+                    xs = Arrays.copyOf(xs, 2 * size);
+                    ys = Arrays.copyOf(ys, 2 * size);
+                }
+                xs[size] = x;
+                ys[size] = y;
+                grid[index] = ++size;
+                return true;
+            }
+        }
+    }
+}
@@ -2,20 +2,35 @@ package ppi.sensors.benchmark.cli.impl;
 
 import ppi.sensors.benchmark.cli.PointSequenceGenerator;
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+import ppi.sensors.benchmark.cli.random.JdkRng;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.util.Parallel;
 import ppi.sensors.benchmark.cli.util.ServiceName;
 
 import java.util.List;
 import java.util.Random;
 
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Stream.generate;
-
 /**
  * Pseudolosowy generator sekwencji punktów.
+ * <p>
+ * Dla generatorów liczb losowych z niezależnymi strumieniami ({@link RngType#isSplittable()}) sekwencja dzielona
+ * jest na fragmenty o stałej długości {@link #CHUNK_SIZE}, a każdy fragment dostaje własny strumień
+ * ({@link Rng#split()}) - fragmenty generowane są równolegle, a wynik zależy tylko od ziarna. Fragmenty wykonywane
+ * są na puli, na której działa bieżący wątek ({@link Parallel#currentPool()}, np. pula generowania instancji) -
+ * poza pulą sekwencyjnie.
  */
 @ServiceName("random")
 public class RandomSequenceGeneratorImpl implements PointSequenceGenerator {
 
+    /**
+     * Liczba punktów fragmentu sekwencji z własnym strumieniem liczb losowych.
+     * Stała (niezależna od liczby wątków), aby wynik był powtarzalny.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
     /**
      * Generator liczb pseudolosowych z biblioteki standardowej.
      * Używany wewnętrznie.
@@ -49,7 +64,64 @@ public class RandomSequenceGeneratorImpl implements PointSequenceGenerator {
      */
     @Override
     public List<Point> createSequence(int count, int sideLength) {
-        return generate(() -> nextPoint(sideLength)).sequential().limit(count).collect(toList());
+        return createSequencePoints(new JdkRng(random), count, sideLength).asList();
+    }
+
+    /**
+     * Zwraca sekwencję punktów o losowych współrzędnych wewnątrz kwadratowego
+     * obszaru zadanego długością boku. Używa nowego generatora losowego z podanym ziarnem,
+     * więc nie zmienia stanu generatora {@link #random}.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla generatora losowego tej sekwencji.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed).asList();
+    }
+
+    /**
+     * Zwraca sekwencję punktów o losowych współrzędnych wewnątrz kwadratowego
+     * obszaru zadanego długością boku, jako {@link PointBuffer}.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla generatora losowego tej sekwencji.
+     * @return sekwencja punktów.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed, RngType.JDK);
+    }
+
+    /**
+     * Zwraca sekwencję punktów o losowych współrzędnych, korzystając z generatora liczb losowych podanego typu.
+     * Dla {@link RngType#JDK} sekwencja generowana jest jednym strumieniem (tak samo jak
+     * {@link #createSequencePoints(int, int, long)}), dla pozostałych typów - równolegle, we fragmentach
+     * z osobnymi strumieniami.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno dla generatora losowego tej sekwencji.
+     * @param rngType    typ generatora liczb losowych.
+     * @return sekwencja punktów.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed, RngType rngType) {
+        final var rng = rngType.create(seed);
+        if (!rngType.isSplittable()) return createSequencePoints(rng, count, sideLength);
+
+        final var chunkCount = Math.max(1, (count + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        final var streams = new Rng[chunkCount];
+        for (var c = 0; c < chunkCount; c++) streams[c] = rng.split();
+
+        final var xs = new double[count];
+        final var ys = new double[count];
+        Parallel.forEachChunk(count, chunkCount, Parallel.currentPool(),
+                (c, from, to) -> fill(streams[c], xs, ys, from, to, sideLength));
+        return PointBuffer.wrap(xs, ys);
     }
 
     /**
@@ -60,16 +132,50 @@ public class RandomSequenceGeneratorImpl implements PointSequenceGenerator {
      * @return Zwraca kolejny punkt o losowych współrzędnych.
      */
     public Point nextPoint(int sideLength) {
-        return new Point(nextDouble(sideLength), nextDouble(sideLength));
+        final var rng = new JdkRng(random);
+        return new Point(nextDouble(rng, sideLength), nextDouble(rng, sideLength));
+    }
+
+    /**
+     * Zwraca sekwencję punktów o losowych współrzędnych, korzystając z podanego generatora losowego.
+     *
+     * @param rng        generator liczb pseudolosowych.
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return sekwencja punktów.
+     */
+    protected PointBuffer createSequencePoints(Rng rng, int count, int sideLength) {
+        final var xs = new double[count];
+        final var ys = new double[count];
+        fill(rng, xs, ys, 0, count, sideLength);
+        return PointBuffer.wrap(xs, ys);
+    }
+
+    /**
+     * Wypełnia fragment tablic współrzędnymi losowych punktów.
+     *
+     * @param rng        generator liczb pseudolosowych.
+     * @param xs         tablica współrzędnych x.
+     * @param ys         tablica współrzędnych y.
+     * @param from       pierwsza pozycja do wypełnienia.
+     * @param to         pozycja za ostatnią pozycją do wypełnienia.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     */
+    private void fill(Rng rng, double[] xs, double[] ys, int from, int to, int sideLength) {
+        for (var i = from; i < to; i++) {
+            xs[i] = nextDouble(rng, sideLength);
+            ys[i] = nextDouble(rng, sideLength);
+        }
     }
 
     /**
      * Zwraca kolejną liczbę pseudolosową w zakresie [0, sideLength].
      *
+     * @param rng        generator liczb pseudolosowych.
      * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
      * @return kolejna liczba pseudolosowa w zakresie [0, sideLength].
      */
-    protected double nextDouble(int sideLength) {
-        return random.nextDouble() * sideLength;
+    protected double nextDouble(Rng rng, int sideLength) {
+        return rng.nextDouble() * sideLength;
     }
 }
@@ -0,0 +1,104 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+import ppi.sensors.benchmark.cli.sequence.SobolSequence;
+import ppi.sensors.benchmark.cli.util.Parallel;
+import ppi.sensors.benchmark.cli.util.ServiceName;
+
+import java.util.List;
+
+import static ppi.sensors.benchmark.cli.util.Seeds.mix64;
+
+/**
+ * Generator ciągu punktów wg. dwuwymiarowego ciągu Sobola (patrz {@link SobolSequence}).
+ * <p>
+ * Bez ziarna zwracane są kolejne wyrazy ciągu od indeksu 1 (pomijając punkt (0, 0)).
+ * Z ziarnem zwracane są wyrazy od indeksu 0 z przesunięciem cyfrowym wyznaczonym z ziarna -
+ * pierwsze 2<sup>m</sup> punktów nadal tworzy sieć (0, m, 2), tzn. każdy prostokąt elementarny
+ * o polu 2<sup>-m</sup> obszaru zawiera dokładnie jeden punkt.
+ * <p>
+ * Generator jest bezstanowy - może być używany z wielu wątków. Długie sekwencje dzielone są na fragmenty
+ * generowane równolegle (każdy zaczyna od skoku do swojego indeksu), z wynikiem identycznym jak przy
+ * generowaniu sekwencyjnym. Fragmenty wykonywane są na puli, na której działa bieżący wątek
+ * ({@link Parallel#currentPool()}, np. pula generowania instancji) - poza pulą sekwencyjnie.
+ */
+@ServiceName("sobol")
+public class SobolSequenceGeneratorImpl implements PointSequenceGenerator {
+
+    /**
+     * Minimalna długość sekwencji, od której generowanie dzielone jest na wątki.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * Zwraca sekwencje kolejnych wyrazów ciągu Sobola od indeksu 1.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength) {
+        return createPoints(count, sideLength, 1, 0, 0).asList();
+    }
+
+    /**
+     * Zwraca sekwencje wyrazów ciągu Sobola od indeksu 0 z przesunięciem cyfrowym wyznaczonym z ziarna.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno, z którego wyznaczane jest przesunięcie cyfrowe.
+     * @return sekwencja punktów jako lista.
+     */
+    @Override
+    public List<Point> createSequence(int count, int sideLength, long seed) {
+        return createSequencePoints(count, sideLength, seed).asList();
+    }
+
+    /**
+     * Zwraca sekwencje wyrazów ciągu Sobola jako {@link PointBuffer}.
+     * Działa tak samo jak {@link #createSequence(int, int, long)}.
+     *
+     * @param count      liczba punktów, którą należy wygenerować (długość sekwencji).
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param seed       ziarno, z którego wyznaczane jest przesunięcie cyfrowe.
+     * @return sekwencja punktów.
+     */
+    @Override
+    public PointSet createSequencePoints(int count, int sideLength, long seed) {
+        final var shift = mix64(seed);
+        return createPoints(count, sideLength, 0, (int) shift, (int) (shift >>> 32));
+    }
+
+    /**
+     * Generuje wyrazy ciągu o indeksach [start, start + count), dzieląc długie sekwencje na fragmenty
+     * generowane równolegle.
+     *
+     * @param count      liczba punktów.
+     * @param sideLength długość boku obszaru.
+     * @param start      indeks pierwszego wyrazu.
+     * @param shiftX     przesunięcie cyfrowe pierwszego wymiaru.
+     * @param shiftY     przesunięcie cyfrowe drugiego wymiaru.
+     * @return sekwencja punktów.
+     */
+    private PointBuffer createPoints(int count, int sideLength, long start, int shiftX, int shiftY) {
+        final var xs = new double[count];
+        final var ys = new double[count];
+        final var pool = Parallel.currentPool();
+        final var chunkCount = Parallel.chunkCount(count, Parallel.parallelism(pool), PARALLEL_THRESHOLD);
+        Parallel.forEachChunk(count, chunkCount, pool, (c, from, to) -> {
+            if (from == to) return;
+            final var sequence = new SobolSequence(shiftX, shiftY);
+            sequence.jump(start + from);
+            for (var i = from; i < to; i++) {
+                if (i > from) sequence.next();
+                xs[i] = sequence.x() * sideLength;
+                ys[i] = sequence.y() * sideLength;
+            }
+        });
+        return PointBuffer.wrap(xs, ys);
+    }
+}
@@ -2,9 +2,10 @@ package ppi.sensors.benchmark.cli.impl;
 
 import ppi.sensors.benchmark.cli.PointMeshGenerator;
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.LatticeMesh;
+import ppi.sensors.benchmark.cli.model.PointSet;
 import ppi.sensors.benchmark.cli.util.ServiceName;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -22,10 +23,18 @@ public class SquareMeshGeneratorImpl implements PointMeshGenerator {
      */
     @Override
     public List<Point> createMesh(double distance, int sideLength) {
-        final var result = new ArrayList<Point>();
-        for (var y = 0.0; y <= sideLength; y += distance)
-            for (var x = 0.0; x <= sideLength; x += distance)
-                result.add(new Point(x, y));
-        return result;
+        return createMeshPoints(distance, sideLength).asList();
+    }
+
+    /**
+     * Zwraca zbiór punktów tworzących siatkę opartą na kwadratach.
+     *
+     * @param distance   odległość pomiędzy node'ami siatki - długość boku kwadratu bazowego siatki.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return zbiór punktów tworzących siatkę.
+     */
+    @Override
+    public PointSet createMeshPoints(double distance, int sideLength) {
+        return new LatticeMesh(distance, distance, 0.0, sideLength);
     }
 }
@@ -0,0 +1,108 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import ppi.sensors.benchmark.cli.PointSequenceGenerator;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.util.ServiceName;
+
+import java.util.Map;
+import java.util.Set;
+
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.checkKeys;
+import static ppi.sensors.benchmark.cli.util.GeneratorParameters.getDouble;
+
+/**
+ * Generator sekwencji punktów wg procesu Thomasa - punkty skupiska mają rozkład Gaussa
+ * (dwuwymiarowy, izotropowy) wokół środka skupiska, obcięty do obszaru.
+ * <p>
+ * Parametry (patrz {@link #withParameters(Map)}) - oprócz wspólnych parametrów
+ * {@link ClusterSequenceGeneratorImpl skupisk}:
+ * <ul>
+ *     <li>{@value #SIGMA} - odchylenie standardowe jako ułamek długości boku obszaru, z przedziału
+ *     (0, {@value #MAX_SIGMA}], domyślnie {@value #DEFAULT_SIGMA}.</li>
+ * </ul>
+ */
+@ServiceName("thomas")
+public class ThomasSequenceGeneratorImpl extends ClusterSequenceGeneratorImpl {
+
+    /**
+     * Klucz parametru odchylenia standardowego.
+     */
+    public static final String SIGMA = "sigma";
+
+    /**
+     * Domyślne odchylenie standardowe (ułamek długości boku).
+     */
+    public static final double DEFAULT_SIGMA = 0.05;
+
+    /**
+     * Maksymalne odchylenie standardowe (ułamek długości boku). Ogranicza liczbę odrzuceń punktów spoza obszaru
+     * dla skupisk przy brzegu - dla większych wartości rozkład i tak jest praktycznie jednostajny.
+     */
+    public static final double MAX_SIGMA = 1.0;
+
+    /**
+     * Odchylenie standardowe jako ułamek długości boku obszaru.
+     */
+    private final double sigma;
+
+    /**
+     * Konstruktor z domyślnymi parametrami.
+     */
+    public ThomasSequenceGeneratorImpl() {
+        this(DEFAULT_CLUSTERS, null, DEFAULT_SIGMA);
+    }
+
+    /**
+     * Konstruktor z możliwością przekazania parametrów.
+     *
+     * @param clusters liczba skupisk.
+     * @param weights  wagi skupisk (o długości równej liczbie skupisk) lub <code>null</code> dla wag jednakowych.
+     * @param sigma    odchylenie standardowe jako ułamek długości boku obszaru, z przedziału (0, {@link #MAX_SIGMA}].
+     * @throws IllegalArgumentException jeśli parametry leżą poza dopuszczalnymi przedziałami.
+     */
+    public ThomasSequenceGeneratorImpl(int clusters, double[] weights, double sigma) {
+        super(clusters, weights);
+        if (!(sigma > 0 && sigma <= MAX_SIGMA))
+            throw new IllegalArgumentException(SIGMA + "=" + sigma + " is out of range (0, " + MAX_SIGMA + "]");
+        this.sigma = sigma;
+    }
+
+    /**
+     * Zwraca generator z podanymi parametrami {@value #CLUSTERS}, {@value #WEIGHTS} i {@value #SIGMA}
+     * (parametry niepodane mają wartości domyślne).
+     *
+     * @param parameters parametry generatora (klucz - wartość).
+     * @return nowy generator z podanymi parametrami.
+     * @throws IllegalArgumentException jeśli parametr nie jest obsługiwany lub ma niepoprawną wartość.
+     */
+    @Override
+    public PointSequenceGenerator withParameters(Map<String, String> parameters) {
+        checkKeys(parameters, Set.of(CLUSTERS, WEIGHTS, SIGMA));
+        return new ThomasSequenceGeneratorImpl(clusters(parameters), weights(parameters),
+                getDouble(parameters, SIGMA, DEFAULT_SIGMA, 0, MAX_SIGMA, false));
+    }
+
+    /**
+     * Wyznacza punkt o rozkładzie Gaussa wokół środka skupiska. Punkty spoza obszaru są odrzucane.
+     *
+     * @param rng        generator liczb pseudolosowych skupiska.
+     * @param centerX    współrzędna x środka skupiska.
+     * @param centerY    współrzędna y środka skupiska.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @param xs         tablica współrzędnych x, do której należy zapisać punkt.
+     * @param ys         tablica współrzędnych y, do której należy zapisać punkt.
+     * @param index      pozycja punktu w tablicach.
+     */
+    @Override
+    protected void nextPoint(Rng rng, double centerX, double centerY, int sideLength,
+                             double[] xs, double[] ys, int index) {
+        final var scale = sigma * sideLength;
+        double x, y;
+        do {
+            x = centerX + scale * rng.nextGaussian();
+            y = centerY + scale * rng.nextGaussian();
+        } while (x < 0 || x > sideLength || y < 0 || y > sideLength);
+        xs[index] = x;
+        ys[index] = y;
+    }
+}
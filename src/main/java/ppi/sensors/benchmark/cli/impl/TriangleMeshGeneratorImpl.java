@@ -2,9 +2,10 @@ package ppi.sensors.benchmark.cli.impl;
 
 import ppi.sensors.benchmark.cli.PointMeshGenerator;
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.LatticeMesh;
+import ppi.sensors.benchmark.cli.model.PointSet;
 import ppi.sensors.benchmark.cli.util.ServiceName;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -22,12 +23,18 @@ public class TriangleMeshGeneratorImpl implements PointMeshGenerator {
      */
     @Override
     public List<Point> createMesh(double distance, int sideLength) {
-        final var result = new ArrayList<Point>();
-        final var h = distance * Math.sqrt(3) / 2;
-        var odd = false;
-        for (var y = 0.0; y <= sideLength; y += h, odd = !odd)
-            for (var x = odd ? distance / 2.0 : 0.0; x <= sideLength; x += distance)
-                result.add(new Point(x, y));
-        return result;
+        return createMeshPoints(distance, sideLength).asList();
+    }
+
+    /**
+     * Zwraca zbiór punktów tworzących siatkę opartą na trójkątach równobocznych.
+     *
+     * @param distance   odległość pomiędzy node'ami siatki - długość boku trójkata równobocznego.
+     * @param sideLength długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @return zbiór punktów tworzących siatkę.
+     */
+    @Override
+    public PointSet createMeshPoints(double distance, int sideLength) {
+        return new LatticeMesh(distance, distance * Math.sqrt(3) / 2, distance / 2.0, sideLength);
     }
 }
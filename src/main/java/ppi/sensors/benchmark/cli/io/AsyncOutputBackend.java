@@ -0,0 +1,251 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Zapis plików przez {@link AsynchronousFileChannel}.
+ * <p>
+ * Zawartość dzielona jest na fragmenty wielkości bufora z {@link DirectBufferPool puli}, a każdy fragment
+ * zapisywany jest asynchronicznie pod swoją pozycją w pliku - kolejny fragment kopiowany jest do bufora,
+ * podczas gdy poprzednie są jeszcze zapisywane, a kilka zapisów naraz pozwala wykorzystać kolejki poleceń
+ * dysków NVMe. Liczba jednocześnie trwających zapisów (łącznie dla wszystkich wątków) ograniczona jest liczbą
+ * buforów w puli. Metoda {@link #write} kończy się po zakończeniu wszystkich zapisów pliku.
+ * <p>
+ * Opcjonalnie plik przed zapisem fragmentów dostaje docelowy rozmiar (zapisem ostatniego bajtu), więc zapisy
+ * fragmentów nie rozszerzają pliku. Java nie udostępnia <code>fallocate</code> - bloki przydzielane są przez
+ * system plików dopiero przy zapisie fragmentów.
+ */
+public class AsyncOutputBackend implements OutputBackend {
+
+    /**
+     * Pula buforów bezpośrednich.
+     */
+    private final DirectBufferPool pool;
+
+    /**
+     * Czy ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    private final boolean preallocate;
+
+    /**
+     * Konstruktor.
+     *
+     * @param inFlight    maksymalna liczba jednocześnie trwających zapisów (buforów bezpośrednich po
+     *                    {@value DirectBufferPool#DEFAULT_BUFFER_SIZE} bajtów) dla wszystkich wątków.
+     * @param preallocate czy ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    public AsyncOutputBackend(int inFlight, boolean preallocate) {
+        this(new DirectBufferPool(inFlight, DirectBufferPool.DEFAULT_BUFFER_SIZE), preallocate);
+    }
+
+    /**
+     * Konstruktor z własną pulą buforów.
+     *
+     * @param pool        pula buforów bezpośrednich.
+     * @param preallocate czy ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    /* visible for tests */ AsyncOutputBackend(DirectBufferPool pool, boolean preallocate) {
+        this.pool = pool;
+        this.preallocate = preallocate;
+    }
+
+    /**
+     * Zapisuje plik asynchronicznie fragmentami i czeka na zakończenie wszystkich zapisów.
+     *
+     * @param file    plik docelowy.
+     * @param content zawartość pliku (od pozycji do limitu bufora) - pozycja bufora nie jest zmieniana.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        final var source = content.duplicate();
+        try (var channel = AsynchronousFileChannel.open(file.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+            if (preallocate && source.hasRemaining()) preallocate(channel, source.remaining());
+            final var writes = new Writes(channel);
+            try {
+                var position = 0L;
+                while (source.hasRemaining() && writes.failure.get() == null) {
+                    final var buffer = DirectBufferPool.fill(pool.acquire(), source);
+                    final var length = buffer.remaining();
+                    writes.submit(buffer, position);
+                    position += length;
+                }
+            } finally {
+                writes.await();
+            }
+            writes.check();
+        }
+    }
+
+    /**
+     * Ustawia docelowy rozmiar pliku zapisem ostatniego bajtu - przed zapisem fragmentów, bo kolejność
+     * zakończenia zapisów asynchronicznych nie jest określona.
+     *
+     * @param channel kanał pliku.
+     * @param size    rozmiar pliku.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    private static void preallocate(AsynchronousFileChannel channel, long size) throws IOException {
+        try {
+            channel.write(ByteBuffer.allocate(1), size - 1).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while preallocating " + size + " bytes.");
+        }
+    }
+
+    /**
+     * Trwające zapisy fragmentów jednego pliku - obsługa ich zakończenia (także częściowego) i oczekiwanie
+     * na wszystkie.
+     */
+    private final class Writes implements CompletionHandler<Integer, Writes.Chunk> {
+
+        /**
+         * Kanał pliku.
+         */
+        private final AsynchronousFileChannel channel;
+
+        /**
+         * Licznik trwających zapisów - wątek zapisujący plik jest jego stałym uczestnikiem.
+         */
+        private final Phaser pending = new Phaser(1);
+
+        /**
+         * Pierwszy błąd zapisu.
+         */
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        /**
+         * Konstruktor.
+         *
+         * @param channel kanał pliku.
+         */
+        private Writes(AsynchronousFileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Rozpoczyna zapis fragmentu.
+         *
+         * @param buffer   bufor z puli z fragmentem.
+         * @param position pozycja fragmentu w pliku.
+         */
+        private void submit(ByteBuffer buffer, long position) {
+            pending.register();
+            final var chunk = new Chunk(buffer, position);
+            try {
+                channel.write(buffer, position, chunk, this);
+            } catch (RuntimeException e) {
+                failed(e, chunk);
+            }
+        }
+
+        /**
+         * Obsługuje zakończenie zapisu - jeśli zapisano tylko część fragmentu, zapisuje resztę.
+         *
+         * @param written liczba zapisanych bajtów.
+         * @param chunk   fragment.
+         */
+        @Override
+        public void completed(Integer written, Chunk chunk) {
+            chunk.position += written;
+            if (!chunk.buffer.hasRemaining()) {
+                finish(chunk);
+                return;
+            }
+            try {
+                channel.write(chunk.buffer, chunk.position, chunk, this);
+            } catch (RuntimeException e) {
+                failed(e, chunk);
+            }
+        }
+
+        /**
+         * Obsługuje błąd zapisu.
+         *
+         * @param e     błąd.
+         * @param chunk fragment.
+         */
+        @Override
+        public void failed(Throwable e, Chunk chunk) {
+            failure.compareAndSet(null, e);
+            finish(chunk);
+        }
+
+        /**
+         * Kończy zapis fragmentu - zwraca bufor do puli.
+         *
+         * @param chunk fragment.
+         */
+        private void finish(Chunk chunk) {
+            pool.release(chunk.buffer);
+            pending.arriveAndDeregister();
+        }
+
+        /**
+         * Czeka na zakończenie wszystkich rozpoczętych zapisów.
+         *
+         * @throws InterruptedIOException jeśli wątek został przerwany w trakcie oczekiwania.
+         */
+        private void await() throws InterruptedIOException {
+            try {
+                pending.awaitAdvanceInterruptibly(pending.arrive());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for pending writes.");
+            }
+        }
+
+        /**
+         * Zgłasza pierwszy błąd zapisu.
+         *
+         * @throws IOException jeśli któryś z zapisów zakończył się błędem.
+         */
+        private void check() throws IOException {
+            final var e = failure.get();
+            if (e instanceof IOException) throw (IOException) e;
+            if (e != null) throw new IOException(e);
+        }
+
+        /**
+         * Fragment pliku w trakcie zapisu.
+         */
+        private final class Chunk {
+
+            /**
+             * Bufor z puli z fragmentem - pozycja bufora wskazuje początek niezapisanej części.
+             */
+            private final ByteBuffer buffer;
+
+            /**
+             * Pozycja w pliku niezapisanej części fragmentu.
+             */
+            private long position;
+
+            /**
+             * Konstruktor.
+             *
+             * @param buffer   bufor z fragmentem.
+             * @param position pozycja fragmentu w pliku.
+             */
+            private Chunk(ByteBuffer buffer, long position) {
+                this.buffer = buffer;
+                this.position = position;
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.model.PoiData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Opis zwartego formatu binarnego instancji (patrz {@link BinaryInstanceWriter}).
+ * <p>
+ * Wszystkie wartości zapisane są w kolejności little-endian. Plik składa się z nagłówka
+ * o stałym układzie, nazwy (UTF-8) dopełnionej zerami do wielokrotności 8 bajtów
+ * oraz dwóch tablic współrzędnych:
+ * <pre>
+ * offset  typ      pole
+ * 0       int      {@link #MAGIC}
+ * 4       short    {@link #VERSION}
+ * 6       short    rodzaj pliku: {@link #KIND_POI} lub {@link #KIND_SENSOR}
+ * 8       long     seed
+ * 16      double   density
+ * 24      int      xRange
+ * 28      int      yRange
+ * 32      double   range
+ * 40      int      liczba punktów (n)
+ * 44      int      długość nazwy w bajtach
+ * 48      byte[]   nazwa, dopełniona do wielokrotności 8 bajtów
+ * H       double[] n współrzędnych x
+ * H + 8n  double[] n współrzędnych y
+ * </pre>
+ * Tablice współrzędnych zaczynają się na granicy 8 bajtów, więc można je odczytać bezpośrednio
+ * jako widoki {@link java.nio.DoubleBuffer}.
+ * <p>
+ * Plik rodzaju {@link #KIND_POI_LATTICE} ma ten sam nagłówek, ale zamiast współrzędnych zawiera
+ * bitmapę węzłów siatki, które nie zostały wykluczone (patrz {@link LatticeInstanceWriter}):
+ * <pre>
+ * H       int      liczba węzłów siatki (m)
+ * H + 4   int      zarezerwowane (0)
+ * H + 8   long[]   (m + 63) / 64 słów bitmapy; bit i % 64 słowa i / 64 odpowiada węzłowi i
+ * </pre>
+ */
+public final class BinaryFormat {
+
+    /**
+     * Sygnatura pliku - bajty "PPIB".
+     */
+    public static final int MAGIC = 0x42495050;
+
+    /**
+     * Wersja formatu.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Rodzaj pliku: rozmieszczenie POI.
+     */
+    public static final short KIND_POI = 1;
+
+    /**
+     * Rodzaj pliku: rozmieszczenie sensorów.
+     */
+    public static final short KIND_SENSOR = 2;
+
+    /**
+     * Rodzaj pliku: rozmieszczenie POI zapisane jako parametry siatki i bitmapa węzłów.
+     */
+    public static final short KIND_POI_LATTICE = 3;
+
+    /**
+     * Kolejność bajtów używana w formacie.
+     */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Offset pola z liczbą punktów.
+     */
+    public static final int COUNT_OFFSET = 40;
+
+    /**
+     * Offset pola z długością nazwy.
+     */
+    public static final int NAME_LENGTH_OFFSET = 44;
+
+    /**
+     * Rozmiar stałej części nagłówka (przed nazwą).
+     */
+    public static final int FIXED_HEADER_SIZE = 48;
+
+    /**
+     * Maksymalny rozmiar pliku serializowanego w pamięci (patrz {@link InstanceWriter#MAX_SERIALIZED_SIZE}).
+     */
+    static final int MAX_BUFFER_SIZE = InstanceWriter.MAX_SERIALIZED_SIZE;
+
+    /**
+     * Zwraca rozmiar całego nagłówka (razem z dopełnioną nazwą) dla nazwy o podanej długości.
+     *
+     * @param nameLength długość nazwy w bajtach.
+     * @return rozmiar nagłówka w bajtach - offset tablicy współrzędnych x.
+     */
+    public static int headerSize(int nameLength) {
+        return FIXED_HEADER_SIZE + ((nameLength + 7) & ~7);
+    }
+
+    /**
+     * Zwraca rozmiar całego nagłówka (razem z dopełnioną nazwą) dla podanej nazwy.
+     *
+     * @param name nazwa (może być <code>null</code>).
+     * @return rozmiar nagłówka w bajtach - offset tablicy współrzędnych x.
+     */
+    static int headerSize(String name) {
+        return headerSize(name == null ? 0 : name.getBytes(UTF_8).length);
+    }
+
+    /**
+     * Zwraca nazwę z nagłówka jako bajty UTF-8.
+     *
+     * @param header dane nagłówkowe.
+     * @return nazwa jako bajty UTF-8 (pusta tablica jeśli nazwa to <code>null</code>).
+     */
+    static byte[] nameBytes(PoiData header) {
+        return header.name == null ? new byte[0] : header.name.getBytes(UTF_8);
+    }
+
+    /**
+     * Tworzy bufor na stercie na całą zawartość pliku (w kolejności {@link #BYTE_ORDER}).
+     *
+     * @param size rozmiar pliku w bajtach.
+     * @return bufor o podanej pojemności.
+     * @throws IOException gdy plik jest za duży, by zmieścić się w jednym buforze.
+     */
+    static ByteBuffer allocate(long size) throws IOException {
+        if (size > MAX_BUFFER_SIZE)
+            throw new IOException("Instance of " + size + " bytes is too large to be serialized in memory.");
+        return ByteBuffer.allocate((int) size).order(BYTE_ORDER);
+    }
+
+    /**
+     * Zapisuje nagłówek na początku bufora (od pozycji 0).
+     *
+     * @param buffer bufor (w kolejności {@link #BYTE_ORDER}).
+     * @param kind   rodzaj pliku.
+     * @param header dane nagłówkowe.
+     * @param name   nazwa jako bajty UTF-8.
+     * @param count  liczba punktów.
+     */
+    static void writeHeader(ByteBuffer buffer, short kind, PoiData header, byte[] name, int count) {
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, kind);
+        buffer.putLong(8, header.seed);
+        buffer.putDouble(16, header.density);
+        buffer.putInt(24, header.xRange);
+        buffer.putInt(28, header.yRange);
+        buffer.putDouble(32, header.range);
+        buffer.putInt(COUNT_OFFSET, count);
+        buffer.putInt(NAME_LENGTH_OFFSET, name.length);
+        for (var i = 0; i < name.length; i++) buffer.put(FIXED_HEADER_SIZE + i, name[i]);
+    }
+
+    /**
+     * Mapuje (tylko do odczytu) stałą część nagłówka i sprawdza sygnaturę oraz wersję formatu.
+     *
+     * @param channel kanał pliku.
+     * @param path    ścieżka do pliku (używana w komunikatach błędów).
+     * @return zmapowana stała część nagłówka (w kolejności {@link #BYTE_ORDER}).
+     * @throws IOException gdy plik nie jest w formacie binarnym lub ma nieobsługiwaną wersję.
+     */
+    static ByteBuffer mapFixedHeader(FileChannel channel, Path path) throws IOException {
+        if (channel.size() < FIXED_HEADER_SIZE)
+            throw new IOException("File " + path + " is too short to be a binary instance.");
+        final var fixed = channel.map(READ_ONLY, 0, FIXED_HEADER_SIZE).order(BYTE_ORDER);
+        checkFixedHeader(fixed, channel.size(), "File " + path);
+        return fixed;
+    }
+
+    /**
+     * Sprawdza sygnaturę i wersję formatu oraz czy nagłówek z nazwą mieści się w danych.
+     *
+     * @param fixed  stała część nagłówka (w kolejności {@link #BYTE_ORDER}).
+     * @param size   rozmiar danych (pliku lub bufora) w bajtach.
+     * @param source opis źródła danych (używany w komunikatach błędów), np. "File ...".
+     * @throws IOException gdy dane nie są w formacie binarnym lub mają nieobsługiwaną wersję.
+     */
+    static void checkFixedHeader(ByteBuffer fixed, long size, String source) throws IOException {
+        if (fixed.getInt(0) != MAGIC)
+            throw new IOException(source + " is not a binary instance.");
+        if (fixed.getShort(4) != VERSION)
+            throw new IOException("Unsupported binary instance version " + fixed.getShort(4) + " in " + source + ".");
+        if (fixed.getInt(NAME_LENGTH_OFFSET) < 0 || headerSize(fixed.getInt(NAME_LENGTH_OFFSET)) > size)
+            throw new IOException(source + " is truncated or corrupted.");
+    }
+
+    /**
+     * Zwraca bufor z całą instancją (np. wpisem kontenera, patrz {@link ContainerReader}) po sprawdzeniu nagłówka.
+     *
+     * @param content zawartość instancji (od pozycji do limitu bufora).
+     * @param source  opis źródła danych (używany w komunikatach błędów).
+     * @return widok zawartości od pozycji 0 (w kolejności {@link #BYTE_ORDER}).
+     * @throws IOException gdy dane nie są w formacie binarnym lub mają nieobsługiwaną wersję.
+     */
+    static ByteBuffer checkContent(ByteBuffer content, String source) throws IOException {
+        final var buffer = content.slice().order(BYTE_ORDER);
+        if (buffer.remaining() < FIXED_HEADER_SIZE)
+            throw new IOException(source + " is too short to be a binary instance.");
+        checkFixedHeader(buffer, buffer.remaining(), source);
+        return buffer;
+    }
+
+    /**
+     * Zwraca widok fragmentu bufora (w kolejności {@link #BYTE_ORDER}).
+     *
+     * @param buffer bufor.
+     * @param offset początek fragmentu (bezwzględna pozycja w buforze).
+     * @param length długość fragmentu.
+     * @return widok fragmentu od pozycji 0.
+     */
+    static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        return buffer.duplicate().limit(offset + length).position(offset).slice().order(BYTE_ORDER);
+    }
+
+    /**
+     * Odczytuje metadane instancji ze stałej części nagłówka i nazwy zapisanej za nią.
+     *
+     * @param channel kanał pliku.
+     * @param fixed   zmapowana stała część nagłówka.
+     * @return metadane instancji (bez punktów).
+     * @throws IOException w przypadku problemów z odczytem pliku.
+     */
+    static PoiData readHeader(FileChannel channel, ByteBuffer fixed) throws IOException {
+        return readHeader(fixed, channel.map(READ_ONLY, FIXED_HEADER_SIZE, fixed.getInt(NAME_LENGTH_OFFSET)));
+    }
+
+    /**
+     * Odczytuje metadane instancji ze stałej części nagłówka i nazwy.
+     *
+     * @param fixed stała część nagłówka.
+     * @param name  bufor z nazwą (od pozycji do limitu).
+     * @return metadane instancji (bez punktów).
+     */
+    static PoiData readHeader(ByteBuffer fixed, ByteBuffer name) {
+        final var nameBytes = new byte[name.remaining()];
+        name.duplicate().get(nameBytes);
+        final var header = new PoiData();
+        header.name = new String(nameBytes, UTF_8);
+        header.seed = fixed.getLong(8);
+        header.density = fixed.getDouble(16);
+        header.xRange = fixed.getInt(24);
+        header.yRange = fixed.getInt(28);
+        header.range = fixed.getDouble(32);
+        return header;
+    }
+
+    /**
+     * Zwraca kopię metadanych instancji (bez punktów).
+     *
+     * @param header metadane instancji.
+     * @return kopia metadanych.
+     */
+    static PoiData copyHeader(PoiData header) {
+        final var copy = new PoiData();
+        copy.name = header.name;
+        copy.seed = header.seed;
+        copy.density = header.density;
+        copy.xRange = header.xRange;
+        copy.yRange = header.yRange;
+        copy.range = header.range;
+        return copy;
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji klasy,
+     * która ma wyłącznie statyczne metody i stałe.
+     */
+    private BinaryFormat() {
+    }
+}
@@ -0,0 +1,258 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_SENSOR;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.allocate;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.headerSize;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.nameBytes;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.writeHeader;
+
+/**
+ * Zapis instancji w zwartym formacie binarnym (patrz {@link BinaryFormat}).
+ * <p>
+ * Plik otwierany jest przez {@link FileChannel} i od razu mapowany do pamięci w docelowym rozmiarze,
+ * a współrzędne zapisywane są bezpośrednio do {@link MappedByteBuffer}'a - bez tworzenia
+ * obiektów pośrednich. Ponieważ nagłówek zawiera liczbę punktów, a tablica współrzędnych y
+ * zaczyna się zaraz za tablicą x, źródło indeksów POI przechodzone jest dwukrotnie:
+ * raz dla policzenia punktów i raz dla ich zapisu.
+ * <p>
+ * Tablica x oraz tablica y mapowane są osobno, więc każda z nich może mieć do 2 GB.
+ * Serializacja w pamięci ({@link #serializePoiData}, {@link #serializeSensorData}) zapisuje
+ * te same dane do bufora na stercie, więc cały plik może mieć do 2 GB.
+ */
+public class BinaryInstanceWriter implements InstanceWriter {
+
+    /**
+     * Zwraca rozszerzenie plików binarnych.
+     *
+     * @return "bin".
+     */
+    @Override
+    public String getExtension() {
+        return "bin";
+    }
+
+    /**
+     * Zapisuje plik binarny z rozmieszczeniem POI.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void writePoiData(File file, PoiData header, PointSet mesh, IndexSource indices) throws IOException {
+        final var count = indices.count();
+        try (var channel = open(file)) {
+            final var xs = mapCoordinates(channel, header, KIND_POI, count, 0);
+            final var ys = mapCoordinates(channel, header, KIND_POI, count, 1);
+            putPoiPoints(xs, ys, mesh, indices, count);
+        }
+    }
+
+    /**
+     * Zapisuje plik binarny z rozmieszczeniem sensorów.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (nazwa generatora, ziarno, rozmiary obszaru).
+     * @param sensors rozmieszczenie sensorów.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void writeSensorData(File file, PoiData header, PointSet sensors) throws IOException {
+        final var count = sensors.size();
+        try (var channel = open(file)) {
+            final var xs = mapCoordinates(channel, header, KIND_SENSOR, count, 0);
+            final var ys = mapCoordinates(channel, header, KIND_SENSOR, count, 1);
+            putSensorPoints(xs, ys, sensors);
+        }
+    }
+
+    /**
+     * Tworzy w pamięci zawartość pliku binarnego z rozmieszczeniem POI.
+     *
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException gdy plik jest za duży, by zmieścić się w jednym buforze.
+     */
+    @Override
+    public ByteBuffer serializePoiData(PoiData header, PointSet mesh, IndexSource indices) throws IOException {
+        final var count = indices.count();
+        final var buffer = allocateCoordinates(header, KIND_POI, count);
+        putPoiPoints(coordinates(buffer, count, 0), coordinates(buffer, count, 1), mesh, indices, count);
+        return buffer;
+    }
+
+    /**
+     * Tworzy w pamięci zawartość pliku binarnego z rozmieszczeniem sensorów.
+     *
+     * @param header  dane nagłówkowe (nazwa generatora, ziarno, rozmiary obszaru).
+     * @param sensors rozmieszczenie sensorów.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException gdy plik jest za duży, by zmieścić się w jednym buforze.
+     */
+    @Override
+    public ByteBuffer serializeSensorData(PoiData header, PointSet sensors) throws IOException {
+        final var count = sensors.size();
+        final var buffer = allocateCoordinates(header, KIND_SENSOR, count);
+        putSensorPoints(coordinates(buffer, count, 0), coordinates(buffer, count, 1), sensors);
+        return buffer;
+    }
+
+    /**
+     * Zwraca rozmiar pliku binarnego z rozmieszczeniem POI - nagłówek i 16 bajtów na punkt.
+     *
+     * @param name     nazwa (generatora siatki) zapisywana w nagłówku.
+     * @param meshSize liczba węzłów siatki (nieużywana).
+     * @param count    liczba POI.
+     * @return rozmiar pliku w bajtach.
+     */
+    @Override
+    public long poiDataSizeBound(String name, int meshSize, long count) {
+        return coordinatesFileSize(name, count);
+    }
+
+    /**
+     * Zwraca rozmiar pliku binarnego z rozmieszczeniem sensorów - nagłówek i 16 bajtów na punkt.
+     *
+     * @param name  nazwa (generatora sekwencji) zapisywana w nagłówku.
+     * @param count liczba sensorów.
+     * @return rozmiar pliku w bajtach.
+     */
+    @Override
+    public long sensorDataSizeBound(String name, long count) {
+        return coordinatesFileSize(name, count);
+    }
+
+    /**
+     * Zwraca rozmiar pliku binarnego ze współrzędnymi punktów.
+     *
+     * @param name  nazwa zapisywana w nagłówku.
+     * @param count liczba punktów.
+     * @return rozmiar pliku w bajtach.
+     */
+    private static long coordinatesFileSize(String name, long count) {
+        return headerSize(name) + 16L * count;
+    }
+
+    /**
+     * Zapisuje współrzędne punktów siatki o indeksach ze źródła indeksów.
+     *
+     * @param xs      bufor tablicy x, ustawiony na jej początek.
+     * @param ys      bufor tablicy y, ustawiony na jej początek.
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki.
+     * @param count   liczba indeksów.
+     */
+    private static void putPoiPoints(ByteBuffer xs, ByteBuffer ys, PointSet mesh, IndexSource indices, int count) {
+        final var iterator = indices.iterator();
+        for (var k = 0; k < count; k++) {
+            final var i = iterator.nextInt();
+            xs.putDouble(mesh.x(i));
+            ys.putDouble(mesh.y(i));
+        }
+    }
+
+    /**
+     * Zapisuje współrzędne sensorów.
+     *
+     * @param xs      bufor tablicy x, ustawiony na jej początek.
+     * @param ys      bufor tablicy y, ustawiony na jej początek.
+     * @param sensors rozmieszczenie sensorów.
+     */
+    private static void putSensorPoints(ByteBuffer xs, ByteBuffer ys, PointSet sensors) {
+        final var count = sensors.size();
+        for (var i = 0; i < count; i++) {
+            xs.putDouble(sensors.x(i));
+            ys.putDouble(sensors.y(i));
+        }
+    }
+
+    /**
+     * Otwiera plik do zapisu (z możliwością mapowania), nadpisując istniejącą zawartość.
+     *
+     * @param file plik docelowy.
+     * @return kanał pliku.
+     * @throws IOException w przypadku problemów z otwarciem pliku.
+     */
+    private static FileChannel open(File file) throws IOException {
+        return FileChannel.open(file.toPath(), CREATE, TRUNCATE_EXISTING, READ, WRITE);
+    }
+
+    /**
+     * Mapuje do pamięci tablicę współrzędnych o podanym numerze (0 - x, 1 - y).
+     * Przy mapowaniu tablicy x zapisuje również nagłówek.
+     *
+     * @param channel kanał pliku.
+     * @param header  dane nagłówkowe.
+     * @param kind    rodzaj pliku.
+     * @param count   liczba punktów.
+     * @param array   numer tablicy współrzędnych (0 - x, 1 - y).
+     * @return bufor zmapowanej tablicy, ustawiony na jej początek.
+     * @throws IOException w przypadku problemów z mapowaniem pliku.
+     */
+    private static MappedByteBuffer mapCoordinates(FileChannel channel, PoiData header, short kind, int count, int array)
+            throws IOException {
+        final var name = nameBytes(header);
+        final var headerSize = headerSize(name.length);
+        final var arraySize = 8L * count;
+        if (array == 0) {
+            final var buffer = channel.map(READ_WRITE, 0, headerSize + arraySize);
+            buffer.order(BYTE_ORDER);
+            writeHeader(buffer, kind, header, name, count);
+            buffer.position(headerSize);
+            return buffer;
+        }
+        final var buffer = channel.map(READ_WRITE, headerSize + arraySize, arraySize);
+        buffer.order(BYTE_ORDER);
+        return buffer;
+    }
+
+    /**
+     * Tworzy bufor na stercie na cały plik i zapisuje w nim nagłówek.
+     *
+     * @param header dane nagłówkowe.
+     * @param kind   rodzaj pliku.
+     * @param count  liczba punktów.
+     * @return bufor z nagłówkiem, ustawiony na pozycję 0.
+     * @throws IOException gdy plik jest za duży, by zmieścić się w jednym buforze.
+     */
+    private static ByteBuffer allocateCoordinates(PoiData header, short kind, int count) throws IOException {
+        final var name = nameBytes(header);
+        final var buffer = allocate(headerSize(name.length) + 16L * count);
+        writeHeader(buffer, kind, header, name, count);
+        return buffer;
+    }
+
+    /**
+     * Zwraca widok tablicy współrzędnych o podanym numerze (0 - x, 1 - y) w buforze z całym plikiem.
+     *
+     * @param buffer bufor z całym plikiem (z zapisanym nagłówkiem).
+     * @param count  liczba punktów.
+     * @param array  numer tablicy współrzędnych (0 - x, 1 - y).
+     * @return widok ustawiony na początek tablicy.
+     */
+    private static ByteBuffer coordinates(ByteBuffer buffer, int count, int array) {
+        final var offset = headerSize(buffer.getInt(BinaryFormat.NAME_LENGTH_OFFSET)) + array * 8 * count;
+        return buffer.duplicate().order(BYTE_ORDER).position(offset);
+    }
+}
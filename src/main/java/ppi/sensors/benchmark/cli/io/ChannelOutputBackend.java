@@ -0,0 +1,79 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Zapis plików przez {@link FileChannel} zapisami zbierającymi (gathering, <code>writev</code>).
+ * <p>
+ * Zawartość kopiowana jest do buforów bezpośrednich z {@link DirectBufferPool puli} - tylu, ile jest akurat
+ * wolnych (co najmniej jednego) - i zapisywana jednym wywołaniem {@link FileChannel#write(ByteBuffer[], int, int)}
+ * dla całej grupy. Opcjonalnie plik przed zapisem dostaje docelowy rozmiar (patrz {@link AsyncOutputBackend}).
+ */
+public class ChannelOutputBackend implements OutputBackend {
+
+    /**
+     * Pula buforów bezpośrednich.
+     */
+    private final DirectBufferPool pool;
+
+    /**
+     * Czy ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    private final boolean preallocate;
+
+    /**
+     * Konstruktor.
+     *
+     * @param buffers     liczba buforów bezpośrednich (po {@value DirectBufferPool#DEFAULT_BUFFER_SIZE} bajtów)
+     *                    współdzielonych przez wszystkie wątki - maksymalna długość jednego zapisu zbierającego.
+     * @param preallocate czy ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    public ChannelOutputBackend(int buffers, boolean preallocate) {
+        this(new DirectBufferPool(buffers, DirectBufferPool.DEFAULT_BUFFER_SIZE), preallocate);
+    }
+
+    /**
+     * Konstruktor z własną pulą buforów.
+     *
+     * @param pool        pula buforów bezpośrednich.
+     * @param preallocate czy ustawiać docelowy rozmiar pliku przed zapisem.
+     */
+    /* visible for tests */ ChannelOutputBackend(DirectBufferPool pool, boolean preallocate) {
+        this.pool = pool;
+        this.preallocate = preallocate;
+    }
+
+    /**
+     * Zapisuje plik grupami buforów z puli.
+     *
+     * @param file    plik docelowy.
+     * @param content zawartość pliku (od pozycji do limitu bufora) - pozycja bufora nie jest zmieniana.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void write(File file, ByteBuffer content) throws IOException {
+        final var source = content.duplicate();
+        final var batch = new ByteBuffer[pool.capacity()];
+        try (var channel = FileChannel.open(file.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+            if (preallocate && source.hasRemaining()) channel.write(ByteBuffer.allocate(1), source.remaining() - 1L);
+            while (source.hasRemaining()) {
+                var count = 0;
+                batch[count++] = DirectBufferPool.fill(pool.acquire(), source);
+                for (ByteBuffer next; source.hasRemaining() && count < batch.length && (next = pool.tryAcquire()) != null; )
+                    batch[count++] = DirectBufferPool.fill(next, source);
+                try {
+                    while (batch[count - 1].hasRemaining()) channel.write(batch, 0, count);
+                } finally {
+                    for (var i = 0; i < count; i++) pool.release(batch[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * Opis formatu kontenera - jednego pliku zawierającego wszystkie pliki instancji z jednego uruchomienia
+ * generatora (patrz {@link ContainerWriter}, {@link ContainerReader}).
+ * <p>
+ * Wszystkie wartości zapisane są w kolejności little-endian. Plik składa się z nagłówka, wpisów (zawartości
+ * plików instancji w formacie podanym w nagłówku, każdy od granicy 8 bajtów - widoki {@link java.nio.DoubleBuffer}
+ * współrzędnych instancji binarnych są wyrównane), indeksu wpisów i stopki na końcu pliku:
+ * <pre>
+ * offset  typ      pole
+ * 0       int      {@link #MAGIC}
+ * 4       short    {@link #VERSION}
+ * 6       short    flagi ({@link #FLAG_INCOMPLETE} do zakończenia zapisu, potem 0)
+ * 8       byte[8]  rozszerzenie plików instancji ("json", "bin", "lattice"), ASCII dopełnione zerami
+ * 16      ...      wpisy
+ * I       rekord[] n rekordów indeksu po {@link #INDEX_ENTRY_SIZE} bajtów, posortowanych po (rodzaj, numer):
+ *                  short rodzaj ({@link #KIND_POI}, {@link #KIND_SENSOR}, {@link #KIND_CONNECTIVITY}),
+ *                  short zarezerwowane (0), int numer instancji, long offset wpisu, long długość wpisu
+ * S - 16  long     offset indeksu (I)
+ * S - 8   int      liczba wpisów (n)
+ * S - 4   int      {@link #MAGIC}
+ * </pre>
+ * Stopka ma stałe położenie względem końca pliku, a rekordy indeksu stały rozmiar, więc odczyt dowolnego wpisu
+ * wymaga odczytu stopki, indeksu i samego wpisu - bez przeglądania pozostałych.
+ * <p>
+ * Flaga {@link #FLAG_INCOMPLETE} zapisywana jest przy utworzeniu pliku i zerowana dopiero po zapisie indeksu
+ * i stopki - kontener, którego zapis nie został zakończony (błąd generowania, przerwanie procesu), nie jest
+ * poprawny, nawet jeśli jego koniec przypadkiem wygląda jak stopka.
+ */
+public final class ContainerFormat {
+
+    /**
+     * Sygnatura pliku - bajty "PPIC".
+     */
+    public static final int MAGIC = 0x43495050;
+
+    /**
+     * Wersja formatu.
+     */
+    public static final short VERSION = 1;
+
+    /**
+     * Flaga nagłówka: zapis kontenera nie został zakończony.
+     */
+    public static final short FLAG_INCOMPLETE = 1;
+
+    /**
+     * Offset flag w nagłówku.
+     */
+    public static final int FLAGS_OFFSET = 6;
+
+    /**
+     * Rodzaj wpisu: rozmieszczenie POI.
+     */
+    public static final short KIND_POI = 1;
+
+    /**
+     * Rodzaj wpisu: rozmieszczenie sensorów.
+     */
+    public static final short KIND_SENSOR = 2;
+
+    /**
+     * Rodzaj wpisu: statystyki spójności sieci sensorów (JSON, niezależnie od formatu instancji).
+     */
+    public static final short KIND_CONNECTIVITY = 3;
+
+    /**
+     * Rozszerzenie plików kontenera (bez kropki).
+     */
+    public static final String EXTENSION = "ppic";
+
+    /**
+     * Kolejność bajtów używana w formacie.
+     */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Rozmiar nagłówka - offset pierwszego wpisu.
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * Maksymalna długość rozszerzenia plików instancji w nagłówku.
+     */
+    public static final int EXTENSION_SIZE = 8;
+
+    /**
+     * Rozmiar rekordu indeksu.
+     */
+    public static final int INDEX_ENTRY_SIZE = 24;
+
+    /**
+     * Rozmiar stopki.
+     */
+    public static final int TRAILER_SIZE = 16;
+
+    /**
+     * Zwraca nazwę rodzaju wpisu (używaną w logach i komunikatach błędów).
+     *
+     * @param kind rodzaj wpisu.
+     * @return nazwa rodzaju.
+     */
+    public static String kindName(short kind) {
+        switch (kind) {
+            case KIND_POI:
+                return "poi";
+            case KIND_SENSOR:
+                return "sensor";
+            case KIND_CONNECTIVITY:
+                return "connectivity";
+            default:
+                return "kind " + kind;
+        }
+    }
+
+    /**
+     * Zwraca klucz wpisu - rodzaj i numer instancji w jednej liczbie.
+     *
+     * @param kind     rodzaj wpisu.
+     * @param instance numer instancji.
+     * @return klucz wpisu.
+     */
+    static long key(short kind, int instance) {
+        return ((long) kind << 32) | (instance & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Zaokrągla offset w górę do wielokrotności 8 bajtów.
+     *
+     * @param offset offset.
+     * @return offset wyrównany do 8 bajtów.
+     */
+    static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji klasy,
+     * która ma wyłącznie statyczne metody i stałe.
+     */
+    private ContainerFormat() {
+    }
+}
@@ -0,0 +1,233 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.READ;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.EXTENSION_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.FLAG_INCOMPLETE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.HEADER_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.INDEX_ENTRY_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.MAGIC;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.TRAILER_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.VERSION;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.key;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.kindName;
+
+/**
+ * Odczyt kontenera (patrz {@link ContainerFormat}). Przy otwarciu wczytywane są tylko nagłówek, stopka i indeks -
+ * wpis o podanym rodzaju i numerze instancji odnajdywany jest w indeksie w czasie stałym, a jego zawartość
+ * mapowana do pamięci bez czytania pozostałych wpisów.
+ */
+public class ContainerReader implements Closeable {
+
+    /**
+     * Ścieżka do pliku kontenera (używana w komunikatach błędów).
+     */
+    private final Path path;
+
+    /**
+     * Kanał pliku kontenera.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Rozszerzenie plików instancji (format wpisów).
+     */
+    private final String extension;
+
+    /**
+     * Offsety wpisów, w kolejności indeksu.
+     */
+    private final long[] offsets;
+
+    /**
+     * Długości wpisów, w kolejności indeksu.
+     */
+    private final int[] lengths;
+
+    /**
+     * Pozycje wpisów w indeksie według klucza (patrz {@link ContainerFormat#key}).
+     */
+    private final Map<Long, Integer> positions;
+
+    /**
+     * Konstruktor.
+     *
+     * @param path      ścieżka do pliku kontenera.
+     * @param channel   kanał pliku kontenera.
+     * @param extension rozszerzenie plików instancji.
+     * @param offsets   offsety wpisów.
+     * @param lengths   długości wpisów.
+     * @param positions pozycje wpisów w indeksie według klucza.
+     */
+    private ContainerReader(Path path, FileChannel channel, String extension,
+                            long[] offsets, int[] lengths, Map<Long, Integer> positions) {
+        this.path = path;
+        this.channel = channel;
+        this.extension = extension;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.positions = positions;
+    }
+
+    /**
+     * Otwiera kontener i wczytuje jego indeks.
+     *
+     * @param path ścieżka do pliku kontenera.
+     * @return otwarty kontener.
+     * @throws IOException w przypadku problemów z odczytem pliku lub gdy plik nie jest poprawnym kontenerem.
+     */
+    public static ContainerReader open(Path path) throws IOException {
+        final var channel = FileChannel.open(path, READ);
+        try {
+            final var size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("File " + path + " is not a container.");
+
+            final var header = readFully(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) throw new IOException("File " + path + " is not a container.");
+            final var version = header.getShort();
+            if (version != VERSION)
+                throw new IOException("Unsupported container version " + version + " in file " + path + ".");
+            if ((header.getShort() & FLAG_INCOMPLETE) != 0)
+                throw new IOException("File " + path + " is an incomplete container (writing did not finish).");
+            final var extensionBytes = new byte[EXTENSION_SIZE];
+            header.get(extensionBytes);
+            var extensionLength = 0;
+            while (extensionLength < EXTENSION_SIZE && extensionBytes[extensionLength] != 0) extensionLength++;
+            final var extension = new String(extensionBytes, 0, extensionLength, US_ASCII);
+
+            if (size < HEADER_SIZE + TRAILER_SIZE)
+                throw new IOException("File " + path + " is not a closed container (missing index).");
+            final var trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            final var indexOffset = trailer.getLong();
+            final var count = trailer.getInt();
+            if (trailer.getInt() != MAGIC)
+                throw new IOException("File " + path + " is not a closed container (missing index).");
+            if (count < 0 || indexOffset < HEADER_SIZE
+                    || indexOffset + (long) count * INDEX_ENTRY_SIZE != size - TRAILER_SIZE)
+                throw new IOException("File " + path + " has a corrupted container index.");
+
+            final var index = readFully(channel, indexOffset, count * INDEX_ENTRY_SIZE);
+            final var offsets = new long[count];
+            final var lengths = new int[count];
+            final var positions = new HashMap<Long, Integer>(2 * count);
+            for (var i = 0; i < count; i++) {
+                final var kind = index.getShort();
+                index.getShort();
+                final var instance = index.getInt();
+                offsets[i] = index.getLong();
+                final var length = index.getLong();
+                if (offsets[i] < HEADER_SIZE || length < 0 || length > Integer.MAX_VALUE
+                        || offsets[i] + length > indexOffset)
+                    throw new IOException("File " + path + " has a corrupted container index.");
+                lengths[i] = (int) length;
+                if (positions.put(key(kind, instance), i) != null)
+                    throw new IOException("File " + path + " has a duplicate container entry "
+                            + kindName(kind) + " " + instance + ".");
+            }
+            return new ContainerReader(path, channel, extension, offsets, lengths, positions);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Zwraca rozszerzenie plików instancji zapisanych w kontenerze ("json", "bin" lub "lattice").
+     *
+     * @return rozszerzenie plików instancji.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Zwraca liczbę wpisów w kontenerze.
+     *
+     * @return liczba wpisów.
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Sprawdza czy kontener zawiera wpis o podanym rodzaju i numerze instancji.
+     *
+     * @param kind     rodzaj wpisu (patrz {@link ContainerFormat}).
+     * @param instance numer instancji.
+     * @return <code>true</code> jeśli wpis istnieje.
+     */
+    public boolean contains(short kind, int instance) {
+        return positions.containsKey(key(kind, instance));
+    }
+
+    /**
+     * Zwraca zawartość wpisu o podanym rodzaju i numerze instancji - bufor tylko do odczytu,
+     * zmapowany do pamięci (zawartość nie jest kopiowana).
+     *
+     * @param kind     rodzaj wpisu (patrz {@link ContainerFormat}).
+     * @param instance numer instancji.
+     * @return zawartość wpisu.
+     * @throws IOException gdy kontener nie zawiera wpisu lub w przypadku problemów z odczytem.
+     */
+    public ByteBuffer read(short kind, int instance) throws IOException {
+        final var position = positions.get(key(kind, instance));
+        if (position == null)
+            throw new IOException("Container " + path + " has no entry " + kindName(kind) + " " + instance + ".");
+        return channel.map(READ_ONLY, offsets[position], lengths[position]);
+    }
+
+    /**
+     * Otwiera instancję zapisaną we wpisie o podanym rodzaju i numerze instancji (patrz {@link InstanceReader}).
+     *
+     * @param kind       rodzaj wpisu ({@link ContainerFormat#KIND_POI} lub {@link ContainerFormat#KIND_SENSOR}).
+     * @param instance   numer instancji.
+     * @param jsonMapper mapper używany do odczytu instancji JSON.
+     * @return otwarta instancja.
+     * @throws IOException gdy kontener nie zawiera wpisu, wpis nie jest poprawną instancją
+     *                     lub w przypadku problemów z odczytem.
+     */
+    public Instance instance(short kind, int instance, JsonMapper jsonMapper) throws IOException {
+        final var source = "Entry " + kindName(kind) + " " + instance + " of container " + path;
+        return InstanceReader.read(read(kind, instance), source, jsonMapper);
+    }
+
+    /**
+     * Zamyka plik kontenera. Zmapowane wcześniej wpisy pozostają dostępne.
+     *
+     * @throws IOException w przypadku problemów z zamknięciem pliku.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Wczytuje fragment pliku.
+     *
+     * @param channel  kanał pliku.
+     * @param position pozycja fragmentu w pliku.
+     * @param length   długość fragmentu.
+     * @return bufor z zawartością fragmentu, gotowy do odczytu.
+     * @throws IOException w przypadku problemów z odczytem lub gdy plik jest krótszy.
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        final var buffer = ByteBuffer.allocate(length).order(BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            final var read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("Unexpected end of file.");
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,166 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.EXTENSION_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.FLAGS_OFFSET;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.FLAG_INCOMPLETE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.HEADER_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.INDEX_ENTRY_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.MAGIC;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.TRAILER_SIZE;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.VERSION;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.align;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.key;
+
+/**
+ * Zapis kontenera (patrz {@link ContainerFormat}) - wszystkie pliki instancji dopisywane są do jednego pliku,
+ * otwartego raz na całe generowanie, zamiast tworzenia osobnego pliku dla każdej instancji.
+ * <p>
+ * Każdy wpis dostaje miejsce w pliku przez atomowe przesunięcie końca danych, a jego zawartość zapisywana jest
+ * zapisem pod pozycją - wpisy mogą być dopisywane jednocześnie z wielu wątków, w dowolnej kolejności.
+ * Indeks (posortowany po rodzaju i numerze instancji) i stopka zapisywane są przez {@link #finish()},
+ * wołane po dopisaniu wszystkich wpisów. Do tego czasu nagłówek ma flagę {@link ContainerFormat#FLAG_INCOMPLETE} -
+ * kontener zamknięty bez wywołania {@link #finish()} (np. po błędzie generowania) nie jest poprawny i nie zostanie
+ * otwarty przez {@link ContainerReader}.
+ */
+public class ContainerWriter implements Closeable {
+
+    /**
+     * Kanał pliku kontenera.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Offset końca danych - miejsca na kolejny wpis.
+     */
+    private final AtomicLong end = new AtomicLong(HEADER_SIZE);
+
+    /**
+     * Rekordy indeksu: rodzaj, numer instancji, offset i długość wpisu.
+     */
+    private final List<long[]> entries = new ArrayList<>();
+
+    /**
+     * Klucze dopisanych wpisów (patrz {@link ContainerFormat#key}).
+     */
+    private final Set<Long> keys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Czy zapis kontenera został zakończony (zapisano indeks i stopkę).
+     */
+    private volatile boolean finished;
+
+    /**
+     * Czy kontener został już zamknięty.
+     */
+    private boolean closed;
+
+    /**
+     * Tworzy kontener (nadpisując istniejący plik) i zapisuje jego nagłówek (z flagą
+     * {@link ContainerFormat#FLAG_INCOMPLETE}).
+     *
+     * @param path      ścieżka do pliku kontenera.
+     * @param extension rozszerzenie plików instancji (format wpisów), np. "json" - do 8 znaków ASCII.
+     * @throws IOException w przypadku problemów z utworzeniem pliku.
+     */
+    public ContainerWriter(Path path, String extension) throws IOException {
+        final var extensionBytes = extension.getBytes(US_ASCII);
+        if (extensionBytes.length > EXTENSION_SIZE)
+            throw new IllegalArgumentException("Extension \"" + extension + "\" is longer than " + EXTENSION_SIZE + " bytes.");
+        this.channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE);
+        final var header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        header.putInt(MAGIC).putShort(VERSION).putShort(FLAG_INCOMPLETE).put(extensionBytes);
+        writeFully(header.clear(), 0);
+    }
+
+    /**
+     * Dopisuje wpis do kontenera.
+     *
+     * @param kind     rodzaj wpisu (patrz {@link ContainerFormat}).
+     * @param instance numer instancji.
+     * @param content  zawartość wpisu (od pozycji do limitu bufora) - pozycja bufora nie jest zmieniana.
+     * @throws IOException              w przypadku problemów z zapisem.
+     * @throws IllegalArgumentException jeśli wpis o tym rodzaju i numerze został już dopisany.
+     * @throws IllegalStateException    jeśli zapis kontenera został już zakończony.
+     */
+    public void append(short kind, int instance, ByteBuffer content) throws IOException {
+        if (finished) throw new IllegalStateException("Container is already finished.");
+        if (!keys.add(key(kind, instance)))
+            throw new IllegalArgumentException("Duplicate container entry " + ContainerFormat.kindName(kind) + " " + instance + ".");
+        final var length = content.remaining();
+        final var offset = end.getAndAdd(align(length));
+        writeFully(content.duplicate(), offset);
+        synchronized (entries) {
+            entries.add(new long[]{kind, instance, offset, length});
+        }
+    }
+
+    /**
+     * Kończy zapis kontenera - zapisuje indeks i stopkę, a następnie zeruje flagę
+     * {@link ContainerFormat#FLAG_INCOMPLETE} w nagłówku. Powinno być wołane po dopisaniu wszystkich wpisów
+     * (po zakończeniu wszystkich wywołań {@link #append(short, int, ByteBuffer)}), przed {@link #close()}.
+     *
+     * @throws IOException           w przypadku problemów z zapisem.
+     * @throws IllegalStateException jeśli zapis kontenera został już zakończony.
+     */
+    public void finish() throws IOException {
+        if (finished) throw new IllegalStateException("Container is already finished.");
+        finished = true;
+        final List<long[]> sorted;
+        synchronized (entries) {
+            sorted = new ArrayList<>(entries);
+        }
+        sorted.sort(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]));
+
+        final var indexOffset = end.get();
+        final var index = ByteBuffer.allocate(sorted.size() * INDEX_ENTRY_SIZE + TRAILER_SIZE).order(BYTE_ORDER);
+        for (var entry : sorted) {
+            index.putShort((short) entry[0]).putShort((short) 0).putInt((int) entry[1]);
+            index.putLong(entry[2]).putLong(entry[3]);
+        }
+        index.putLong(indexOffset).putInt(sorted.size()).putInt(MAGIC);
+        writeFully(index.flip(), indexOffset);
+        channel.truncate(indexOffset + index.capacity());
+        writeFully(ByteBuffer.allocate(Short.BYTES).order(BYTE_ORDER).putShort(0, (short) 0), FLAGS_OFFSET);
+    }
+
+    /**
+     * Zamyka plik. Jeśli zapis nie został zakończony przez {@link #finish()}, kontener pozostaje oznaczony
+     * jako niekompletny.
+     *
+     * @throws IOException w przypadku problemów z zamknięciem pliku.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Zapisuje całą zawartość bufora pod podaną pozycją.
+     *
+     * @param buffer   zawartość (od pozycji do limitu bufora).
+     * @param position pozycja w pliku.
+     * @throws IOException w przypadku problemów z zapisem.
+     */
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+    }
+}
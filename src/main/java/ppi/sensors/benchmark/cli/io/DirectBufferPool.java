@@ -0,0 +1,122 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pula buforów bezpośrednich (direct) o stałym rozmiarze, używana przez {@link OutputBackend}'y.
+ * <p>
+ * Bufory tworzone są leniwie, do podanej liczby - pula ogranicza więc zarówno pamięć poza stertą, jak i liczbę
+ * jednocześnie trwających zapisów (pobranie bufora czeka, aż inny zapis zwolni swój). Bez puli JDK przy zapisie
+ * bufora ze sterty kopiuje go do tymczasowego bufora bezpośredniego o pełnym rozmiarze, zapamiętywanego
+ * osobno dla każdego wątku.
+ */
+final class DirectBufferPool {
+
+    /**
+     * Domyślny rozmiar bufora - 1 MiB.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Wolne bufory.
+     */
+    private final BlockingQueue<ByteBuffer> free;
+
+    /**
+     * Maksymalna liczba buforów.
+     */
+    private final int capacity;
+
+    /**
+     * Rozmiar bufora w bajtach.
+     */
+    private final int bufferSize;
+
+    /**
+     * Liczba utworzonych buforów.
+     */
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    /**
+     * Konstruktor.
+     *
+     * @param capacity   maksymalna liczba buforów.
+     * @param bufferSize rozmiar bufora w bajtach.
+     * @throws IllegalArgumentException jeśli któraś z wartości nie jest dodatnia.
+     */
+    DirectBufferPool(int capacity, int bufferSize) {
+        if (capacity < 1 || bufferSize < 1)
+            throw new IllegalArgumentException("Pool capacity and buffer size must be positive.");
+        this.free = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Zwraca maksymalną liczbę buforów.
+     *
+     * @return maksymalna liczba buforów.
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Pobiera wolny bufor, czekając na zwolnienie, jeśli wszystkie są w użyciu.
+     *
+     * @return pusty bufor (pozycja 0, limit równy pojemności).
+     * @throws InterruptedIOException jeśli wątek został przerwany w trakcie oczekiwania.
+     */
+    ByteBuffer acquire() throws InterruptedIOException {
+        final var buffer = tryAcquire();
+        if (buffer != null) return buffer;
+        try {
+            return free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for output buffer.");
+        }
+    }
+
+    /**
+     * Pobiera wolny bufor bez czekania.
+     *
+     * @return pusty bufor lub <code>null</code>, jeśli wszystkie są w użyciu.
+     */
+    ByteBuffer tryAcquire() {
+        final var buffer = free.poll();
+        if (buffer != null) return buffer;
+        for (int n; (n = allocated.get()) < capacity; ) {
+            if (allocated.compareAndSet(n, n + 1)) return ByteBuffer.allocateDirect(bufferSize);
+        }
+        return null;
+    }
+
+    /**
+     * Zwraca bufor do puli.
+     *
+     * @param buffer bufor pobrany z tej puli.
+     */
+    void release(ByteBuffer buffer) {
+        free.add(buffer.clear());
+    }
+
+    /**
+     * Kopiuje do bufora kolejny fragment źródła (tyle, ile się zmieści) i przesuwa pozycję źródła.
+     *
+     * @param buffer pusty bufor z puli.
+     * @param source źródło.
+     * @return bufor przygotowany do zapisu (pozycja 0, limit równy długości fragmentu).
+     */
+    static ByteBuffer fill(ByteBuffer buffer, ByteBuffer source) {
+        final var limit = source.limit();
+        source.limit(source.position() + Math.min(buffer.remaining(), source.remaining()));
+        buffer.put(source);
+        source.limit(limit);
+        return buffer.flip();
+    }
+}
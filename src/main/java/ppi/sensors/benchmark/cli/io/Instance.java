@@ -0,0 +1,30 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+/**
+ * Wczytana instancja - plik z rozmieszczeniem POI lub sensorów.
+ * Punkty dostępne są przez interfejs {@link PointSet}, a metadane przez {@link #getHeader()}.
+ *
+ * @see InstanceReader
+ */
+public interface Instance extends PointSet {
+
+    /**
+     * Sprawdza czy instancja zawiera rozmieszczenie POI.
+     *
+     * @return <code>true</code> dla pliku z rozmieszczeniem POI,
+     * <code>false</code> dla pliku z rozmieszczeniem sensorów.
+     */
+    boolean isPoiData();
+
+    /**
+     * Zwraca metadane instancji (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * Pole {@link PoiData#pois} jest puste - punkty dostępne są przez interfejs {@link PointSet}.
+     * Zwracany jest nowy obiekt, więc jego modyfikacja nie wpływa na instancję.
+     *
+     * @return metadane instancji.
+     */
+    PoiData getHeader();
+}
@@ -0,0 +1,76 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_POI_LATTICE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.MAGIC;
+
+/**
+ * Utility do otwierania wygenerowanych instancji niezależnie od formatu, w którym zostały zapisane.
+ * Format rozpoznawany jest po nagłówku pliku - pliki bez nagłówka formatu binarnego traktowane są jako JSON.
+ *
+ * @see MappedInstance
+ * @see LatticeInstance
+ * @see JsonInstance
+ */
+public class InstanceReader {
+
+    /**
+     * Otwiera instancję zapisaną w dowolnym formacie ("json", "bin" lub "lattice").
+     * Pliki JSON wczytywane są przez {@link JsonMapper} z domyślnymi ustawieniami.
+     *
+     * @param path ścieżka do pliku.
+     * @return otwarta instancja.
+     * @throws IOException w przypadku problemów z odczytem pliku lub gdy format nie jest rozpoznany.
+     */
+    public static Instance open(Path path) throws IOException {
+        return open(path, JsonMapper.builder().build());
+    }
+
+    /**
+     * Otwiera instancję zapisaną w dowolnym formacie ("json", "bin" lub "lattice").
+     *
+     * @param path       ścieżka do pliku.
+     * @param jsonMapper mapper używany do odczytu plików JSON.
+     * @return otwarta instancja.
+     * @throws IOException w przypadku problemów z odczytem pliku lub gdy format nie jest rozpoznany.
+     */
+    public static Instance open(Path path, JsonMapper jsonMapper) throws IOException {
+        final var head = ByteBuffer.allocate(8).order(BYTE_ORDER);
+        try (var channel = FileChannel.open(path, READ)) {
+            while (head.hasRemaining()) if (channel.read(head) < 0) break;
+        }
+        if (head.position() < 8 || head.getInt(0) != MAGIC) return JsonInstance.open(path, jsonMapper);
+        return head.getShort(6) == KIND_POI_LATTICE ? LatticeInstance.open(path) : MappedInstance.open(path);
+    }
+
+    /**
+     * Otwiera instancję zapisaną w dowolnym formacie z bufora (np. wpisu kontenera, patrz {@link ContainerReader}).
+     * Instancje binarne nie są kopiowane - ich widoki dotyczą bufora.
+     *
+     * @param content    zawartość instancji (od pozycji do limitu bufora).
+     * @param source     opis źródła danych (używany w komunikatach błędów).
+     * @param jsonMapper mapper używany do odczytu instancji JSON.
+     * @return otwarta instancja.
+     * @throws IOException gdy dane nie są poprawną instancją.
+     */
+    static Instance read(ByteBuffer content, String source, JsonMapper jsonMapper) throws IOException {
+        final var head = content.slice().order(BYTE_ORDER);
+        if (head.remaining() < 8 || head.getInt(0) != MAGIC) return JsonInstance.of(content, jsonMapper);
+        return head.getShort(6) == KIND_POI_LATTICE ? LatticeInstance.of(content, source) : MappedInstance.of(content, source);
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji util'a,
+     * który ma wyłącznie statyczne metody.
+     */
+    private InstanceReader() {
+    }
+}
@@ -0,0 +1,101 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Zapisuje pojedyncze instancje (pliki z rozmieszczeniem POI oraz sensorów) w określonym formacie.
+ * Implementacje muszą być bezpieczne przy jednoczesnym zapisie różnych plików z wielu wątków.
+ * <p>
+ * Metody <code>serialize*</code> tworzą w pamięci zawartość pliku identyczną z zapisywaną przez odpowiednie
+ * metody <code>write*</code> - używane są w trybie potokowym, w którym serializacja i zapis na dysk
+ * wykonywane są przez osobne wątki. Zawartość pliku serializowanego w pamięci musi mieścić się w jednej tablicy
+ * ({@link #MAX_SERIALIZED_SIZE}) - metody <code>*SizeBound</code> pozwalają to sprawdzić przed generowaniem.
+ *
+ * @see OutputFormat
+ */
+public interface InstanceWriter {
+
+    /**
+     * Maksymalny rozmiar pliku serializowanego w pamięci (maksymalny rozmiar tablicy na stercie).
+     */
+    int MAX_SERIALIZED_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Zwraca rozszerzenie plików zapisywanych przez writer (bez kropki).
+     *
+     * @return rozszerzenie plików.
+     */
+    String getExtension();
+
+    /**
+     * Zapisuje plik z rozmieszczeniem POI. Pole {@link PoiData#pois} nagłówka jest ignorowane,
+     * zamiast niego zapisywane są punkty siatki o indeksach ze źródła indeksów.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    void writePoiData(File file, PoiData header, PointSet mesh, IndexSource indices) throws IOException;
+
+    /**
+     * Zapisuje plik z rozmieszczeniem sensorów.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (nazwa generatora, ziarno, rozmiary obszaru) - zapisywane
+     *                tylko przez formaty, które je przechowują.
+     * @param sensors rozmieszczenie sensorów.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    void writeSensorData(File file, PoiData header, PointSet sensors) throws IOException;
+
+    /**
+     * Tworzy w pamięci zawartość pliku z rozmieszczeniem POI - identyczną z zapisywaną przez
+     * {@link #writePoiData(File, PoiData, PointSet, IndexSource)}.
+     *
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException w przypadku gdy zawartość pliku nie mieści się w buforze lub błędu serializacji.
+     */
+    ByteBuffer serializePoiData(PoiData header, PointSet mesh, IndexSource indices) throws IOException;
+
+    /**
+     * Tworzy w pamięci zawartość pliku z rozmieszczeniem sensorów - identyczną z zapisywaną przez
+     * {@link #writeSensorData(File, PoiData, PointSet)}.
+     *
+     * @param header  dane nagłówkowe (nazwa generatora, ziarno, rozmiary obszaru) - zapisywane
+     *                tylko przez formaty, które je przechowują.
+     * @param sensors rozmieszczenie sensorów.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException w przypadku gdy zawartość pliku nie mieści się w buforze lub błędu serializacji.
+     */
+    ByteBuffer serializeSensorData(PoiData header, PointSet sensors) throws IOException;
+
+    /**
+     * Zwraca górne ograniczenie rozmiaru pliku z rozmieszczeniem POI.
+     *
+     * @param name     nazwa (generatora siatki) zapisywana w nagłówku.
+     * @param meshSize liczba węzłów siatki.
+     * @param count    liczba POI.
+     * @return górne ograniczenie rozmiaru pliku w bajtach.
+     */
+    long poiDataSizeBound(String name, int meshSize, long count);
+
+    /**
+     * Zwraca górne ograniczenie rozmiaru pliku z rozmieszczeniem sensorów.
+     *
+     * @param name  nazwa (generatora sekwencji) zapisywana w nagłówku.
+     * @param count liczba sensorów.
+     * @return górne ograniczenie rozmiaru pliku w bajtach.
+     */
+    long sensorDataSizeBound(String name, long count);
+}
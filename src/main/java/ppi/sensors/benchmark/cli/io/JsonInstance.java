@@ -0,0 +1,182 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Instancja wczytana z pliku JSON (patrz {@link JsonInstanceWriter}).
+ * <p>
+ * Plik z rozmieszczeniem POI jest obiektem {@link PoiData}, a plik z rozmieszczeniem sensorów
+ * tablicą punktów - rodzaj pliku rozpoznawany jest po pierwszym znaku. Plik sensorów nie zawiera
+ * metadanych, więc jego nagłówek ma wypełnione tylko pola domyślne.
+ * <p>
+ * Obiekt jest niemodyfikowalny i może być używany z wielu wątków.
+ */
+public final class JsonInstance implements Instance {
+
+    /**
+     * Typ zawartości pliku z rozmieszczeniem sensorów.
+     */
+    private static final TypeReference<List<Point>> POINT_LIST = new TypeReference<>() {
+    };
+
+    /**
+     * Czy instancja zawiera rozmieszczenie POI.
+     */
+    private final boolean poiData;
+
+    /**
+     * Metadane instancji (bez punktów).
+     */
+    private final PoiData header;
+
+    /**
+     * Punkty instancji.
+     */
+    private final PointBuffer points;
+
+    /**
+     * Konstruktor.
+     *
+     * @param poiData czy instancja zawiera rozmieszczenie POI.
+     * @param header  metadane instancji.
+     * @param points  punkty instancji.
+     */
+    private JsonInstance(boolean poiData, PoiData header, PointBuffer points) {
+        this.poiData = poiData;
+        this.header = header;
+        this.points = points;
+    }
+
+    /**
+     * Wczytuje plik JSON z rozmieszczeniem POI lub sensorów.
+     *
+     * @param path       ścieżka do pliku.
+     * @param jsonMapper mapper używany do odczytu.
+     * @return wczytana instancja.
+     * @throws IOException w przypadku problemów z odczytem pliku lub gdy plik nie jest poprawnym plikiem JSON.
+     */
+    public static JsonInstance open(Path path, JsonMapper jsonMapper) throws IOException {
+        if (isObject(path)) return ofPoiData(jsonMapper.readValue(path.toFile(), PoiData.class));
+        return ofSensors(jsonMapper.readValue(path.toFile(), POINT_LIST));
+    }
+
+    /**
+     * Wczytuje instancję JSON z bufora (np. wpisu kontenera, patrz {@link ContainerReader}).
+     *
+     * @param content    zawartość instancji (od pozycji do limitu bufora).
+     * @param jsonMapper mapper używany do odczytu.
+     * @return wczytana instancja.
+     * @throws IOException gdy dane nie są poprawnym JSON'em.
+     */
+    static JsonInstance of(ByteBuffer content, JsonMapper jsonMapper) throws IOException {
+        var first = content.position();
+        while (first < content.limit() && Character.isWhitespace(content.get(first))) first++;
+        final var isObject = first < content.limit() && content.get(first) == '{';
+        try (var in = new ByteBufferBackedInputStream(content.duplicate())) {
+            if (isObject) return ofPoiData(jsonMapper.readValue(in, PoiData.class));
+            return ofSensors(jsonMapper.readValue(in, POINT_LIST));
+        }
+    }
+
+    /**
+     * Tworzy instancję z rozmieszczeniem POI - punkty przenoszone są z listy {@link PoiData#pois} do bufora.
+     *
+     * @param header wczytany obiekt {@link PoiData}.
+     * @return instancja.
+     */
+    private static JsonInstance ofPoiData(PoiData header) {
+        final var points = PointBuffer.of(header.pois != null ? header.pois : List.of());
+        header.pois = null;
+        return new JsonInstance(true, header, points);
+    }
+
+    /**
+     * Tworzy instancję z rozmieszczeniem sensorów.
+     *
+     * @param sensors wczytana lista punktów.
+     * @return instancja.
+     */
+    private static JsonInstance ofSensors(List<Point> sensors) {
+        return new JsonInstance(false, new PoiData(), PointBuffer.of(sensors));
+    }
+
+    /**
+     * Sprawdza czy plik zawiera obiekt JSON (a nie tablicę) - po pierwszym znaku niebędącym białym znakiem.
+     *
+     * @param path ścieżka do pliku.
+     * @return <code>true</code> gdy plik zaczyna się od '{'.
+     * @throws IOException w przypadku problemów z odczytem pliku.
+     */
+    private static boolean isObject(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            int c;
+            do c = reader.read(); while (c >= 0 && Character.isWhitespace(c));
+            return c == '{';
+        }
+    }
+
+    /**
+     * Sprawdza czy instancja zawiera rozmieszczenie POI.
+     *
+     * @return <code>true</code> dla pliku z rozmieszczeniem POI,
+     * <code>false</code> dla pliku z rozmieszczeniem sensorów.
+     */
+    @Override
+    public boolean isPoiData() {
+        return poiData;
+    }
+
+    /**
+     * Zwraca metadane instancji (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     *
+     * @return metadane instancji.
+     */
+    @Override
+    public PoiData getHeader() {
+        return BinaryFormat.copyHeader(header);
+    }
+
+    /**
+     * Zwraca liczbę punktów.
+     *
+     * @return liczba punktów.
+     */
+    @Override
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Zwraca współrzędną x punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna x punktu.
+     */
+    @Override
+    public double x(int index) {
+        return points.x(index);
+    }
+
+    /**
+     * Zwraca współrzędną y punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna y punktu.
+     */
+    @Override
+    public double y(int index) {
+        return points.y(index);
+    }
+}
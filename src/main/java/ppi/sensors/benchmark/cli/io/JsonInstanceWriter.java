@@ -0,0 +1,208 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static ppi.sensors.benchmark.cli.model.PointSetSerializer.writePoint;
+
+/**
+ * Zapis instancji w formacie JSON.
+ * <p>
+ * Plik z rozmieszczeniem POI zapisywany jest strumieniowo - w odróżnieniu od
+ * {@link JsonMapper#writeValue(File, Object)} nie wymaga zmaterializowanej listy {@link PoiData#pois},
+ * punkty są odczytywane z siatki według kolejnych indeksów i zapisywane od razu przez {@link JsonGenerator}.
+ * Dzięki temu pamięć potrzebna na zapis pojedynczej instancji nie zależy od liczby punktów.
+ * Wynikowy plik jest identyczny z tym, który powstałby przez serializację obiektu {@link PoiData}
+ * z wypełnionym polem {@link PoiData#pois}.
+ * <p>
+ * Plik z rozmieszczeniem sensorów zawiera wyłącznie tablicę punktów.
+ */
+public class JsonInstanceWriter implements InstanceWriter {
+
+    /**
+     * Maksymalny rozmiar punktu w tablicy (bez wcięć): <code>{"x":</code>, liczba, <code>,"y":</code>, liczba,
+     * <code>}</code> i przecinek - liczba double zapisywana jest w najkrótszej postaci, najwyżej 24 znaki.
+     */
+    private static final long MAX_POINT_BYTES = 5 + 24 + 5 + 24 + 1 + 1;
+
+    /**
+     * Maksymalny rozmiar pól nagłówka pliku z rozmieszczeniem POI (bez nazwy) i nawiasów tablicy.
+     */
+    private static final long MAX_HEADER_BYTES = 256;
+
+    /**
+     * Maksymalny rozmiar znaku nazwy w JSON (znak sterujący zapisany jako sekwencja ucieczki z kodem szesnastkowym).
+     */
+    private static final long MAX_NAME_CHAR_BYTES = 6;
+
+    /**
+     * Instancja {@link JsonMapper}'a, z której konfiguracji korzysta tworzony {@link JsonGenerator}.
+     */
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Konstruktor.
+     *
+     * @param jsonMapper instancja {@link JsonMapper}'a używana do tworzenia {@link JsonGenerator}'a.
+     */
+    public JsonInstanceWriter(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Zwraca rozszerzenie plików JSON.
+     *
+     * @return "json".
+     */
+    @Override
+    public String getExtension() {
+        return "json";
+    }
+
+    /**
+     * Zapisuje strumieniowo plik z rozmieszczeniem POI.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void writePoiData(File file, PoiData header, PointSet mesh, IndexSource indices) throws IOException {
+        try (var generator = jsonMapper.createGenerator(file, JsonEncoding.UTF8)) {
+            writePoiData(generator, header, mesh, indices);
+        }
+    }
+
+    /**
+     * Tworzy w pamięci zawartość pliku z rozmieszczeniem POI.
+     *
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException w przypadku błędu serializacji.
+     */
+    @Override
+    public ByteBuffer serializePoiData(PoiData header, PointSet mesh, IndexSource indices) throws IOException {
+        final var out = new Output();
+        try (var generator = jsonMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            writePoiData(generator, header, mesh, indices);
+        }
+        return out.toByteBuffer();
+    }
+
+    /**
+     * Zapisuje strumieniowo obiekt z rozmieszczeniem POI.
+     *
+     * @param generator generator JSON.
+     * @param header    dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh      siatka punktów.
+     * @param indices   źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @throws IOException w przypadku problemów z zapisem.
+     */
+    private static void writePoiData(JsonGenerator generator, PoiData header, PointSet mesh, IndexSource indices)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", header.name);
+        generator.writeNumberField("seed", header.seed);
+        generator.writeNumberField("density", header.density);
+        generator.writeNumberField("xRange", header.xRange);
+        generator.writeNumberField("yRange", header.yRange);
+        generator.writeArrayFieldStart("pois");
+        final var iterator = indices.iterator();
+        while (iterator.hasNext()) {
+            final var i = iterator.nextInt();
+            writePoint(generator, mesh.x(i), mesh.y(i));
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("range", header.range);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Zapisuje plik z rozmieszczeniem sensorów jako tablicę punktów JSON.
+     * Nagłówek jest ignorowany.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (ignorowane).
+     * @param sensors rozmieszczenie sensorów.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void writeSensorData(File file, PoiData header, PointSet sensors) throws IOException {
+        jsonMapper.writeValue(file, sensors);
+    }
+
+    /**
+     * Tworzy w pamięci zawartość pliku z rozmieszczeniem sensorów.
+     *
+     * @param header  dane nagłówkowe (ignorowane).
+     * @param sensors rozmieszczenie sensorów.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException w przypadku błędu serializacji.
+     */
+    @Override
+    public ByteBuffer serializeSensorData(PoiData header, PointSet sensors) throws IOException {
+        final var out = new Output();
+        jsonMapper.writeValue(out, sensors);
+        return out.toByteBuffer();
+    }
+
+    /**
+     * Zwraca górne ograniczenie rozmiaru pliku z rozmieszczeniem POI (zapisanego bez wcięć).
+     *
+     * @param name     nazwa (generatora siatki) zapisywana w nagłówku.
+     * @param meshSize liczba węzłów siatki (nieużywana).
+     * @param count    liczba POI.
+     * @return górne ograniczenie rozmiaru pliku w bajtach.
+     */
+    @Override
+    public long poiDataSizeBound(String name, int meshSize, long count) {
+        return MAX_HEADER_BYTES + (name == null ? 0 : MAX_NAME_CHAR_BYTES * name.length()) + MAX_POINT_BYTES * count;
+    }
+
+    /**
+     * Zwraca górne ograniczenie rozmiaru pliku z rozmieszczeniem sensorów (zapisanego bez wcięć).
+     *
+     * @param name  nazwa generatora sekwencji (niezapisywana).
+     * @param count liczba sensorów.
+     * @return górne ograniczenie rozmiaru pliku w bajtach.
+     */
+    @Override
+    public long sensorDataSizeBound(String name, long count) {
+        return MAX_HEADER_BYTES + MAX_POINT_BYTES * count;
+    }
+
+    /**
+     * Strumień do pamięci, którego zawartość udostępniana jest jako bufor bez kopiowania.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        /**
+         * Konstruktor - z początkowym rozmiarem odpowiednim dla średniej wielkości instancji.
+         */
+        private Output() {
+            super(1 << 16);
+        }
+
+        /**
+         * Zwraca zapisaną zawartość jako bufor opakowujący wewnętrzną tablicę strumienia.
+         *
+         * @return bufor z zawartością, od pozycji 0 do limitu.
+         */
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
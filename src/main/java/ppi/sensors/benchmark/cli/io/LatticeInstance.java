@@ -0,0 +1,237 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.PointMeshGenerator;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.COUNT_OFFSET;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.FIXED_HEADER_SIZE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_POI_LATTICE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.NAME_LENGTH_OFFSET;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.headerSize;
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.hasNamedService;
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.loadNamedService;
+
+/**
+ * Instancja z rozmieszczeniem POI zapisana w formacie "lattice" (patrz {@link LatticeInstanceWriter}).
+ * <p>
+ * Przy otwarciu odtwarzana jest siatka - przez generator siatki o nazwie z nagłówka - a bitmapa
+ * węzłów mapowana jest do pamięci bez kopiowania. Współrzędne k-tego POI wyliczane są na żądanie:
+ * indeks węzła wyznaczany jest przez operację "select" na bitmapie, przyspieszoną tablicą
+ * skumulowanych liczb ustawionych bitów (po jednym int na 64 węzły siatki).
+ * <p>
+ * Obiekt jest niemodyfikowalny i może być używany z wielu wątków.
+ */
+public final class LatticeInstance implements Instance {
+
+    /**
+     * Metadane instancji (bez punktów).
+     */
+    private final PoiData header;
+
+    /**
+     * Odtworzona siatka punktów.
+     */
+    private final PointSet mesh;
+
+    /**
+     * Bitmapa węzłów siatki, które nie zostały wykluczone (widok tylko do odczytu).
+     */
+    private final LongBuffer bitmap;
+
+    /**
+     * Skumulowane liczby ustawionych bitów - ranks[w] to liczba POI w słowach [0, w).
+     */
+    private final int[] ranks;
+
+    /**
+     * Konstruktor.
+     *
+     * @param header metadane instancji.
+     * @param mesh   odtworzona siatka punktów.
+     * @param bitmap bitmapa węzłów.
+     */
+    private LatticeInstance(PoiData header, PointSet mesh, LongBuffer bitmap) {
+        this.header = header;
+        this.mesh = mesh;
+        this.bitmap = bitmap;
+        this.ranks = new int[bitmap.capacity() + 1];
+        for (var w = 0; w < bitmap.capacity(); w++) ranks[w + 1] = ranks[w] + Long.bitCount(bitmap.get(w));
+    }
+
+    /**
+     * Otwiera plik w formacie "lattice" i odtwarza siatkę punktów.
+     *
+     * @param path ścieżka do pliku.
+     * @return otwarta instancja.
+     * @throws IOException w przypadku problemów z odczytem pliku, gdy plik nie jest w formacie "lattice",
+     *                     lub gdy siatka nie może zostać odtworzona.
+     */
+    public static LatticeInstance open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, READ)) {
+            final var fixed = BinaryFormat.mapFixedHeader(channel, path);
+            if (fixed.getShort(6) != KIND_POI_LATTICE)
+                throw new IOException("File " + path + " is not a lattice instance.");
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("File " + path + " is truncated or corrupted.");
+            return of(channel.map(READ_ONLY, 0, channel.size()), "File " + path);
+        }
+    }
+
+    /**
+     * Otwiera instancję w formacie "lattice" z bufora (np. wpisu kontenera, patrz {@link ContainerReader})
+     * i odtwarza siatkę punktów. Bitmapa nie jest kopiowana.
+     *
+     * @param content zawartość instancji (od pozycji do limitu bufora).
+     * @param source  opis źródła danych (używany w komunikatach błędów).
+     * @return otwarta instancja.
+     * @throws IOException gdy dane nie są w formacie "lattice" lub gdy siatka nie może zostać odtworzona.
+     */
+    static LatticeInstance of(ByteBuffer content, String source) throws IOException {
+        final var buffer = BinaryFormat.checkContent(content, source);
+        if (buffer.getShort(6) != KIND_POI_LATTICE)
+            throw new IOException(source + " is not a lattice instance.");
+
+        final var nameLength = buffer.getInt(NAME_LENGTH_OFFSET);
+        final var header = BinaryFormat.readHeader(buffer, BinaryFormat.slice(buffer, FIXED_HEADER_SIZE, nameLength));
+        if (!hasNamedService(PointMeshGenerator.class, header.name))
+            throw new IOException("Unknown mesh type \"" + header.name + "\" in " + source + ".");
+
+        final var offset = headerSize(nameLength);
+        if (offset + 8 > buffer.remaining())
+            throw new IOException(source + " is truncated or corrupted.");
+        final var meshSize = buffer.getInt(offset);
+        final var words = (meshSize + 63L) / 64;
+        if (offset + 8 + 8 * words > buffer.remaining())
+            throw new IOException(source + " is truncated or corrupted.");
+
+        final var mesh = loadNamedService(PointMeshGenerator.class, header.name)
+                .createMeshPoints(header.range, header.xRange);
+        if (mesh.size() != meshSize)
+            throw new IOException("Mesh size mismatch in " + source + ": expected " + meshSize
+                    + ", but mesh \"" + header.name + "\" has " + mesh.size() + " points.");
+
+        final var bitmap = BinaryFormat.slice(buffer, offset + 8, (int) (8 * words)).asLongBuffer();
+        final var instance = new LatticeInstance(header, mesh, bitmap.asReadOnlyBuffer());
+        if (instance.size() != buffer.getInt(COUNT_OFFSET))
+            throw new IOException(source + " is truncated or corrupted.");
+        return instance;
+    }
+
+    /**
+     * Zawsze <code>true</code> - format "lattice" dotyczy wyłącznie rozmieszczenia POI.
+     *
+     * @return <code>true</code>.
+     */
+    @Override
+    public boolean isPoiData() {
+        return true;
+    }
+
+    /**
+     * Zwraca metadane instancji (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     *
+     * @return metadane instancji.
+     */
+    @Override
+    public PoiData getHeader() {
+        return BinaryFormat.copyHeader(header);
+    }
+
+    /**
+     * Zwraca odtworzoną (pełną) siatkę punktów.
+     *
+     * @return siatka punktów.
+     */
+    public PointSet getMesh() {
+        return mesh;
+    }
+
+    /**
+     * Zwraca iterator po indeksach węzłów siatki, które nie zostały wykluczone (rosnąco).
+     *
+     * @return iterator po indeksach węzłów siatki.
+     */
+    public PrimitiveIterator.OfInt meshIndices() {
+        return new PrimitiveIterator.OfInt() {
+            private int word = 0;
+            private long bits = bitmap.capacity() > 0 ? bitmap.get(0) : 0L;
+
+            @Override
+            public boolean hasNext() {
+                while (bits == 0 && word + 1 < bitmap.capacity()) bits = bitmap.get(++word);
+                return bits != 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final var index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Zwraca indeks węzła siatki odpowiadającego k-temu POI.
+     *
+     * @param k numer POI z przedziału [0, {@link #size()}).
+     * @return indeks węzła siatki.
+     */
+    public int meshIndex(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("Index: " + k + ", size: " + size());
+        var low = 0;
+        var high = ranks.length - 1;
+        while (high - low > 1) {
+            final var mid = (low + high) >>> 1;
+            if (ranks[mid] <= k) low = mid;
+            else high = mid;
+        }
+        var bits = bitmap.get(low);
+        for (var skip = k - ranks[low]; skip > 0; skip--) bits &= bits - 1;
+        return (low << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Zwraca liczbę POI.
+     *
+     * @return liczba POI.
+     */
+    @Override
+    public int size() {
+        return ranks[ranks.length - 1];
+    }
+
+    /**
+     * Zwraca współrzędną x k-tego POI.
+     *
+     * @param index numer POI z przedziału [0, {@link #size()}).
+     * @return współrzędna x POI.
+     */
+    @Override
+    public double x(int index) {
+        return mesh.x(meshIndex(index));
+    }
+
+    /**
+     * Zwraca współrzędną y k-tego POI.
+     *
+     * @param index numer POI z przedziału [0, {@link #size()}).
+     * @return współrzędna y POI.
+     */
+    @Override
+    public double y(int index) {
+        return mesh.y(meshIndex(index));
+    }
+}
@@ -0,0 +1,135 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.COUNT_OFFSET;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_POI_LATTICE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.allocate;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.headerSize;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.nameBytes;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.writeHeader;
+
+/**
+ * Zapis instancji w formacie "lattice" - binarnym formacie, w którym plik z rozmieszczeniem POI
+ * nie zawiera współrzędnych, a jedynie parametry siatki i bitmapę węzłów, które nie zostały wykluczone
+ * (patrz {@link BinaryFormat#KIND_POI_LATTICE}).
+ * <p>
+ * Siatka jest w pełni wyznaczona przez {@link PoiData#name} (nazwa generatora siatki),
+ * {@link PoiData#range} (odległość między węzłami) oraz {@link PoiData#xRange} (bok obszaru),
+ * więc plik zajmuje 1 bit na węzeł siatki zamiast 16 bajtów na POI. Punkty odtwarzane są
+ * przy odczycie przez {@link LatticeInstance}.
+ * <p>
+ * Pliki z rozmieszczeniem sensorów zapisywane są tak samo jak przez {@link BinaryInstanceWriter}.
+ */
+public class LatticeInstanceWriter extends BinaryInstanceWriter {
+
+    /**
+     * Zapisuje plik z parametrami siatki i bitmapą węzłów.
+     * Źródło indeksów przechodzone jest jednokrotnie - liczba POI uzupełniana jest w nagłówku na końcu.
+     *
+     * @param file    plik docelowy.
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    @Override
+    public void writePoiData(File file, PoiData header, PointSet mesh, IndexSource indices) throws IOException {
+        final var name = nameBytes(header);
+        final var offset = headerSize(name.length);
+        try (var channel = FileChannel.open(file.toPath(), CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            final var buffer = channel.map(READ_WRITE, 0, fileSize(offset, mesh.size())).order(BYTE_ORDER);
+            putLattice(buffer, header, name, offset, mesh, indices);
+        }
+    }
+
+    /**
+     * Tworzy w pamięci zawartość pliku z parametrami siatki i bitmapą węzłów.
+     *
+     * @param header  dane nagłówkowe (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     * @return bufor z zawartością pliku, od pozycji 0 do limitu.
+     * @throws IOException gdy plik jest za duży, by zmieścić się w jednym buforze.
+     */
+    @Override
+    public ByteBuffer serializePoiData(PoiData header, PointSet mesh, IndexSource indices) throws IOException {
+        final var name = nameBytes(header);
+        final var offset = headerSize(name.length);
+        final var buffer = allocate(fileSize(offset, mesh.size()));
+        putLattice(buffer, header, name, offset, mesh, indices);
+        return buffer;
+    }
+
+    /**
+     * Zwraca rozmiar pliku z bitmapą węzłów siatki - niezależny od liczby POI.
+     *
+     * @param name     nazwa (generatora siatki) zapisywana w nagłówku.
+     * @param meshSize liczba węzłów siatki.
+     * @param count    liczba POI (nieużywana).
+     * @return rozmiar pliku w bajtach.
+     */
+    @Override
+    public long poiDataSizeBound(String name, int meshSize, long count) {
+        return fileSize(headerSize(name), meshSize);
+    }
+
+    /**
+     * Zwraca rozmiar pliku z bitmapą węzłów siatki.
+     *
+     * @param offset   rozmiar nagłówka.
+     * @param meshSize liczba węzłów siatki.
+     * @return rozmiar pliku w bajtach.
+     */
+    private static long fileSize(int offset, int meshSize) {
+        return offset + 8L + 8L * ((meshSize + 63L) / 64);
+    }
+
+    /**
+     * Zapisuje nagłówek, liczbę węzłów siatki i bitmapę węzłów - jednokrotnie przechodząc źródło indeksów.
+     *
+     * @param buffer  bufor na cały plik (w kolejności {@link BinaryFormat#BYTE_ORDER}).
+     * @param header  dane nagłówkowe.
+     * @param name    nazwa jako bajty UTF-8.
+     * @param offset  rozmiar nagłówka.
+     * @param mesh    siatka punktów.
+     * @param indices źródło indeksów punktów siatki, które mają trafić do pliku.
+     */
+    private static void putLattice(ByteBuffer buffer, PoiData header, byte[] name, int offset,
+                                   PointSet mesh, IndexSource indices) {
+        writeHeader(buffer, KIND_POI_LATTICE, header, name, 0);
+        buffer.putInt(offset, mesh.size());
+
+        final var bitmap = offset + 8;
+        final var iterator = indices.iterator();
+        var count = 0;
+        var currentWord = -1;
+        var bits = 0L;
+        while (iterator.hasNext()) {
+            final var i = iterator.nextInt();
+            final var word = i >>> 6;
+            if (word != currentWord) {
+                if (currentWord >= 0) buffer.putLong(bitmap + 8 * currentWord, bits);
+                currentWord = word;
+                bits = 0L;
+            }
+            bits |= 1L << i;
+            count++;
+        }
+        if (currentWord >= 0) buffer.putLong(bitmap + 8 * currentWord, bits);
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+}
@@ -0,0 +1,197 @@
+package ppi.sensors.benchmark.cli.io;
+
+import ppi.sensors.benchmark.cli.model.PoiData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.COUNT_OFFSET;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.FIXED_HEADER_SIZE;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_SENSOR;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.NAME_LENGTH_OFFSET;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.headerSize;
+
+/**
+ * Instancja w formacie binarnym (patrz {@link BinaryFormat}) otwarta przez mapowanie pliku do pamięci.
+ * <p>
+ * Otwarcie pliku odczytuje tylko nagłówek - współrzędne nie są kopiowane, a udostępniane jako
+ * widoki {@link DoubleBuffer} tylko do odczytu bezpośrednio na zmapowanym pliku. Strony pliku
+ * ładowane są przez system operacyjny dopiero przy odczycie i współdzielone (page cache)
+ * między procesami, które otworzyły ten sam plik.
+ * <p>
+ * Obiekt jest niemodyfikowalny i może być używany z wielu wątków.
+ */
+public final class MappedInstance implements Instance {
+
+    /**
+     * Rodzaj pliku: {@link BinaryFormat#KIND_POI} lub {@link BinaryFormat#KIND_SENSOR}.
+     */
+    private final short kind;
+
+    /**
+     * Metadane instancji (bez punktów).
+     */
+    private final PoiData header;
+
+    /**
+     * Współrzędne x punktów (widok tylko do odczytu).
+     */
+    private final DoubleBuffer xs;
+
+    /**
+     * Współrzędne y punktów (widok tylko do odczytu).
+     */
+    private final DoubleBuffer ys;
+
+    /**
+     * Konstruktor.
+     *
+     * @param kind   rodzaj pliku.
+     * @param header metadane instancji.
+     * @param xs     współrzędne x punktów.
+     * @param ys     współrzędne y punktów.
+     */
+    private MappedInstance(short kind, PoiData header, DoubleBuffer xs, DoubleBuffer ys) {
+        this.kind = kind;
+        this.header = header;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Otwiera plik binarny instancji przez zmapowanie go do pamięci.
+     * Kanał pliku zamykany jest od razu - mapowanie pozostaje ważne do czasu zwolnienia obiektu.
+     *
+     * @param path ścieżka do pliku.
+     * @return otwarta instancja.
+     * @throws IOException w przypadku problemów z odczytem pliku lub gdy plik nie jest w formacie binarnym.
+     */
+    public static MappedInstance open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, READ)) {
+            final var fixed = BinaryFormat.mapFixedHeader(channel, path);
+            final var kind = fixed.getShort(6);
+            if (kind != KIND_POI && kind != KIND_SENSOR)
+                throw new IOException("File " + path + " does not contain coordinates (kind " + kind + ").");
+
+            final var count = fixed.getInt(COUNT_OFFSET);
+            final var offset = headerSize(fixed.getInt(NAME_LENGTH_OFFSET));
+            final var arraySize = 8L * count;
+            if (count < 0 || offset + 2 * arraySize > channel.size())
+                throw new IOException("File " + path + " is truncated or corrupted.");
+
+            final var header = BinaryFormat.readHeader(channel, fixed);
+            final var xs = channel.map(READ_ONLY, offset, arraySize).order(BYTE_ORDER).asDoubleBuffer();
+            final var ys = channel.map(READ_ONLY, offset + arraySize, arraySize).order(BYTE_ORDER).asDoubleBuffer();
+            return new MappedInstance(kind, header, xs.asReadOnlyBuffer(), ys.asReadOnlyBuffer());
+        }
+    }
+
+    /**
+     * Otwiera instancję w formacie binarnym z bufora (np. wpisu kontenera zmapowanego do pamięci,
+     * patrz {@link ContainerReader}). Współrzędne nie są kopiowane - widoki dotyczą bufora.
+     *
+     * @param content zawartość instancji (od pozycji do limitu bufora).
+     * @param source  opis źródła danych (używany w komunikatach błędów).
+     * @return otwarta instancja.
+     * @throws IOException gdy dane nie są w formacie binarnym lub nie zawierają współrzędnych.
+     */
+    static MappedInstance of(ByteBuffer content, String source) throws IOException {
+        final var buffer = BinaryFormat.checkContent(content, source);
+        final var kind = buffer.getShort(6);
+        if (kind != KIND_POI && kind != KIND_SENSOR)
+            throw new IOException(source + " does not contain coordinates (kind " + kind + ").");
+
+        final var count = buffer.getInt(COUNT_OFFSET);
+        final var nameLength = buffer.getInt(NAME_LENGTH_OFFSET);
+        final var offset = headerSize(nameLength);
+        if (count < 0 || offset + 16L * count > buffer.remaining())
+            throw new IOException(source + " is truncated or corrupted.");
+
+        final var header = BinaryFormat.readHeader(buffer, BinaryFormat.slice(buffer, FIXED_HEADER_SIZE, nameLength));
+        final var xs = BinaryFormat.slice(buffer, offset, 8 * count).asDoubleBuffer();
+        final var ys = BinaryFormat.slice(buffer, offset + 8 * count, 8 * count).asDoubleBuffer();
+        return new MappedInstance(kind, header, xs.asReadOnlyBuffer(), ys.asReadOnlyBuffer());
+    }
+
+    /**
+     * Sprawdza czy instancja zawiera rozmieszczenie POI.
+     *
+     * @return <code>true</code> dla pliku z rozmieszczeniem POI,
+     * <code>false</code> dla pliku z rozmieszczeniem sensorów.
+     */
+    @Override
+    public boolean isPoiData() {
+        return kind == KIND_POI;
+    }
+
+    /**
+     * Zwraca metadane instancji (nazwa, ziarno, gęstość, rozmiary obszaru, odległość).
+     * Pole {@link PoiData#pois} jest puste - punkty dostępne są przez {@link #xs()} i {@link #ys()}.
+     * Zwracany jest nowy obiekt, więc jego modyfikacja nie wpływa na instancję.
+     *
+     * @return metadane instancji.
+     */
+    @Override
+    public PoiData getHeader() {
+        return BinaryFormat.copyHeader(header);
+    }
+
+    /**
+     * Zwraca widok tylko do odczytu na współrzędne x punktów (bez kopiowania).
+     * Każde wywołanie zwraca nowy widok z niezależną pozycją.
+     *
+     * @return współrzędne x punktów.
+     */
+    public DoubleBuffer xs() {
+        return xs.duplicate();
+    }
+
+    /**
+     * Zwraca widok tylko do odczytu na współrzędne y punktów (bez kopiowania).
+     * Każde wywołanie zwraca nowy widok z niezależną pozycją.
+     *
+     * @return współrzędne y punktów.
+     */
+    public DoubleBuffer ys() {
+        return ys.duplicate();
+    }
+
+    /**
+     * Zwraca liczbę punktów.
+     *
+     * @return liczba punktów.
+     */
+    @Override
+    public int size() {
+        return xs.capacity();
+    }
+
+    /**
+     * Zwraca współrzędną x punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna x punktu.
+     */
+    @Override
+    public double x(int index) {
+        return xs.get(index);
+    }
+
+    /**
+     * Zwraca współrzędną y punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna y punktu.
+     */
+    @Override
+    public double y(int index) {
+        return ys.get(index);
+    }
+}
@@ -0,0 +1,24 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Zapisuje na dysk zawartość plików instancji zserializowaną w pamięci (patrz
+ * {@link InstanceWriter#serializePoiData}, {@link InstanceWriter#serializeSensorData}).
+ * Implementacje muszą być bezpieczne przy jednoczesnym zapisie różnych plików z wielu wątków.
+ *
+ * @see OutputBackendType
+ */
+public interface OutputBackend {
+
+    /**
+     * Zapisuje plik, nadpisując istniejącą zawartość. Metoda kończy się po zapisaniu całej zawartości.
+     *
+     * @param file    plik docelowy.
+     * @param content zawartość pliku (od pozycji do limitu bufora) - pozycja bufora nie jest zmieniana.
+     * @throws IOException w przypadku problemów z zapisem pliku.
+     */
+    void write(File file, ByteBuffer content) throws IOException;
+}
@@ -0,0 +1,71 @@
+package ppi.sensors.benchmark.cli.io;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Dostępne implementacje zapisu plików zserializowanych w pamięci (patrz {@link OutputBackend}).
+ */
+public enum OutputBackendType {
+
+    /**
+     * Synchroniczny zapis zbierający przez {@link java.nio.channels.FileChannel}.
+     *
+     * @see ChannelOutputBackend
+     */
+    CHANNEL {
+        @Override
+        public OutputBackend create(int inFlight, boolean preallocate) {
+            return new ChannelOutputBackend(inFlight, preallocate);
+        }
+    },
+
+    /**
+     * Asynchroniczny zapis fragmentami przez {@link java.nio.channels.AsynchronousFileChannel}.
+     *
+     * @see AsyncOutputBackend
+     */
+    ASYNC {
+        @Override
+        public OutputBackend create(int inFlight, boolean preallocate) {
+            return new AsyncOutputBackend(inFlight, preallocate);
+        }
+    };
+
+    /**
+     * Domyślna liczba buforów bezpośrednich - jednocześnie trwających zapisów.
+     */
+    public static final int DEFAULT_IN_FLIGHT = 8;
+
+    /**
+     * Tworzy obiekt zapisujący pliki.
+     *
+     * @param inFlight    liczba buforów bezpośrednich (po 1 MiB) - maksymalna liczba jednocześnie trwających
+     *                    zapisów ({@link #ASYNC}) lub długość zapisu zbierającego ({@link #CHANNEL}).
+     * @param preallocate czy ustawiać docelowy rozmiar pliku przed zapisem.
+     * @return obiekt zapisujący pliki.
+     */
+    public abstract OutputBackend create(int inFlight, boolean preallocate);
+
+    /**
+     * Zwraca typ o podanej nazwie (wielkość liter nie ma znaczenia).
+     *
+     * @param name nazwa typu.
+     * @return typ o podanej nazwie lub pusty {@link Optional} jeśli taki nie istnieje.
+     */
+    public static Optional<OutputBackendType> forName(String name) {
+        return Arrays.stream(values()).filter(t -> t.name().equalsIgnoreCase(name)).findAny();
+    }
+
+    /**
+     * Zwraca listę nazw wszystkich typów.
+     *
+     * @return lista nazw wszystkich typów.
+     */
+    public static List<String> getNames() {
+        return Arrays.stream(values()).map(t -> t.name().toLowerCase()).collect(toList());
+    }
+}
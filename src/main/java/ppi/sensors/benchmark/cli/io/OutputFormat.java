@@ -0,0 +1,78 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Dostępne formaty plików wyjściowych.
+ */
+public enum OutputFormat {
+
+    /**
+     * Format tekstowy JSON (domyślny).
+     *
+     * @see JsonInstanceWriter
+     */
+    JSON {
+        @Override
+        public InstanceWriter createWriter(JsonMapper jsonMapper) {
+            return new JsonInstanceWriter(jsonMapper);
+        }
+    },
+
+    /**
+     * Zwarty format binarny.
+     *
+     * @see BinaryInstanceWriter
+     */
+    BIN {
+        @Override
+        public InstanceWriter createWriter(JsonMapper jsonMapper) {
+            return new BinaryInstanceWriter();
+        }
+    },
+
+    /**
+     * Format binarny, w którym pliki POI zawierają parametry siatki i bitmapę węzłów zamiast współrzędnych.
+     *
+     * @see LatticeInstanceWriter
+     */
+    LATTICE {
+        @Override
+        public InstanceWriter createWriter(JsonMapper jsonMapper) {
+            return new LatticeInstanceWriter();
+        }
+    };
+
+    /**
+     * Tworzy writer zapisujący instancje w danym formacie.
+     *
+     * @param jsonMapper instancja {@link JsonMapper}'a (używana przez formaty tekstowe).
+     * @return writer dla danego formatu.
+     */
+    public abstract InstanceWriter createWriter(JsonMapper jsonMapper);
+
+    /**
+     * Zwraca format o podanej nazwie (wielkość liter nie ma znaczenia).
+     *
+     * @param name nazwa formatu.
+     * @return format o podanej nazwie lub pusty {@link Optional} jeśli taki nie istnieje.
+     */
+    public static Optional<OutputFormat> forName(String name) {
+        return Arrays.stream(values()).filter(f -> f.name().equalsIgnoreCase(name)).findAny();
+    }
+
+    /**
+     * Zwraca listę nazw wszystkich formatów.
+     *
+     * @return lista nazw wszystkich formatów.
+     */
+    public static List<String> getNames() {
+        return Arrays.stream(values()).map(f -> f.name().toLowerCase()).collect(toList());
+    }
+}
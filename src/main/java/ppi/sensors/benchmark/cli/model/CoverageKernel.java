@@ -0,0 +1,67 @@
+package ppi.sensors.benchmark.cli.model;
+
+/**
+ * Jądro obliczeń pokrycia - sprawdzanie, które punkty z ciągłego fragmentu tablic współrzędnych
+ * (struct-of-arrays, jak w {@link PointBuffer} i {@link PointGrid}) leżą w zasięgu od danego miejsca.
+ * Porównywane są kwadraty odległości, bez pierwiastkowania.
+ * <p>
+ * Fragment może zawierać zarówno sensory sprawdzane względem jednego POI ({@link #cover}, {@link #within}),
+ * jak i POI sprawdzane względem jednego sensora ({@link #count}).
+ * <p>
+ * Dostępne implementacje (patrz {@link CoverageKernels}): skalarna {@link ScalarCoverageKernel} oraz - w jar'ze
+ * wielowersyjnym, na Javie 17+ z modułem <code>jdk.incubator.vector</code> - wektorowa (SIMD).
+ * Implementacje są bezstanowe i mogą być używane z wielu wątków.
+ */
+public interface CoverageKernel {
+
+    /**
+     * Zwiększa licznik każdego punktu z fragmentu [from, to) leżącego w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param ids          numery punktów - indeksy liczników.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @param counts       liczniki, indeksowane numerem punktu.
+     * @return liczba punktów fragmentu w zasięgu.
+     */
+    int cover(double x, double y, double[] xs, double[] ys, int[] ids, int from, int to,
+              double rangeSquared, int[] counts);
+
+    /**
+     * Dopisuje numery punktów z fragmentu [from, to) leżących w zasięgu od podanego miejsca.
+     * Jeśli tablica na wynik jest za mała, zapisywane są tylko pierwsze znalezione punkty,
+     * ale liczone są wszystkie.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param ids          numery punktów.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @param result       tablica na numery znalezionych punktów.
+     * @param found        liczba punktów znalezionych wcześniej (pozycja w tablicy wyniku).
+     * @return liczba punktów znalezionych wcześniej powiększona o liczbę punktów fragmentu w zasięgu.
+     */
+    int within(double x, double y, double[] xs, double[] ys, int[] ids, int from, int to,
+               double rangeSquared, int[] result, int found);
+
+    /**
+     * Zlicza punkty z fragmentu [from, to) leżące w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @return liczba punktów fragmentu w zasięgu.
+     */
+    int count(double x, double y, double[] xs, double[] ys, int from, int to, double rangeSquared);
+}
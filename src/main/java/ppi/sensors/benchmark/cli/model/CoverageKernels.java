@@ -0,0 +1,84 @@
+package ppi.sensors.benchmark.cli.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wybór implementacji {@link CoverageKernel}.
+ * <p>
+ * Implementacja wektorowa (<code>VectorCoverageKernel</code>, oparta na <code>jdk.incubator.vector</code>)
+ * wyłączona jest z kompilacji głównej i kompilowana (profil java17) do części jar'a wielowersyjnego
+ * (<code>META-INF/versions/17</code>), więc projekt nadal wymaga tylko Javy 11. Klasa ładowana jest przez refleksję -
+ * jeśli jej nie ma (Java starsza niż 17), moduł <code>jdk.incubator.vector</code> nie został dodany
+ * (<code>--add-modules jdk.incubator.vector</code>) lub wybrano ją wyłączyć właściwością systemową
+ * {@value #PROPERTY}<code>=scalar</code>, używana jest implementacja skalarna.
+ */
+public final class CoverageKernels {
+
+    /**
+     * Nazwa właściwości systemowej wybierającej implementację: <code>scalar</code> lub <code>vector</code> (domyślnie).
+     */
+    public static final String PROPERTY = "benchmark.coverageKernel";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoverageKernels.class);
+
+    /**
+     * Nazwa klasy implementacji wektorowej.
+     */
+    private static final String VECTOR_CLASS_NAME = "ppi.sensors.benchmark.cli.model.VectorCoverageKernel";
+
+    /**
+     * Implementacja wektorowa lub <code>null</code>, jeśli jest niedostępna.
+     */
+    private static final CoverageKernel VECTOR = loadVector();
+
+    /**
+     * Implementacja domyślna.
+     */
+    private static final CoverageKernel DEFAULT =
+            VECTOR != null && !"scalar".equalsIgnoreCase(System.getProperty(PROPERTY)) ? VECTOR : ScalarCoverageKernel.INSTANCE;
+
+    /**
+     * Zwraca domyślną implementację - wektorową, jeśli jest dostępna i nie została wyłączona.
+     *
+     * @return implementacja jądra pokrycia.
+     */
+    public static CoverageKernel get() {
+        return DEFAULT;
+    }
+
+    /**
+     * Zwraca implementację wektorową.
+     *
+     * @return implementacja wektorowa lub <code>null</code>, jeśli jest niedostępna.
+     */
+    public static CoverageKernel vector() {
+        return VECTOR;
+    }
+
+    /**
+     * Ładuje implementację wektorową.
+     *
+     * @return implementacja wektorowa lub <code>null</code>, jeśli jest niedostępna.
+     */
+    private static CoverageKernel loadVector() {
+        try {
+            final var kernel = (CoverageKernel) Class.forName(VECTOR_CLASS_NAME).getConstructor().newInstance();
+            LOGGER.debug("Using coverage kernel: {}", kernel);
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.debug("Vector coverage kernel unavailable ({}), using scalar kernel.", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji util'a,
+     * który ma wyłącznie statyczne metody.
+     */
+    private CoverageKernels() {
+    }
+}
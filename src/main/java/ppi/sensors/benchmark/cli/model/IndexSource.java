@@ -0,0 +1,35 @@
+package ppi.sensors.benchmark.cli.model;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Źródło rosnącego ciągu indeksów punktów - np. indeksów punktów siatki, które nie zostały wykluczone.
+ * Każde wywołanie {@link #iterator()} zwraca nowy iterator po tym samym ciągu indeksów,
+ * dzięki czemu ciąg można przejść wielokrotnie bez jego materializowania.
+ */
+@FunctionalInterface
+public interface IndexSource {
+
+    /**
+     * Zwraca nowy iterator po ciągu indeksów (w kolejności rosnącej).
+     *
+     * @return iterator po ciągu indeksów.
+     */
+    PrimitiveIterator.OfInt iterator();
+
+    /**
+     * Zwraca liczbę indeksów w ciągu.
+     * Domyślna implementacja przechodzi cały ciąg.
+     *
+     * @return liczba indeksów w ciągu.
+     */
+    default int count() {
+        final var iterator = iterator();
+        var count = 0;
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,437 @@
+package ppi.sensors.benchmark.cli.model;
+
+import static ppi.sensors.benchmark.cli.util.Parallel.chunkCount;
+import static ppi.sensors.benchmark.cli.util.Parallel.forEachChunk;
+
+/**
+ * Statyczne drzewo KD (2D) nad zbiorem punktów - indeks do wyszukiwania najbliższych sąsiadów.
+ * <p>
+ * Drzewo jest niejawne: punkty przechowywane są w tablicach współrzędnych, uporządkowanych tak,
+ * że węzeł obejmujący przedział [lo, hi) leży na pozycji (lo + hi) / 2, a jego poddrzewa na przedziałach
+ * [lo, mid) i [mid + 1, hi). Podział następuje naprzemiennie według x (parzyste głębokości) i y.
+ * Budowa (algorytm "select" na każdym poziomie) kosztuje O(n log n), a drzewo nie zawiera żadnych
+ * obiektów węzłów.
+ * <p>
+ * Zapytania wykonywane są przez {@link Searcher} - obiekt z własnym stosem i buforami, który po utworzeniu
+ * nie alokuje pamięci. Drzewo jest niemodyfikowalne i może być używane z wielu wątków,
+ * ale każdy wątek musi używać własnego {@link Searcher}'a.
+ * Wyniki zapytań to indeksy punktów w zbiorze przekazanym do konstruktora.
+ */
+public class KdTree {
+
+    /**
+     * Minimalna liczba zapytań, od której zapytania wsadowe wykonywane są równolegle.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Rozmiar stosu {@link Searcher}'a - wystarcza dla głębokości drzewa dowolnego zbioru
+     * o rozmiarze mieszczącym się w int.
+     */
+    private static final int STACK_SIZE = 96;
+
+    /**
+     * Współrzędne x punktów w kolejności drzewa.
+     */
+    private final double[] xs;
+
+    /**
+     * Współrzędne y punktów w kolejności drzewa.
+     */
+    private final double[] ys;
+
+    /**
+     * Indeksy punktów (w zbiorze przekazanym do konstruktora) w kolejności drzewa.
+     */
+    private final int[] ids;
+
+    /**
+     * Konstruktor - buduje drzewo.
+     *
+     * @param points zbiór punktów.
+     */
+    public KdTree(PointSet points) {
+        final var n = points.size();
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.ids = new int[n];
+        for (var i = 0; i < n; i++) {
+            xs[i] = points.x(i);
+            ys[i] = points.y(i);
+            ids[i] = i;
+        }
+        build(0, n, 0);
+    }
+
+    /**
+     * Zwraca liczbę punktów w drzewie.
+     *
+     * @return liczba punktów.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Tworzy nowy obiekt do wykonywania zapytań.
+     *
+     * @return nowy {@link Searcher}.
+     */
+    public Searcher searcher() {
+        return new Searcher();
+    }
+
+    /**
+     * Wyznacza najbliższy punkt drzewa dla każdego z punktów zapytania (równolegle dla dużych zbiorów).
+     *
+     * @param queries punkty zapytania.
+     * @param threads liczba wątków.
+     * @return indeksy najbliższych punktów (-1 dla pustego drzewa), indeksowane numerem zapytania.
+     */
+    public int[] nearestAll(PointSet queries, int threads) {
+        final var size = queries.size();
+        final var result = new int[size];
+        forEachChunk(size, chunkCount(size, threads, PARALLEL_THRESHOLD), threads, (c, from, to) -> {
+            final var searcher = searcher();
+            for (var i = from; i < to; i++) result[i] = searcher.nearest(queries.x(i), queries.y(i));
+        });
+        return result;
+    }
+
+    /**
+     * Wyznacza odległość do k-tego najbliższego punktu drzewa dla każdego z punktów zapytania
+     * (równolegle dla dużych zbiorów). Jeśli punkty zapytania pochodzą z drzewa, to każdy z nich
+     * jest swoim najbliższym sąsiadem (odległość 0) - wtedy k-ty sąsiad "właściwy" to k + 1.
+     *
+     * @param queries punkty zapytania.
+     * @param k       numer sąsiada (od 1).
+     * @param threads liczba wątków.
+     * @return odległości (nieskończoność, gdy drzewo ma mniej niż k punktów), indeksowane numerem zapytania.
+     */
+    public double[] kthNearestDistances(PointSet queries, int k, int threads) {
+        final var size = queries.size();
+        final var result = new double[size];
+        forEachChunk(size, chunkCount(size, threads, PARALLEL_THRESHOLD), threads, (c, from, to) -> {
+            final var searcher = searcher();
+            final var found = new int[k];
+            final var distances = new double[k];
+            for (var i = from; i < to; i++) {
+                final var count = searcher.nearest(queries.x(i), queries.y(i), k, found, distances);
+                result[i] = count == k ? distances[k - 1] : Double.POSITIVE_INFINITY;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Buduje poddrzewo na przedziale [lo, hi).
+     *
+     * @param lo    pierwszy indeks przedziału.
+     * @param hi    indeks za ostatnim.
+     * @param depth głębokość poddrzewa.
+     */
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        final var mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, (depth & 1) == 0 ? xs : ys);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * Porządkuje przedział [left, right] tak, aby na pozycji k był element, który byłby tam po
+     * posortowaniu według podanej współrzędnej, elementy przed nim nie były większe, a za nim
+     * nie były mniejsze (algorytm Wirtha).
+     *
+     * @param left  pierwszy indeks przedziału.
+     * @param right ostatni indeks przedziału.
+     * @param k     szukana pozycja.
+     * @param keys  współrzędne, według których porządkowane są punkty.
+     */
+    private void select(int left, int right, int k, double[] keys) {
+        while (left < right) {
+            final var pivot = keys[k];
+            var i = left;
+            var j = right;
+            do {
+                while (keys[i] < pivot) i++;
+                while (pivot < keys[j]) j--;
+                if (i <= j) swap(i++, j--);
+            } while (i <= j);
+            if (j < k) left = i;
+            if (k < i) right = j;
+        }
+    }
+
+    /**
+     * Zamienia miejscami dwa punkty.
+     *
+     * @param i pozycja pierwszego punktu.
+     * @param j pozycja drugiego punktu.
+     */
+    private void swap(int i, int j) {
+        final var x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        final var y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+        final var id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+    }
+
+    /**
+     * Obiekt wykonujący zapytania do drzewa. Przechowuje stos przeglądanych poddrzew oraz kopiec
+     * dla zapytań o k najbliższych sąsiadów, więc kolejne zapytania nie alokują pamięci
+     * (poza powiększeniem kopca dla większego k).
+     * <p>
+     * Nie może być używany z wielu wątków jednocześnie.
+     */
+    public final class Searcher {
+
+        /**
+         * Stos przedziałów - pierwszy indeks.
+         */
+        private final int[] stackLo = new int[STACK_SIZE];
+
+        /**
+         * Stos przedziałów - indeks za ostatnim.
+         */
+        private final int[] stackHi = new int[STACK_SIZE];
+
+        /**
+         * Stos przedziałów - głębokość.
+         */
+        private final int[] stackDepth = new int[STACK_SIZE];
+
+        /**
+         * Stos przedziałów - kwadrat odległości od płaszczyzny podziału (dolne ograniczenie odległości).
+         */
+        private final double[] stackBound = new double[STACK_SIZE];
+
+        /**
+         * Kopiec (maksimum na szczycie) kwadratów odległości k najbliższych punktów.
+         */
+        private double[] heapDistances = new double[0];
+
+        /**
+         * Pozycje (w drzewie) punktów z kopca.
+         */
+        private int[] heapPositions = new int[0];
+
+        /**
+         * Odległość do punktu znalezionego przez ostatnie wywołanie {@link #nearest(double, double)}.
+         */
+        private double distance = Double.POSITIVE_INFINITY;
+
+        /**
+         * Konstruktor.
+         */
+        private Searcher() {
+        }
+
+        /**
+         * Wyznacza najbliższy punkt drzewa.
+         * Odległość do niego dostępna jest przez {@link #getDistance()}.
+         *
+         * @param x współrzędna x punktu zapytania.
+         * @param y współrzędna y punktu zapytania.
+         * @return indeks najbliższego punktu lub -1 dla pustego drzewa.
+         */
+        public int nearest(double x, double y) {
+            var best = -1;
+            var bestDistance = Double.POSITIVE_INFINITY;
+            var top = push(0, 0, ids.length, 0, 0.0);
+            while (top > 0) {
+                top--;
+                final var lo = stackLo[top];
+                final var hi = stackHi[top];
+                final var depth = stackDepth[top];
+                if (stackBound[top] >= bestDistance || lo >= hi) continue;
+
+                final var mid = (lo + hi) >>> 1;
+                final var dx = x - xs[mid];
+                final var dy = y - ys[mid];
+                final var d = dx * dx + dy * dy;
+                if (d < bestDistance) {
+                    bestDistance = d;
+                    best = mid;
+                }
+                top = pushChildren(top, lo, mid, hi, depth, (depth & 1) == 0 ? dx : dy);
+            }
+            distance = Math.sqrt(bestDistance);
+            return best < 0 ? -1 : ids[best];
+        }
+
+        /**
+         * Zwraca odległość do punktu znalezionego przez ostatnie wywołanie {@link #nearest(double, double)}.
+         *
+         * @return odległość (nieskończoność dla pustego drzewa).
+         */
+        public double getDistance() {
+            return distance;
+        }
+
+        /**
+         * Wyznacza k najbliższych punktów drzewa, w kolejności rosnącej odległości.
+         *
+         * @param x         współrzędna x punktu zapytania.
+         * @param y         współrzędna y punktu zapytania.
+         * @param k         liczba szukanych punktów.
+         * @param result    tablica na indeksy znalezionych punktów (co najmniej k elementów).
+         * @param distances tablica na odległości do znalezionych punktów (co najmniej k elementów).
+         * @return liczba znalezionych punktów - k lub mniej, gdy drzewo ma mniej punktów.
+         */
+        public int nearest(double x, double y, int k, int[] result, double[] distances) {
+            if (k <= 0) return 0;
+            if (heapDistances.length < k) {
+                heapDistances = new double[k];
+                heapPositions = new int[k];
+            }
+            var count = 0;
+            var top = push(0, 0, ids.length, 0, 0.0);
+            while (top > 0) {
+                top--;
+                final var lo = stackLo[top];
+                final var hi = stackHi[top];
+                final var depth = stackDepth[top];
+                final var limit = count < k ? Double.POSITIVE_INFINITY : heapDistances[0];
+                if (stackBound[top] >= limit || lo >= hi) continue;
+
+                final var mid = (lo + hi) >>> 1;
+                final var dx = x - xs[mid];
+                final var dy = y - ys[mid];
+                final var d = dx * dx + dy * dy;
+                if (count < k) {
+                    siftUp(count++, d, mid);
+                } else if (d < heapDistances[0]) {
+                    siftDown(0, count, d, mid);
+                }
+                top = pushChildren(top, lo, mid, hi, depth, (depth & 1) == 0 ? dx : dy);
+            }
+
+            for (var n = count; n > 0; n--) {
+                result[n - 1] = ids[heapPositions[0]];
+                distances[n - 1] = Math.sqrt(heapDistances[0]);
+                siftDown(0, n - 1, heapDistances[n - 1], heapPositions[n - 1]);
+            }
+            return count;
+        }
+
+        /**
+         * Wyznacza punkty drzewa w odległości nie większej niż podany promień (w kolejności drzewa).
+         * Jeśli tablica na wynik jest za mała, zapisywane są tylko pierwsze znalezione punkty,
+         * ale zwracana jest liczba wszystkich.
+         *
+         * @param x      współrzędna x punktu zapytania.
+         * @param y      współrzędna y punktu zapytania.
+         * @param radius promień.
+         * @param result tablica na indeksy znalezionych punktów.
+         * @return liczba punktów w podanym promieniu.
+         */
+        public int withinRadius(double x, double y, double radius, int[] result) {
+            final var radiusSquared = radius * radius;
+            var count = 0;
+            var top = push(0, 0, ids.length, 0, 0.0);
+            while (top > 0) {
+                top--;
+                final var lo = stackLo[top];
+                final var hi = stackHi[top];
+                final var depth = stackDepth[top];
+                if (stackBound[top] > radiusSquared || lo >= hi) continue;
+
+                final var mid = (lo + hi) >>> 1;
+                final var dx = x - xs[mid];
+                final var dy = y - ys[mid];
+                if (dx * dx + dy * dy <= radiusSquared) {
+                    if (count < result.length) result[count] = ids[mid];
+                    count++;
+                }
+                top = pushChildren(top, lo, mid, hi, depth, (depth & 1) == 0 ? dx : dy);
+            }
+            return count;
+        }
+
+        /**
+         * Odkłada na stos poddrzewa węzła - najpierw dalsze (z ograniczeniem równym kwadratowi odległości
+         * od płaszczyzny podziału), potem bliższe, aby było przeglądane jako pierwsze.
+         *
+         * @param top   wierzchołek stosu.
+         * @param lo    pierwszy indeks przedziału węzła.
+         * @param mid   pozycja węzła.
+         * @param hi    indeks za ostatnim.
+         * @param depth głębokość węzła.
+         * @param diff  różnica współrzędnej punktu zapytania i węzła w osi podziału.
+         * @return nowy wierzchołek stosu.
+         */
+        private int pushChildren(int top, int lo, int mid, int hi, int depth, double diff) {
+            if (diff < 0) {
+                top = push(top, mid + 1, hi, depth + 1, diff * diff);
+                return push(top, lo, mid, depth + 1, 0.0);
+            }
+            top = push(top, lo, mid, depth + 1, diff * diff);
+            return push(top, mid + 1, hi, depth + 1, 0.0);
+        }
+
+        /**
+         * Odkłada przedział na stos (pomija puste przedziały).
+         *
+         * @param top   wierzchołek stosu.
+         * @param lo    pierwszy indeks przedziału.
+         * @param hi    indeks za ostatnim.
+         * @param depth głębokość.
+         * @param bound dolne ograniczenie kwadratu odległości.
+         * @return nowy wierzchołek stosu.
+         */
+        private int push(int top, int lo, int hi, int depth, double bound) {
+            if (lo >= hi) return top;
+            stackLo[top] = lo;
+            stackHi[top] = hi;
+            stackDepth[top] = depth;
+            stackBound[top] = bound;
+            return top + 1;
+        }
+
+        /**
+         * Wstawia element na pozycję i kopca i przesuwa go w górę.
+         *
+         * @param i        pozycja nowego elementu (bieżący rozmiar kopca).
+         * @param d        kwadrat odległości.
+         * @param position pozycja punktu w drzewie.
+         */
+        private void siftUp(int i, double d, int position) {
+            while (i > 0) {
+                final var parent = (i - 1) >>> 1;
+                if (heapDistances[parent] >= d) break;
+                heapDistances[i] = heapDistances[parent];
+                heapPositions[i] = heapPositions[parent];
+                i = parent;
+            }
+            heapDistances[i] = d;
+            heapPositions[i] = position;
+        }
+
+        /**
+         * Wstawia element na pozycję i kopca o podanym rozmiarze i przesuwa go w dół.
+         *
+         * @param i        pozycja elementu.
+         * @param size     rozmiar kopca.
+         * @param d        kwadrat odległości.
+         * @param position pozycja punktu w drzewie.
+         */
+        private void siftDown(int i, int size, double d, int position) {
+            while (true) {
+                var child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && heapDistances[child + 1] > heapDistances[child]) child++;
+                if (heapDistances[child] <= d) break;
+                heapDistances[i] = heapDistances[child];
+                heapPositions[i] = heapPositions[child];
+                i = child;
+            }
+            heapDistances[i] = d;
+            heapPositions[i] = position;
+        }
+    }
+}
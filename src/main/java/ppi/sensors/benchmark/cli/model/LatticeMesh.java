@@ -0,0 +1,180 @@
+package ppi.sensors.benchmark.cli.model;
+
+/**
+ * Leniwa siatka punktów ułożonych w wiersze (kratownica).
+ * Nie przechowuje współrzędnych - współrzędne punktu o danym indeksie wyliczane są
+ * na bieżąco z numeru wiersza i kolumny, więc pamięć zajmowana przez siatkę nie zależy
+ * od jej rozmiaru.
+ * <p>
+ * Wiersze parzyste i nieparzyste mogą mieć różne przesunięcie w osi x oraz różną liczbę punktów
+ * (np. siatka trójkątna). Podklasy mogą dodatkowo pomijać część kolumn nadpisując
+ * {@link #columnCount(boolean, int)} oraz {@link #column(boolean, int)} (np. siatka "plaster miodu").
+ * <p>
+ * Współrzędne liczone są jako iloczyn indeksu i odległości (a nie przez sumowanie kolejnych kroków),
+ * dzięki czemu nie kumulują błędu zmiennoprzecinkowego. Współrzędne "przycinane" są do boku obszaru,
+ * aby ostatni węzeł, wypadający na brzegu obszaru, nie wystawał poza niego o błąd zaokrąglenia.
+ */
+public class LatticeMesh implements PointSet {
+
+    /**
+     * Względna tolerancja używana przy wyznaczaniu liczby węzłów mieszczących się w obszarze.
+     * Chroni przed "zgubieniem" węzła leżącego dokładnie na brzegu obszaru z powodu błędu zaokrąglenia.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Odległość pomiędzy kolejnymi kolumnami.
+     */
+    private final double distance;
+
+    /**
+     * Odległość pomiędzy kolejnymi wierszami.
+     */
+    private final double rowHeight;
+
+    /**
+     * Długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     */
+    private final int sideLength;
+
+    /**
+     * Przesunięcie w osi x wierszy nieparzystych.
+     */
+    private final double oddRowOffset;
+
+    /**
+     * Liczba punktów w wierszu parzystym.
+     */
+    private final int evenRowSize;
+
+    /**
+     * Liczba punktów w wierszu nieparzystym.
+     */
+    private final int oddRowSize;
+
+    /**
+     * Liczba punktów w parze wierszy (parzysty + nieparzysty).
+     */
+    private final int rowPairSize;
+
+    /**
+     * Liczba wszystkich punktów siatki.
+     */
+    private final int size;
+
+    /**
+     * Konstruktor.
+     *
+     * @param distance     odległość pomiędzy kolejnymi kolumnami.
+     * @param rowHeight    odległość pomiędzy kolejnymi wierszami.
+     * @param oddRowOffset przesunięcie w osi x wierszy nieparzystych.
+     * @param sideLength   długość boku kwadratowego obszaru, w którym znajdują się punkty.
+     * @throws IllegalArgumentException jeśli siatka ma więcej niż {@link Integer#MAX_VALUE} punktów.
+     */
+    public LatticeMesh(double distance, double rowHeight, double oddRowOffset, int sideLength) {
+        this.distance = distance;
+        this.rowHeight = rowHeight;
+        this.oddRowOffset = oddRowOffset;
+        this.sideLength = sideLength;
+
+        final var rowCount = nodeCount(0, rowHeight, sideLength);
+        final var evenColumns = nodeCount(0, distance, sideLength);
+        final var oddColumns = nodeCount(oddRowOffset, distance, sideLength);
+        this.evenRowSize = columnCount(false, evenColumns);
+        this.oddRowSize = rowCount > 1 ? columnCount(true, oddColumns) : 0;
+        this.rowPairSize = evenRowSize + oddRowSize;
+
+        final var total = rowCount / 2 * rowPairSize + (rowCount % 2) * evenRowSize;
+        if (total > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Mesh too large: " + total + " points.");
+        this.size = (int) total;
+    }
+
+    /**
+     * Zwraca liczbę węzłów o współrzędnych offset + k * step, mieszczących się w przedziale [0, sideLength].
+     *
+     * @param offset     współrzędna pierwszego węzła.
+     * @param step       odległość pomiędzy kolejnymi węzłami.
+     * @param sideLength długość przedziału.
+     * @return liczba węzłów.
+     */
+    private static long nodeCount(double offset, double step, int sideLength) {
+        if (offset > sideLength) return 0;
+        return (long) Math.floor((sideLength - offset) / step + EPSILON) + 1;
+    }
+
+    /**
+     * Zwraca liczbę punktów siatki w wierszu, który ma podaną liczbę kolumn.
+     * Domyślnie każda kolumna zawiera punkt.
+     *
+     * @param odd     <code>true</code> dla wiersza nieparzystego.
+     * @param columns liczba kolumn w wierszu.
+     * @return liczba punktów w wierszu.
+     */
+    protected int columnCount(boolean odd, long columns) {
+        if (columns > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Mesh row too large: " + columns + " points.");
+        return (int) columns;
+    }
+
+    /**
+     * Zwraca numer kolumny k-tego punktu w wierszu.
+     * Domyślnie k-ty punkt leży w k-tej kolumnie.
+     *
+     * @param odd <code>true</code> dla wiersza nieparzystego.
+     * @param k   numer punktu w wierszu.
+     * @return numer kolumny.
+     */
+    protected int column(boolean odd, int k) {
+        return k;
+    }
+
+    /**
+     * Zwraca liczbę punktów siatki.
+     *
+     * @return liczba punktów siatki.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Zwraca współrzędną x punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna x punktu.
+     */
+    @Override
+    public double x(int index) {
+        final var rem = index % rowPairSize;
+        final var odd = rem >= evenRowSize;
+        final var k = odd ? rem - evenRowSize : rem;
+        final var x = (odd ? oddRowOffset : 0.0) + column(odd, k) * distance;
+        return Math.min(x, sideLength);
+    }
+
+    /**
+     * Zwraca współrzędną y punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna y punktu.
+     */
+    @Override
+    public double y(int index) {
+        final var row = 2L * (index / rowPairSize) + (index % rowPairSize >= evenRowSize ? 1 : 0);
+        return Math.min(row * rowHeight, sideLength);
+    }
+
+    /**
+     * Zwraca tekstową reprezentację siatki.
+     * Używane do debugu.
+     *
+     * @return tekstowa reprezentacja siatki.
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{distance=" + distance + ", rowHeight=" + rowHeight
+                + ", sideLength=" + sideLength + ", size=" + size + '}';
+    }
+}
@@ -0,0 +1,159 @@
+package ppi.sensors.benchmark.cli.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Zbiór punktów przechowywany w postaci dwóch równoległych tablic prymitywnych
+ * (struct-of-arrays): {@link #xs} ze współrzędnymi x oraz {@link #ys} ze współrzędnymi y.
+ * <p>
+ * Zajmuje 16 bajtów na punkt - zamiast obiektu {@link Point} z nagłówkiem i referencją
+ * w {@link java.util.ArrayList}. Bufor można rozszerzać metodą {@link #add(double, double)},
+ * jednak po zakończeniu wypełniania traktowany jest jako niemodyfikowalny.
+ */
+public final class PointBuffer implements PointSet {
+
+    /**
+     * Współrzędne x punktów. Długość tablicy może być większa niż {@link #size}.
+     */
+    private double[] xs;
+
+    /**
+     * Współrzędne y punktów. Długość tablicy może być większa niż {@link #size}.
+     */
+    private double[] ys;
+
+    /**
+     * Liczba punktów w buforze.
+     */
+    private int size;
+
+    /**
+     * Konstruktor. Tworzy pusty bufor o podanej pojemności początkowej.
+     *
+     * @param capacity pojemność początkowa (liczba punktów).
+     */
+    public PointBuffer(int capacity) {
+        this(new double[capacity], new double[capacity], 0);
+    }
+
+    /**
+     * Konstruktor. Tworzy bufor oparty na podanych tablicach (bez kopiowania).
+     *
+     * @param xs   współrzędne x punktów.
+     * @param ys   współrzędne y punktów.
+     * @param size liczba punktów.
+     */
+    private PointBuffer(double[] xs, double[] ys, int size) {
+        this.xs = xs;
+        this.ys = ys;
+        this.size = size;
+    }
+
+    /**
+     * Tworzy bufor oparty na podanych tablicach współrzędnych (bez kopiowania).
+     *
+     * @param xs współrzędne x punktów.
+     * @param ys współrzędne y punktów (tablica tej samej długości co xs).
+     * @return bufor punktów.
+     * @throws IllegalArgumentException jeśli tablice mają różne długości.
+     */
+    public static PointBuffer wrap(double[] xs, double[] ys) {
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("Coordinate arrays differ in length: " + xs.length + " != " + ys.length);
+        return new PointBuffer(xs, ys, xs.length);
+    }
+
+    /**
+     * Tworzy bufor na podstawie listy punktów.
+     * Adapter dla implementacji, które zwracają {@link List}&lt;{@link Point}&gt;.
+     *
+     * @param points lista punktów.
+     * @return bufor zawierający te same punkty w tej samej kolejności.
+     */
+    public static PointBuffer of(List<Point> points) {
+        final var result = new PointBuffer(points.size());
+        for (var point : points) result.add(point.x, point.y);
+        return result;
+    }
+
+    /**
+     * Dodaje punkt na koniec bufora, w razie potrzeby powiększając tablice.
+     *
+     * @param x współrzędna x punktu.
+     * @param y współrzędna y punktu.
+     */
+    public void add(double x, double y) {
+        if (size == xs.length) {
+            final var capacity = Math.max(16, size + (size >> 1));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * Zwraca liczbę punktów w buforze.
+     *
+     * @return liczba punktów w buforze.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Zwraca współrzędną x punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna x punktu.
+     */
+    @Override
+    public double x(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Zwraca współrzędną y punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna y punktu.
+     */
+    @Override
+    public double y(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Zwraca tablicę współrzędnych x (bez kopiowania).
+     * Istotne są tylko pierwsze {@link #size()} elementy tablicy.
+     *
+     * @return tablica współrzędnych x.
+     */
+    public double[] xs() {
+        return xs;
+    }
+
+    /**
+     * Zwraca tablicę współrzędnych y (bez kopiowania).
+     * Istotne są tylko pierwsze {@link #size()} elementy tablicy.
+     *
+     * @return tablica współrzędnych y.
+     */
+    public double[] ys() {
+        return ys;
+    }
+
+    /**
+     * Zwraca tekstową reprezentację bufora.
+     * Używane do debugu.
+     *
+     * @return tekstowa reprezentacja bufora.
+     */
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+}
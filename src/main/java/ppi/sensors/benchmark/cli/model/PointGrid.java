@@ -0,0 +1,217 @@
+package ppi.sensors.benchmark.cli.model;
+
+/**
+ * Indeks przestrzenny zbioru punktów - równomierna siatka kwadratowych komórek (cell list)
+ * o boku nie mniejszym niż zasięg. Dzięki temu wszystkie punkty w zasięgu danego miejsca leżą
+ * w jego komórce lub w jednej z 8 komórek sąsiednich.
+ * <p>
+ * Punkty przechowywane są w układzie CSR: współrzędne posortowane według numeru komórki
+ * (sortowanie przez zliczanie, O(n)) oraz tablica początków komórek. Zapytanie przegląda
+ * więc ciągłe fragmenty tablic, bez list i obiektów punktów.
+ * <p>
+ * Punkty w zasięgu wyszukiwane są w tych fragmentach przez {@link CoverageKernel} (wektorowo, jeśli
+ * to możliwe - patrz {@link CoverageKernels}).
+ * <p>
+ * Obiekt jest niemodyfikowalny i może być używany z wielu wątków.
+ */
+public class PointGrid {
+
+    /**
+     * Maksymalna liczba komórek w jednej osi - ogranicza pamięć zajmowaną przez siatkę
+     * przy bardzo małym zasięgu (komórki są wtedy większe niż zasięg).
+     */
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    /**
+     * Jądro obliczeń odległości.
+     */
+    private final CoverageKernel kernel;
+
+    /**
+     * Kwadrat zasięgu.
+     */
+    private final double rangeSquared;
+
+    /**
+     * Najmniejsza współrzędna x punktu (lewa krawędź siatki).
+     */
+    private final double minX;
+
+    /**
+     * Najmniejsza współrzędna y punktu (dolna krawędź siatki).
+     */
+    private final double minY;
+
+    /**
+     * Długość boku komórki.
+     */
+    private final double cellSize;
+
+    /**
+     * Liczba kolumn siatki.
+     */
+    private final int columns;
+
+    /**
+     * Liczba wierszy siatki.
+     */
+    private final int rows;
+
+    /**
+     * Początki komórek - punkty komórki c zajmują pozycje [cellStart[c], cellStart[c + 1]).
+     */
+    private final int[] cellStart;
+
+    /**
+     * Współrzędne x punktów w kolejności komórek.
+     */
+    private final double[] xs;
+
+    /**
+     * Współrzędne y punktów w kolejności komórek.
+     */
+    private final double[] ys;
+
+    /**
+     * Indeksy punktów (w przekazanym zbiorze) w kolejności komórek.
+     */
+    private final int[] ids;
+
+    /**
+     * Konstruktor - buduje indeks.
+     *
+     * @param points zbiór punktów.
+     * @param range  zasięg (promień zapytań).
+     */
+    public PointGrid(PointSet points, double range) {
+        this(points, range, CoverageKernels.get());
+    }
+
+    /**
+     * Konstruktor z możliwością wyboru jądra obliczeń odległości - buduje indeks.
+     *
+     * @param points zbiór punktów.
+     * @param range  zasięg (promień zapytań).
+     * @param kernel jądro obliczeń odległości.
+     */
+    public PointGrid(PointSet points, double range, CoverageKernel kernel) {
+        this.kernel = kernel;
+        final var n = points.size();
+        var minX = Double.POSITIVE_INFINITY;
+        var minY = Double.POSITIVE_INFINITY;
+        var maxX = Double.NEGATIVE_INFINITY;
+        var maxY = Double.NEGATIVE_INFINITY;
+        for (var i = 0; i < n; i++) {
+            minX = Math.min(minX, points.x(i));
+            minY = Math.min(minY, points.y(i));
+            maxX = Math.max(maxX, points.x(i));
+            maxY = Math.max(maxY, points.y(i));
+        }
+        if (n == 0) minX = minY = maxX = maxY = 0.0;
+
+        final var extent = Math.max(maxX - minX, maxY - minY);
+        final var maxCells = Math.max(1, Math.min(MAX_CELLS_PER_AXIS, 2 * (int) Math.ceil(Math.sqrt(n))));
+        this.rangeSquared = range * range;
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = Math.max(range, extent / maxCells);
+        this.columns = cellSize > 0 ? (int) ((maxX - minX) / cellSize) + 1 : 1;
+        this.rows = cellSize > 0 ? (int) ((maxY - minY) / cellSize) + 1 : 1;
+
+        final var cells = new int[n];
+        this.cellStart = new int[columns * rows + 1];
+        for (var i = 0; i < n; i++) {
+            cells[i] = cell(column(points.x(i)), row(points.y(i)));
+            cellStart[cells[i] + 1]++;
+        }
+        for (var c = 0; c < columns * rows; c++) cellStart[c + 1] += cellStart[c];
+
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.ids = new int[n];
+        final var next = cellStart.clone();
+        for (var i = 0; i < n; i++) {
+            final var position = next[cells[i]]++;
+            xs[position] = points.x(i);
+            ys[position] = points.y(i);
+            ids[position] = i;
+        }
+    }
+
+    /**
+     * Zlicza punkty w zasięgu od podanego miejsca (w odległości nie większej niż zasięg)
+     * i zwiększa licznik każdego z nich.
+     *
+     * @param x      współrzędna x miejsca.
+     * @param y      współrzędna y miejsca.
+     * @param counts liczniki, indeksowane numerem punktu.
+     * @return liczba punktów w zasięgu.
+     */
+    public int cover(double x, double y, int[] counts) {
+        final var column = column(x);
+        final var row = row(y);
+        final var fromColumn = Math.max(column - 1, 0);
+        final var toColumn = Math.min(column + 1, columns - 1);
+        var found = 0;
+        for (var r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            if (fromColumn > toColumn) break;
+            found += kernel.cover(x, y, xs, ys, ids, cellStart[cell(fromColumn, r)], cellStart[cell(toColumn, r) + 1],
+                    rangeSquared, counts);
+        }
+        return found;
+    }
+
+    /**
+     * Wyznacza punkty w zasięgu od podanego miejsca. Jeśli tablica na wynik jest za mała,
+     * zapisywane są tylko pierwsze znalezione punkty, ale zwracana jest liczba wszystkich.
+     *
+     * @param x      współrzędna x miejsca.
+     * @param y      współrzędna y miejsca.
+     * @param result tablica na indeksy znalezionych punktów.
+     * @return liczba punktów w zasięgu.
+     */
+    public int withinRange(double x, double y, int[] result) {
+        final var column = column(x);
+        final var row = row(y);
+        final var fromColumn = Math.max(column - 1, 0);
+        final var toColumn = Math.min(column + 1, columns - 1);
+        var found = 0;
+        for (var r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            if (fromColumn > toColumn) break;
+            found = kernel.within(x, y, xs, ys, ids, cellStart[cell(fromColumn, r)], cellStart[cell(toColumn, r) + 1],
+                    rangeSquared, result, found);
+        }
+        return found;
+    }
+
+    /**
+     * Zwraca numer kolumny dla współrzędnej x (może wykraczać poza siatkę).
+     *
+     * @param x współrzędna x.
+     * @return numer kolumny.
+     */
+    private int column(double x) {
+        return (int) Math.max(Math.min(Math.floor((x - minX) / cellSize), columns + 1), -2);
+    }
+
+    /**
+     * Zwraca numer wiersza dla współrzędnej y (może wykraczać poza siatkę).
+     *
+     * @param y współrzędna y.
+     * @return numer wiersza.
+     */
+    private int row(double y) {
+        return (int) Math.max(Math.min(Math.floor((y - minY) / cellSize), rows + 1), -2);
+    }
+
+    /**
+     * Zwraca numer komórki w kolejności wierszami.
+     *
+     * @param column numer kolumny z przedziału [0, {@link #columns}).
+     * @param row    numer wiersza z przedziału [0, {@link #rows}).
+     * @return numer komórki.
+     */
+    private int cell(int column, int row) {
+        return row * columns + column;
+    }
+}
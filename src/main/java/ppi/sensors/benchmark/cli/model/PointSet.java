@@ -0,0 +1,107 @@
+package ppi.sensors.benchmark.cli.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Reprezentuje indeksowany zbiór punktów na płaszczyźnie, dostępny przez współrzędne prymitywne.
+ * W odróżnieniu od {@link List}&lt;{@link Point}&gt; nie wymaga osobnego obiektu dla każdego punktu.
+ * <p>
+ * Serializowany do JSON dokładnie tak samo jak lista obiektów {@link Point}
+ * (patrz {@link PointSetSerializer}).
+ *
+ * @see PointBuffer
+ */
+@JsonSerialize(using = PointSetSerializer.class)
+public interface PointSet {
+
+    /**
+     * Zwraca liczbę punktów w zbiorze.
+     *
+     * @return liczba punktów w zbiorze.
+     */
+    int size();
+
+    /**
+     * Zwraca współrzędną x punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna x punktu.
+     */
+    double x(int index);
+
+    /**
+     * Zwraca współrzędną y punktu o podanym indeksie.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return współrzędna y punktu.
+     */
+    double y(int index);
+
+    /**
+     * Zwraca punkt o podanym indeksie jako nowy obiekt {@link Point}.
+     *
+     * @param index indeks punktu z przedziału [0, {@link #size()}).
+     * @return punkt o podanym indeksie.
+     */
+    default Point pointAt(int index) {
+        return new Point(x(index), y(index));
+    }
+
+    /**
+     * Zwraca niemodyfikowalny widok zbioru jako listę punktów.
+     * Obiekty {@link Point} tworzone są dopiero przy odczycie elementu listy.
+     * Adapter dla kodu, który oczekuje {@link List}&lt;{@link Point}&gt;.
+     *
+     * @return widok zbioru jako lista punktów.
+     */
+    default List<Point> asList() {
+        return new ListView(this);
+    }
+
+    /**
+     * Niemodyfikowalny widok {@link PointSet} jako {@link List}&lt;{@link Point}&gt;.
+     */
+    final class ListView extends AbstractList<Point> implements RandomAccess {
+
+        /**
+         * Zbiór punktów, którego dotyczy widok.
+         */
+        private final PointSet points;
+
+        /**
+         * Konstruktor.
+         *
+         * @param points zbiór punktów, którego dotyczy widok.
+         */
+        private ListView(PointSet points) {
+            this.points = points;
+        }
+
+        /**
+         * Zwraca punkt o podanym indeksie.
+         *
+         * @param index indeks punktu.
+         * @return punkt o podanym indeksie.
+         */
+        @Override
+        public Point get(int index) {
+            if (index < 0 || index >= points.size())
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + points.size());
+            return points.pointAt(index);
+        }
+
+        /**
+         * Zwraca liczbę punktów.
+         *
+         * @return liczba punktów.
+         */
+        @Override
+        public int size() {
+            return points.size();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ppi.sensors.benchmark.cli.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer Jacksona dla {@link PointSet}.
+ * Zapisuje punkty bezpośrednio ze współrzędnych prymitywnych, jako tablicę obiektów
+ * z polami "x" oraz "y" - czyli w tym samym formacie co lista obiektów {@link Point}.
+ */
+public class PointSetSerializer extends StdSerializer<PointSet> {
+
+    /**
+     * Wersja serializacji (klasa bazowa jest {@link java.io.Serializable}).
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Domyślny konstruktor (wymagany przez Jacksona).
+     */
+    public PointSetSerializer() {
+        super(PointSet.class);
+    }
+
+    /**
+     * Serializuje zbiór punktów jako tablicę JSON.
+     *
+     * @param points    zbiór punktów.
+     * @param generator generator JSON.
+     * @param provider  provider serializerów.
+     * @throws IOException w przypadku problemów z zapisem.
+     */
+    @Override
+    public void serialize(PointSet points, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        final var size = points.size();
+        generator.writeStartArray(points, size);
+        for (var i = 0; i < size; i++) writePoint(generator, points.x(i), points.y(i));
+        generator.writeEndArray();
+    }
+
+    /**
+     * Zapisuje pojedynczy punkt jako obiekt JSON z polami "x" oraz "y".
+     *
+     * @param generator generator JSON.
+     * @param x         współrzędna x punktu.
+     * @param y         współrzędna y punktu.
+     * @throws IOException w przypadku problemów z zapisem.
+     */
+    public static void writePoint(JsonGenerator generator, double x, double y) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("x", x);
+        generator.writeNumberField("y", y);
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,111 @@
+package ppi.sensors.benchmark.cli.model;
+
+/**
+ * Skalarna implementacja {@link CoverageKernel} - punkt po punkcie.
+ * Używana, gdy implementacja wektorowa jest niedostępna (patrz {@link CoverageKernels}),
+ * oraz do obsługi końcówek fragmentów krótszych niż wektor.
+ */
+public final class ScalarCoverageKernel implements CoverageKernel {
+
+    /**
+     * Jedyna instancja.
+     */
+    public static final ScalarCoverageKernel INSTANCE = new ScalarCoverageKernel();
+
+    /**
+     * Prywatny konstruktor - implementacja jest bezstanowa, patrz {@link #INSTANCE}.
+     */
+    private ScalarCoverageKernel() {
+    }
+
+    /**
+     * Zwiększa licznik każdego punktu z fragmentu [from, to) leżącego w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param ids          numery punktów - indeksy liczników.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @param counts       liczniki, indeksowane numerem punktu.
+     * @return liczba punktów fragmentu w zasięgu.
+     */
+    @Override
+    public int cover(double x, double y, double[] xs, double[] ys, int[] ids, int from, int to,
+                     double rangeSquared, int[] counts) {
+        var found = 0;
+        for (var p = from; p < to; p++) {
+            final var dx = xs[p] - x;
+            final var dy = ys[p] - y;
+            if (dx * dx + dy * dy <= rangeSquared) {
+                counts[ids[p]]++;
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Dopisuje numery punktów z fragmentu [from, to) leżących w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param ids          numery punktów.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @param result       tablica na numery znalezionych punktów.
+     * @param found        liczba punktów znalezionych wcześniej (pozycja w tablicy wyniku).
+     * @return liczba punktów znalezionych wcześniej powiększona o liczbę punktów fragmentu w zasięgu.
+     */
+    @Override
+    public int within(double x, double y, double[] xs, double[] ys, int[] ids, int from, int to,
+                      double rangeSquared, int[] result, int found) {
+        for (var p = from; p < to; p++) {
+            final var dx = xs[p] - x;
+            final var dy = ys[p] - y;
+            if (dx * dx + dy * dy <= rangeSquared) {
+                if (found < result.length) result[found] = ids[p];
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Zlicza punkty z fragmentu [from, to) leżące w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @return liczba punktów fragmentu w zasięgu.
+     */
+    @Override
+    public int count(double x, double y, double[] xs, double[] ys, int from, int to, double rangeSquared) {
+        var found = 0;
+        for (var p = from; p < to; p++) {
+            final var dx = xs[p] - x;
+            final var dy = ys[p] - y;
+            if (dx * dx + dy * dy <= rangeSquared) found++;
+        }
+        return found;
+    }
+
+    /**
+     * Zwraca nazwę implementacji.
+     *
+     * @return nazwa implementacji.
+     */
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
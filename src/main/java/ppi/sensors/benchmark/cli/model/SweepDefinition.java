@@ -0,0 +1,117 @@
+package ppi.sensors.benchmark.cli.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.fasterxml.jackson.annotation.JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY;
+
+/**
+ * Reprezentuje model danych pliku z definicją przeglądu parametrów (sweep) -
+ * patrz {@link ppi.sensors.benchmark.cli.SweepCommand}.
+ * <p>
+ * Pola będące listami to osie przeglądu - generowane są wszystkie kombinacje ich wartości.
+ * Każdą oś można też podać jako pojedynczą wartość (zamiast listy jednoelementowej).
+ * Nazwy pól odpowiadają długim nazwom parametrów programu.
+ */
+public class SweepDefinition {
+
+    /**
+     * Liczba instancji dla każdej kombinacji.
+     */
+    @JsonProperty
+    public Integer instanceCount;
+
+    /**
+     * Rodzaje siatki POI.
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<String> poiMeshType;
+
+    /**
+     * Rodzaje generatora sensorów.
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<String> generatorType;
+
+    /**
+     * Parametry generatora sensorów (klucz - wartość), wspólne dla wszystkich kombinacji (opcjonalne).
+     */
+    @JsonProperty
+    public Map<String, String> generatorParam;
+
+    /**
+     * Długości boku obszaru.
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<Integer> sideLength;
+
+    /**
+     * Odległości między węzłami siatki.
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<Double> poiDistance;
+
+    /**
+     * Prawdopodobieństwa wykluczenia POI w procentach.
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<Integer> poiExclusion;
+
+    /**
+     * Dokładne liczby POI (opcjonalne - zastępują wykluczanie).
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<Integer> poiCount;
+
+    /**
+     * Liczby sensorów.
+     */
+    @JsonProperty
+    @JsonFormat(with = ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    public List<Integer> sensorCount;
+
+    /**
+     * Promień komunikacji sensorów (opcjonalny).
+     */
+    @JsonProperty
+    public Double commRadius;
+
+    /**
+     * Tryb dużej skali (opcjonalny, domyślnie wyłączony) - patrz {@link ppi.sensors.benchmark.cli.Cli}.
+     */
+    @JsonProperty
+    public Boolean largeScale;
+
+    /**
+     * Budżet pamięci w MiB dla trybu dużej skali (opcjonalny).
+     */
+    @JsonProperty
+    public Long memoryBudget;
+
+    /**
+     * Ziarno główne - wspólne dla wszystkich kombinacji (opcjonalne).
+     */
+    @JsonProperty
+    public Long seed;
+
+    /**
+     * Typ generatora liczb losowych (opcjonalny, domyślnie jdk).
+     */
+    @JsonProperty
+    public String rng;
+
+    /**
+     * Format plików wyjściowych (opcjonalny, domyślnie json).
+     */
+    @JsonProperty
+    public String format;
+}
@@ -0,0 +1,150 @@
+package ppi.sensors.benchmark.cli.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Wektorowa (SIMD) implementacja {@link CoverageKernel} oparta na <code>jdk.incubator.vector</code>.
+ * <p>
+ * Kwadraty odległości liczone są dla {@link #SPECIES preferowanej} liczby punktów naraz (np. 4 dla AVX2,
+ * 8 dla AVX-512), a porównanie z kwadratem zasięgu daje maskę punktów w zasięgu. Zliczanie ({@link #count})
+ * sumuje liczby ustawionych bitów masek. Przy aktualizacji liczników i wyniku ({@link #cover}, {@link #within})
+ * wektory bez punktów w zasięgu pomijane są jednym porównaniem, a pozostałe sprawdzane są ponownie skalarnie
+ * (bez przechodzenia po bitach maski, które w JDK 17 nie jest wydajne). Krótkie fragmenty i końcówki fragmentów
+ * obsługiwane są przez {@link ScalarCoverageKernel}. Kwadraty odległości liczone są bez FMA - tak samo jak w implementacji
+ * skalarnej, więc obie dają identyczne wyniki także dla punktów leżących dokładnie na granicy zasięgu.
+ * <p>
+ * Klasa wymaga Javy 17+ i modułu <code>jdk.incubator.vector</code> - ładowana jest przez {@link CoverageKernels}.
+ */
+public final class VectorCoverageKernel implements CoverageKernel {
+
+    /**
+     * Preferowany (najszerszy wydajny na danej platformie) rozmiar wektora.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Minimalna długość fragmentu przetwarzanego wektorowo. Dla krótszych fragmentów (np. typowych wierszy
+     * {@link PointGrid} przy małej gęstości sensorów) końcówka przetwarzana skalarnie przeważa nad zyskiem
+     * z wektora, więc cały fragment przetwarzany jest skalarnie.
+     */
+    private static final int MIN_BLOCK = 2 * SPECIES.length();
+
+    /**
+     * Implementacja skalarna dla krótkich fragmentów i końcówek fragmentów.
+     */
+    private static final CoverageKernel TAIL = ScalarCoverageKernel.INSTANCE;
+
+    /**
+     * Konstruktor - wołany przez refleksję w {@link CoverageKernels}.
+     */
+    public VectorCoverageKernel() {
+    }
+
+    /**
+     * Zwiększa licznik każdego punktu z fragmentu [from, to) leżącego w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param ids          numery punktów - indeksy liczników.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @param counts       liczniki, indeksowane numerem punktu.
+     * @return liczba punktów fragmentu w zasięgu.
+     */
+    @Override
+    public int cover(double x, double y, double[] xs, double[] ys, int[] ids, int from, int to,
+                     double rangeSquared, int[] counts) {
+        if (to - from < MIN_BLOCK) return TAIL.cover(x, y, xs, ys, ids, from, to, rangeSquared, counts);
+        final var bound = from + SPECIES.loopBound(to - from);
+        var found = 0;
+        var p = from;
+        for (; p < bound; p += SPECIES.length()) {
+            if (inRange(x, y, xs, ys, p, rangeSquared).anyTrue())
+                found += TAIL.cover(x, y, xs, ys, ids, p, p + SPECIES.length(), rangeSquared, counts);
+        }
+        return found + TAIL.cover(x, y, xs, ys, ids, p, to, rangeSquared, counts);
+    }
+
+    /**
+     * Dopisuje numery punktów z fragmentu [from, to) leżących w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param ids          numery punktów.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @param result       tablica na numery znalezionych punktów.
+     * @param found        liczba punktów znalezionych wcześniej (pozycja w tablicy wyniku).
+     * @return liczba punktów znalezionych wcześniej powiększona o liczbę punktów fragmentu w zasięgu.
+     */
+    @Override
+    public int within(double x, double y, double[] xs, double[] ys, int[] ids, int from, int to,
+                      double rangeSquared, int[] result, int found) {
+        if (to - from < MIN_BLOCK) return TAIL.within(x, y, xs, ys, ids, from, to, rangeSquared, result, found);
+        final var bound = from + SPECIES.loopBound(to - from);
+        var p = from;
+        for (; p < bound; p += SPECIES.length()) {
+            if (inRange(x, y, xs, ys, p, rangeSquared).anyTrue())
+                found = TAIL.within(x, y, xs, ys, ids, p, p + SPECIES.length(), rangeSquared, result, found);
+        }
+        return TAIL.within(x, y, xs, ys, ids, p, to, rangeSquared, result, found);
+    }
+
+    /**
+     * Zlicza punkty z fragmentu [from, to) leżące w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param from         pierwsza pozycja fragmentu.
+     * @param to           pozycja za ostatnią pozycją fragmentu.
+     * @param rangeSquared kwadrat zasięgu.
+     * @return liczba punktów fragmentu w zasięgu.
+     */
+    @Override
+    public int count(double x, double y, double[] xs, double[] ys, int from, int to, double rangeSquared) {
+        if (to - from < MIN_BLOCK) return TAIL.count(x, y, xs, ys, from, to, rangeSquared);
+        final var bound = from + SPECIES.loopBound(to - from);
+        var found = 0;
+        var p = from;
+        for (; p < bound; p += SPECIES.length()) found += inRange(x, y, xs, ys, p, rangeSquared).trueCount();
+        return found + TAIL.count(x, y, xs, ys, p, to, rangeSquared);
+    }
+
+    /**
+     * Zwraca maskę punktów z wektora zaczynającego się od podanej pozycji, leżących w zasięgu od podanego miejsca.
+     *
+     * @param x            współrzędna x miejsca.
+     * @param y            współrzędna y miejsca.
+     * @param xs           współrzędne x punktów.
+     * @param ys           współrzędne y punktów.
+     * @param p            pozycja pierwszego punktu wektora.
+     * @param rangeSquared kwadrat zasięgu.
+     * @return maska punktów w zasięgu.
+     */
+    private static VectorMask<Double> inRange(double x, double y, double[] xs, double[] ys, int p, double rangeSquared) {
+        final var dx = DoubleVector.fromArray(SPECIES, xs, p).sub(x);
+        final var dy = DoubleVector.fromArray(SPECIES, ys, p).sub(y);
+        return dx.mul(dx).add(dy.mul(dy)).compare(VectorOperators.LE, rangeSquared);
+    }
+
+    /**
+     * Zwraca nazwę implementacji wraz z rozmiarem wektora.
+     *
+     * @return nazwa implementacji.
+     */
+    @Override
+    public String toString() {
+        return "vector(" + SPECIES.length() + " x double)";
+    }
+}
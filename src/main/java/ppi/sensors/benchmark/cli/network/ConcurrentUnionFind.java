@@ -0,0 +1,66 @@
+package ppi.sensors.benchmark.cli.network;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Struktura zbiorów rozłącznych (union-find) bezpieczna dla wielu wątków, bez blokad.
+ * <p>
+ * Tablica rodziców modyfikowana jest przez compare-and-set: skracanie ścieżek przez "halving"
+ * przy wyszukiwaniu, a łączenie zawsze podpina korzeń o większym indeksie pod korzeń o mniejszym.
+ * Dzięki temu korzeniem każdego zbioru jest jego najmniejszy element - wynik nie zależy od kolejności
+ * ani liczby wątków wykonujących łączenia.
+ */
+public class ConcurrentUnionFind {
+
+    /**
+     * Rodzice elementów - element jest korzeniem, jeśli jest swoim rodzicem.
+     */
+    private final AtomicIntegerArray parents;
+
+    /**
+     * Konstruktor - każdy element jest osobnym zbiorem.
+     *
+     * @param size liczba elementów.
+     */
+    public ConcurrentUnionFind(int size) {
+        this.parents = new AtomicIntegerArray(size);
+        for (var i = 0; i < size; i++) parents.set(i, i);
+    }
+
+    /**
+     * Zwraca korzeń (najmniejszy element) zbioru zawierającego element.
+     *
+     * @param x element.
+     * @return korzeń zbioru.
+     */
+    public int find(int x) {
+        while (true) {
+            final var parent = parents.get(x);
+            if (parent == x) return x;
+            final var grandparent = parents.get(parent);
+            if (parent != grandparent) parents.compareAndSet(x, parent, grandparent);
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Łączy zbiory zawierające podane elementy.
+     *
+     * @param a pierwszy element.
+     * @param b drugi element.
+     * @return <code>true</code> jeśli zbiory były rozłączne.
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            var rootA = find(a);
+            var rootB = find(b);
+            if (rootA == rootB) return false;
+            if (rootA < rootB) {
+                final var root = rootA;
+                rootA = rootB;
+                rootB = root;
+            }
+            if (parents.compareAndSet(rootA, rootA, rootB)) return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ppi.sensors.benchmark.cli.network;
+
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.util.Arrays;
+
+import static ppi.sensors.benchmark.cli.util.Parallel.chunkCount;
+import static ppi.sensors.benchmark.cli.util.Parallel.forEachChunk;
+
+/**
+ * Analiza spójności sieci sensorów dla zadanego promienia komunikacji.
+ * <p>
+ * Buduje {@link UnitDiskGraph}, a składowe spójne wyznacza przez {@link ConcurrentUnionFind} -
+ * krawędzie łączone są równolegle (dla dużych sieci), a wynik nie zależy od liczby wątków.
+ */
+public class ConnectivityAnalyzer {
+
+    /**
+     * Minimalna liczba sensorów, od której łączenie krawędzi wykonywane jest równolegle.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Liczba wątków używanych dla dużych sieci.
+     */
+    private final int threads;
+
+    /**
+     * Konstruktor.
+     *
+     * @param threads liczba wątków używanych dla dużych sieci (1 - zawsze sekwencyjnie).
+     */
+    public ConnectivityAnalyzer(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Wyznacza statystyki spójności sieci.
+     *
+     * @param sensors zbiór sensorów.
+     * @param radius  promień komunikacji.
+     * @return statystyki spójności.
+     */
+    public ConnectivityReport analyze(PointSet sensors, double radius) {
+        final var graph = new UnitDiskGraph(sensors, radius, threads);
+        final var n = graph.vertexCount();
+        final var unionFind = new ConcurrentUnionFind(n);
+        forEachChunk(n, chunkCount(n, threads, PARALLEL_THRESHOLD), threads, (c, from, to) -> {
+            for (var v = from; v < to; v++) {
+                for (var i = 0; i < graph.degree(v); i++) {
+                    final var u = graph.neighbour(v, i);
+                    if (u > v) unionFind.union(v, u);
+                }
+            }
+        });
+
+        final var report = new ConnectivityReport();
+        report.radius = radius;
+        report.sensorCount = n;
+        report.edgeCount = graph.edgeCount();
+        report.minDegree = n > 0 ? Integer.MAX_VALUE : 0;
+
+        final var sizes = new int[n];
+        for (var v = 0; v < n; v++) {
+            sizes[unionFind.find(v)]++;
+            final var degree = graph.degree(v);
+            report.minDegree = Math.min(report.minDegree, degree);
+            report.maxDegree = Math.max(report.maxDegree, degree);
+            if (degree == 0) report.isolatedCount++;
+        }
+        report.componentSizes = Arrays.stream(sizes).filter(s -> s > 0)
+                .map(s -> -s).sorted().map(s -> -s).toArray();
+        report.componentCount = report.componentSizes.length;
+        report.connected = report.componentCount <= 1;
+        report.largestComponentSize = n > 0 ? report.componentSizes[0] : 0;
+        report.largestComponentFraction = n > 0 ? (double) report.largestComponentSize / n : 1.0;
+        report.meanDegree = n > 0 ? 2.0 * report.edgeCount / n : 0.0;
+        return report;
+    }
+}
@@ -0,0 +1,82 @@
+package ppi.sensors.benchmark.cli.network;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Statystyki spójności sieci sensorów (patrz {@link ConnectivityAnalyzer}).
+ * Używany do serializacji pliku zapisywanego obok pliku z rozmieszczeniem sensorów.
+ */
+public class ConnectivityReport {
+
+    /**
+     * Promień komunikacji.
+     */
+    @JsonProperty
+    public double radius;
+
+    /**
+     * Liczba sensorów.
+     */
+    @JsonProperty
+    public int sensorCount;
+
+    /**
+     * Liczba krawędzi grafu (par sensorów w zasięgu komunikacji).
+     */
+    @JsonProperty
+    public long edgeCount;
+
+    /**
+     * Czy sieć jest spójna (jedna składowa; pusta sieć jest spójna).
+     */
+    @JsonProperty
+    public boolean connected;
+
+    /**
+     * Liczba składowych spójnych.
+     */
+    @JsonProperty
+    public int componentCount;
+
+    /**
+     * Rozmiar największej składowej.
+     */
+    @JsonProperty
+    public int largestComponentSize;
+
+    /**
+     * Udział sensorów należących do największej składowej.
+     */
+    @JsonProperty
+    public double largestComponentFraction;
+
+    /**
+     * Liczba sensorów izolowanych (bez sąsiadów).
+     */
+    @JsonProperty
+    public int isolatedCount;
+
+    /**
+     * Minimalny stopień wierzchołka.
+     */
+    @JsonProperty
+    public int minDegree;
+
+    /**
+     * Maksymalny stopień wierzchołka.
+     */
+    @JsonProperty
+    public int maxDegree;
+
+    /**
+     * Średni stopień wierzchołka.
+     */
+    @JsonProperty
+    public double meanDegree;
+
+    /**
+     * Rozmiary wszystkich składowych - malejąco.
+     */
+    @JsonProperty
+    public int[] componentSizes;
+}
@@ -0,0 +1,121 @@
+package ppi.sensors.benchmark.cli.network;
+
+import ppi.sensors.benchmark.cli.model.PointGrid;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.util.Arrays;
+
+import static ppi.sensors.benchmark.cli.util.Parallel.chunkCount;
+import static ppi.sensors.benchmark.cli.util.Parallel.forEachChunk;
+
+/**
+ * Graf dyskowy (unit-disk graph) nad zbiorem sensorów - dwa sensory są połączone krawędzią,
+ * jeśli ich odległość nie przekracza promienia komunikacji.
+ * <p>
+ * Sąsiedzi wyznaczani są przez {@link PointGrid} o boku komórki równym promieniowi, a graf
+ * przechowywany jest w formacie CSR: listy sąsiadów wszystkich wierzchołków (posortowane rosnąco)
+ * leżą jedna za drugą w tablicy {@link #neighbours}, a {@link #offsets} wskazuje ich początki.
+ * Budowa jest dwuprzebiegowa (stopnie, potem sąsiedzi) i dla dużych zbiorów równoległa -
+ * każdy wierzchołek wyznacza swoich sąsiadów niezależnie.
+ * <p>
+ * Obiekt jest niemodyfikowalny i może być używany z wielu wątków.
+ */
+public class UnitDiskGraph {
+
+    /**
+     * Minimalna liczba wierzchołków, od której graf budowany jest równolegle.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Początki list sąsiadów - sąsiedzi wierzchołka v zajmują pozycje [offsets[v], offsets[v + 1]).
+     */
+    private final int[] offsets;
+
+    /**
+     * Listy sąsiadów wszystkich wierzchołków.
+     */
+    private final int[] neighbours;
+
+    /**
+     * Konstruktor - buduje graf.
+     *
+     * @param points  zbiór sensorów.
+     * @param radius  promień komunikacji.
+     * @param threads liczba wątków używanych dla dużych zbiorów.
+     * @throws IllegalArgumentException jeśli graf ma zbyt wiele krawędzi, by zmieścić je w tablicy.
+     */
+    public UnitDiskGraph(PointSet points, double radius, int threads) {
+        final var n = points.size();
+        final var grid = new PointGrid(points, radius);
+        final var chunkCount = chunkCount(n, threads, PARALLEL_THRESHOLD);
+
+        final var degrees = new int[n];
+        final var empty = new int[0];
+        forEachChunk(n, chunkCount, threads, (c, from, to) -> {
+            for (var v = from; v < to; v++) degrees[v] = grid.withinRange(points.x(v), points.y(v), empty) - 1;
+        });
+
+        this.offsets = new int[n + 1];
+        var total = 0L;
+        var maxDegree = 0;
+        for (var v = 0; v < n; v++) {
+            total += degrees[v];
+            maxDegree = Math.max(maxDegree, degrees[v]);
+            if (total > Integer.MAX_VALUE - 8)
+                throw new IllegalArgumentException("Graph too large: more than " + total + " adjacency entries.");
+            offsets[v + 1] = (int) total;
+        }
+
+        this.neighbours = new int[(int) total];
+        final var bufferSize = maxDegree + 1;
+        forEachChunk(n, chunkCount, threads, (c, from, to) -> {
+            final var buffer = new int[bufferSize];
+            for (var v = from; v < to; v++) {
+                final var found = grid.withinRange(points.x(v), points.y(v), buffer);
+                var position = offsets[v];
+                for (var i = 0; i < found; i++) if (buffer[i] != v) neighbours[position++] = buffer[i];
+                Arrays.sort(neighbours, offsets[v], position);
+            }
+        });
+    }
+
+    /**
+     * Zwraca liczbę wierzchołków.
+     *
+     * @return liczba wierzchołków.
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Zwraca liczbę (nieskierowanych) krawędzi.
+     *
+     * @return liczba krawędzi.
+     */
+    public long edgeCount() {
+        return neighbours.length / 2;
+    }
+
+    /**
+     * Zwraca stopień wierzchołka.
+     *
+     * @param v numer wierzchołka.
+     * @return liczba sąsiadów.
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Zwraca i-tego (w kolejności rosnącej) sąsiada wierzchołka.
+     *
+     * @param v numer wierzchołka.
+     * @param i numer sąsiada z przedziału [0, {@link #degree(int)}).
+     * @return numer sąsiada.
+     */
+    public int neighbour(int v, int i) {
+        return neighbours[offsets[v] + i];
+    }
+}
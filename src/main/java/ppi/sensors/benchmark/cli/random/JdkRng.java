@@ -0,0 +1,71 @@
+package ppi.sensors.benchmark.cli.random;
+
+import java.util.Random;
+
+/**
+ * Adapter {@link java.util.Random} do interfejsu {@link Rng}.
+ * Metody rozkładu jednostajnego delegują do {@link Random}, więc dla danego ziarna wyniki są identyczne
+ * jak przy bezpośrednim użyciu {@link Random} (zgodność z plikami generowanymi wcześniej).
+ * Rozkład normalny generowany jest metodą ziggurat ({@link Rng#nextGaussian()}), a nie synchronizowaną
+ * metodą biegunową {@link Random#nextGaussian()}.
+ * <p>
+ * {@link #split()} tworzy nowy {@link Random} z ziarnem losowanym z tego generatora - strumienie
+ * nie mają gwarancji niezależności, dlatego do pracy równoległej należy wybrać inny {@link RngType}.
+ */
+public final class JdkRng implements Rng {
+
+    /**
+     * Generator, do którego delegowane są wywołania.
+     */
+    private final Random random;
+
+    /**
+     * Konstruktor.
+     *
+     * @param random generator, do którego delegowane są wywołania.
+     */
+    public JdkRng(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Zwraca następną 64-bitową liczbę pseudolosową ({@link Random#nextLong()}).
+     *
+     * @return liczba pseudolosowa.
+     */
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * Zwraca nowy generator z ziarnem losowanym z tego generatora.
+     *
+     * @return nowy generator.
+     */
+    @Override
+    public Rng split() {
+        return new JdkRng(new Random(random.nextLong()));
+    }
+
+    /**
+     * Zwraca liczbę pseudolosową z przedziału [0, 1) ({@link Random#nextDouble()}).
+     *
+     * @return liczba pseudolosowa z przedziału [0, 1).
+     */
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * Zwraca liczbę pseudolosową z przedziału [0, bound) ({@link Random#nextInt(int)}).
+     *
+     * @param bound górna granica (wyłącznie), dodatnia.
+     * @return liczba pseudolosowa z przedziału [0, bound).
+     */
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+}
@@ -0,0 +1,95 @@
+package ppi.sensors.benchmark.cli.random;
+
+/**
+ * Generator L64X128MixRandom z rodziny LXM (G. Steele, S. Vigna) - ten sam algorytm co w JDK 17,
+ * zaimplementowany tutaj, bo projekt kompilowany jest dla Javy 11.
+ * <p>
+ * Wynik łączy 64-bitowy generator liniowy kongruencyjny (LCG) i xoroshiro128 funkcją mieszającą lea64.
+ * Parametr addytywny LCG (nieparzysty) wybiera jeden z 2^63 niezależnych strumieni - {@link #split()}
+ * tworzy generator z nowym, losowym parametrem addytywnym i losowym stanem.
+ */
+public final class L64X128 implements Rng {
+
+    /**
+     * Mnożnik LCG.
+     */
+    private static final long M = 0xd1342543de82ef95L;
+
+    /**
+     * Parametr addytywny LCG (nieparzysty) - wyznacza strumień.
+     */
+    private final long a;
+
+    /**
+     * Stan LCG.
+     */
+    private long s;
+
+    /**
+     * Stan xoroshiro128 (dwa słowa 64-bitowe, nie oba zerowe).
+     */
+    private long x0, x1;
+
+    /**
+     * Konstruktor - stan i parametr addytywny wyznaczane są z ziarna przez {@link SplitMix64}.
+     *
+     * @param seed ziarno.
+     */
+    public L64X128(long seed) {
+        this(new SplitMix64(seed));
+    }
+
+    /**
+     * Konstruktor - stan i parametr addytywny losowane są z podanego generatora.
+     *
+     * @param source generator, z którego losowany jest stan.
+     */
+    private L64X128(Rng source) {
+        this.a = source.nextLong() | 1L;
+        this.s = source.nextLong();
+        this.x0 = source.nextLong();
+        this.x1 = source.nextLong();
+        if ((x0 | x1) == 0) x1 = 0x9e3779b97f4a7c15L;
+    }
+
+    /**
+     * Zwraca następną 64-bitową liczbę pseudolosową.
+     *
+     * @return liczba pseudolosowa.
+     */
+    @Override
+    public long nextLong() {
+        final var result = lea64(s + x0);
+        s = M * s + a;
+        var q0 = x0;
+        var q1 = x1;
+        q1 ^= q0;
+        q0 = Long.rotateLeft(q0, 24) ^ q1 ^ (q1 << 16);
+        q1 = Long.rotateLeft(q1, 37);
+        x0 = q0;
+        x1 = q1;
+        return result;
+    }
+
+    /**
+     * Zwraca nowy generator z parametrem addytywnym i stanem losowanymi z tego generatora.
+     *
+     * @return nowy generator.
+     */
+    @Override
+    public Rng split() {
+        return new L64X128(this);
+    }
+
+    /**
+     * Funkcja mieszająca lea64 (D. Lea).
+     *
+     * @param z wartość wejściowa.
+     * @return wymieszana wartość.
+     */
+    private static long lea64(long z) {
+        z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+        z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+        return z ^ (z >>> 32);
+    }
+}
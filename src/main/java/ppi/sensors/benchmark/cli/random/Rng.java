@@ -0,0 +1,69 @@
+package ppi.sensors.benchmark.cli.random;
+
+/**
+ * Generator liczb pseudolosowych z możliwością podziału na niezależne strumienie ({@link #split()}).
+ * <p>
+ * W odróżnieniu od {@link java.util.Random} implementacje nie są synchronizowane - każdy wątek
+ * (lub fragment pracy) powinien używać własnego strumienia, uzyskanego przez {@link #split()}.
+ * Podział jest deterministyczny, więc wynik zależy wyłącznie od ziarna głównego i kolejności podziałów,
+ * a nie od liczby wątków.
+ *
+ * @see RngType
+ */
+public interface Rng {
+
+    /**
+     * Zwraca następną 64-bitową liczbę pseudolosową.
+     *
+     * @return liczba pseudolosowa.
+     */
+    long nextLong();
+
+    /**
+     * Zwraca nowy generator, którego strumień jest niezależny od strumienia tego generatora.
+     * Stan tego generatora jest modyfikowany.
+     *
+     * @return nowy generator.
+     */
+    Rng split();
+
+    /**
+     * Zwraca liczbę pseudolosową z przedziału [0, 1) (53 najstarsze bity {@link #nextLong()}).
+     *
+     * @return liczba pseudolosowa z przedziału [0, 1).
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1p-53;
+    }
+
+    /**
+     * Zwraca liczbę pseudolosową z przedziału [0, bound) - bez obciążenia
+     * (mnożenie i odrzucanie wg. D. Lemire'a).
+     *
+     * @param bound górna granica (wyłącznie), dodatnia.
+     * @return liczba pseudolosowa z przedziału [0, bound).
+     * @throws IllegalArgumentException jeśli granica nie jest dodatnia.
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("Bound must be positive: " + bound);
+        var product = (nextLong() >>> 32) * bound;
+        var low = product & 0xffffffffL;
+        if (low < bound) {
+            final var threshold = (1L << 32) % bound;
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * bound;
+                low = product & 0xffffffffL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Zwraca liczbę pseudolosową o standardowym rozkładzie normalnym (metoda ziggurat, patrz {@link Ziggurat}).
+     *
+     * @return liczba pseudolosowa o rozkładzie N(0, 1).
+     */
+    default double nextGaussian() {
+        return Ziggurat.nextGaussian(this);
+    }
+}
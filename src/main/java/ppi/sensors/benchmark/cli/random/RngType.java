@@ -0,0 +1,100 @@
+package ppi.sensors.benchmark.cli.random;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Dostępne generatory liczb pseudolosowych.
+ */
+public enum RngType {
+
+    /**
+     * {@link java.util.Random} (domyślny) - zgodny z plikami generowanymi wcześniej, ale synchronizowany
+     * i bez niezależnych strumieni; generatory używają go sekwencyjnie, jednym strumieniem na instancję.
+     *
+     * @see JdkRng
+     */
+    JDK {
+        @Override
+        public Rng create(long seed) {
+            return new JdkRng(new Random(seed));
+        }
+    },
+
+    /**
+     * SplitMix64.
+     *
+     * @see SplitMix64
+     */
+    SPLITMIX {
+        @Override
+        public Rng create(long seed) {
+            return new SplitMix64(seed);
+        }
+    },
+
+    /**
+     * xoshiro256** z podziałem przez skok o 2^128.
+     *
+     * @see Xoshiro256
+     */
+    XOSHIRO256 {
+        @Override
+        public Rng create(long seed) {
+            return new Xoshiro256(seed);
+        }
+    },
+
+    /**
+     * L64X128MixRandom (rodzina LXM).
+     *
+     * @see L64X128
+     */
+    L64X128 {
+        @Override
+        public Rng create(long seed) {
+            return new L64X128(seed);
+        }
+    };
+
+    /**
+     * Tworzy generator danego typu z podanym ziarnem.
+     *
+     * @param seed ziarno.
+     * @return nowy generator.
+     */
+    public abstract Rng create(long seed);
+
+    /**
+     * Sprawdza czy generator danego typu ma niezależne strumienie, tzn. czy praca może być dzielona
+     * na fragmenty z osobnymi strumieniami ({@link Rng#split()}).
+     *
+     * @return <code>false</code> dla {@link #JDK}, <code>true</code> dla pozostałych.
+     */
+    public boolean isSplittable() {
+        return this != JDK;
+    }
+
+    /**
+     * Zwraca typ generatora o podanej nazwie (wielkość liter nie ma znaczenia).
+     *
+     * @param name nazwa typu.
+     * @return typ o podanej nazwie lub pusty {@link Optional} jeśli taki nie istnieje.
+     */
+    public static Optional<RngType> forName(String name) {
+        return Arrays.stream(values()).filter(f -> f.name().equalsIgnoreCase(name)).findAny();
+    }
+
+    /**
+     * Zwraca listę nazw wszystkich typów generatorów.
+     *
+     * @return lista nazw wszystkich typów.
+     */
+    public static List<String> getNames() {
+        return Arrays.stream(values()).map(f -> f.name().toLowerCase()).collect(toList());
+    }
+}
@@ -0,0 +1,81 @@
+package ppi.sensors.benchmark.cli.random;
+
+import ppi.sensors.benchmark.cli.util.Seeds;
+
+/**
+ * Generator SplitMix64 (G. Steele, D. Lea, C. Flood) - ten sam algorytm co {@link java.util.SplittableRandom},
+ * bez synchronizacji. Stan to licznik zwiększany o nieparzysty krok (gamma), wynik to
+ * {@link Seeds#mix64(long)} licznika. {@link #split()} tworzy generator z nowym licznikiem i nowym krokiem.
+ */
+public final class SplitMix64 implements Rng {
+
+    /**
+     * Domyślny krok - "złoty podział" (2^64 / phi).
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Stan (licznik).
+     */
+    private long state;
+
+    /**
+     * Krok licznika (nieparzysty).
+     */
+    private final long gamma;
+
+    /**
+     * Konstruktor generatora z domyślnym krokiem.
+     *
+     * @param seed ziarno.
+     */
+    public SplitMix64(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param seed  ziarno (początkowy stan).
+     * @param gamma krok licznika (nieparzysty).
+     */
+    private SplitMix64(long seed, long gamma) {
+        this.state = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Zwraca następną 64-bitową liczbę pseudolosową.
+     *
+     * @return liczba pseudolosowa.
+     */
+    @Override
+    public long nextLong() {
+        return Seeds.mix64(state += gamma);
+    }
+
+    /**
+     * Zwraca nowy generator z losowym stanem i losowym krokiem (jak {@link java.util.SplittableRandom#split()}).
+     *
+     * @return nowy generator.
+     */
+    @Override
+    public Rng split() {
+        return new SplitMix64(nextLong(), mixGamma(state += gamma));
+    }
+
+    /**
+     * Wyznacza krok nowego generatora - nieparzysty i z dostateczną liczbą zmian bitów
+     * (jak w {@link java.util.SplittableRandom}).
+     *
+     * @param z wartość wejściowa.
+     * @return krok generatora.
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        final var transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
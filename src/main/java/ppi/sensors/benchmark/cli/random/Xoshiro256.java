@@ -0,0 +1,99 @@
+package ppi.sensors.benchmark.cli.random;
+
+/**
+ * Generator xoshiro256** (D. Blackman, S. Vigna) - 256 bitów stanu, okres 2^256 - 1.
+ * <p>
+ * {@link #jump()} przesuwa stan o 2^128 wyrazów. {@link #split()} zwraca kopię bieżącego stanu
+ * i przesuwa ten generator o 2^128 - kolejne strumienie są więc rozłącznymi fragmentami jednego ciągu
+ * (do 2^128 strumieni po 2^128 wyrazów).
+ */
+public final class Xoshiro256 implements Rng {
+
+    /**
+     * Wielomian skoku o 2^128 wyrazów.
+     */
+    private static final long[] JUMP = {
+            0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL};
+
+    /**
+     * Stan generatora (cztery słowa 64-bitowe).
+     */
+    private long s0, s1, s2, s3;
+
+    /**
+     * Konstruktor - stan wyznaczany jest z ziarna przez {@link SplitMix64} (zalecenie autorów).
+     *
+     * @param seed ziarno.
+     */
+    public Xoshiro256(long seed) {
+        final var seeder = new SplitMix64(seed);
+        this.s0 = seeder.nextLong();
+        this.s1 = seeder.nextLong();
+        this.s2 = seeder.nextLong();
+        this.s3 = seeder.nextLong();
+    }
+
+    /**
+     * Konstruktor kopiujący stan.
+     *
+     * @param other generator, którego stan jest kopiowany.
+     */
+    private Xoshiro256(Xoshiro256 other) {
+        this.s0 = other.s0;
+        this.s1 = other.s1;
+        this.s2 = other.s2;
+        this.s3 = other.s3;
+    }
+
+    /**
+     * Zwraca następną 64-bitową liczbę pseudolosową.
+     *
+     * @return liczba pseudolosowa.
+     */
+    @Override
+    public long nextLong() {
+        final var result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final var t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    /**
+     * Zwraca kopię bieżącego stanu, a ten generator przesuwa o 2^128 wyrazów.
+     *
+     * @return generator z dotychczasowym stanem.
+     */
+    @Override
+    public Rng split() {
+        final var copy = new Xoshiro256(this);
+        jump();
+        return copy;
+    }
+
+    /**
+     * Przesuwa stan o 2^128 wyrazów.
+     */
+    public void jump() {
+        long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+        for (final var word : JUMP) {
+            for (var b = 0; b < 64; b++) {
+                if ((word & (1L << b)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+}
@@ -0,0 +1,99 @@
+package ppi.sensors.benchmark.cli.random;
+
+/**
+ * Generowanie liczb o standardowym rozkładzie normalnym metodą ziggurat (G. Marsaglia, W. W. Tsang,
+ * w wariancie ZIGNOR J. A. Doornika ze 128 warstwami).
+ * <p>
+ * Połowa gęstości rozkładu pokryta jest 128 warstwami o równym polu: 127 prostokątami i podstawą
+ * z "ogonem" powyżej {@link #R}. W zdecydowanej większości przypadków (ok. 98.8%) wynik wyznaczany jest
+ * z jednej 64-bitowej liczby losowej - numer warstwy z najmłodszych 7 bitów, a pozycja w warstwie
+ * z 53 najstarszych bitów - bez logarytmów, pierwiastków i dzielenia. Wartości z klinów (brzegów warstw)
+ * i z ogona wyznaczane są dokładnie metodą odrzucania, więc rozkład nie jest przybliżony.
+ * <p>
+ * W odróżnieniu od {@link java.util.Random#nextGaussian()} metoda nie jest synchronizowana i nie przechowuje
+ * drugiej wartości pomiędzy wywołaniami - stan ma wyłącznie przekazany generator.
+ */
+public final class Ziggurat {
+
+    /**
+     * Liczba warstw.
+     */
+    private static final int LAYERS = 128;
+
+    /**
+     * Początek ogona rozkładu (prawa krawędź najniższego prostokąta).
+     */
+    private static final double R = 3.442619855899;
+
+    /**
+     * Pole każdej z warstw.
+     */
+    private static final double V = 9.91256303526217e-3;
+
+    /**
+     * Prawe krawędzie warstw: {@code X[0] = V / f(R)} (szerokość podstawy razem z ogonem),
+     * {@code X[1] = R}, malejące do {@code X[LAYERS] = 0}.
+     */
+    private static final double[] X = new double[LAYERS + 1];
+
+    /**
+     * Stosunki {@code X[i + 1] / X[i]} - próg, poniżej którego punkt leży w całości pod krzywą.
+     */
+    private static final double[] RATIO = new double[LAYERS];
+
+    static {
+        var f = Math.exp(-0.5 * R * R);
+        X[0] = V / f;
+        X[1] = R;
+        for (var i = 2; i < LAYERS; i++) {
+            X[i] = Math.sqrt(-2 * Math.log(V / X[i - 1] + f));
+            f = Math.exp(-0.5 * X[i] * X[i]);
+        }
+        X[LAYERS] = 0;
+        for (var i = 0; i < LAYERS; i++) RATIO[i] = X[i + 1] / X[i];
+    }
+
+    /**
+     * Zwraca liczbę pseudolosową o standardowym rozkładzie normalnym.
+     *
+     * @param rng generator liczb pseudolosowych.
+     * @return liczba pseudolosowa o rozkładzie N(0, 1).
+     */
+    public static double nextGaussian(Rng rng) {
+        while (true) {
+            final var bits = rng.nextLong();
+            final var i = (int) (bits & (LAYERS - 1));
+            final var u = 2 * ((bits >>> 11) * 0x1p-53) - 1;
+            if (Math.abs(u) < RATIO[i]) return u * X[i];
+            if (i == 0) return tail(rng, u < 0);
+
+            final var x = u * X[i];
+            final var f0 = Math.exp(-0.5 * (X[i] * X[i] - x * x));
+            final var f1 = Math.exp(-0.5 * (X[i + 1] * X[i + 1] - x * x));
+            if (f1 + rng.nextDouble() * (f0 - f1) < 1.0) return x;
+        }
+    }
+
+    /**
+     * Zwraca wartość z ogona rozkładu, tj. o module większym niż {@link #R} (metoda Marsaglii).
+     *
+     * @param rng      generator liczb pseudolosowych.
+     * @param negative <code>true</code> dla ogona ujemnego.
+     * @return wartość z ogona rozkładu.
+     */
+    private static double tail(Rng rng, boolean negative) {
+        double x, y;
+        do {
+            x = Math.log(1 - rng.nextDouble()) / R;
+            y = Math.log(1 - rng.nextDouble());
+        } while (-2 * y < x * x);
+        return negative ? x - R : R - x;
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji util'a,
+     * który ma wyłącznie statyczne metody.
+     */
+    private Ziggurat() {
+    }
+}
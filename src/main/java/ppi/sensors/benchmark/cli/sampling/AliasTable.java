@@ -0,0 +1,104 @@
+package ppi.sensors.benchmark.cli.sampling;
+
+import ppi.sensors.benchmark.cli.random.Rng;
+
+/**
+ * Tablica aliasów (metoda Walkera w wariancie Vose'a) - losowanie indeksu z przedziału [0, n)
+ * z prawdopodobieństwem proporcjonalnym do podanych wag w czasie stałym, niezależnym od n.
+ * <p>
+ * Każdy z n "koszyków" o jednakowym prawdopodobieństwie zawiera indeks własny z prawdopodobieństwem
+ * {@link #probability} oraz (z prawdopodobieństwem dopełniającym) indeks {@link #alias}. Tablica budowana jest
+ * raz, w czasie O(n), a losowanie wymaga jednej liczby losowej: część całkowita wybiera koszyk,
+ * a część ułamkowa - indeks własny albo alias.
+ */
+public class AliasTable {
+
+    /**
+     * Prawdopodobieństwo wyboru indeksu własnego dla każdego koszyka.
+     */
+    private final double[] probability;
+
+    /**
+     * Indeks wybierany zamiast indeksu własnego dla każdego koszyka.
+     */
+    private final int[] alias;
+
+    /**
+     * Konstruktor.
+     *
+     * @param weights nieujemne wagi indeksów (nie muszą sumować się do 1).
+     * @throws IllegalArgumentException jeśli wag nie ma, któraś jest ujemna lub nieskończona,
+     *                                  albo ich suma nie jest dodatnia.
+     */
+    public AliasTable(double[] weights) {
+        final var n = weights.length;
+        if (n == 0) throw new IllegalArgumentException("weights must not be empty");
+        var sum = 0.0;
+        for (final var weight : weights) {
+            if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY))
+                throw new IllegalArgumentException("weight " + weight + " must be non-negative and finite");
+            sum += weight;
+        }
+        if (!(sum > 0 && sum < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("weights must have a positive finite sum");
+
+        probability = new double[n];
+        alias = new int[n];
+
+        // Indeksy o wadze poniżej średniej odkładane są od początku tablicy, pozostałe - od końca.
+        // Każdy indeks jest w co najwyżej jednej z grup, więc obie mieszczą się w jednej tablicy.
+        final var scaled = new double[n];
+        final var worklist = new int[n];
+        var small = 0;
+        var large = n;
+        for (var i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1) worklist[small++] = i;
+            else worklist[--large] = i;
+        }
+        while (small > 0 && large < n) {
+            final var less = worklist[--small];
+            final var more = worklist[large++];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) worklist[small++] = more;
+            else worklist[--large] = more;
+        }
+        // Pozostałe koszyki są pełne (różnice wynikają wyłącznie z błędów zaokrągleń).
+        while (small > 0) fill(worklist[--small]);
+        while (large < n) fill(worklist[large++]);
+    }
+
+    /**
+     * Zwraca liczbę indeksów.
+     *
+     * @return liczba indeksów.
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Losuje indeks z prawdopodobieństwem proporcjonalnym do jego wagi.
+     *
+     * @param rng generator liczb pseudolosowych.
+     * @return wylosowany indeks.
+     */
+    public int next(Rng rng) {
+        final var n = probability.length;
+        final var u = rng.nextDouble() * n;
+        final var bucket = Math.min((int) u, n - 1);
+        return u - bucket < probability[bucket] ? bucket : alias[bucket];
+    }
+
+    /**
+     * Oznacza koszyk jako zawierający wyłącznie indeks własny.
+     *
+     * @param bucket numer koszyka.
+     */
+    private void fill(int bucket) {
+        probability[bucket] = 1;
+        alias[bucket] = bucket;
+    }
+}
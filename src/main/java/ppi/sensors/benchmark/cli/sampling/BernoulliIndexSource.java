@@ -0,0 +1,149 @@
+package ppi.sensors.benchmark.cli.sampling;
+
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.random.RngType;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Źródło indeksów z przedziału [0, n), w którym każdy indeks wybierany jest niezależnie
+ * z prawdopodobieństwem p (próba Bernoulliego) - np. węzły siatki, które nie zostały wykluczone.
+ * <p>
+ * Zamiast losować liczbę dla każdego indeksu, losowana jest od razu długość przerwy do następnego
+ * wybranego indeksu, która ma rozkład geometryczny: floor(ln(U) / ln(1 - p)), dla U z przedziału (0, 1].
+ * Dzięki temu koszt przejścia ciągu jest proporcjonalny do liczby wybranych indeksów,
+ * a nie do n - co ma znaczenie zwłaszcza przy małej gęstości.
+ * <p>
+ * Każdy iterator zaczyna od generatora liczb losowych z tym samym ziarnem,
+ * więc kolejne przejścia dają ten sam ciąg indeksów.
+ */
+public class BernoulliIndexSource implements IndexSource {
+
+    /**
+     * Liczba indeksów, z których dokonywany jest wybór.
+     */
+    private final int size;
+
+    /**
+     * Prawdopodobieństwo wybrania indeksu.
+     */
+    private final double probability;
+
+    /**
+     * Ziarno generatora liczb losowych.
+     */
+    private final long seed;
+
+    /**
+     * Typ generatora liczb losowych.
+     */
+    private final RngType rngType;
+
+    /**
+     * Logarytm naturalny z prawdopodobieństwa niewybrania indeksu - ln(1 - p).
+     * Wyliczany raz, używany przy losowaniu każdej przerwy.
+     */
+    private final double logSkipProbability;
+
+    /**
+     * Konstruktor.
+     *
+     * @param size        liczba indeksów, z których dokonywany jest wybór.
+     * @param probability prawdopodobieństwo wybrania indeksu (wartości spoza [0, 1] są przycinane).
+     * @param seed        ziarno generatora liczb losowych.
+     */
+    public BernoulliIndexSource(int size, double probability, long seed) {
+        this(size, probability, seed, RngType.JDK);
+    }
+
+    /**
+     * Konstruktor z wyborem typu generatora liczb losowych.
+     *
+     * @param size        liczba indeksów, z których dokonywany jest wybór.
+     * @param probability prawdopodobieństwo wybrania indeksu (wartości spoza [0, 1] są przycinane).
+     * @param seed        ziarno generatora liczb losowych.
+     * @param rngType     typ generatora liczb losowych.
+     */
+    public BernoulliIndexSource(int size, double probability, long seed, RngType rngType) {
+        this.size = size;
+        this.probability = probability;
+        this.seed = seed;
+        this.rngType = rngType;
+        this.logSkipProbability = Math.log1p(-probability);
+    }
+
+    /**
+     * Zwraca nowy iterator po wybranych indeksach (w kolejności rosnącej).
+     *
+     * @return iterator po wybranych indeksach.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        if (probability >= 1.0) return new Skipper(null);
+        if (probability <= 0.0) return new Skipper(null, size);
+        return new Skipper(rngType.create(seed));
+    }
+
+    /**
+     * Iterator przeskakujący od razu do następnego wybranego indeksu.
+     */
+    private final class Skipper implements PrimitiveIterator.OfInt {
+
+        /**
+         * Generator liczb losowych lub <code>null</code>, gdy wybierane są wszystkie indeksy.
+         */
+        private final Rng random;
+
+        /**
+         * Następny wybrany indeks (wartość co najmniej {@link #size} oznacza koniec ciągu).
+         */
+        private long next;
+
+        /**
+         * Konstruktor - ustawia iterator na pierwszym wybranym indeksie.
+         *
+         * @param random generator liczb losowych lub <code>null</code>, gdy wybierane są wszystkie indeksy.
+         */
+        private Skipper(Rng random) {
+            this.random = random;
+            this.next = gap();
+        }
+
+        /**
+         * Konstruktor - ustawia iterator na podanej pozycji.
+         *
+         * @param random generator liczb losowych lub <code>null</code>, gdy wybierane są wszystkie indeksy.
+         * @param next   pozycja początkowa.
+         */
+        private Skipper(Rng random, long next) {
+            this.random = random;
+            this.next = next;
+        }
+
+        /**
+         * Losuje liczbę niewybranych indeksów przed następnym wybranym indeksem.
+         *
+         * @return długość przerwy (nie większa niż {@link #size}).
+         */
+        private long gap() {
+            if (random == null) return 0;
+            final var gap = Math.floor(Math.log(1.0 - random.nextDouble()) / logSkipProbability);
+            return gap < size ? (long) gap : size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final var index = (int) next;
+            next += 1 + gap();
+            return index;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ppi.sensors.benchmark.cli.sampling;
+
+import ppi.sensors.benchmark.cli.model.IndexSource;
+import ppi.sensors.benchmark.cli.random.Rng;
+import ppi.sensors.benchmark.cli.random.RngType;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Źródło dokładnie k indeksów wybranych losowo (bez powtórzeń, z jednakowym prawdopodobieństwem
+ * dla każdego k-elementowego podzbioru) z przedziału [0, n).
+ * <p>
+ * Wybór realizowany jest algorytmem Floyda - k losowań, niezależnie od n - do {@link BitSet}'a,
+ * dzięki czemu indeksy odczytywane są w kolejności rosnącej bez sortowania.
+ * Gdy k jest większe niż n / 2 losowane jest n - k indeksów odrzuconych.
+ * <p>
+ * Zbiór wybranych indeksów wyznaczany jest raz, w konstruktorze - kolejne przejścia
+ * dają ten sam ciąg, a {@link #count()} nie wymaga przechodzenia ciągu.
+ */
+public class ExactCountIndexSource implements IndexSource {
+
+    /**
+     * Liczba indeksów, z których dokonywany jest wybór.
+     */
+    private final int size;
+
+    /**
+     * Liczba wybranych indeksów.
+     */
+    private final int count;
+
+    /**
+     * Wylosowane indeksy - wybrane lub (gdy {@link #complement}) odrzucone.
+     */
+    private final BitSet drawn;
+
+    /**
+     * Czy {@link #drawn} zawiera indeksy odrzucone zamiast wybranych.
+     */
+    private final boolean complement;
+
+    /**
+     * Konstruktor.
+     *
+     * @param size  liczba indeksów, z których dokonywany jest wybór.
+     * @param count liczba indeksów do wybrania.
+     * @param seed  ziarno generatora liczb losowych.
+     * @throws IllegalArgumentException gdy count jest ujemne lub większe niż size.
+     */
+    public ExactCountIndexSource(int size, int count, long seed) {
+        this(size, count, seed, RngType.JDK);
+    }
+
+    /**
+     * Konstruktor z wyborem typu generatora liczb losowych.
+     *
+     * @param size    liczba indeksów, z których dokonywany jest wybór.
+     * @param count   liczba indeksów do wybrania.
+     * @param seed    ziarno generatora liczb losowych.
+     * @param rngType typ generatora liczb losowych.
+     * @throws IllegalArgumentException gdy count jest ujemne lub większe niż size.
+     */
+    public ExactCountIndexSource(int size, int count, long seed, RngType rngType) {
+        if (count < 0 || count > size)
+            throw new IllegalArgumentException("Cannot select " + count + " of " + size + " indices.");
+        this.size = size;
+        this.count = count;
+        this.complement = count > size / 2;
+        this.drawn = floyd(size, complement ? size - count : count, rngType.create(seed));
+    }
+
+    /**
+     * Losuje k różnych indeksów z przedziału [0, n) algorytmem Floyda.
+     *
+     * @param n      liczba indeksów.
+     * @param k      liczba indeksów do wylosowania.
+     * @param random generator liczb losowych.
+     * @return zbiór wylosowanych indeksów.
+     */
+    private static BitSet floyd(int n, int k, Rng random) {
+        final var bits = new BitSet(n);
+        for (var j = n - k; j < n; j++) {
+            final var t = random.nextInt(j + 1);
+            bits.set(bits.get(t) ? j : t);
+        }
+        return bits;
+    }
+
+    /**
+     * Zwraca nowy iterator po wybranych indeksach (w kolejności rosnącej).
+     *
+     * @return iterator po wybranych indeksach.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = nextSelected(0);
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final var index = next;
+                next = nextSelected(index + 1);
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Zwraca pierwszy wybrany indeks nie mniejszy niż podany.
+     *
+     * @param from indeks, od którego zaczynane jest szukanie.
+     * @return wybrany indeks lub {@link #size}, gdy takiego nie ma.
+     */
+    private int nextSelected(int from) {
+        if (from >= size) return size;
+        final var index = complement ? drawn.nextClearBit(from) : drawn.nextSetBit(from);
+        return index < 0 ? size : Math.min(index, size);
+    }
+
+    /**
+     * Zwraca liczbę wybranych indeksów (bez przechodzenia ciągu).
+     *
+     * @return liczba wybranych indeksów.
+     */
+    @Override
+    public int count() {
+        return count;
+    }
+}
@@ -0,0 +1,348 @@
+package ppi.sensors.benchmark.cli.sequence;
+
+import ppi.sensors.benchmark.cli.model.Point;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Dwuwymiarowy ciąg Haltona (domyślnie bazy 2 i 3) generowany przyrostowo.
+ * <p>
+ * Dla każdego wymiaru przechowywane są cyfry indeksu w danej bazie oraz "odwrócona" wartość całkowita
+ * (cyfry indeksu zapisane w odwrotnej kolejności). Przejście do następnego wyrazu to zwiększenie najmłodszej cyfry
+ * z przeniesieniem (digit-carry) - zamortyzowany koszt O(1), bez dzielenia i reszty z dzielenia dla każdej cyfry.
+ * Współrzędna to odwrócona wartość podzielona przez potęgę bazy - obie liczby są dokładnie reprezentowalne
+ * jako double, więc wynik jest poprawnie zaokrągloną wartością odwrotności pozycyjnej (radical inverse).
+ * <p>
+ * Przejście do dowolnego indeksu ({@link #jump(long)}) kosztuje O(log n), więc ciąg można dzielić na fragmenty
+ * generowane niezależnie - patrz {@link PointSpliterator}.
+ * <p>
+ * Obiekt przechowuje bieżącą pozycję - nie może być współdzielony przez wątki bez synchronizacji.
+ */
+public final class HaltonSequence {
+
+    /**
+     * Odwrotność pozycyjna dla pierwszego wymiaru.
+     */
+    private final RadicalInverse xs;
+
+    /**
+     * Odwrotność pozycyjna dla drugiego wymiaru.
+     */
+    private final RadicalInverse ys;
+
+    /**
+     * Indeks bieżącego wyrazu.
+     */
+    private long index;
+
+    /**
+     * Konstruktor ciągu o bazach 2 i 3. Bieżącym wyrazem jest wyraz o indeksie 0 - punkt (0, 0).
+     */
+    public HaltonSequence() {
+        this(2, 3);
+    }
+
+    /**
+     * Konstruktor ciągu o podanych bazach. Bieżącym wyrazem jest wyraz o indeksie 0.
+     *
+     * @param baseX baza pierwszego wymiaru (oczekiwana liczba pierwsza).
+     * @param baseY baza drugiego wymiaru (oczekiwana liczba pierwsza, różna od baseX).
+     * @throws IllegalArgumentException jeśli któraś z baz jest mniejsza od 2.
+     */
+    public HaltonSequence(int baseX, int baseY) {
+        this.xs = new RadicalInverse(baseX);
+        this.ys = new RadicalInverse(baseY);
+    }
+
+    /**
+     * Zwraca maksymalny indeks wyrazu ciągu (wyłącznie) - ograniczony dokładnością typu double.
+     *
+     * @return maksymalny indeks wyrazu.
+     */
+    public long maxIndex() {
+        return Math.min(xs.maxIndex, ys.maxIndex);
+    }
+
+    /**
+     * Ustawia bieżący wyraz na wyraz o podanym indeksie.
+     *
+     * @param index indeks wyrazu z przedziału [0, {@link #maxIndex()}).
+     * @throws IllegalArgumentException jeśli indeks jest spoza zakresu.
+     */
+    public void jump(long index) {
+        if (index < 0 || index >= maxIndex())
+            throw new IllegalArgumentException("Index out of range: " + index);
+        this.index = index;
+        xs.jump(index);
+        ys.jump(index);
+    }
+
+    /**
+     * Przechodzi do następnego wyrazu.
+     *
+     * @throws IllegalStateException jeśli bieżący wyraz jest ostatnim wyrazem ciągu.
+     */
+    public void next() {
+        if (index + 1 >= maxIndex()) throw new IllegalStateException("Sequence exhausted.");
+        index++;
+        xs.next();
+        ys.next();
+    }
+
+    /**
+     * Zwraca indeks bieżącego wyrazu.
+     *
+     * @return indeks bieżącego wyrazu.
+     */
+    public long index() {
+        return index;
+    }
+
+    /**
+     * Zwraca współrzędną x bieżącego wyrazu.
+     *
+     * @return współrzędna x z przedziału [0, 1).
+     */
+    public double x() {
+        return xs.value();
+    }
+
+    /**
+     * Zwraca współrzędną y bieżącego wyrazu.
+     *
+     * @return współrzędna y z przedziału [0, 1).
+     */
+    public double y() {
+        return ys.value();
+    }
+
+    /**
+     * Wypełnia tablice współrzędnymi kolejnych wyrazów, zaczynając od bieżącego.
+     * Po wywołaniu bieżącym wyrazem jest ostatni zapisany wyraz.
+     *
+     * @param xs    tablica współrzędnych x.
+     * @param ys    tablica współrzędnych y.
+     * @param from  pierwsza pozycja tablic do wypełnienia.
+     * @param to    pozycja za ostatnią pozycją tablic do wypełnienia.
+     * @param scale mnożnik współrzędnych (np. długość boku obszaru).
+     */
+    public void fill(double[] xs, double[] ys, int from, int to, double scale) {
+        for (var i = from; i < to; i++) {
+            if (i > from) next();
+            xs[i] = x() * scale;
+            ys[i] = y() * scale;
+        }
+    }
+
+    /**
+     * Odwrotność pozycyjna (radical inverse) indeksu w danej bazie, aktualizowana przyrostowo.
+     */
+    private static final class RadicalInverse {
+
+        /**
+         * Baza.
+         */
+        private final int base;
+
+        /**
+         * Wagi cyfr w odwróconej wartości: weights[k] = base^(digits - 1 - k).
+         */
+        private final long[] weights;
+
+        /**
+         * Mianownik - base^(liczba cyfr), dokładnie reprezentowalny jako double.
+         */
+        private final double denominator;
+
+        /**
+         * Maksymalny indeks (wyłącznie) - base^(liczba cyfr).
+         */
+        private final long maxIndex;
+
+        /**
+         * Cyfry bieżącego indeksu (od najmłodszej).
+         */
+        private final int[] digits;
+
+        /**
+         * Odwrócona wartość bieżącego indeksu (suma digits[k] * weights[k]).
+         */
+        private long reversed;
+
+        /**
+         * Konstruktor. Liczba cyfr to największa liczba, dla której base^cyfr nie przekracza 2^53.
+         *
+         * @param base baza.
+         */
+        private RadicalInverse(int base) {
+            if (base < 2) throw new IllegalArgumentException("Invalid base: " + base);
+            var count = 0;
+            var power = 1L;
+            while (power <= (1L << 53) / base) {
+                power *= base;
+                count++;
+            }
+            this.base = base;
+            this.maxIndex = power;
+            this.denominator = power;
+            this.digits = new int[count];
+            this.weights = new long[count];
+            var weight = 1L;
+            for (var k = count - 1; k >= 0; k--, weight *= base) weights[k] = weight;
+        }
+
+        /**
+         * Ustawia cyfry i odwróconą wartość dla podanego indeksu.
+         *
+         * @param index indeks.
+         */
+        private void jump(long index) {
+            reversed = 0;
+            for (var k = 0; k < digits.length; k++) {
+                digits[k] = (int) (index % base);
+                reversed += digits[k] * weights[k];
+                index /= base;
+            }
+        }
+
+        /**
+         * Zwiększa indeks o 1 - zwiększa najmłodszą cyfrę z przeniesieniem.
+         */
+        private void next() {
+            var k = 0;
+            while (digits[k] == base - 1) {
+                digits[k] = 0;
+                reversed -= (base - 1) * weights[k];
+                k++;
+            }
+            digits[k]++;
+            reversed += weights[k];
+        }
+
+        /**
+         * Zwraca wartość odwrotności pozycyjnej bieżącego indeksu.
+         *
+         * @return wartość z przedziału [0, 1).
+         */
+        private double value() {
+            return reversed / denominator;
+        }
+    }
+
+    /**
+     * {@link Spliterator} po punktach ciągu Haltona o indeksach z przedziału [from, to), przeskalowanych
+     * do kwadratu o podanym boku. Podział ({@link #trySplit()}) dzieli przedział indeksów na pół,
+     * a każda część generuje swoje punkty od skoku do pierwszego indeksu - wynik strumienia równoległego
+     * jest więc identyczny jak sekwencyjnego.
+     */
+    public static final class PointSpliterator implements Spliterator<Point> {
+
+        /**
+         * Minimalna liczba punktów części, poniżej której spliterator nie jest dzielony.
+         */
+        private static final long MIN_SPLIT_SIZE = 4096;
+
+        /**
+         * Baza pierwszego wymiaru.
+         */
+        private final int baseX;
+
+        /**
+         * Baza drugiego wymiaru.
+         */
+        private final int baseY;
+
+        /**
+         * Mnożnik współrzędnych.
+         */
+        private final double scale;
+
+        /**
+         * Indeks następnego punktu.
+         */
+        private long from;
+
+        /**
+         * Indeks za ostatnim punktem.
+         */
+        private final long to;
+
+        /**
+         * Ciąg ustawiony na indeks {@link #from} lub <code>null</code>, dopóki nie rozpoczęto generowania.
+         */
+        private HaltonSequence sequence;
+
+        /**
+         * Konstruktor.
+         *
+         * @param baseX baza pierwszego wymiaru.
+         * @param baseY baza drugiego wymiaru.
+         * @param from  indeks pierwszego punktu.
+         * @param to    indeks za ostatnim punktem.
+         * @param scale mnożnik współrzędnych (np. długość boku obszaru).
+         */
+        public PointSpliterator(int baseX, int baseY, long from, long to, double scale) {
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.from = from;
+            this.to = to;
+            this.scale = scale;
+        }
+
+        /**
+         * Przekazuje następny punkt do akcji.
+         *
+         * @param action akcja.
+         * @return <code>false</code>, jeśli nie ma więcej punktów.
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super Point> action) {
+            if (from >= to) return false;
+            if (sequence == null) {
+                sequence = new HaltonSequence(baseX, baseY);
+                sequence.jump(from);
+            } else {
+                sequence.next();
+            }
+            from++;
+            action.accept(new Point(sequence.x() * scale, sequence.y() * scale));
+            return true;
+        }
+
+        /**
+         * Dzieli przedział indeksów na pół - zwraca spliterator po pierwszej połowie.
+         *
+         * @return spliterator po pierwszej połowie lub <code>null</code>, gdy przedział jest zbyt mały
+         * lub generowanie już się rozpoczęło.
+         */
+        @Override
+        public Spliterator<Point> trySplit() {
+            if (sequence != null || to - from < 2 * MIN_SPLIT_SIZE) return null;
+            final var middle = from + (to - from) / 2;
+            final var prefix = new PointSpliterator(baseX, baseY, from, middle, scale);
+            from = middle;
+            return prefix;
+        }
+
+        /**
+         * Zwraca liczbę pozostałych punktów.
+         *
+         * @return liczba pozostałych punktów.
+         */
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        /**
+         * Zwraca charakterystykę spliteratora.
+         *
+         * @return ORDERED, SIZED, SUBSIZED, NONNULL, IMMUTABLE.
+         */
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
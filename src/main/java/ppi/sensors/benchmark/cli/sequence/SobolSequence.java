@@ -0,0 +1,158 @@
+package ppi.sensors.benchmark.cli.sequence;
+
+/**
+ * Dwuwymiarowy ciąg Sobola generowany w kolejności kodu Graya (metoda Antonova-Saleeva).
+ * <p>
+ * Wyraz o indeksie n to XOR liczb kierunkowych (direction numbers) dla bitów ustawionych w kodzie Graya
+ * g(n) = n ^ (n &gt;&gt; 1). Ponieważ kody Graya kolejnych indeksów różnią się jednym bitem - najmłodszym
+ * ustawionym bitem n + 1 - przejście do następnego wyrazu kosztuje jeden XOR na wymiar, bez dzielenia.
+ * Przejście do dowolnego indeksu ({@link #jump(long)}) kosztuje O(liczba bitów), więc długi ciąg można
+ * podzielić na fragmenty generowane niezależnie (np. w osobnych wątkach).
+ * <p>
+ * Pierwszy wymiar to ciąg van der Corputa o bazie 2, drugi wynika z wielomianu pierwotnego x + 1
+ * (m<sub>1</sub> = 1, wg tablic Joe-Kuo). Współrzędne mają rozdzielczość 2<sup>-32</sup>.
+ * Opcjonalne przesunięcie cyfrowe (XOR ze stałą dla każdego wymiaru) zachowuje własności sieci (t, m, s)
+ * ciągu, więc pozwala uzyskać różne, równie równomierne, ciągi dla różnych ziaren.
+ * <p>
+ * Obiekt przechowuje bieżącą pozycję - nie może być współdzielony przez wątki bez synchronizacji.
+ */
+public final class SobolSequence {
+
+    /**
+     * Liczba bitów współrzędnych (i maksymalnego indeksu).
+     */
+    public static final int BITS = 32;
+
+    /**
+     * Maksymalny indeks wyrazu ciągu (wyłącznie).
+     */
+    public static final long MAX_INDEX = 1L << BITS;
+
+    /**
+     * Mnożnik zamieniający 32-bitową współrzędną na liczbę z przedziału [0, 1).
+     */
+    private static final double SCALE = 0x1p-32;
+
+    /**
+     * Liczby kierunkowe pierwszego wymiaru (jako 32-bitowe ułamki binarne).
+     */
+    private static final int[] DIRECTIONS_X = new int[BITS];
+
+    /**
+     * Liczby kierunkowe drugiego wymiaru (jako 32-bitowe ułamki binarne).
+     */
+    private static final int[] DIRECTIONS_Y = new int[BITS];
+
+    static {
+        for (var k = 0; k < BITS; k++) {
+            DIRECTIONS_X[k] = 1 << (BITS - 1 - k);
+            DIRECTIONS_Y[k] = k == 0 ? 1 << (BITS - 1) : DIRECTIONS_Y[k - 1] ^ (DIRECTIONS_Y[k - 1] >>> 1);
+        }
+    }
+
+    /**
+     * Przesunięcie cyfrowe pierwszego wymiaru.
+     */
+    private final int shiftX;
+
+    /**
+     * Przesunięcie cyfrowe drugiego wymiaru.
+     */
+    private final int shiftY;
+
+    /**
+     * Indeks bieżącego wyrazu.
+     */
+    private long index;
+
+    /**
+     * Bieżąca współrzędna x (32-bitowy ułamek binarny, z przesunięciem).
+     */
+    private int x;
+
+    /**
+     * Bieżąca współrzędna y (32-bitowy ułamek binarny, z przesunięciem).
+     */
+    private int y;
+
+    /**
+     * Konstruktor ciągu bez przesunięcia. Bieżącym wyrazem jest wyraz o indeksie 0 - punkt (0, 0).
+     */
+    public SobolSequence() {
+        this(0, 0);
+    }
+
+    /**
+     * Konstruktor ciągu z przesunięciem cyfrowym. Bieżącym wyrazem jest wyraz o indeksie 0.
+     *
+     * @param shiftX przesunięcie cyfrowe pierwszego wymiaru.
+     * @param shiftY przesunięcie cyfrowe drugiego wymiaru.
+     */
+    public SobolSequence(int shiftX, int shiftY) {
+        this.shiftX = shiftX;
+        this.shiftY = shiftY;
+        jump(0);
+    }
+
+    /**
+     * Ustawia bieżący wyraz na wyraz o podanym indeksie.
+     *
+     * @param index indeks wyrazu z przedziału [0, {@link #MAX_INDEX}).
+     * @throws IllegalArgumentException jeśli indeks jest spoza zakresu.
+     */
+    public void jump(long index) {
+        if (index < 0 || index >= MAX_INDEX)
+            throw new IllegalArgumentException("Index out of range: " + index);
+        this.index = index;
+        var gray = index ^ (index >>> 1);
+        var x = shiftX;
+        var y = shiftY;
+        for (var k = 0; gray != 0; k++, gray >>>= 1) {
+            if ((gray & 1) != 0) {
+                x ^= DIRECTIONS_X[k];
+                y ^= DIRECTIONS_Y[k];
+            }
+        }
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Przechodzi do następnego wyrazu - jeden XOR na wymiar.
+     *
+     * @throws IllegalStateException jeśli bieżący wyraz jest ostatnim wyrazem ciągu.
+     */
+    public void next() {
+        if (index + 1 >= MAX_INDEX) throw new IllegalStateException("Sequence exhausted.");
+        final var k = Long.numberOfTrailingZeros(++index);
+        x ^= DIRECTIONS_X[k];
+        y ^= DIRECTIONS_Y[k];
+    }
+
+    /**
+     * Zwraca indeks bieżącego wyrazu.
+     *
+     * @return indeks bieżącego wyrazu.
+     */
+    public long index() {
+        return index;
+    }
+
+    /**
+     * Zwraca współrzędną x bieżącego wyrazu.
+     *
+     * @return współrzędna x z przedziału [0, 1).
+     */
+    public double x() {
+        return Integer.toUnsignedLong(x) * SCALE;
+    }
+
+    /**
+     * Zwraca współrzędną y bieżącego wyrazu.
+     *
+     * @return współrzędna y z przedziału [0, 1).
+     */
+    public double y() {
+        return Integer.toUnsignedLong(y) * SCALE;
+    }
+}
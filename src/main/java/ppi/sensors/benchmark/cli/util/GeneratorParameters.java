@@ -0,0 +1,111 @@
+package ppi.sensors.benchmark.cli.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Utility do odczytu parametrów generatorów przekazywanych w postaci <code>klucz=wartość</code>
+ * (patrz {@link ppi.sensors.benchmark.cli.PointSequenceGenerator#withParameters(Map)}).
+ * <p>
+ * Błędy (nieznany klucz, niepoprawna wartość) zgłaszane są przez {@link IllegalArgumentException},
+ * którego komunikat trafia do komunikatu walidacji parametrów programu.
+ */
+public class GeneratorParameters {
+
+    /**
+     * Sprawdza czy wszystkie klucze parametrów są obsługiwane przez generator.
+     *
+     * @param parameters parametry generatora.
+     * @param supported  obsługiwane klucze.
+     * @throws IllegalArgumentException jeśli któryś z kluczy nie jest obsługiwany.
+     */
+    public static void checkKeys(Map<String, String> parameters, Set<String> supported) {
+        final var unknown = new TreeSet<>(parameters.keySet());
+        unknown.removeAll(supported);
+        if (!unknown.isEmpty())
+            throw new IllegalArgumentException("unknown parameters " + unknown + ", supported: " + new TreeSet<>(supported));
+    }
+
+    /**
+     * Zwraca wartość parametru liczbowego z podanego przedziału.
+     *
+     * @param parameters   parametry generatora.
+     * @param key          klucz parametru.
+     * @param defaultValue wartość domyślna, gdy parametr nie został podany.
+     * @param min          wartość minimalna.
+     * @param max          wartość maksymalna.
+     * @param minInclusive <code>true</code> jeśli wartość minimalna jest dopuszczalna.
+     * @return wartość parametru.
+     * @throws IllegalArgumentException jeśli wartość nie jest liczbą lub leży poza przedziałem.
+     */
+    public static double getDouble(Map<String, String> parameters, String key, double defaultValue,
+                                   double min, double max, boolean minInclusive) {
+        final var text = parameters.get(key);
+        if (text == null) return defaultValue;
+        final double value;
+        try {
+            value = Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + "=" + text + " is not a number");
+        }
+        if (!(minInclusive ? value >= min : value > min) || !(value <= max))
+            throw new IllegalArgumentException(key + "=" + text + " is out of range "
+                    + (minInclusive ? "[" : "(") + min + ", " + max + "]");
+        return value;
+    }
+
+    /**
+     * Zwraca wartości parametru będącego listą liczb oddzielonych przecinkami, każdą z podanego przedziału.
+     *
+     * @param parameters   parametry generatora.
+     * @param key          klucz parametru.
+     * @param min          wartość minimalna.
+     * @param max          wartość maksymalna.
+     * @param minInclusive <code>true</code> jeśli wartość minimalna jest dopuszczalna.
+     * @return wartości parametru lub <code>null</code>, gdy parametr nie został podany.
+     * @throws IllegalArgumentException jeśli któraś z wartości nie jest liczbą lub leży poza przedziałem.
+     */
+    public static double[] getDoubles(Map<String, String> parameters, String key,
+                                      double min, double max, boolean minInclusive) {
+        final var text = parameters.get(key);
+        if (text == null) return null;
+        final var items = text.split(",", -1);
+        final var values = new double[items.length];
+        for (var i = 0; i < items.length; i++)
+            values[i] = getDouble(Map.of(key, items[i]), key, 0, min, max, minInclusive);
+        return values;
+    }
+
+    /**
+     * Zwraca wartość parametru całkowitoliczbowego z podanego przedziału.
+     *
+     * @param parameters   parametry generatora.
+     * @param key          klucz parametru.
+     * @param defaultValue wartość domyślna, gdy parametr nie został podany.
+     * @param min          wartość minimalna.
+     * @param max          wartość maksymalna.
+     * @return wartość parametru.
+     * @throws IllegalArgumentException jeśli wartość nie jest liczbą całkowitą lub leży poza przedziałem.
+     */
+    public static int getInt(Map<String, String> parameters, String key, int defaultValue, int min, int max) {
+        final var text = parameters.get(key);
+        if (text == null) return defaultValue;
+        final int value;
+        try {
+            value = Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + "=" + text + " is not an integer");
+        }
+        if (value < min || value > max)
+            throw new IllegalArgumentException(key + "=" + text + " is out of range [" + min + ", " + max + "]");
+        return value;
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji util'a,
+     * który ma wyłącznie statyczne metody.
+     */
+    private GeneratorParameters() {
+    }
+}
@@ -0,0 +1,39 @@
+package ppi.sensors.benchmark.cli.util;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.loadNamedService;
+
+/**
+ * Pamięć podręczna instancji serwisów ładowanych przez {@link NamedServiceLoader}.
+ * Każdy serwis (para: interfejs, nazwa) ładowany jest tylko raz - kolejne wywołania zwracają
+ * tę samą instancję, bez ponownego przeszukiwania {@link java.util.ServiceLoader}'a.
+ * <p>
+ * Może być używana z wielu wątków. Zwracane instancje są współdzielone, więc nadaje się tylko
+ * dla serwisów, które mogą być używane wielokrotnie (np. generatory wywoływane z ziarnem).
+ */
+public class NamedServiceCache {
+
+    /**
+     * Załadowane instancje serwisów, według interfejsu i nazwy.
+     */
+    private final Map<Class<?>, Map<String, Object>> services = new ConcurrentHashMap<>();
+
+    /**
+     * Zwraca instancję serwisu o podanej nazwie, implementującego podany interfejs -
+     * ładuje ją przy pierwszym wywołaniu.
+     *
+     * @param baseClass     klasa interfejsu serwisu.
+     * @param requestedName nazwa serwisu.
+     * @param <T>           typ interfejsu serwisu.
+     * @return instancja serwisu o podanej nazwie, implementujący podany interfejs.
+     * @throws NoSuchElementException jeśli nie istnieje serwis o podanej nazwie,
+     *                                implementujący podany interfejs.
+     */
+    public <T> T get(Class<T> baseClass, String requestedName) {
+        return baseClass.cast(services.computeIfAbsent(baseClass, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(requestedName, name -> loadNamedService(baseClass, name)));
+    }
+}
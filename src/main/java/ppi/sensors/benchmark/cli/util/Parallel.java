@@ -0,0 +1,158 @@
+package ppi.sensors.benchmark.cli.util;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+/**
+ * Utility do przetwarzania przedziału indeksów [0, size) we fragmentach, równolegle na puli wątków
+ * typu work-stealing (tak jak generowanie instancji w {@link ppi.sensors.benchmark.cli.Generator}).
+ * <p>
+ * Fragmenty mają stałe granice zależne tylko od rozmiaru i liczby fragmentów, więc wyniki zapisywane
+ * przez zadania pod numerem fragmentu można łączyć w ustalonej kolejności - niezależnie od tego,
+ * który wątek wykonał który fragment.
+ * <p>
+ * Kod wykonywany w ramach generowania instancji (np. generatory sekwencji) nie tworzy własnych pul -
+ * dzieli pracę na pulę, na której sam jest wykonywany ({@link #currentPool()}), więc łączna liczba wątków
+ * nie przekracza liczby wątków ustawionej dla generowania.
+ */
+public class Parallel {
+
+    /**
+     * Liczba fragmentów na wątek - kilka fragmentów na wątek wyrównuje obciążenie wątków.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Zwraca liczbę fragmentów, na które warto podzielić przedział danego rozmiaru.
+     *
+     * @param size      rozmiar przedziału.
+     * @param threads   liczba wątków.
+     * @param threshold minimalny rozmiar przedziału, od którego przetwarzanie jest równoległe.
+     * @return liczba fragmentów (1 - przetwarzanie sekwencyjne).
+     */
+    public static int chunkCount(int size, int threads, int threshold) {
+        return threads > 1 && size >= threshold ? Math.min(threads * CHUNKS_PER_THREAD, size) : 1;
+    }
+
+    /**
+     * Zwraca pulę typu fork-join, na której wykonywany jest bieżący wątek.
+     *
+     * @return pula bieżącego wątku lub <code>null</code>, jeśli wątek nie należy do żadnej puli fork-join.
+     */
+    public static ForkJoinPool currentPool() {
+        return ForkJoinTask.getPool();
+    }
+
+    /**
+     * Zwraca liczbę wątków puli - do wyznaczenia liczby fragmentów (patrz {@link #chunkCount(int, int, int)}).
+     *
+     * @param pool pula lub <code>null</code>.
+     * @return liczba wątków puli lub 1, gdy pula nie jest podana.
+     */
+    public static int parallelism(ForkJoinPool pool) {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
+    /**
+     * Wykonuje zadanie dla każdego fragmentu przedziału [0, size).
+     * Jeden fragment wykonywany jest w bieżącym wątku, więcej - na puli wątków tworzonej na czas wywołania.
+     * Przeznaczone dla wywołań najwyższego poziomu (np. ocena pokrycia) - kod wykonywany już na puli
+     * powinien używać {@link #forEachChunk(int, int, ExecutorService, ChunkTask)}.
+     *
+     * @param size       rozmiar przedziału.
+     * @param chunkCount liczba fragmentów.
+     * @param threads    liczba wątków.
+     * @param task       zadanie przetwarzające fragment.
+     * @throws RuntimeException jeśli któreś z zadań zakończyło się wyjątkiem.
+     */
+    public static void forEachChunk(int size, int chunkCount, int threads, ChunkTask task) {
+        if (chunkCount <= 1) {
+            task.run(0, 0, size);
+            return;
+        }
+
+        final var executor = Executors.newWorkStealingPool(threads);
+        try {
+            forEachChunk(size, chunkCount, executor, task);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wykonuje zadanie dla każdego fragmentu przedziału [0, size) na podanej puli (np. {@link #currentPool()}).
+     * Bez puli fragmenty wykonywane są kolejno w bieżącym wątku - z tymi samymi granicami i numerami,
+     * więc wynik nie zależy od tego, czy pula została podana.
+     * <p>
+     * Pula typu fork-join może być pulą bieżącego wątku - wątek czekający na fragmenty wykonuje je sam.
+     *
+     * @param size       rozmiar przedziału.
+     * @param chunkCount liczba fragmentów.
+     * @param executor   pula wątków lub <code>null</code>.
+     * @param task       zadanie przetwarzające fragment.
+     * @throws RuntimeException jeśli któreś z zadań zakończyło się wyjątkiem.
+     */
+    public static void forEachChunk(int size, int chunkCount, ExecutorService executor, ChunkTask task) {
+        if (chunkCount <= 1) {
+            task.run(0, 0, size);
+            return;
+        }
+        if (executor == null) {
+            for (var c = 0; c < chunkCount; c++)
+                task.run(c, (int) ((long) size * c / chunkCount), (int) ((long) size * (c + 1) / chunkCount));
+            return;
+        }
+
+        final var tasks = new ArrayList<Callable<Void>>(chunkCount);
+        for (var c = 0; c < chunkCount; c++) {
+            final var chunk = c;
+            final var from = (int) ((long) size * c / chunkCount);
+            final var to = (int) ((long) size * (c + 1) / chunkCount);
+            tasks.add(() -> {
+                task.run(chunk, from, to);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Processing interrupted.", e);
+        } catch (ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Zadanie przetwarzające fragment przedziału.
+     */
+    @FunctionalInterface
+    public interface ChunkTask {
+
+        /**
+         * Przetwarza fragment [from, to).
+         *
+         * @param chunk numer fragmentu.
+         * @param from  pierwszy indeks fragmentu.
+         * @param to    indeks za ostatnim indeksem fragmentu.
+         */
+        void run(int chunk, int from, int to);
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji util'a,
+     * który ma wyłącznie statyczne metody.
+     */
+    private Parallel() {
+    }
+}
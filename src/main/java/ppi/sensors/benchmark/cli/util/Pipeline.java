@@ -0,0 +1,588 @@
+package ppi.sensors.benchmark.cli.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Trzyetapowy potok przetwarzania elementów o numerach z przedziału [0, count): generowanie, serializacja i zapis.
+ * Każdy etap wykonywany jest przez własną grupę wątków, a etapy połączone są kolejkami o ograniczonej pojemności -
+ * gdy etap następny nie nadąża, poprzedni czeka na miejsce w kolejce (backpressure), więc liczba elementów
+ * jednocześnie przechowywanych w pamięci jest ograniczona. Dzięki temu obliczenia (generowanie, serializacja)
+ * wykonywane są równocześnie z zapisem na dysk, zamiast na przemian.
+ * <p>
+ * Wątki zapisujące są wątkami wirtualnymi, jeśli środowisko uruchomieniowe je obsługuje (Java 21+, tworzone
+ * przez refleksję, bo projekt kompilowany jest dla Javy 11) - zapis polega głównie na czekaniu na dysk.
+ * W przeciwnym razie używane są zwykłe wątki.
+ * <p>
+ * Dla każdego etapu mierzony jest czas pracy, czas oczekiwania na dane z etapu poprzedniego oraz czas oczekiwania
+ * na miejsce w kolejce do etapu następnego (patrz {@link Report}). Oczekiwanie dłuższe niż {@link #STALL_NANOS}
+ * zgłaszane jest w logu w trakcie działania (raz dla etapu), a podsumowanie z najwolniejszym etapem - na końcu.
+ * <p>
+ * Jeśli któryś z etapów zakończy się błędem, pozostałe są przerywane, a błąd zgłaszany jest przez
+ * {@link #run(int, Generate, Serialize, Write)}.
+ */
+public class Pipeline {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(Pipeline.class);
+
+    /**
+     * Czas oczekiwania etapu, po którym przestój zgłaszany jest w logu.
+     */
+    /* visible for tests */ static final long STALL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Znacznik końca danych w kolejce - każdy wątek etapu kończy pracę po odebraniu jednego znacznika.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * Liczba wątków generujących.
+     */
+    private final int generators;
+
+    /**
+     * Liczba wątków serializujących.
+     */
+    private final int serializers;
+
+    /**
+     * Liczba wątków zapisujących.
+     */
+    private final int writers;
+
+    /**
+     * Pojemność każdej z kolejek pomiędzy etapami.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Konstruktor.
+     *
+     * @param generators    liczba wątków generujących.
+     * @param serializers   liczba wątków serializujących.
+     * @param writers       liczba wątków zapisujących.
+     * @param queueCapacity pojemność każdej z kolejek pomiędzy etapami.
+     * @throws IllegalArgumentException jeśli któraś z wartości nie jest dodatnia.
+     */
+    public Pipeline(int generators, int serializers, int writers, int queueCapacity) {
+        if (generators < 1 || serializers < 1 || writers < 1 || queueCapacity < 1)
+            throw new IllegalArgumentException("Thread counts and queue capacity must be positive.");
+        this.generators = generators;
+        this.serializers = serializers;
+        this.writers = writers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Zwraca maksymalną liczbę elementów przetwarzanych jednocześnie - w wątkach wszystkich etapów i w kolejkach.
+     *
+     * @return maksymalna liczba elementów w potoku.
+     */
+    public int capacity() {
+        return generators + serializers + writers + 2 * queueCapacity;
+    }
+
+    /**
+     * Przetwarza elementy o numerach z przedziału [0, count) i czeka na zakończenie zapisu wszystkich.
+     *
+     * @param count     liczba elementów.
+     * @param generate  etap generowania - tworzy element o podanym numerze.
+     * @param serialize etap serializacji.
+     * @param write     etap zapisu.
+     * @param <A>       typ wygenerowanego elementu.
+     * @param <B>       typ zserializowanego elementu.
+     * @return statystyki etapów.
+     * @throws IOException w przypadku gdy któryś z etapów zakończył się błędem zapisu lub potok został przerwany.
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B> Report run(int count, Generate<A> generate, Serialize<A, B> serialize, Write<B> write) throws IOException {
+        final var generateStage = new Stage("generate", generators, false);
+        final var serializeStage = new Stage("serialize", serializers, false);
+        final var writerExecutor = newVirtualThreadExecutor();
+        final var writeStage = new Stage("write", writers, writerExecutor != null);
+        final var serializeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        final var writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        final var failure = new AtomicReference<Throwable>();
+        final var next = new AtomicInteger();
+
+        LOGGER.info("Pipeline started: generate x {}, serialize x {}, write x {} ({} threads), queue capacity = {}.",
+                generators, serializers, writers, writeStage.virtual ? "virtual" : "platform", queueCapacity);
+
+        final var executors = List.of(
+                Executors.newFixedThreadPool(generators),
+                Executors.newFixedThreadPool(serializers),
+                writerExecutor != null ? writerExecutor : Executors.newFixedThreadPool(writers));
+        final var submitted = new AtomicBoolean();
+        final Runnable abort = () -> {
+            if (submitted.get())
+                for (var executor : executors) executor.shutdownNow();
+        };
+        final var futures = new ArrayList<Future<?>>();
+        final var start = System.nanoTime();
+        try {
+            for (var t = 0; t < generators; t++) {
+                futures.add(executors.get(0).submit(() -> work(generateStage, failure, abort, () -> {
+                    for (int i; (i = next.getAndIncrement()) < count; ) {
+                        final var begin = System.nanoTime();
+                        final var item = generate.generate(i);
+                        generateStage.finish(begin);
+                        put(serializeQueue, item, generateStage, serializeStage);
+                    }
+                    generateStage.close(serializeQueue, serializers);
+                })));
+            }
+            for (var t = 0; t < serializers; t++) {
+                futures.add(executors.get(1).submit(() -> work(serializeStage, failure, abort, () -> {
+                    for (Object item; (item = take(serializeQueue, serializeStage, generateStage)) != END; ) {
+                        final var begin = System.nanoTime();
+                        final var result = serialize.serialize((A) item);
+                        serializeStage.finish(begin);
+                        put(writeQueue, result, serializeStage, writeStage);
+                    }
+                    serializeStage.close(writeQueue, writers);
+                })));
+            }
+            for (var t = 0; t < writers; t++) {
+                futures.add(executors.get(2).submit(() -> work(writeStage, failure, abort, () -> {
+                    for (Object item; (item = take(writeQueue, writeStage, serializeStage)) != END; ) {
+                        final var begin = System.nanoTime();
+                        write.write((B) item);
+                        writeStage.finish(begin);
+                    }
+                })));
+            }
+            // błąd zgłoszony w trakcie uruchamiania wątków - przerywa potok dopiero teraz (patrz work)
+            submitted.set(true);
+            if (failure.get() != null) abort.run();
+            for (var future : futures) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Pipeline interrupted.", e);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            for (var executor : executors) executor.shutdownNow();
+        }
+
+        final var cause = failure.get();
+        if (cause != null) {
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+
+        final var report = new Report(System.nanoTime() - start,
+                List.of(generateStage.report(), serializeStage.report(), writeStage.report()));
+        report.log();
+        return report;
+    }
+
+    /**
+     * Wykonuje pracę wątku etapu. Błąd zapamiętywany jest jako przyczyna przerwania potoku (jeśli jest pierwszy),
+     * a wszystkie wątki potoku są przerywane - także te czekające na kolejkę. Przerwanie wykonywane jest dopiero
+     * po uruchomieniu wszystkich wątków potoku (zamknięcie pul wcześniej odrzuciłoby kolejne zadania
+     * i przesłoniło błąd) - jeśli błąd wystąpi wcześniej, potok przerywa {@link #run(int, Generate, Serialize, Write)}.
+     *
+     * @param stage   etap.
+     * @param failure pierwszy błąd potoku.
+     * @param abort   przerywa wszystkie wątki potoku, jeśli zostały już uruchomione.
+     * @param body    praca wątku.
+     */
+    private static void work(Stage stage, AtomicReference<Throwable> failure, Runnable abort, Body body) {
+        try {
+            body.run();
+        } catch (InterruptedException e) {
+            // przerwanie po błędzie innego wątku - przyczyna została już zapamiętana
+            failure.compareAndSet(null, new IOException("Pipeline stage " + stage.name + " interrupted.", e));
+        } catch (Throwable e) {
+            if (failure.compareAndSet(null, e)) abort.run();
+        }
+    }
+
+    /**
+     * Wstawia element do kolejki, czekając na miejsce - czas oczekiwania doliczany jest etapowi wstawiającemu.
+     *
+     * @param queue      kolejka.
+     * @param item       element.
+     * @param stage      etap wstawiający.
+     * @param downstream etap odbierający.
+     * @throws InterruptedException jeśli wątek został przerwany.
+     */
+    private static void put(BlockingQueue<Object> queue, Object item, Stage stage, Stage downstream)
+            throws InterruptedException {
+        if (queue.offer(item)) return;
+        final var begin = System.nanoTime();
+        if (!queue.offer(item, STALL_NANOS, NANOSECONDS)) {
+            stage.stalled("output queue full", downstream);
+            queue.put(item);
+        }
+        stage.outputWait.add(System.nanoTime() - begin);
+    }
+
+    /**
+     * Pobiera element z kolejki, czekając na dane - czas oczekiwania doliczany jest etapowi pobierającemu.
+     *
+     * @param queue    kolejka.
+     * @param stage    etap pobierający.
+     * @param upstream etap wstawiający.
+     * @return element lub {@link #END}.
+     * @throws InterruptedException jeśli wątek został przerwany.
+     */
+    private static Object take(BlockingQueue<Object> queue, Stage stage, Stage upstream) throws InterruptedException {
+        var item = queue.poll();
+        if (item != null) return item;
+        final var begin = System.nanoTime();
+        item = queue.poll(STALL_NANOS, NANOSECONDS);
+        if (item == null) {
+            stage.stalled("waiting for input", upstream);
+            item = queue.take();
+        }
+        stage.inputWait.add(System.nanoTime() - begin);
+        return item;
+    }
+
+    /**
+     * Tworzy pulę wątków wirtualnych (nowy wątek dla każdego zadania), jeśli środowisko je obsługuje.
+     *
+     * @return pula wątków wirtualnych lub <code>null</code>, jeśli nie są obsługiwane.
+     */
+    /* visible for tests */ static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java < 21 (lub 19-20 bez --enable-preview)
+            return null;
+        }
+    }
+
+    /**
+     * Etap generowania - tworzy element o podanym numerze.
+     *
+     * @param <A> typ wygenerowanego elementu.
+     */
+    @FunctionalInterface
+    public interface Generate<A> {
+
+        /**
+         * Tworzy element o podanym numerze.
+         *
+         * @param index numer elementu z przedziału [0, count).
+         * @return wygenerowany element.
+         * @throws IOException w przypadku błędu.
+         */
+        A generate(int index) throws IOException;
+    }
+
+    /**
+     * Etap serializacji.
+     *
+     * @param <A> typ wygenerowanego elementu.
+     * @param <B> typ zserializowanego elementu.
+     */
+    @FunctionalInterface
+    public interface Serialize<A, B> {
+
+        /**
+         * Serializuje element.
+         *
+         * @param item wygenerowany element.
+         * @return zserializowany element.
+         * @throws IOException w przypadku błędu.
+         */
+        B serialize(A item) throws IOException;
+    }
+
+    /**
+     * Etap zapisu.
+     *
+     * @param <B> typ zserializowanego elementu.
+     */
+    @FunctionalInterface
+    public interface Write<B> {
+
+        /**
+         * Zapisuje element.
+         *
+         * @param item zserializowany element.
+         * @throws IOException w przypadku błędu zapisu.
+         */
+        void write(B item) throws IOException;
+    }
+
+    /**
+     * Praca wątku etapu.
+     */
+    @FunctionalInterface
+    private interface Body {
+
+        /**
+         * Wykonuje pracę.
+         *
+         * @throws Exception w przypadku błędu lub przerwania.
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Stan etapu potoku - liczniki czasu są aktualizowane równolegle przez wątki etapu.
+     */
+    private static final class Stage {
+
+        /**
+         * Nazwa etapu.
+         */
+        private final String name;
+
+        /**
+         * Liczba wątków etapu.
+         */
+        private final int threads;
+
+        /**
+         * Czy etap używa wątków wirtualnych.
+         */
+        private final boolean virtual;
+
+        /**
+         * Liczba przetworzonych elementów.
+         */
+        private final LongAdder items = new LongAdder();
+
+        /**
+         * Łączny czas pracy wątków etapu.
+         */
+        private final LongAdder busy = new LongAdder();
+
+        /**
+         * Łączny czas oczekiwania wątków etapu na dane z etapu poprzedniego.
+         */
+        private final LongAdder inputWait = new LongAdder();
+
+        /**
+         * Łączny czas oczekiwania wątków etapu na miejsce w kolejce do etapu następnego.
+         */
+        private final LongAdder outputWait = new LongAdder();
+
+        /**
+         * Liczba wątków etapu, które jeszcze nie zakończyły pracy.
+         */
+        private final AtomicInteger running;
+
+        /**
+         * Czy przestój etapu został już zgłoszony w logu.
+         */
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        /**
+         * Konstruktor.
+         *
+         * @param name    nazwa etapu.
+         * @param threads liczba wątków etapu.
+         * @param virtual czy etap używa wątków wirtualnych.
+         */
+        private Stage(String name, int threads, boolean virtual) {
+            this.name = name;
+            this.threads = threads;
+            this.virtual = virtual;
+            this.running = new AtomicInteger(threads);
+        }
+
+        /**
+         * Dolicza przetworzony element i czas jego przetwarzania.
+         *
+         * @param begin czas rozpoczęcia przetwarzania ({@link System#nanoTime()}).
+         */
+        private void finish(long begin) {
+            busy.add(System.nanoTime() - begin);
+            items.increment();
+        }
+
+        /**
+         * Kończy pracę wątku etapu - ostatni kończący wątek wstawia znacznik końca dla każdego wątku etapu następnego.
+         *
+         * @param output     kolejka do etapu następnego.
+         * @param downstream liczba wątków etapu następnego.
+         * @throws InterruptedException jeśli wątek został przerwany.
+         */
+        private void close(BlockingQueue<Object> output, int downstream) throws InterruptedException {
+            if (running.decrementAndGet() == 0)
+                for (var t = 0; t < downstream; t++) output.put(END);
+        }
+
+        /**
+         * Zgłasza przestój etapu w logu (tylko pierwszy dla etapu).
+         *
+         * @param reason przyczyna oczekiwania.
+         * @param other  etap, na który czeka etap przestoju.
+         */
+        private void stalled(String reason, Stage other) {
+            if (reported.compareAndSet(false, true))
+                LOGGER.info("Pipeline stage {} stalled for more than {} ms ({}) - stage {} is slower.",
+                        name, NANOSECONDS.toMillis(STALL_NANOS), reason, other.name);
+        }
+
+        /**
+         * Zwraca statystyki etapu.
+         *
+         * @return statystyki etapu.
+         */
+        private StageReport report() {
+            return new StageReport(name, threads, virtual, items.sum(), busy.sum(), inputWait.sum(), outputWait.sum());
+        }
+    }
+
+    /**
+     * Statystyki potoku.
+     */
+    public static final class Report {
+
+        /**
+         * Czas działania potoku w nanosekundach.
+         */
+        public final long elapsedNanos;
+
+        /**
+         * Statystyki etapów, w kolejności przetwarzania.
+         */
+        public final List<StageReport> stages;
+
+        /**
+         * Konstruktor.
+         *
+         * @param elapsedNanos czas działania potoku w nanosekundach.
+         * @param stages       statystyki etapów.
+         */
+        private Report(long elapsedNanos, List<StageReport> stages) {
+            this.elapsedNanos = elapsedNanos;
+            this.stages = stages;
+        }
+
+        /**
+         * Zwraca etap ograniczający przepustowość potoku - o największym czasie pracy na wątek.
+         *
+         * @return najwolniejszy etap.
+         */
+        public StageReport bottleneck() {
+            var slowest = stages.get(0);
+            for (var stage : stages) if (stage.busyPerThread() > slowest.busyPerThread()) slowest = stage;
+            return slowest;
+        }
+
+        /**
+         * Wypisuje statystyki w logu.
+         */
+        private void log() {
+            for (var stage : stages) LOGGER.info("Pipeline {}", stage);
+            LOGGER.info("Pipeline finished in {} ms, bottleneck: stage {}.", NANOSECONDS.toMillis(elapsedNanos), bottleneck().name);
+        }
+    }
+
+    /**
+     * Statystyki etapu potoku.
+     */
+    public static final class StageReport {
+
+        /**
+         * Nazwa etapu.
+         */
+        public final String name;
+
+        /**
+         * Liczba wątków etapu.
+         */
+        public final int threads;
+
+        /**
+         * Czy etap używał wątków wirtualnych.
+         */
+        public final boolean virtual;
+
+        /**
+         * Liczba przetworzonych elementów.
+         */
+        public final long items;
+
+        /**
+         * Łączny czas pracy wątków etapu w nanosekundach.
+         */
+        public final long busyNanos;
+
+        /**
+         * Łączny czas oczekiwania wątków etapu na dane z etapu poprzedniego w nanosekundach.
+         */
+        public final long inputWaitNanos;
+
+        /**
+         * Łączny czas oczekiwania wątków etapu na miejsce w kolejce do etapu następnego w nanosekundach
+         * (etap następny nie nadąża).
+         */
+        public final long outputWaitNanos;
+
+        /**
+         * Konstruktor.
+         *
+         * @param name            nazwa etapu.
+         * @param threads         liczba wątków etapu.
+         * @param virtual         czy etap używał wątków wirtualnych.
+         * @param items           liczba przetworzonych elementów.
+         * @param busyNanos       łączny czas pracy.
+         * @param inputWaitNanos  łączny czas oczekiwania na dane.
+         * @param outputWaitNanos łączny czas oczekiwania na miejsce w kolejce.
+         */
+        private StageReport(String name, int threads, boolean virtual, long items,
+                            long busyNanos, long inputWaitNanos, long outputWaitNanos) {
+            this.name = name;
+            this.threads = threads;
+            this.virtual = virtual;
+            this.items = items;
+            this.busyNanos = busyNanos;
+            this.inputWaitNanos = inputWaitNanos;
+            this.outputWaitNanos = outputWaitNanos;
+        }
+
+        /**
+         * Zwraca czas pracy na wątek etapu.
+         *
+         * @return czas pracy na wątek w nanosekundach.
+         */
+        public long busyPerThread() {
+            return busyNanos / threads;
+        }
+
+        /**
+         * Zwraca tekstową reprezentację statystyk.
+         *
+         * @return statystyki etapu jako tekst.
+         */
+        @Override
+        public String toString() {
+            return "stage " + name + ": threads = " + threads + (virtual ? " (virtual)" : "") + ", items = " + items
+                    + ", busy = " + NANOSECONDS.toMillis(busyNanos) + " ms"
+                    + ", waiting for input = " + NANOSECONDS.toMillis(inputWaitNanos) + " ms"
+                    + ", blocked on output = " + NANOSECONDS.toMillis(outputWaitNanos) + " ms";
+        }
+    }
+}
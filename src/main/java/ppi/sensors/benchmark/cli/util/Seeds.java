@@ -0,0 +1,66 @@
+package ppi.sensors.benchmark.cli.util;
+
+/**
+ * Utility do wyznaczania ziaren dla poszczególnych instancji na podstawie jednego ziarna głównego.
+ * Dzięki temu wynik generowania zależy wyłącznie od ziarna głównego i numeru instancji,
+ * a nie od kolejności (czy liczby wątków) w jakiej instancje są generowane.
+ * <p>
+ * Mieszanie bitów oparte jest na funkcji finalizującej algorytmu SplitMix64
+ * (patrz {@link java.util.SplittableRandom}).
+ */
+public class Seeds {
+
+    /**
+     * Identyfikator strumienia ziaren używanego przy generowaniu plików z rozmieszczeniem POI.
+     */
+    public static final long POI_STREAM = 1;
+
+    /**
+     * Identyfikator strumienia ziaren używanego przy generowaniu plików z rozmieszczeniem sensorów.
+     */
+    public static final long SENSOR_STREAM = 2;
+
+    /**
+     * Identyfikator strumienia ziaren skupisk, wyznaczanych z ziarna sekwencji sensorów
+     * (patrz {@link ppi.sensors.benchmark.cli.impl.ClusterSequenceGeneratorImpl}).
+     */
+    public static final long CLUSTER_STREAM = 3;
+
+    /**
+     * Stała "złotego podziału" (2^64 / phi) używana jako krok pomiędzy kolejnymi ziarnami.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Zwraca ziarno dla instancji o podanym numerze, w obrębie danego strumienia.
+     * Różne strumienie (np. {@link #POI_STREAM} i {@link #SENSOR_STREAM}) dają niezależne ciągi ziaren
+     * dla tego samego ziarna głównego.
+     *
+     * @param masterSeed ziarno główne.
+     * @param stream     identyfikator strumienia.
+     * @param index      numer instancji.
+     * @return ziarno dla instancji o podanym numerze.
+     */
+    public static long deriveSeed(long masterSeed, long stream, long index) {
+        return mix64(mix64(masterSeed + stream * GOLDEN_GAMMA) + index * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Funkcja mieszająca bity (finalizer SplitMix64).
+     *
+     * @param z wartość wejściowa.
+     * @return wymieszana wartość.
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Prywatny konstruktor żeby uniemożliwić tworzenie instancji util'a,
+     * który ma wyłącznie statyczne metody.
+     */
+    private Seeds() {
+    }
+}
@@ -1,16 +1,25 @@
 package ppi.sensors.benchmark.cli;
 
 import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.io.OutputBackendType;
 import ppi.sensors.benchmark.cli.util.ValidationException;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
 import static ppi.sensors.benchmark.cli.Cli.MAX_INSTANCE_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.MAX_IN_FLIGHT;
 import static ppi.sensors.benchmark.cli.Cli.MAX_POI_DISTANCE_TO_SIDE_LENGTH;
 import static ppi.sensors.benchmark.cli.Cli.MAX_SENSOR_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.MAX_QUEUE_CAPACITY;
+import static ppi.sensors.benchmark.cli.Cli.MAX_THREAD_COUNT;
 import static ppi.sensors.benchmark.cli.Cli.MIN_INSTANCE_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.MIN_IN_FLIGHT;
 import static ppi.sensors.benchmark.cli.Cli.MIN_POI_DISTANCE_TO_SIDE_LENGTH;
 import static ppi.sensors.benchmark.cli.Cli.MIN_SENSOR_COUNT;
+import static ppi.sensors.benchmark.cli.Cli.MIN_QUEUE_CAPACITY;
+import static ppi.sensors.benchmark.cli.Cli.MIN_THREAD_COUNT;
 import static ppi.sensors.benchmark.cli.Cli.msg;
 import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.getNamesForType;
 
@@ -123,4 +132,246 @@ public class CliTest {
                 objectUnderTest.sideLength,
                 MIN_POI_DISTANCE_TO_SIDE_LENGTH, MAX_POI_DISTANCE_TO_SIDE_LENGTH));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotPassValidationDueToInvalidThreadCount() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.sideLength = 25;
+        objectUnderTest.poiDistance = 1.2;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "triangle";
+        objectUnderTest.sensorCount = 200;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.threads = 0;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessage(msg("error.threads", objectUnderTest.threads, MIN_THREAD_COUNT, MAX_THREAD_COUNT));
+    }
+
+    @Test
+    public void shouldNotPassValidationDueToInvalidPipelineSettings() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.sideLength = 25;
+        objectUnderTest.poiDistance = 1.2;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "triangle";
+        objectUnderTest.sensorCount = 200;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.pipeline = true;
+        objectUnderTest.writerThreads = 0;
+        objectUnderTest.queueCapacity = MAX_QUEUE_CAPACITY + 1;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll(
+                msg("error.pipelineThreads", "writerThreads", 0, MIN_THREAD_COUNT, MAX_THREAD_COUNT),
+                msg("error.queueCapacity", objectUnderTest.queueCapacity, MIN_QUEUE_CAPACITY, MAX_QUEUE_CAPACITY));
+    }
+
+    @Test
+    public void shouldNotPassValidationDueToInvalidOutputBackend() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.sideLength = 25;
+        objectUnderTest.poiDistance = 1.2;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "triangle";
+        objectUnderTest.sensorCount = 200;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.outputBackend = "io_uring";
+        objectUnderTest.inFlight = 0;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll(
+                msg("error.outputBackend", "io_uring", OutputBackendType.getNames()),
+                msg("error.inFlight", 0, MIN_IN_FLIGHT, MAX_IN_FLIGHT));
+    }
+
+    @Test
+    public void shouldNotPassValidationDueToUnknownGeneratorParameter() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.sideLength = 25;
+        objectUnderTest.poiDistance = 1.2;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "triangle";
+        objectUnderTest.sensorCount = 200;
+        objectUnderTest.sensorSequenceType = "gaussian";
+        objectUnderTest.generatorParams = Map.of("sigma", "0.1", "radius", "2");
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessage(msg("error.generatorParam", objectUnderTest.sensorSequenceType,
+                "unknown parameters [radius], supported: [mean, sigma]"));
+    }
+
+    @Test
+    public void shouldNotPassValidationWhenSensorsDoNotFitAtRadius() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.sideLength = 25;
+        objectUnderTest.poiDistance = 1.2;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "triangle";
+        objectUnderTest.sensorCount = 400;
+        objectUnderTest.sensorSequenceType = "poissondisk";
+        objectUnderTest.generatorParams = Map.of("radius", "1.2");
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll("\"poissondisk\"", "Cannot fit 400 points at radius 1.2");
+    }
+
+    @Test
+    public void shouldNotPassValidationWhenSamplingForSeedPlacesTooFewSensors() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.outDir = ".";
+        objectUnderTest.sideLength = 100;
+        objectUnderTest.poiDistance = 2.5;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "triangle";
+        objectUnderTest.sensorCount = 259;
+        objectUnderTest.sensorSequenceType = "poissondisk";
+        objectUnderTest.generatorParams = Map.of("radius", "5");
+        objectUnderTest.seed = 7L;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll("\"poissondisk\"", "instance ", "Cannot fit 259 points at radius 5.0", "only");
+    }
+
+    @Test
+    public void shouldNotPassValidationDueToPoiCountGreaterThanMeshSize() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 10;
+        objectUnderTest.sideLength = 25;
+        objectUnderTest.poiDistance = 2.5;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiCount = 122;
+        objectUnderTest.poiMeshType = "square";
+        objectUnderTest.sensorCount = 200;
+        objectUnderTest.sensorSequenceType = "halton";
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessage(msg("error.poiCount", objectUnderTest.poiCount, 121, objectUnderTest.poiMeshType));
+    }
+
+    @Test
+    public void shouldPassValidationOfLargeConfigurationInLargeScaleMode() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 1000;
+        objectUnderTest.sideLength = 100000;
+        objectUnderTest.poiDistance = 10.0;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "square";
+        objectUnderTest.sensorCount = 1000000;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.outDir = ".";
+        objectUnderTest.largeScale = true;
+        objectUnderTest.memoryBudget = 1024L;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void shouldNotPassValidationWhenEstimatedMemoryExceedsBudget() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 100;
+        objectUnderTest.sideLength = 100000;
+        objectUnderTest.poiDistance = 10.0;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "square";
+        objectUnderTest.sensorCount = 10000000;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.threads = 16;
+        objectUnderTest.outDir = ".";
+        objectUnderTest.largeScale = true;
+        objectUnderTest.memoryBudget = 1024L;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessage(msg("error.memoryEstimate", 2443, 1024));
+    }
+
+    @Test
+    public void shouldNotPassValidationWhenSerializedFileExceedsInMemoryLimit() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 1;
+        objectUnderTest.sideLength = 1000;
+        objectUnderTest.poiDistance = 10.0;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "square";
+        objectUnderTest.sensorCount = 50000000;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.threads = 1;
+        objectUnderTest.outDir = ".";
+        objectUnderTest.container = true;
+        objectUnderTest.largeScale = true;
+        objectUnderTest.memoryBudget = 1000000L;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessage(msg("error.serializedSize",
+                "sensor file of up to 3000000256 bytes exceeds the in-memory limit of 2147483639 bytes"));
+    }
+
+    @Test
+    public void shouldNotPassValidationOfLargeConfigurationWithoutLargeScaleMode() {
+        // given
+        var objectUnderTest = new Cli();
+        objectUnderTest.instanceCount = 1000;
+        objectUnderTest.sideLength = 100000;
+        objectUnderTest.poiDistance = 10.0;
+        objectUnderTest.poiExclusionChance = 20;
+        objectUnderTest.poiMeshType = "square";
+        objectUnderTest.sensorCount = 1000000;
+        objectUnderTest.sensorSequenceType = "halton";
+        objectUnderTest.outDir = ".";
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll(
+                msg("error.instanceCount", objectUnderTest.instanceCount, MIN_INSTANCE_COUNT, MAX_INSTANCE_COUNT),
+                msg("error.sensorCount", objectUnderTest.sensorCount, MIN_SENSOR_COUNT, MAX_SENSOR_COUNT));
+    }
+}
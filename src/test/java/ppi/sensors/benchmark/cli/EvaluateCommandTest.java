@@ -0,0 +1,105 @@
+package ppi.sensors.benchmark.cli;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.coverage.CoverageReport;
+import ppi.sensors.benchmark.cli.impl.HaltonSequenceGeneratorImpl;
+import ppi.sensors.benchmark.cli.impl.SquareMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.util.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+import static ppi.sensors.benchmark.cli.Cli.msg;
+
+public class EvaluateCommandTest {
+
+    @Test
+    public void shouldEvaluateGeneratedFiles(@TempDir Path tempDir) throws IOException, ValidationException {
+        // given
+        var generator = new Generator();
+        generator.setInstanceCount(1);
+        generator.setSideLength(20);
+        generator.setPoiDistance(1.0);
+        generator.setPoiDensity(0.8);
+        generator.setSensorCount(30);
+        generator.setSeed(99L);
+        generator.setPointMeshGenerator(new SquareMeshGeneratorImpl());
+        generator.setPointSequenceGenerator(new HaltonSequenceGeneratorImpl());
+        generator.setPoiOutPath(tempDir.resolve("poi"));
+        generator.setSensorOutPath(tempDir.resolve("sensor"));
+        generator.generate();
+        var objectUnderTest = new EvaluateCommand();
+        objectUnderTest.poiFile = tempDir.resolve("poi/1.json").toString();
+        objectUnderTest.sensorFile = tempDir.resolve("sensor/1.json").toString();
+        objectUnderTest.range = 3.0;
+        objectUnderTest.reportFile = tempDir.resolve("report.json").toString();
+
+        // when
+        var report = objectUnderTest.run();
+
+        // then
+        assertThat(report.poiCount).isGreaterThan(0);
+        assertThat(report.sensorCoverage).hasSize(30);
+        assertThat(report.coveredCount + report.uncoveredPois.length).isEqualTo(report.poiCount);
+        var written = JsonMapper.builder().build().readValue(tempDir.resolve("report.json").toFile(), CoverageReport.class);
+        assertThat(written).usingRecursiveComparison().isEqualTo(report);
+    }
+
+    @Test
+    public void shouldEvaluateInstanceFromContainer(@TempDir Path tempDir) throws IOException, ValidationException {
+        // given
+        var generator = new Generator();
+        generator.setInstanceCount(3);
+        generator.setSideLength(20);
+        generator.setPoiDistance(1.0);
+        generator.setPoiDensity(0.8);
+        generator.setSensorCount(30);
+        generator.setSeed(99L);
+        generator.setPointMeshGenerator(new SquareMeshGeneratorImpl());
+        generator.setPointSequenceGenerator(new HaltonSequenceGeneratorImpl());
+        generator.setPoiOutPath(tempDir.resolve("poi"));
+        generator.setSensorOutPath(tempDir.resolve("sensor"));
+        generator.generate();
+        generator.setContainerPath(tempDir.resolve("instances.ppic"));
+        generator.generate();
+        var fromFiles = new EvaluateCommand();
+        fromFiles.poiFile = tempDir.resolve("poi/2.json").toString();
+        fromFiles.sensorFile = tempDir.resolve("sensor/2.json").toString();
+        var objectUnderTest = new EvaluateCommand();
+        objectUnderTest.poiFile = objectUnderTest.sensorFile = tempDir.resolve("instances.ppic").toString();
+        objectUnderTest.instance = 2;
+
+        // when
+        var report = objectUnderTest.run();
+
+        // then
+        assertThat(report).usingRecursiveComparison().isEqualTo(fromFiles.run());
+        objectUnderTest.instance = 4;
+        assertThat(catchThrowableOfType(objectUnderTest::run, ValidationException.class))
+                .hasMessageContaining(msg("error.containerEntry", objectUnderTest.poiFile, "poi", 4));
+    }
+
+    @Test
+    public void shouldNotPassValidationDueToMissingFilesAndInvalidRange() {
+        // given
+        var objectUnderTest = new EvaluateCommand();
+        objectUnderTest.poiFile = "not-existing-poi.json";
+        objectUnderTest.sensorFile = "not-existing-sensor.json";
+        objectUnderTest.range = -1.0;
+        objectUnderTest.instance = 0;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::validate, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll(
+                msg("error.inputFile", objectUnderTest.poiFile),
+                msg("error.inputFile", objectUnderTest.sensorFile),
+                msg("error.range", objectUnderTest.range),
+                msg("error.instance", objectUnderTest.instance));
+    }
+}
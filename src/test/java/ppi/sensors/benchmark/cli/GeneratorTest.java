@@ -2,35 +2,59 @@ package ppi.sensors.benchmark.cli;
 
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.PoissonDiskSequenceGeneratorImpl;
 import ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl;
 import ppi.sensors.benchmark.cli.impl.SquareMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.impl.TriangleMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.io.ContainerReader;
+import ppi.sensors.benchmark.cli.io.OutputBackendType;
+import ppi.sensors.benchmark.cli.io.OutputFormat;
 import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.network.ConnectivityReport;
+import ppi.sensors.benchmark.cli.random.RngType;
+import ppi.sensors.benchmark.cli.util.Pipeline;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static ppi.sensors.benchmark.cli.Cli.DIR_NAME_POI;
+import static ppi.sensors.benchmark.cli.Cli.DIR_NAME_SENSOR;
+import static ppi.sensors.benchmark.cli.Generator.CONNECTIVITY_SUFFIX;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_CONNECTIVITY;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_SENSOR;
 import static ppi.sensors.benchmark.cli.util.NamedServiceLoader.getServiceName;
 
 public class GeneratorTest {
 
     @Test
-    public void shouldGeneratePoiData() throws IOException {
+    public void shouldGeneratePoiData(@TempDir Path tempDir) throws IOException {
         // given
         var instanceCount = 10;
         var sideLength = 25;
         var distance = 2.0;
         var density = 0.8;
-        var fakeDir = new File(".");
-        var mockMapper = mock(JsonMapper.class);
+        var jsonMapper = JsonMapper.builder().build();
         var mockGenerator = spy(new SquareMeshGeneratorImpl());
-        var objectUnderTest = new Generator(mockMapper);
+        var objectUnderTest = new Generator(jsonMapper);
 
         // when
         objectUnderTest.setInstanceCount(instanceCount);
@@ -38,16 +62,42 @@ public class GeneratorTest {
         objectUnderTest.setPoiDistance(distance);
         objectUnderTest.setPoiDensity(density);
         objectUnderTest.setPointMeshGenerator(mockGenerator);
-        objectUnderTest.generatePoiData(fakeDir);
+        objectUnderTest.generatePoiData(tempDir.toFile());
 
         //then
-        verify(mockGenerator, times(1)).createMesh(eq(distance), eq(sideLength));
-        var ref = new PoiData();
-        ref.xRange = ref.yRange = sideLength;
-        ref.range = distance;
-        ref.density = density;
-        ref.name = getServiceName(SquareMeshGeneratorImpl.class);
-        verify(mockMapper, times(instanceCount)).writeValue(any(File.class), refEq(ref, "seed", "pois"));
+        verify(mockGenerator, times(1)).createMeshPoints(eq(distance), eq(sideLength));
+        var mesh = new SquareMeshGeneratorImpl().createMesh(distance, sideLength);
+        for (var i = 1; i <= instanceCount; i++) {
+            var data = jsonMapper.readValue(tempDir.resolve(i + ".json").toFile(), PoiData.class);
+            assertThat(data.xRange).isEqualTo(sideLength);
+            assertThat(data.yRange).isEqualTo(sideLength);
+            assertThat(data.range).isEqualTo(distance);
+            assertThat(data.density).isEqualTo(density);
+            assertThat(data.name).isEqualTo(getServiceName(SquareMeshGeneratorImpl.class));
+            assertThat(mesh).containsAll(data.pois);
+        }
+    }
+
+    @Test
+    public void shouldGenerateExactNumberOfPois(@TempDir Path tempDir) throws IOException {
+        // given
+        var jsonMapper = JsonMapper.builder().build();
+        var objectUnderTest = new Generator(jsonMapper);
+
+        // when
+        objectUnderTest.setInstanceCount(3);
+        objectUnderTest.setSideLength(25);
+        objectUnderTest.setPoiDistance(2.5);
+        objectUnderTest.setPoiCount(100);
+        objectUnderTest.setPointMeshGenerator(new SquareMeshGeneratorImpl());
+        objectUnderTest.generatePoiData(tempDir.toFile());
+
+        //then
+        for (var i = 1; i <= 3; i++) {
+            var data = jsonMapper.readValue(tempDir.resolve(i + ".json").toFile(), PoiData.class);
+            assertThat(data.pois).hasSize(100).doesNotHaveDuplicates();
+            assertThat(data.density).isEqualTo(100.0 / 121);
+        }
     }
 
     @Test
@@ -69,7 +119,212 @@ public class GeneratorTest {
         objectUnderTest.generateSensorData(fakeDir);
 
         //then
-        verify(mockGenerator, times(instanceCount)).createSequence(eq(sensorCount), eq(sideLength));
+        verify(mockGenerator, times(instanceCount)).createSequencePoints(eq(sensorCount), eq(sideLength), anyLong(), eq(RngType.JDK));
         verify(mockMapper, times(instanceCount)).writeValue(any(File.class), any());
     }
+
+    @Test
+    public void shouldWriteConnectivityStatisticsNextToSensorFiles(@TempDir Path tempDir) throws IOException {
+        // given
+        var jsonMapper = JsonMapper.builder().build();
+        var objectUnderTest = new Generator(jsonMapper);
+
+        // when
+        objectUnderTest.setInstanceCount(2);
+        objectUnderTest.setSideLength(25);
+        objectUnderTest.setSensorCount(100);
+        objectUnderTest.setCommRadius(4.0);
+        objectUnderTest.setPointSequenceGenerator(new RandomSequenceGeneratorImpl());
+        objectUnderTest.generateSensorData(tempDir.toFile());
+
+        //then
+        for (var i = 1; i <= 2; i++) {
+            var report = jsonMapper.readValue(tempDir.resolve(i + CONNECTIVITY_SUFFIX).toFile(), ConnectivityReport.class);
+            assertThat(report.sensorCount).isEqualTo(100);
+            assertThat(report.radius).isEqualTo(4.0);
+            assertThat(IntStream.of(report.componentSizes).sum()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    public void shouldGenerateSameFilesRegardlessOfThreadCount(@TempDir Path tempDir) throws IOException {
+        // given
+        var seed = 5216737781L;
+        var sequentialDir = tempDir.resolve("sequential");
+        var parallelDir = tempDir.resolve("parallel");
+        var sequential = createGenerator(seed, 1, sequentialDir);
+        var parallel = createGenerator(seed, 4, parallelDir);
+
+        // when
+        sequential.generate();
+        parallel.generate();
+
+        // then
+        for (var dir : List.of(DIR_NAME_POI, DIR_NAME_SENSOR)) {
+            for (var i = 1; i <= 8; i++) {
+                var name = i + ".json";
+                assertThat(parallelDir.resolve(dir).resolve(name))
+                        .hasSameBinaryContentAs(sequentialDir.resolve(dir).resolve(name));
+            }
+        }
+    }
+
+    @Test
+    public void shouldGenerateSameFilesInPipelineMode(@TempDir Path tempDir) throws IOException {
+        for (var format : OutputFormat.values()) {
+            // given
+            var seed = 8812734511L;
+            var directDir = tempDir.resolve(format.name()).resolve("direct");
+            var pipelineDir = tempDir.resolve(format.name()).resolve("pipeline");
+            var direct = createGenerator(seed, 1, directDir);
+            var pipelined = createGenerator(seed, 2, pipelineDir);
+            for (var generator : List.of(direct, pipelined)) {
+                generator.setOutputFormat(format);
+                generator.setCommRadius(4.0);
+            }
+            pipelined.setPipeline(new Pipeline(2, 2, 3, 1));
+
+            // when
+            direct.generate();
+            pipelined.generate();
+
+            // then
+            for (var dir : List.of(DIR_NAME_POI, DIR_NAME_SENSOR)) {
+                try (var files = Files.list(directDir.resolve(dir))) {
+                    var names = files.map(file -> file.getFileName().toString()).collect(Collectors.toList());
+                    assertThat(names).hasSize(dir.equals(DIR_NAME_POI) ? 8 : 16);
+                    for (var name : names) {
+                        assertThat(pipelineDir.resolve(dir).resolve(name))
+                                .hasSameBinaryContentAs(directDir.resolve(dir).resolve(name));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldGenerateSameFilesWithOutputBackends(@TempDir Path tempDir) throws IOException {
+        for (var backend : OutputBackendType.values()) {
+            // given
+            var seed = 1934410021L;
+            var directDir = tempDir.resolve(backend.name()).resolve("direct");
+            var backendDir = tempDir.resolve(backend.name()).resolve("backend");
+            var direct = createGenerator(seed, 1, directDir);
+            var withBackend = createGenerator(seed, 2, backendDir);
+            withBackend.setOutputBackend(backend.create(2, true));
+
+            // when
+            direct.generate();
+            withBackend.generate();
+
+            // then
+            for (var dir : List.of(DIR_NAME_POI, DIR_NAME_SENSOR)) {
+                for (var i = 1; i <= 8; i++) {
+                    var name = i + ".json";
+                    assertThat(backendDir.resolve(dir).resolve(name))
+                            .hasSameBinaryContentAs(directDir.resolve(dir).resolve(name));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldAppendSameFilesToContainer(@TempDir Path tempDir) throws IOException {
+        for (var format : OutputFormat.values()) {
+            for (var pipelined : List.of(false, true)) {
+                // given
+                var seed = 5503118274L;
+                var directDir = tempDir.resolve(format.name() + pipelined).resolve("direct");
+                var containerPath = tempDir.resolve(format.name() + pipelined).resolve("instances.ppic");
+                var direct = createGenerator(seed, 1, directDir);
+                var withContainer = createGenerator(seed, 2, tempDir.resolve("unused"));
+                for (var generator : List.of(direct, withContainer)) {
+                    generator.setOutputFormat(format);
+                    generator.setCommRadius(4.0);
+                }
+                withContainer.setContainerPath(containerPath);
+                if (pipelined) withContainer.setPipeline(new Pipeline(2, 2, 2, 1));
+
+                // when
+                direct.generate();
+                withContainer.generate();
+
+                // then
+                assertThat(tempDir.resolve("unused")).doesNotExist();
+                try (var container = ContainerReader.open(containerPath)) {
+                    var extension = format.createWriter(JsonMapper.builder().build()).getExtension();
+                    assertThat(container.getExtension()).isEqualTo(extension);
+                    assertThat(container.size()).isEqualTo(24);
+                    for (var i = 1; i <= 8; i++) {
+                        assertThat(bytes(container.read(KIND_POI, i)))
+                                .isEqualTo(Files.readAllBytes(directDir.resolve(DIR_NAME_POI).resolve(i + "." + extension)));
+                        assertThat(bytes(container.read(KIND_SENSOR, i)))
+                                .isEqualTo(Files.readAllBytes(directDir.resolve(DIR_NAME_SENSOR).resolve(i + "." + extension)));
+                        assertThat(bytes(container.read(KIND_CONNECTIVITY, i)))
+                                .isEqualTo(Files.readAllBytes(directDir.resolve(DIR_NAME_SENSOR).resolve(i + CONNECTIVITY_SUFFIX)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldCheckSequencesOnlyWhenFeasibilityDependsOnSeed(@TempDir Path tempDir) {
+        // given
+        var random = spy(new RandomSequenceGeneratorImpl());
+        var poissonDisk = spy(new PoissonDiskSequenceGeneratorImpl(0.8, PoissonDiskSequenceGeneratorImpl.DEFAULT_ATTEMPTS));
+        var withRandom = createGenerator(5503118274L, 2, tempDir);
+        var withPoissonDisk = createGenerator(5503118274L, 2, tempDir);
+        withRandom.setPointSequenceGenerator(random);
+        withPoissonDisk.setPointSequenceGenerator(poissonDisk);
+        withPoissonDisk.setSensorCount(560);
+
+        // when
+        withRandom.checkSequences();
+        withPoissonDisk.checkSequences();
+
+        // then
+        verify(random, never()).checkSequence(anyInt(), anyInt(), anyLong(), any());
+        verify(poissonDisk, times(8)).checkSequence(eq(560), eq(25), anyLong(), eq(RngType.JDK));
+    }
+
+    @Test
+    public void shouldLeaveIncompleteContainerWhenGenerationFails(@TempDir Path tempDir) {
+        // given
+        var containerPath = tempDir.resolve("instances.ppic");
+        var objectUnderTest = createGenerator(5503118274L, 2, tempDir.resolve("unused"));
+        objectUnderTest.setPointSequenceGenerator(new PoissonDiskSequenceGeneratorImpl(5.0, PoissonDiskSequenceGeneratorImpl.DEFAULT_ATTEMPTS));
+        objectUnderTest.setContainerPath(containerPath);
+
+        // when
+        var thrown = catchThrowable(objectUnderTest::generate);
+
+        // then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+        assertThat(containerPath).exists();
+        assertThat(catchThrowable(() -> ContainerReader.open(containerPath)))
+                .isInstanceOf(IOException.class).hasMessageContaining("incomplete container");
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static Generator createGenerator(long seed, int threads, Path outDir) {
+        var generator = new Generator();
+        generator.setInstanceCount(8);
+        generator.setSideLength(25);
+        generator.setPoiDistance(1.0);
+        generator.setPoiDensity(0.7);
+        generator.setSensorCount(50);
+        generator.setPointMeshGenerator(new TriangleMeshGeneratorImpl());
+        generator.setPointSequenceGenerator(new RandomSequenceGeneratorImpl());
+        generator.setSeed(seed);
+        generator.setThreads(threads);
+        generator.setPoiOutPath(outDir.resolve(DIR_NAME_POI));
+        generator.setSensorOutPath(outDir.resolve(DIR_NAME_SENSOR));
+        return generator;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package ppi.sensors.benchmark.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.SquareMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.io.MappedInstance;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.util.ServiceName;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MeshCacheTest {
+
+    @Test
+    public void shouldReturnSameMeshForSameParameters() throws IOException {
+        // given
+        var generator = new CountingMeshGenerator();
+        var objectUnderTest = new MeshCache(MeshCache.DEFAULT_MAX_BYTES);
+
+        // when
+        var first = objectUnderTest.get(generator, 1.0, 10);
+        var second = objectUnderTest.get(generator, 1.0, 10);
+        var other = objectUnderTest.get(generator, 2.0, 10);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(generator.calls).isEqualTo(2);
+        assertThat(objectUnderTest.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedMeshWhenLimitExceeded() throws IOException {
+        // given
+        var generator = new CountingMeshGenerator();
+        var maxBytes = MeshCache.byteSize(generator.createMeshPoints(1.0, 11)) + MeshCache.byteSize(generator.createMeshPoints(1.0, 12));
+        var objectUnderTest = new MeshCache(maxBytes);
+        var first = objectUnderTest.get(generator, 1.0, 10);
+        objectUnderTest.get(generator, 1.0, 11);
+        objectUnderTest.get(generator, 1.0, 10);
+        generator.calls = 0;
+
+        // when
+        objectUnderTest.get(generator, 1.0, 12);
+
+        // then
+        assertThat(objectUnderTest.size()).isEqualTo(2);
+        assertThat(objectUnderTest.getBytes()).isLessThanOrEqualTo(maxBytes);
+        assertThat(objectUnderTest.get(generator, 1.0, 10)).isSameAs(first);
+        assertThat(generator.calls).isEqualTo(1);
+        objectUnderTest.get(generator, 1.0, 11);
+        assertThat(generator.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLoadMeshFromDiskInNextInstance(@TempDir Path tempDir) throws IOException {
+        // given
+        var generator = new CountingMeshGenerator();
+        var expected = new MeshCache(MeshCache.DEFAULT_MAX_BYTES, tempDir).get(generator, 1.0, 10);
+        var objectUnderTest = new MeshCache(MeshCache.DEFAULT_MAX_BYTES, tempDir);
+
+        // when
+        var mesh = objectUnderTest.get(generator, 1.0, 10);
+
+        // then
+        assertThat(generator.calls).isEqualTo(1);
+        assertThat(mesh).isInstanceOf(MappedInstance.class);
+        assertThat(mesh.asList()).isEqualTo(expected.asList());
+    }
+
+    @Test
+    public void shouldNotStoreLazyMeshOnDisk(@TempDir Path tempDir) throws IOException {
+        // given
+        var objectUnderTest = new MeshCache(MeshCache.DEFAULT_MAX_BYTES, tempDir);
+
+        // when
+        objectUnderTest.get(new SquareMeshGeneratorImpl(), 1.0, 10);
+
+        // then
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @ServiceName("counting")
+    private static class CountingMeshGenerator implements PointMeshGenerator {
+
+        private int calls;
+
+        @Override
+        public List<Point> createMesh(double distance, int sideLength) {
+            calls++;
+            var result = new ArrayList<Point>();
+            for (var x = 0.0; x <= sideLength; x += distance)
+                for (var y = 0.0; y <= sideLength; y += distance)
+                    result.add(new Point(x, y));
+            return result;
+        }
+    }
+}
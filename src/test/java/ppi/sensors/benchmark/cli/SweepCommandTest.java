@@ -0,0 +1,99 @@
+package ppi.sensors.benchmark.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.util.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+import static ppi.sensors.benchmark.cli.Cli.msg;
+
+public class SweepCommandTest {
+
+    @Test
+    public void shouldGenerateAllCombinations(@TempDir Path tempDir) throws IOException, ValidationException {
+        // given
+        var sweepFile = tempDir.resolve("sweep.json");
+        Files.writeString(sweepFile, "{\"instanceCount\": 1, \"poiMeshType\": [\"square\", \"triangle\"],"
+                + " \"generatorType\": \"halton\", \"sideLength\": 10, \"poiDistance\": 1.0,"
+                + " \"poiExclusion\": [0, 20], \"sensorCount\": 5, \"seed\": 3}");
+        var outDir = Files.createDirectory(tempDir.resolve("out"));
+        var objectUnderTest = new SweepCommand();
+        objectUnderTest.sweepFile = sweepFile.toString();
+        objectUnderTest.outDir = outDir.toString();
+        objectUnderTest.threads = 2;
+
+        // when
+        objectUnderTest.run();
+
+        // then
+        for (var exclusion : new String[]{"exclusion_0", "exclusion_20"}) {
+            for (var mesh : new String[]{"square", "triangle"}) {
+                assertThat(outDir.resolve(exclusion).resolve("poi").resolve(mesh + "_halton_10").resolve("1.json")).isRegularFile();
+                assertThat(outDir.resolve(exclusion).resolve("sensor").resolve(mesh + "_halton_10").resolve("1.json")).isRegularFile();
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotGenerateAnythingWhenAnyCombinationIsInvalid(@TempDir Path tempDir) throws IOException {
+        // given
+        var sweepFile = tempDir.resolve("sweep.json");
+        Files.writeString(sweepFile, "{\"instanceCount\": 1, \"poiMeshType\": \"square\","
+                + " \"generatorType\": [\"halton\", \"unknown\"], \"sideLength\": 10, \"poiDistance\": 1.0,"
+                + " \"poiExclusion\": 0, \"sensorCount\": 5}");
+        var objectUnderTest = new SweepCommand();
+        objectUnderTest.sweepFile = sweepFile.toString();
+        objectUnderTest.outDir = tempDir.toString();
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::run, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContaining("generator=unknown");
+        assertThat(tempDir.resolve("poi")).doesNotExist();
+    }
+
+    @Test
+    public void shouldEstimateMemoryForAllThreadsOfSharedPool(@TempDir Path tempDir) throws IOException {
+        // given
+        var sweepFile = tempDir.resolve("sweep.json");
+        Files.writeString(sweepFile, "{\"instanceCount\": 4, \"poiMeshType\": \"square\","
+                + " \"generatorType\": \"halton\", \"sideLength\": 10, \"poiDistance\": 1.0,"
+                + " \"poiExclusion\": 0, \"sensorCount\": 1000000, \"largeScale\": true, \"memoryBudget\": 48}");
+        var objectUnderTest = new SweepCommand();
+        objectUnderTest.sweepFile = sweepFile.toString();
+        objectUnderTest.outDir = tempDir.toString();
+        objectUnderTest.threads = 4;
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::run, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContaining("48 MiB");
+        assertThat(tempDir.resolve("sensor")).doesNotExist();
+    }
+
+    @Test
+    public void shouldReportMissingFields(@TempDir Path tempDir) throws IOException {
+        // given
+        var sweepFile = tempDir.resolve("sweep.json");
+        Files.writeString(sweepFile, "{\"instanceCount\": 1, \"poiMeshType\": \"square\"}");
+        var objectUnderTest = new SweepCommand();
+        objectUnderTest.sweepFile = sweepFile.toString();
+        objectUnderTest.outDir = tempDir.toString();
+
+        // when
+        ValidationException thrown = catchThrowableOfType(objectUnderTest::run, ValidationException.class);
+
+        // then
+        assertThat(thrown).hasMessageContainingAll(
+                msg("error.sweepField", "generatorType"),
+                msg("error.sweepField", "sideLength"),
+                msg("error.sweepField", "sensorCount"));
+    }
+}
@@ -0,0 +1,82 @@
+package ppi.sensors.benchmark.cli.coverage;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl;
+import ppi.sensors.benchmark.cli.impl.TriangleMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoverageEvaluatorTest {
+
+    @Test
+    public void shouldMatchBruteForceEvaluation() {
+        // given
+        var pois = new TriangleMeshGeneratorImpl().createMeshPoints(1.0, 50);
+        var sensors = new RandomSequenceGeneratorImpl().createSequencePoints(200, 50, 17L);
+        var range = 2.5;
+        var objectUnderTest = new CoverageEvaluator(1);
+
+        // when
+        var report = objectUnderTest.evaluate(pois, sensors, range);
+
+        // then
+        var expected = bruteForce(pois, sensors, range);
+        assertThat(report.poiCount).isEqualTo(pois.size());
+        assertThat(report.sensorCoverage).containsExactly(expected.sensorCoverage);
+        assertThat(report.uncoveredPois).containsExactly(expected.uncoveredPois);
+        assertThat(report.coveredCount).isEqualTo(pois.size() - expected.uncoveredPois.length);
+        assertThat(report.coverage).isEqualTo((double) report.coveredCount / pois.size());
+    }
+
+    @Test
+    public void shouldGiveSameResultRegardlessOfThreadCount() {
+        // given
+        var pois = new TriangleMeshGeneratorImpl().createMeshPoints(0.2, 60);
+        var sensors = new RandomSequenceGeneratorImpl().createSequencePoints(500, 60, 3L);
+        assertThat(pois.size()).isGreaterThan(CoverageEvaluator.PARALLEL_THRESHOLD);
+
+        // when
+        var sequential = new CoverageEvaluator(1).evaluate(pois, sensors, 1.5);
+        var parallel = new CoverageEvaluator(4).evaluate(pois, sensors, 1.5);
+
+        // then
+        assertThat(parallel).usingRecursiveComparison().isEqualTo(sequential);
+        assertThat(parallel.uncoveredPois).isSorted();
+    }
+
+    @Test
+    public void shouldReportAllPoisUncoveredWithoutSensors() {
+        // given
+        var pois = new TriangleMeshGeneratorImpl().createMeshPoints(1.0, 5);
+        var sensors = new RandomSequenceGeneratorImpl().createSequencePoints(0, 5, 1L);
+
+        // when
+        var report = new CoverageEvaluator(1).evaluate(pois, sensors, 1.0);
+
+        // then
+        assertThat(report.coveredCount).isZero();
+        assertThat(report.uncoveredPois).hasSize(pois.size());
+        assertThat(report.sensorCoverage).isEmpty();
+    }
+
+    private static CoverageReport bruteForce(PointSet pois, PointSet sensors, double range) {
+        var report = new CoverageReport();
+        report.sensorCoverage = new int[sensors.size()];
+        var uncovered = new ArrayList<Integer>();
+        for (var p = 0; p < pois.size(); p++) {
+            var covered = false;
+            for (var s = 0; s < sensors.size(); s++) {
+                if (Math.hypot(pois.x(p) - sensors.x(s), pois.y(p) - sensors.y(s)) <= range) {
+                    report.sensorCoverage[s]++;
+                    covered = true;
+                }
+            }
+            if (!covered) uncovered.add(p);
+        }
+        report.uncoveredPois = uncovered.stream().mapToInt(Integer::intValue).toArray();
+        return report;
+    }
+}
@@ -2,7 +2,12 @@ package ppi.sensors.benchmark.cli.impl;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
 
 public class GaussianSequenceGeneratorImplTest {
 
@@ -53,4 +58,52 @@ public class GaussianSequenceGeneratorImplTest {
         assertThat(sequence1).hasSameSizeAs(sequence2);
         assertThat(sequence1).isNotEqualTo(sequence2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotPileUpPointsOnBorders() {
+        // given
+        var count = 100000;
+        var sideLength = 100;
+        var objectUnderTest = new GaussianSequenceGeneratorImpl(6871162586L, 0.5, 0.5);
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L);
+
+        // then
+        var onBorder = IntStream.range(0, count)
+                .filter(i -> sequence.x(i) == 0 || sequence.x(i) == sideLength || sequence.y(i) == 0 || sequence.y(i) == sideLength)
+                .count();
+        assertThat(onBorder).isZero();
+        assertThat(sequence.asList()).allMatch(p -> p.x >= 0 && p.x <= sideLength && p.y >= 0 && p.y <= sideLength);
+    }
+
+    @Test
+    public void shouldUseMeanAndSigmaFromParameters() {
+        // given
+        var count = 100000;
+        var sideLength = 1000;
+        var objectUnderTest = new GaussianSequenceGeneratorImpl().withParameters(Map.of("mean", "0.25", "sigma", "0.05"));
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, sideLength, 9156871100L);
+
+        // then
+        var xs = IntStream.range(0, count).mapToDouble(sequence::x).summaryStatistics();
+        var variance = IntStream.range(0, count).mapToDouble(i -> Math.pow(sequence.x(i) - xs.getAverage(), 2)).sum() / count;
+        assertThat(xs.getAverage()).isCloseTo(250.0, within(1.0));
+        assertThat(Math.sqrt(variance)).isCloseTo(50.0, within(1.0));
+    }
+
+    @Test
+    public void shouldRejectInvalidParameters() {
+        // given
+        var objectUnderTest = new GaussianSequenceGeneratorImpl();
+
+        // when
+        var thrown = catchThrowableOfType(() -> objectUnderTest.withParameters(Map.of("sigma", "-1")),
+                IllegalArgumentException.class);
+
+        // then
+        assertThat(thrown).hasMessage("sigma=-1 is out of range (0.0, 10.0]");
+    }
+}
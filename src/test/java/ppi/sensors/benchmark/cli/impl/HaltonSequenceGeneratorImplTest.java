@@ -2,6 +2,8 @@ package ppi.sensors.benchmark.cli.impl;
 
 import org.junit.jupiter.api.Test;
 import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.sequence.HaltonSequence;
 
 import java.util.List;
 
@@ -41,7 +43,7 @@ public class HaltonSequenceGeneratorImplTest {
     }
 
     @Test
-    public void shouldCreateDifferentSequencesInOneGenerator() {
+    public void shouldCreateSameSequenceOnEveryCall() {
         // given
         var count = 10000;
         var sideLength = 10000;
@@ -52,8 +54,7 @@ public class HaltonSequenceGeneratorImplTest {
         var sequence2 = objectUnderTest.createSequence(count, sideLength);
 
         // then
-        assertThat(sequence1).hasSameSizeAs(sequence2);
-        assertThat(sequence1).isNotEqualTo(sequence2);
+        assertThat(sequence1).containsExactlyElementsOf(sequence2);
     }
 
     @Test
@@ -64,7 +65,7 @@ public class HaltonSequenceGeneratorImplTest {
                 new Point(0.25, 0.6666666666666666),
                 new Point(0.75, 0.1111111111111111),
                 new Point(0.125, 0.4444444444444444),
-                new Point(0.625, 0.7777777777777777),
+                new Point(0.625, 0.7777777777777778),
                 new Point(0.375, 0.2222222222222222),
                 new Point(0.875, 0.5555555555555556),
                 new Point(0.0625, 0.8888888888888888),
@@ -77,4 +78,25 @@ public class HaltonSequenceGeneratorImplTest {
         // then
         assertThat(sequence).containsExactlyElementsOf(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCreateSameLongSequenceInParallelAsSequentially() {
+        // given
+        var count = 200000;
+        var objectUnderTest = new HaltonSequenceGeneratorImpl();
+        var sequence = new HaltonSequence();
+        sequence.jump(1);
+        var expectedXs = new double[count];
+        var expectedYs = new double[count];
+        sequence.fill(expectedXs, expectedYs, 0, count, 100);
+
+        // when
+        var list = objectUnderTest.createSequence(count, 100);
+        var points = (PointBuffer) objectUnderTest.createSequencePoints(count, 100, 0L);
+
+        // then
+        assertThat(list).isEqualTo(PointBuffer.wrap(expectedXs, expectedYs).asList());
+        assertThat(points.xs()).isEqualTo(expectedXs);
+        assertThat(points.ys()).isEqualTo(expectedYs);
+    }
+}
@@ -3,9 +3,10 @@ package ppi.sensors.benchmark.cli.impl;
 import org.junit.jupiter.api.Test;
 import ppi.sensors.benchmark.cli.model.Point;
 
-import java.util.HashSet;
-import java.util.List;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class HoneycombMeshGeneratorImplTest {
@@ -35,17 +36,21 @@ class HoneycombMeshGeneratorImplTest {
         var mesh = objectUnderTest.createMesh(distance, sideLength);
 
         // then
-        var set = new HashSet<>(mesh);
+        var set = mesh.stream().map(HoneycombMeshGeneratorImplTest::round).collect(toSet());
         var height = distance * Math.sqrt(3) / 2;
         assertThat(mesh)
                 .filteredOn(p -> p.x + 2 * distance <= sideLength && p.y + height <= sideLength && p.y - height >= 0)
-                .filteredOn(p -> !set.contains(new Point(p.x + distance, p.y)))
-                .allMatch(p -> set.containsAll(List.of(
+                .filteredOn(p -> !set.contains(round(new Point(p.x + distance, p.y))))
+                .allMatch(p -> set.containsAll(Stream.of(
                         new Point(p.x + 2 * distance, p.y),
                         new Point(p.x + 0.5 * distance, p.y - height),
                         new Point(p.x + 0.5 * distance, p.y + height),
                         new Point(p.x + 1.5 * distance, p.y - height),
                         new Point(p.x + 1.5 * distance, p.y + height)
-                )));
+                ).map(HoneycombMeshGeneratorImplTest::round).collect(toList())));
+    }
+
+    private static Point round(Point p) {
+        return new Point(Math.round(p.x * 1e6) / 1e6, Math.round(p.y * 1e6) / 1e6);
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.random.RngType;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+
+public class MaternSequenceGeneratorImplTest {
+
+    @Test
+    public void shouldCreateSequenceOfGivenSizeWithinGivenArea() {
+        // given
+        var count = 10000;
+        var sideLength = 100;
+        var objectUnderTest = new MaternSequenceGeneratorImpl();
+
+        // when
+        var sequence = objectUnderTest.createSequence(count, sideLength);
+
+        // then
+        assertThat(sequence).hasSize(count);
+        assertThat(sequence).allMatch(p -> p.x >= 0 && p.x <= sideLength && p.y >= 0 && p.y <= sideLength);
+    }
+
+    @Test
+    public void shouldCreateSameSequenceForSameSeed() {
+        // given
+        var count = 200_000;
+        var sideLength = 1000;
+        var objectUnderTest = new MaternSequenceGeneratorImpl().withParameters(Map.of("clusters", "1000"));
+
+        for (var rngType : RngType.values()) {
+            // when
+            var sequence1 = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L, rngType);
+            var sequence2 = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L, rngType);
+            var sequence3 = objectUnderTest.createSequencePoints(count, sideLength, 2002262586L, rngType);
+
+            // then
+            assertThat(sequence1.asList()).isEqualTo(sequence2.asList());
+            assertThat(sequence1.asList()).isNotEqualTo(sequence3.asList());
+        }
+    }
+
+    @Test
+    public void shouldPlacePointsWithinRadiusOfClusterCenter() {
+        // given
+        var count = 10000;
+        var sideLength = 1000;
+        var objectUnderTest = new MaternSequenceGeneratorImpl().withParameters(Map.of("weights", "0,1,0", "radius", "0.05"));
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, sideLength, 9156871100L);
+
+        // then
+        var xs = IntStream.range(0, count).mapToDouble(sequence::x).summaryStatistics();
+        var ys = IntStream.range(0, count).mapToDouble(sequence::y).summaryStatistics();
+        assertThat(xs.getMax() - xs.getMin()).isLessThanOrEqualTo(100.0);
+        assertThat(ys.getMax() - ys.getMin()).isLessThanOrEqualTo(100.0);
+    }
+
+    @Test
+    public void shouldSplitPointsBetweenClustersByWeights() {
+        // given
+        var count = 100_000;
+        var sideLength = 1000;
+        var objectUnderTest = new MaternSequenceGeneratorImpl().withParameters(Map.of("weights", "3,1", "radius", "0.01"));
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, sideLength, 9156871100L);
+
+        // then
+        var firstCluster = IntStream.range(0, count)
+                .filter(i -> Math.hypot(sequence.x(i) - sequence.x(0), sequence.y(i) - sequence.y(0)) <= 20)
+                .count();
+        assertThat((double) firstCluster / count).isCloseTo(0.75, within(0.01));
+    }
+
+    @Test
+    public void shouldRejectWeightsNotMatchingClusterCount() {
+        // given
+        var objectUnderTest = new MaternSequenceGeneratorImpl();
+
+        // when
+        var thrown = catchThrowableOfType(() -> objectUnderTest.withParameters(Map.of("clusters", "2", "weights", "1,2,3")),
+                IllegalArgumentException.class);
+
+        // then
+        assertThat(thrown).hasMessage("weights has 3 values, expected clusters=2");
+    }
+}
@@ -0,0 +1,130 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.random.RngType;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+
+public class PoissonDiskSequenceGeneratorImplTest {
+
+    @Test
+    public void shouldCreateSequenceOfGivenSizeWithinGivenArea() {
+        // given
+        var count = 10000;
+        var sideLength = 10000;
+        var objectUnderTest = new PoissonDiskSequenceGeneratorImpl();
+
+        // when
+        var sequence = objectUnderTest.createSequence(count, sideLength, 42L);
+
+        // then
+        assertThat(sequence).hasSize(count);
+        assertThat(sequence).allMatch(p -> p.x >= 0 && p.x <= sideLength && p.y >= 0 && p.y <= sideLength);
+    }
+
+    @Test
+    public void shouldKeepMinimumDistanceBetweenPoints() {
+        // given
+        var count = 2000;
+        var sideLength = 100;
+        var radius = 1.5;
+        var objectUnderTest = new PoissonDiskSequenceGeneratorImpl().withParameters(Map.of("radius", "1.5"));
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L, RngType.XOSHIRO256);
+
+        // then
+        var minDistance = Double.MAX_VALUE;
+        for (var i = 0; i < count; i++)
+            for (var j = i + 1; j < count; j++)
+                minDistance = Math.min(minDistance, Math.hypot(sequence.x(i) - sequence.x(j), sequence.y(i) - sequence.y(j)));
+        assertThat(sequence.size()).isEqualTo(count);
+        assertThat(minDistance).isGreaterThanOrEqualTo(radius);
+    }
+
+    @Test
+    public void shouldCreateSameSequenceForSameSeed() {
+        // given
+        var count = 50000;
+        var sideLength = 1000;
+        var objectUnderTest1 = new PoissonDiskSequenceGeneratorImpl();
+        var objectUnderTest2 = new PoissonDiskSequenceGeneratorImpl();
+
+        // when
+        var sequence1 = objectUnderTest1.createSequencePoints(count, sideLength, 9156871100L, RngType.SPLITMIX);
+        var sequence2 = objectUnderTest2.createSequencePoints(count, sideLength, 9156871100L, RngType.SPLITMIX);
+        var other = objectUnderTest1.createSequencePoints(count, sideLength, 2002262586L, RngType.SPLITMIX);
+
+        // then
+        assertThat(sequence1.asList()).isEqualTo(sequence2.asList());
+        assertThat(sequence1.asList()).isNotEqualTo(other.asList());
+    }
+
+    @Test
+    public void shouldFailWhenPointsDoNotFitAtRadius() {
+        // given
+        var objectUnderTest = new PoissonDiskSequenceGeneratorImpl(5.0, PoissonDiskSequenceGeneratorImpl.DEFAULT_ATTEMPTS);
+
+        // when
+        var packingBound = catchThrowableOfType(() -> objectUnderTest.createSequencePoints(1000, 100, 1L), IllegalArgumentException.class);
+        var maximalSampling = catchThrowableOfType(() -> objectUnderTest.createSequencePoints(400, 100, 1L), IllegalArgumentException.class);
+
+        // then
+        assertThat(packingBound).hasMessageStartingWith("Cannot fit 1000 points at radius 5.0").hasMessageContaining("at most");
+        assertThat(maximalSampling).hasMessageStartingWith("Cannot fit 400 points at radius 5.0").hasMessageContaining("only");
+    }
+
+    @Test
+    public void shouldCheckSequenceForGivenSeed() {
+        // given
+        var count = 258;
+        var objectUnderTest = new PoissonDiskSequenceGeneratorImpl(5.0, PoissonDiskSequenceGeneratorImpl.DEFAULT_ATTEMPTS);
+
+        // when
+        objectUnderTest.checkSequence(count, 100);
+        objectUnderTest.checkSequence(count, 100, 1L, RngType.XOSHIRO256);
+        var sequence = objectUnderTest.createSequencePoints(count, 100, 1L, RngType.XOSHIRO256);
+        var thrown = catchThrowableOfType(() -> objectUnderTest.checkSequence(count, 100, 4L, RngType.XOSHIRO256),
+                IllegalArgumentException.class);
+        var created = catchThrowableOfType(() -> objectUnderTest.createSequencePoints(count, 100, 4L, RngType.XOSHIRO256),
+                IllegalArgumentException.class);
+
+        // then
+        assertThat(sequence.size()).isEqualTo(count);
+        assertThat(thrown).hasMessageStartingWith("Cannot fit 258 points at radius 5.0").hasMessageContaining("only");
+        assertThat(created).hasMessage(thrown.getMessage());
+    }
+
+    @Test
+    public void shouldRequireSeedCheckOnlyNearExpectedFill() {
+        // given
+        var withRadius = new PoissonDiskSequenceGeneratorImpl(5.0, PoissonDiskSequenceGeneratorImpl.DEFAULT_ATTEMPTS);
+        var withDefaultRadius = new PoissonDiskSequenceGeneratorImpl();
+
+        // when
+        var nearFill = withRadius.requiresSeedCheck(240, 100);
+        var belowFill = withRadius.requiresSeedCheck(200, 100);
+        var defaultRadius = withDefaultRadius.requiresSeedCheck(1000000, 10000);
+
+        // then
+        assertThat(nearFill).isTrue();
+        assertThat(belowFill).isFalse();
+        assertThat(defaultRadius).isFalse();
+    }
+
+    @Test
+    public void shouldRejectInvalidParameters() {
+        // given
+        var objectUnderTest = new PoissonDiskSequenceGeneratorImpl();
+
+        // when
+        var thrown = catchThrowableOfType(() -> objectUnderTest.withParameters(Map.of("attempts", "0")),
+                IllegalArgumentException.class);
+
+        // then
+        assertThat(thrown).hasMessage("attempts=0 is out of range [1, 1000]");
+    }
+}
@@ -1,6 +1,7 @@
 package ppi.sensors.benchmark.cli.impl;
 
 import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.random.RngType;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,4 +54,38 @@ public class RandomSequenceGeneratorImplTest {
         assertThat(sequence1).hasSameSizeAs(sequence2);
         assertThat(sequence1).isNotEqualTo(sequence2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCreateSameSequenceWithSplittableRng() {
+        // given
+        var count = 200000;
+        var sideLength = 10000;
+        var objectUnderTest = new RandomSequenceGeneratorImpl();
+
+        // when
+        var sequence1 = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L, RngType.XOSHIRO256);
+        var sequence2 = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L, RngType.XOSHIRO256);
+        var other = objectUnderTest.createSequencePoints(count, sideLength, 6871162586L, RngType.SPLITMIX);
+
+        // then
+        assertThat(sequence1.size()).isEqualTo(count);
+        assertThat(sequence1.asList()).isEqualTo(sequence2.asList());
+        assertThat(sequence1.asList()).isNotEqualTo(other.asList());
+        assertThat(sequence1.asList()).allMatch(p -> p.x >= 0 && p.x <= sideLength && p.y >= 0 && p.y <= sideLength);
+    }
+
+    @Test
+    public void shouldCreateLegacySequenceWithJdkRng() {
+        // given
+        var count = 10000;
+        var sideLength = 10000;
+        var objectUnderTest = new RandomSequenceGeneratorImpl();
+
+        // when
+        var sequence1 = objectUnderTest.createSequencePoints(count, sideLength, 9156871100L, RngType.JDK);
+        var sequence2 = objectUnderTest.createSequencePoints(count, sideLength, 9156871100L);
+
+        // then
+        assertThat(sequence1.asList()).isEqualTo(sequence2.asList());
+    }
+}
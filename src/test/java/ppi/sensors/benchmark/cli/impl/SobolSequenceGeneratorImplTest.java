@@ -0,0 +1,87 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.sequence.SobolSequence;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ppi.sensors.benchmark.cli.util.Seeds.mix64;
+
+public class SobolSequenceGeneratorImplTest {
+
+    @Test
+    public void shouldCreateSequenceOfGivenSizeWithinGivenArea() {
+        // given
+        var count = 10000;
+        var sideLength = 10000;
+        var objectUnderTest = new SobolSequenceGeneratorImpl();
+
+        // when
+        var sequence = objectUnderTest.createSequence(count, sideLength, 42L);
+
+        // then
+        assertThat(sequence).hasSize(count);
+        assertThat(sequence).allMatch(p -> p.x >= 0 && p.x <= sideLength && p.y >= 0 && p.y <= sideLength);
+    }
+
+    @Test
+    public void shouldGenerateProperSobolSequence() {
+        // given
+        var expected = List.of(
+                new Point(0.5, 0.5),
+                new Point(0.75, 0.25),
+                new Point(0.25, 0.75),
+                new Point(0.375, 0.375),
+                new Point(0.875, 0.875),
+                new Point(0.625, 0.125),
+                new Point(0.125, 0.625));
+        var objectUnderTest = new SobolSequenceGeneratorImpl();
+
+        // when
+        var sequence = objectUnderTest.createSequence(expected.size(), 1);
+
+        // then
+        assertThat(sequence).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void shouldPlaceExactlyOnePointInEachElementaryIntervalForAnySeed() {
+        // given
+        var objectUnderTest = new SobolSequenceGeneratorImpl();
+
+        for (var seed = 0L; seed < 5; seed++) {
+            // when
+            var sequence = objectUnderTest.createSequencePoints(256, 1, seed);
+
+            // then
+            var cells = new int[16 * 16];
+            for (var i = 0; i < sequence.size(); i++)
+                cells[(int) (sequence.y(i) * 16) * 16 + (int) (sequence.x(i) * 16)]++;
+            assertThat(cells).containsOnly(1);
+        }
+    }
+
+    @Test
+    public void shouldCreateSameLongSequenceAsSequentialGeneration() {
+        // given
+        var count = (1 << 20) + 17;
+        var objectUnderTest = new SobolSequenceGeneratorImpl();
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, 100, 7L);
+
+        // then
+        var sequential = new SobolSequence((int) mix64(7L), (int) (mix64(7L) >>> 32));
+        var xs = new double[count];
+        var ys = new double[count];
+        for (var i = 0; i < count; i++, sequential.next()) {
+            xs[i] = sequential.x() * 100;
+            ys[i] = sequential.y() * 100;
+        }
+        assertThat(((PointBuffer) sequence).xs()).isEqualTo(xs);
+        assertThat(((PointBuffer) sequence).ys()).isEqualTo(ys);
+    }
+}
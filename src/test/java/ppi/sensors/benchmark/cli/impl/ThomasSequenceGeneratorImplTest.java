@@ -0,0 +1,74 @@
+package ppi.sensors.benchmark.cli.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+
+public class ThomasSequenceGeneratorImplTest {
+
+    @Test
+    public void shouldCreateSequenceOfGivenSizeWithinGivenArea() {
+        // given
+        var count = 10000;
+        var sideLength = 100;
+        var objectUnderTest = new ThomasSequenceGeneratorImpl();
+
+        // when
+        var sequence = objectUnderTest.createSequence(count, sideLength);
+
+        // then
+        assertThat(sequence).hasSize(count);
+        assertThat(sequence).allMatch(p -> p.x >= 0 && p.x <= sideLength && p.y >= 0 && p.y <= sideLength);
+    }
+
+    @Test
+    public void shouldCreateSameSequenceForSameSeed() {
+        // given
+        var count = 10000;
+        var sideLength = 100;
+        var objectUnderTest = new ThomasSequenceGeneratorImpl();
+
+        // when
+        var sequence1 = objectUnderTest.createSequence(count, sideLength, 6871162586L);
+        var sequence2 = objectUnderTest.createSequence(count, sideLength, 6871162586L);
+        var sequence3 = objectUnderTest.createSequence(count, sideLength, 2002262586L);
+
+        // then
+        assertThat(sequence1).isEqualTo(sequence2);
+        assertThat(sequence1).isNotEqualTo(sequence3);
+    }
+
+    @Test
+    public void shouldUseSigmaFromParameters() {
+        // given
+        var count = 100_000;
+        var sideLength = 1000;
+        var objectUnderTest = new ThomasSequenceGeneratorImpl().withParameters(Map.of("clusters", "1", "sigma", "0.01"));
+
+        // when
+        var sequence = objectUnderTest.createSequencePoints(count, sideLength, 9156871100L);
+
+        // then
+        var xs = IntStream.range(0, count).mapToDouble(sequence::x).summaryStatistics();
+        var variance = IntStream.range(0, count).mapToDouble(i -> Math.pow(sequence.x(i) - xs.getAverage(), 2)).sum() / count;
+        assertThat(Math.sqrt(variance)).isCloseTo(10.0, within(0.2));
+    }
+
+    @Test
+    public void shouldRejectInvalidParameters() {
+        // given
+        var objectUnderTest = new ThomasSequenceGeneratorImpl();
+
+        // when
+        var thrown = catchThrowableOfType(() -> objectUnderTest.withParameters(Map.of("sigma", "2")),
+                IllegalArgumentException.class);
+
+        // then
+        assertThat(thrown).hasMessage("sigma=2 is out of range (0.0, 1.0]");
+    }
+}
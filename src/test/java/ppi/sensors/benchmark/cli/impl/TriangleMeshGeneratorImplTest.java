@@ -3,9 +3,10 @@ package ppi.sensors.benchmark.cli.impl;
 import org.junit.jupiter.api.Test;
 import ppi.sensors.benchmark.cli.model.Point;
 
-import java.util.HashSet;
-import java.util.List;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class TriangleMeshGeneratorImplTest {
@@ -35,13 +36,17 @@ class TriangleMeshGeneratorImplTest {
         var mesh = objectUnderTest.createMesh(distance, sideLength);
 
         // then
-        var set = new HashSet<>(mesh);
+        var set = mesh.stream().map(TriangleMeshGeneratorImplTest::round).collect(toSet());
         var half = distance / 2;
         var height = distance * Math.sqrt(3) / 2;
         assertThat(mesh)
                 .filteredOn(p -> p.x + distance <= sideLength && p.y + height <= sideLength)
-                .allMatch(p -> set.containsAll(List.of(
+                .allMatch(p -> set.containsAll(Stream.of(
                         new Point(p.x + distance, p.y),
-                        new Point(p.x + half, p.y + height))));
+                        new Point(p.x + half, p.y + height)).map(TriangleMeshGeneratorImplTest::round).collect(toList())));
+    }
+
+    private static Point round(Point p) {
+        return new Point(Math.round(p.x * 1e6) / 1e6, Math.round(p.y * 1e6) / 1e6);
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package ppi.sensors.benchmark.cli.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.SquareMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PoiData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.BYTE_ORDER;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.MAGIC;
+import static ppi.sensors.benchmark.cli.io.BinaryFormat.headerSize;
+
+public class BinaryInstanceWriterTest {
+
+    @Test
+    public void shouldWriteHeaderAndSelectedPoints(@TempDir Path tempDir) throws IOException {
+        // given
+        var header = new PoiData();
+        header.name = "square";
+        header.seed = 42L;
+        header.density = 0.5;
+        header.xRange = header.yRange = 10;
+        header.range = 1.0;
+        var mesh = new SquareMeshGeneratorImpl().createMeshPoints(header.range, header.xRange);
+        var file = tempDir.resolve("1.bin");
+        var objectUnderTest = new BinaryInstanceWriter();
+
+        // when
+        objectUnderTest.writePoiData(file.toFile(), header, mesh,
+                () -> IntStream.range(0, mesh.size()).filter(i -> i % 2 == 0).iterator());
+
+        // then
+        var count = (mesh.size() + 1) / 2;
+        var offset = headerSize(header.name.length());
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(BYTE_ORDER);
+        assertThat(buffer.capacity()).isEqualTo(offset + 16 * count);
+        assertThat(buffer.getInt(0)).isEqualTo(MAGIC);
+        assertThat(buffer.getShort(6)).isEqualTo(KIND_POI);
+        assertThat(buffer.getLong(8)).isEqualTo(header.seed);
+        assertThat(buffer.getDouble(16)).isEqualTo(header.density);
+        assertThat(buffer.getInt(24)).isEqualTo(header.xRange);
+        assertThat(buffer.getDouble(32)).isEqualTo(header.range);
+        assertThat(buffer.getInt(40)).isEqualTo(count);
+        for (var k = 0; k < count; k++) {
+            assertThat(buffer.getDouble(offset + 8 * k)).isEqualTo(mesh.x(2 * k));
+            assertThat(buffer.getDouble(offset + 8 * (count + k))).isEqualTo(mesh.y(2 * k));
+        }
+    }
+}
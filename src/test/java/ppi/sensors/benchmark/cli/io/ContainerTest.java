@@ -0,0 +1,177 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.HoneycombMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_POI;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.KIND_SENSOR;
+import static ppi.sensors.benchmark.cli.io.ContainerFormat.TRAILER_SIZE;
+
+public class ContainerTest {
+
+    @Test
+    public void shouldReadEntriesAppendedFromManyThreads(@TempDir Path tempDir) throws Exception {
+        // given
+        var path = tempDir.resolve("instances.ppic");
+        var random = new Random(29);
+        var contents = new ArrayList<byte[]>();
+        for (var i = 0; i < 40; i++) {
+            var content = new byte[i == 0 ? 0 : random.nextInt(3000)];
+            random.nextBytes(content);
+            contents.add(content);
+        }
+
+        // when
+        try (var objectUnderTest = new ContainerWriter(path, "bin")) {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (var i = contents.size() - 1; i >= 0; i--) {
+                var index = i;
+                tasks.add(() -> {
+                    objectUnderTest.append(index % 2 == 0 ? KIND_POI : KIND_SENSOR, index / 2 + 1, ByteBuffer.wrap(contents.get(index)));
+                    return null;
+                });
+            }
+            var pool = Executors.newFixedThreadPool(4);
+            try {
+                for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+            } finally {
+                pool.shutdown();
+            }
+            objectUnderTest.finish();
+        }
+
+        // then
+        try (var container = ContainerReader.open(path)) {
+            assertThat(container.getExtension()).isEqualTo("bin");
+            assertThat(container.size()).isEqualTo(contents.size());
+            for (var i = 0; i < contents.size(); i++) {
+                var entry = container.read(i % 2 == 0 ? KIND_POI : KIND_SENSOR, i / 2 + 1);
+                var bytes = new byte[entry.remaining()];
+                entry.get(bytes);
+                assertThat(bytes).isEqualTo(contents.get(i));
+            }
+            assertThat(container.contains(KIND_POI, 21)).isFalse();
+            assertThat(catchThrowable(() -> container.read(KIND_SENSOR, 21))).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    public void shouldOpenInstancesOfEveryFormat(@TempDir Path tempDir) throws IOException {
+        for (var format : OutputFormat.values()) {
+            // given
+            var jsonMapper = JsonMapper.builder().build();
+            var writer = format.createWriter(jsonMapper);
+            var header = new PoiData();
+            header.name = "honeycomb";
+            header.seed = 1234L;
+            header.density = 0.3;
+            header.xRange = header.yRange = 20;
+            header.range = 0.5;
+            var mesh = new HoneycombMeshGeneratorImpl().createMeshPoints(header.range, header.xRange);
+            var expected = new ArrayList<Point>();
+            range(0, mesh.size()).filter(i -> i % 3 == 0).forEach(i -> expected.add(mesh.pointAt(i)));
+            var sensors = PointBuffer.wrap(new double[]{1, 2, 3}, new double[]{4, 5, 6});
+            var path = tempDir.resolve(format.name() + ".ppic");
+
+            // when
+            try (var objectUnderTest = new ContainerWriter(path, writer.getExtension())) {
+                objectUnderTest.append(KIND_POI, 1, writer.serializePoiData(header, mesh,
+                        () -> range(0, mesh.size()).filter(i -> i % 3 == 0).iterator()));
+                objectUnderTest.append(KIND_SENSOR, 1, writer.serializeSensorData(header, sensors));
+                objectUnderTest.finish();
+            }
+
+            // then
+            try (var container = ContainerReader.open(path)) {
+                var pois = container.instance(KIND_POI, 1, jsonMapper);
+                var sensorInstance = container.instance(KIND_SENSOR, 1, jsonMapper);
+                assertThat(pois.isPoiData()).isTrue();
+                assertThat(pois.getHeader()).usingRecursiveComparison().isEqualTo(header);
+                assertThat(pois.asList()).containsExactlyElementsOf(expected);
+                assertThat(sensorInstance.isPoiData()).isFalse();
+                assertThat(sensorInstance.asList()).containsExactlyElementsOf(sensors.asList());
+            }
+        }
+    }
+
+    @Test
+    public void shouldRejectContainerWithoutIndex(@TempDir Path tempDir) throws IOException {
+        // given
+        var path = tempDir.resolve("instances.ppic");
+        try (var writer = new ContainerWriter(path, "json")) {
+            writer.append(KIND_POI, 1, ByteBuffer.wrap(new byte[]{'[', ']'}));
+            writer.finish();
+        }
+        try (var channel = FileChannel.open(path, WRITE)) {
+            channel.truncate(channel.size() - TRAILER_SIZE / 2);
+        }
+
+        // when
+        var thrown = catchThrowable(() -> ContainerReader.open(path));
+
+        // then
+        assertThat(thrown).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldRejectContainerClosedWithoutFinish(@TempDir Path tempDir) throws IOException {
+        // given
+        var path = tempDir.resolve("instances.ppic");
+        try (var writer = new ContainerWriter(path, "json")) {
+            writer.append(KIND_POI, 1, ByteBuffer.wrap(new byte[]{'[', ']'}));
+        }
+
+        // when
+        var thrown = catchThrowable(() -> ContainerReader.open(path));
+
+        // then
+        assertThat(thrown).isInstanceOf(IOException.class).hasMessageContaining("incomplete container");
+    }
+
+    @Test
+    public void shouldRejectEntryAfterFinish(@TempDir Path tempDir) throws IOException {
+        // given
+        try (var objectUnderTest = new ContainerWriter(tempDir.resolve("instances.ppic"), "json")) {
+            objectUnderTest.finish();
+
+            // when
+            var thrown = catchThrowable(() -> objectUnderTest.append(KIND_SENSOR, 1, ByteBuffer.wrap(new byte[]{'[', ']'})));
+
+            // then
+            assertThat(thrown).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void shouldRejectDuplicateEntry(@TempDir Path tempDir) throws IOException {
+        // given
+        try (var objectUnderTest = new ContainerWriter(tempDir.resolve("instances.ppic"), "json")) {
+            objectUnderTest.append(KIND_SENSOR, 3, ByteBuffer.wrap(new byte[]{'[', ']'}));
+
+            // when
+            var thrown = catchThrowable(() -> objectUnderTest.append(KIND_SENSOR, 3, ByteBuffer.wrap(new byte[]{'[', ']'})));
+
+            // then
+            assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ppi.sensors.benchmark.cli.io;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.TriangleMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PoiData;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonInstanceWriterTest {
+
+    @Test
+    public void shouldWriteSameContentAsJsonMapper(@TempDir Path tempDir) throws IOException {
+        // given
+        var jsonMapper = JsonMapper.builder().build();
+        var data = new PoiData();
+        data.name = "triangle";
+        data.seed = 7716243011L;
+        data.density = 0.8;
+        data.xRange = data.yRange = 100;
+        data.range = 3.5;
+        var mesh = new TriangleMeshGeneratorImpl().createMeshPoints(data.range, data.xRange);
+        data.pois = mesh.asList();
+        var expectedFile = tempDir.resolve("expected.json").toFile();
+        var actualFile = tempDir.resolve("actual.json").toFile();
+        var objectUnderTest = new JsonInstanceWriter(jsonMapper);
+
+        // when
+        jsonMapper.writeValue(expectedFile, data);
+        objectUnderTest.writePoiData(actualFile, data, mesh, () -> IntStream.range(0, mesh.size()).iterator());
+
+        // then
+        assertThat(actualFile).hasSameBinaryContentAs(expectedFile);
+    }
+}
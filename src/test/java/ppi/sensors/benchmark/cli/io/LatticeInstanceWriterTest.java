@@ -0,0 +1,66 @@
+package ppi.sensors.benchmark.cli.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.HoneycombMeshGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PoiData;
+import ppi.sensors.benchmark.cli.model.Point;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatticeInstanceWriterTest {
+
+    @Test
+    public void shouldReadWhatLatticeWriterWrote(@TempDir Path tempDir) throws IOException {
+        // given
+        var header = new PoiData();
+        header.name = "honeycomb";
+        header.seed = 1234L;
+        header.density = 0.3;
+        header.xRange = header.yRange = 20;
+        header.range = 0.5;
+        var mesh = new HoneycombMeshGeneratorImpl().createMeshPoints(header.range, header.xRange);
+        var expected = new ArrayList<Point>();
+        range(0, mesh.size()).filter(i -> i % 3 == 0 || i % 7 == 0).forEach(i -> expected.add(mesh.pointAt(i)));
+        var file = tempDir.resolve("1.bin");
+
+        // when
+        new LatticeInstanceWriter().writePoiData(file.toFile(), header, mesh,
+                () -> range(0, mesh.size()).filter(i -> i % 3 == 0 || i % 7 == 0).iterator());
+        var objectUnderTest = InstanceReader.open(file);
+
+        // then
+        assertThat(objectUnderTest).isInstanceOf(LatticeInstance.class);
+        assertThat(objectUnderTest.isPoiData()).isTrue();
+        assertThat(objectUnderTest.getHeader()).usingRecursiveComparison().isEqualTo(header);
+        assertThat(objectUnderTest.asList()).containsExactlyElementsOf(expected);
+        assertThat(Files.size(file)).isLessThan(16L * expected.size());
+    }
+
+    @Test
+    public void shouldWriteSensorsInBinaryFormat(@TempDir Path tempDir) throws IOException {
+        // given
+        var header = new PoiData();
+        header.name = "random";
+        header.seed = 1L;
+        header.density = 1.0;
+        header.xRange = header.yRange = 10;
+        var sensors = PointBuffer.wrap(new double[]{1, 2}, new double[]{3, 4});
+        var file = tempDir.resolve("1.bin");
+
+        // when
+        new LatticeInstanceWriter().writeSensorData(file.toFile(), header, sensors);
+        var objectUnderTest = InstanceReader.open(file);
+
+        // then
+        assertThat(objectUnderTest).isInstanceOf(MappedInstance.class);
+        assertThat(objectUnderTest.asList()).containsExactlyElementsOf(sensors.asList());
+    }
+}
@@ -0,0 +1,53 @@
+package ppi.sensors.benchmark.cli.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PoiData;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowable;
+
+public class MappedInstanceTest {
+
+    @Test
+    public void shouldReadWhatBinaryWriterWrote(@TempDir Path tempDir) throws IOException {
+        // given
+        var header = new PoiData();
+        header.name = "random";
+        header.seed = 1234L;
+        header.density = 1.0;
+        header.xRange = header.yRange = 50;
+        var sensors = new RandomSequenceGeneratorImpl().createSequencePoints(500, 50, header.seed);
+        var file = tempDir.resolve("1.bin");
+        new BinaryInstanceWriter().writeSensorData(file.toFile(), header, sensors);
+
+        // when
+        var objectUnderTest = MappedInstance.open(file);
+
+        // then
+        assertThat(objectUnderTest.isPoiData()).isFalse();
+        assertThat(objectUnderTest.getHeader()).usingRecursiveComparison().isEqualTo(header);
+        assertThat(objectUnderTest.asList()).containsExactlyElementsOf(sensors.asList());
+        assertThat(objectUnderTest.xs().isReadOnly()).isTrue();
+        assertThat(catchThrowable(() -> objectUnderTest.ys().put(0, 1.0))).isInstanceOf(ReadOnlyBufferException.class);
+    }
+
+    @Test
+    public void shouldRejectFileInOtherFormat(@TempDir Path tempDir) throws IOException {
+        // given
+        var file = tempDir.resolve("1.json");
+        Files.writeString(file, "[{\"x\":1.0,\"y\":2.0},{\"x\":3.0,\"y\":4.0},{\"x\":5.0,\"y\":6.0}]");
+
+        // when
+        var thrown = catchThrowable(() -> MappedInstance.open(file));
+
+        // then
+        assertThat(thrown).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package ppi.sensors.benchmark.cli.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class OutputBackendTest {
+
+    @Test
+    public void shouldWriteContentInChunksFromManyThreads(@TempDir Path tempDir) throws Exception {
+        for (var preallocate : List.of(false, true)) {
+            for (var objectUnderTest : backends(preallocate)) {
+                // given
+                var dir = Files.createDirectories(tempDir.resolve(objectUnderTest.getClass().getSimpleName() + preallocate));
+                var contents = new ArrayList<byte[]>();
+                var random = new Random(17);
+                for (var i = 0; i < 12; i++) {
+                    var content = new byte[i == 0 ? 0 : random.nextInt(5000)];
+                    random.nextBytes(content);
+                    contents.add(content);
+                }
+
+                // when
+                var tasks = new ArrayList<Callable<Void>>();
+                for (var i = 0; i < contents.size(); i++) {
+                    var file = dir.resolve(i + ".bin").toFile();
+                    var content = ByteBuffer.wrap(contents.get(i));
+                    tasks.add(() -> {
+                        objectUnderTest.write(file, content);
+                        return null;
+                    });
+                }
+                var pool = Executors.newFixedThreadPool(4);
+                try {
+                    for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+                } finally {
+                    pool.shutdown();
+                }
+
+                // then
+                for (var i = 0; i < contents.size(); i++)
+                    assertThat(dir.resolve(i + ".bin")).hasBinaryContent(contents.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteFromBufferPositionWithoutMovingIt(@TempDir Path tempDir) throws IOException {
+        for (var objectUnderTest : backends(false)) {
+            // given
+            var file = tempDir.resolve(objectUnderTest.getClass().getSimpleName()).toFile();
+            var content = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+            content.position(3).limit(9);
+
+            // when
+            objectUnderTest.write(file, content);
+
+            // then
+            assertThat(file).hasBinaryContent(new byte[]{4, 5, 6, 7, 8, 9});
+            assertThat(content.position()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void shouldOverwriteLongerFile(@TempDir Path tempDir) throws IOException {
+        for (var objectUnderTest : backends(true)) {
+            // given
+            var file = tempDir.resolve(objectUnderTest.getClass().getSimpleName());
+            Files.write(file, new byte[1000]);
+
+            // when
+            objectUnderTest.write(file.toFile(), ByteBuffer.wrap(new byte[]{1, 2, 3}));
+
+            // then
+            assertThat(file).hasBinaryContent(new byte[]{1, 2, 3});
+        }
+    }
+
+    @Test
+    public void shouldReportMissingDirectory(@TempDir Path tempDir) {
+        for (var objectUnderTest : backends(false)) {
+            // when
+            var thrown = catchThrowable(() ->
+                    objectUnderTest.write(tempDir.resolve("missing").resolve("1.bin").toFile(), ByteBuffer.allocate(10)));
+
+            // then
+            assertThat(thrown).isInstanceOf(IOException.class);
+        }
+    }
+
+    private static List<OutputBackend> backends(boolean preallocate) {
+        return List.of(
+                new ChannelOutputBackend(new DirectBufferPool(3, 256), preallocate),
+                new AsyncOutputBackend(new DirectBufferPool(3, 256), preallocate));
+    }
+}
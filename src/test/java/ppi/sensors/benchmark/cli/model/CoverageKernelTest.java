@@ -0,0 +1,79 @@
+package ppi.sensors.benchmark.cli.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CoverageKernelTest {
+
+    @Test
+    public void shouldFindPointsWithinRangeWithScalarKernel() {
+        shouldFindPointsWithinRange(ScalarCoverageKernel.INSTANCE);
+    }
+
+    @Test
+    public void shouldFindPointsWithinRangeWithVectorKernel() {
+        assumeTrue(CoverageKernels.vector() != null, "vector kernel unavailable");
+        shouldFindPointsWithinRange(CoverageKernels.vector());
+    }
+
+    @Test
+    public void shouldCoverPointsWithDefaultKernel() {
+        // given
+        var points = PointBuffer.wrap(new double[]{0, 1, 2}, new double[]{0, 0, 0});
+
+        // when
+        var objectUnderTest = new PointGrid(points, 1.0);
+
+        // then
+        assertThat(objectUnderTest.cover(1, 0, new int[3])).isEqualTo(3);
+        assertThat(CoverageKernels.get()).isIn(ScalarCoverageKernel.INSTANCE, CoverageKernels.vector());
+    }
+
+    private static void shouldFindPointsWithinRange(CoverageKernel objectUnderTest) {
+        // given
+        var random = new Random(31L);
+        var size = 1000;
+        var xs = random.doubles(size, 0, 10).toArray();
+        var ys = random.doubles(size, 0, 10).toArray();
+        var ids = IntStream.range(0, size).map(i -> size - 1 - i).toArray();
+        // punkty dokładnie na granicy zasięgu
+        xs[5] = 3.0;
+        ys[5] = 5.0;
+        xs[6] = 5.0;
+        ys[6] = 7.0;
+        var range = 2.0;
+
+        for (var from = 0; from < 20; from += 3) {
+            for (var to : new int[]{from, from + 1, from + 7, size - 5, size}) {
+                // when
+                var counts = new int[size];
+                var result = new int[size];
+                var small = new int[2];
+                var covered = objectUnderTest.cover(5, 5, xs, ys, ids, from, to, range * range, counts);
+                var found = objectUnderTest.within(5, 5, xs, ys, ids, from, to, range * range, result, 1);
+                var foundSmall = objectUnderTest.within(5, 5, xs, ys, ids, from, to, range * range, small, 0);
+                var counted = objectUnderTest.count(5, 5, xs, ys, from, to, range * range);
+
+                // then
+                var expected = IntStream.range(from, to)
+                        .filter(p -> Math.pow(xs[p] - 5, 2) + Math.pow(ys[p] - 5, 2) <= range * range)
+                        .map(p -> ids[p])
+                        .toArray();
+                assertThat(covered).isEqualTo(expected.length);
+                assertThat(counted).isEqualTo(expected.length);
+                assertThat(found).isEqualTo(expected.length + 1);
+                assertThat(foundSmall).isEqualTo(expected.length);
+                assertThat(Arrays.copyOfRange(result, 1, found)).containsExactly(expected);
+                assertThat(IntStream.of(counts).sum()).isEqualTo(expected.length);
+                assertThat(IntStream.of(expected).allMatch(id -> counts[id] == 1)).isTrue();
+                if (from <= 5 && to > 6) assertThat(expected).contains(ids[5], ids[6]);
+            }
+        }
+    }
+}
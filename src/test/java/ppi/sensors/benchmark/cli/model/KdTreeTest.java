@@ -0,0 +1,108 @@
+package ppi.sensors.benchmark.cli.model;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl;
+import ppi.sensors.benchmark.cli.impl.SquareMeshGeneratorImpl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class KdTreeTest {
+
+    @Test
+    public void shouldMatchBruteForceQueries() {
+        // given
+        var points = new RandomSequenceGeneratorImpl().createSequencePoints(2000, 100, 11L);
+        var queries = new RandomSequenceGeneratorImpl().createSequencePoints(300, 100, 12L);
+        var objectUnderTest = new KdTree(points);
+        var searcher = objectUnderTest.searcher();
+        var k = 7;
+        var found = new int[k];
+        var distances = new double[k];
+        var inRadius = new int[points.size()];
+
+        for (var q = 0; q < queries.size(); q++) {
+            var x = queries.x(q);
+            var y = queries.y(q);
+            var expected = sortedByDistance(points, x, y);
+
+            // when
+            var nearest = searcher.nearest(x, y);
+            var count = searcher.nearest(x, y, k, found, distances);
+            var radiusCount = searcher.withinRadius(x, y, 5.0, inRadius);
+
+            // then
+            assertThat(nearest).isEqualTo(expected[0]);
+            assertThat(searcher.getDistance()).isEqualTo(distance(points, expected[0], x, y));
+            assertThat(count).isEqualTo(k);
+            assertThat(found).containsExactly(Arrays.copyOf(expected, k));
+            for (var i = 0; i < k; i++) assertThat(distances[i]).isEqualTo(distance(points, found[i], x, y));
+            var expectedInRadius = Arrays.stream(expected).filter(i -> distance(points, i, x, y) <= 5.0).toArray();
+            assertThat(Arrays.copyOf(inRadius, radiusCount)).containsExactlyInAnyOrder(expectedInRadius);
+        }
+    }
+
+    @Test
+    public void shouldHandleDuplicatedCoordinatesOfMesh() {
+        // given
+        var mesh = new SquareMeshGeneratorImpl().createMeshPoints(1.0, 30);
+        var objectUnderTest = new KdTree(mesh);
+
+        // when
+        var nearest = objectUnderTest.nearestAll(mesh, 1);
+
+        // then
+        assertThat(nearest).containsExactly(IntStream.range(0, mesh.size()).toArray());
+    }
+
+    @Test
+    public void shouldGiveSameBatchResultsRegardlessOfThreadCount() {
+        // given
+        var sensors = new RandomSequenceGeneratorImpl().createSequencePoints(1000, 100, 1L);
+        var pois = new SquareMeshGeneratorImpl().createMeshPoints(0.5, 100);
+        var objectUnderTest = new KdTree(sensors);
+
+        // when
+        var sequential = objectUnderTest.nearestAll(pois, 1);
+        var parallel = objectUnderTest.nearestAll(pois, 4);
+        var kth = objectUnderTest.kthNearestDistances(sensors, 2, 4);
+
+        // then
+        assertThat(parallel).containsExactly(sequential);
+        for (var i = 0; i < sensors.size(); i++) {
+            var expected = sortedByDistance(sensors, sensors.x(i), sensors.y(i));
+            assertThat(kth[i]).isCloseTo(distance(sensors, expected[1], sensors.x(i), sensors.y(i)), offset(1e-12));
+        }
+    }
+
+    @Test
+    public void shouldHandleEmptyTree() {
+        // given
+        var objectUnderTest = new KdTree(PointBuffer.wrap(new double[0], new double[0]));
+
+        // when
+        var searcher = objectUnderTest.searcher();
+
+        // then
+        assertThat(searcher.nearest(1.0, 1.0)).isEqualTo(-1);
+        assertThat(searcher.nearest(1.0, 1.0, 3, new int[3], new double[3])).isZero();
+        assertThat(searcher.withinRadius(1.0, 1.0, 10.0, new int[0])).isZero();
+    }
+
+    private static int[] sortedByDistance(PointSet points, double x, double y) {
+        return IntStream.range(0, points.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> distance(points, i, x, y)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static double distance(PointSet points, int i, double x, double y) {
+        var dx = x - points.x(i);
+        var dy = y - points.y(i);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,47 @@
+package ppi.sensors.benchmark.cli.model;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.impl.HoneycombMeshGeneratorImpl;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatticeMeshTest {
+
+    @Test
+    public void shouldIncludeBorderNodesWithoutDrift() {
+        // given
+        var distance = 0.1;
+        var sideLength = 3;
+
+        // when
+        var objectUnderTest = new LatticeMesh(distance, distance, 0.0, sideLength);
+
+        // then
+        assertThat(objectUnderTest.size()).isEqualTo(31 * 31);
+        assertThat(objectUnderTest.pointAt(objectUnderTest.size() - 1)).isEqualTo(new Point(3.0, 3.0));
+        assertThat(objectUnderTest.pointAt(31 * 7 + 3)).isEqualTo(new Point(3 * distance, 7 * distance));
+    }
+
+    @Test
+    public void shouldAddressSamePointsAsRowByRowHoneycomb() {
+        // given
+        var distance = 3.0;
+        var sideLength = 100;
+        var h = distance * Math.sqrt(3) / 2;
+        var expected = new ArrayList<Point>();
+        for (var row = 0; row * h <= sideLength; row++) {
+            var odd = row % 2 == 1;
+            for (var column = 0; (odd ? distance / 2 : 0) + column * distance <= sideLength; column++)
+                if ((column + (odd ? 1 : 2)) % 3 != 0)
+                    expected.add(new Point((odd ? distance / 2 : 0) + column * distance, row * h));
+        }
+
+        // when
+        var mesh = new HoneycombMeshGeneratorImpl().createMeshPoints(distance, sideLength);
+
+        // then
+        assertThat(mesh.asList()).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,41 @@
+package ppi.sensors.benchmark.cli.model;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointBufferTest {
+
+    @Test
+    public void shouldGrowAndKeepPointsInOrder() {
+        // given
+        var count = 1000;
+        var objectUnderTest = new PointBuffer(1);
+
+        // when
+        for (var i = 0; i < count; i++) objectUnderTest.add(i, -i);
+
+        // then
+        assertThat(objectUnderTest.size()).isEqualTo(count);
+        assertThat(objectUnderTest.pointAt(count - 1)).isEqualTo(new Point(count - 1, 1 - count));
+        assertThat(objectUnderTest.asList()).hasSize(count).startsWith(new Point(0, 0), new Point(1, -1));
+    }
+
+    @Test
+    public void shouldSerializeSameAsListOfPoints() throws IOException {
+        // given
+        var jsonMapper = JsonMapper.builder().build();
+        var points = List.of(new Point(0.5, 1.25), new Point(3, 4), new Point(1e-9, 12345.678));
+        var objectUnderTest = PointBuffer.of(points);
+
+        // when
+        var actual = jsonMapper.writeValueAsString(objectUnderTest);
+
+        // then
+        assertThat(actual).isEqualTo(jsonMapper.writeValueAsString(points));
+    }
+}
@@ -0,0 +1,26 @@
+package ppi.sensors.benchmark.cli.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentUnionFindTest {
+
+    @Test
+    public void shouldUseSmallestElementAsRootWhenMergingConcurrently() {
+        // given
+        var size = 100_000;
+        var objectUnderTest = new ConcurrentUnionFind(size);
+
+        // when
+        IntStream.range(0, size - 2).parallel().forEach(i -> objectUnderTest.union(i, i + 2));
+
+        // then
+        for (var i = 0; i < size; i++) assertThat(objectUnderTest.find(i)).isEqualTo(i % 2);
+        assertThat(objectUnderTest.union(0, 2)).isFalse();
+        assertThat(objectUnderTest.union(0, 1)).isTrue();
+        assertThat(objectUnderTest.find(size - 1)).isZero();
+    }
+}
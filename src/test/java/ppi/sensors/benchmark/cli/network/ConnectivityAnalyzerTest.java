@@ -0,0 +1,102 @@
+package ppi.sensors.benchmark.cli.network;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.impl.GaussianSequenceGeneratorImpl;
+import ppi.sensors.benchmark.cli.impl.RandomSequenceGeneratorImpl;
+import ppi.sensors.benchmark.cli.model.PointBuffer;
+import ppi.sensors.benchmark.cli.model.PointSet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectivityAnalyzerTest {
+
+    @Test
+    public void shouldMatchBreadthFirstSearchOverBruteForceGraph() {
+        // given
+        var sensors = new RandomSequenceGeneratorImpl().createSequencePoints(1500, 100, 21L);
+        var radius = 3.0;
+        var objectUnderTest = new ConnectivityAnalyzer(1);
+
+        // when
+        var report = objectUnderTest.analyze(sensors, radius);
+
+        // then
+        var expectedSizes = bruteForceComponentSizes(sensors, radius);
+        assertThat(report.componentSizes).containsExactly(expectedSizes);
+        assertThat(report.componentCount).isEqualTo(expectedSizes.length);
+        assertThat(report.connected).isEqualTo(expectedSizes.length == 1);
+        assertThat(report.largestComponentSize).isEqualTo(expectedSizes[0]);
+        assertThat(report.edgeCount).isEqualTo(bruteForceEdgeCount(sensors, radius));
+    }
+
+    @Test
+    public void shouldGiveSameReportRegardlessOfThreadCount() {
+        // given
+        var sensors = new GaussianSequenceGeneratorImpl().createSequencePoints(40_000, 100, 5L);
+
+        // when
+        var sequential = new ConnectivityAnalyzer(1).analyze(sensors, 0.4);
+        var parallel = new ConnectivityAnalyzer(4).analyze(sensors, 0.4);
+
+        // then
+        assertThat(parallel).usingRecursiveComparison().isEqualTo(sequential);
+    }
+
+    @Test
+    public void shouldReportChainAsConnected() {
+        // given
+        var sensors = PointBuffer.wrap(new double[]{0, 1, 2, 3, 10}, new double[]{0, 0, 0, 0, 0});
+
+        // when
+        var report = new ConnectivityAnalyzer(1).analyze(sensors, 1.0);
+
+        // then
+        assertThat(report.connected).isFalse();
+        assertThat(report.componentSizes).containsExactly(4, 1);
+        assertThat(report.isolatedCount).isEqualTo(1);
+        assertThat(report.minDegree).isZero();
+        assertThat(report.maxDegree).isEqualTo(2);
+        assertThat(report.edgeCount).isEqualTo(3);
+        assertThat(report.largestComponentFraction).isEqualTo(0.8);
+    }
+
+    private static boolean linked(PointSet points, int a, int b, double radius) {
+        return Math.hypot(points.x(a) - points.x(b), points.y(a) - points.y(b)) <= radius;
+    }
+
+    private static long bruteForceEdgeCount(PointSet points, double radius) {
+        var count = 0L;
+        for (var a = 0; a < points.size(); a++)
+            for (var b = a + 1; b < points.size(); b++) if (linked(points, a, b, radius)) count++;
+        return count;
+    }
+
+    private static int[] bruteForceComponentSizes(PointSet points, double radius) {
+        var visited = new boolean[points.size()];
+        var sizes = new ArrayList<Integer>();
+        for (var start = 0; start < points.size(); start++) {
+            if (visited[start]) continue;
+            var queue = new ArrayDeque<Integer>();
+            queue.add(start);
+            visited[start] = true;
+            var size = 0;
+            while (!queue.isEmpty()) {
+                var v = queue.poll();
+                size++;
+                for (var u = 0; u < points.size(); u++) {
+                    if (!visited[u] && linked(points, v, u, radius)) {
+                        visited[u] = true;
+                        queue.add(u);
+                    }
+                }
+            }
+            sizes.add(size);
+        }
+        sizes.sort(Comparator.reverseOrder());
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,81 @@
+package ppi.sensors.benchmark.cli.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RngTest {
+
+    @Test
+    public void shouldCreateSameStreamForSameSeed() {
+        for (var type : RngType.values()) {
+            // given
+            var rng1 = type.create(6871162586L);
+            var rng2 = type.create(6871162586L);
+
+            // when
+            var values1 = LongStream.range(0, 1000).map(i -> rng1.nextLong()).toArray();
+            var values2 = LongStream.range(0, 1000).map(i -> rng2.nextLong()).toArray();
+
+            // then
+            assertThat(values1).as(type.name()).isEqualTo(values2);
+        }
+    }
+
+    @Test
+    public void shouldSplitIntoReproducibleIndependentStreams() {
+        for (var type : RngType.values()) {
+            if (!type.isSplittable()) continue;
+
+            // given
+            var rng1 = type.create(9156871100L);
+            var rng2 = type.create(9156871100L);
+
+            // when
+            var child1 = rng1.split();
+            var child2 = rng2.split();
+            var childValues1 = LongStream.range(0, 1000).map(i -> child1.nextLong()).toArray();
+            var childValues2 = LongStream.range(0, 1000).map(i -> child2.nextLong()).toArray();
+            var parentValues = LongStream.range(0, 1000).map(i -> rng1.nextLong()).toArray();
+
+            // then
+            assertThat(childValues1).as(type.name()).isEqualTo(childValues2);
+            assertThat(childValues1).as(type.name()).isNotEqualTo(parentValues);
+        }
+    }
+
+    @Test
+    public void shouldJumpXoshiroToDifferentStream() {
+        // given
+        var rng1 = new Xoshiro256(2002262586L);
+        var rng2 = new Xoshiro256(2002262586L);
+
+        // when
+        rng2.jump();
+        var values1 = LongStream.range(0, 1000).map(i -> rng1.nextLong()).toArray();
+        var values2 = LongStream.range(0, 1000).map(i -> rng2.nextLong()).toArray();
+
+        // then
+        assertThat(values1).isNotEqualTo(values2);
+    }
+
+    @Test
+    public void shouldCreateNumbersWithinBounds() {
+        for (var type : RngType.values()) {
+            // given
+            var rng = type.create(2002262586L);
+
+            // when
+            var doubles = LongStream.range(0, 10000).mapToDouble(i -> rng.nextDouble()).toArray();
+            var ints = LongStream.range(0, 10000).mapToInt(i -> rng.nextInt(7)).toArray();
+
+            // then
+            assertThat(Arrays.stream(doubles).allMatch(d -> d >= 0 && d < 1)).as(type.name()).isTrue();
+            assertThat(Arrays.stream(ints).allMatch(i -> i >= 0 && i < 7)).as(type.name()).isTrue();
+            assertThat(ints).as(type.name()).contains(0, 1, 2, 3, 4, 5, 6);
+        }
+    }
+}
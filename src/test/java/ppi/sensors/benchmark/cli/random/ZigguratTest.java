@@ -0,0 +1,47 @@
+package ppi.sensors.benchmark.cli.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ZigguratTest {
+
+    @Test
+    public void shouldCreateStandardNormalDistribution() {
+        // given
+        var count = 1000000;
+        var rng = new Xoshiro256(6871162586L);
+
+        // when
+        var values = IntStream.range(0, count).mapToDouble(i -> Ziggurat.nextGaussian(rng)).toArray();
+
+        // then
+        var mean = IntStream.range(0, count).mapToDouble(i -> values[i]).average().orElseThrow();
+        var variance = IntStream.range(0, count).mapToDouble(i -> values[i] * values[i]).sum() / count - mean * mean;
+        var withinOneSigma = IntStream.range(0, count).filter(i -> Math.abs(values[i]) < 1).count() / (double) count;
+        var withinTwoSigma = IntStream.range(0, count).filter(i -> Math.abs(values[i]) < 2).count() / (double) count;
+        var tail = IntStream.range(0, count).filter(i -> values[i] > 3.5).count() / (double) count;
+        assertThat(mean).isCloseTo(0.0, within(0.005));
+        assertThat(variance).isCloseTo(1.0, within(0.005));
+        assertThat(withinOneSigma).isCloseTo(0.682689, within(0.002));
+        assertThat(withinTwoSigma).isCloseTo(0.954500, within(0.001));
+        assertThat(tail).isCloseTo(2.326e-4, within(0.6e-4));
+    }
+
+    @Test
+    public void shouldCreateSameValuesForSameSeed() {
+        // given
+        var rng1 = new SplitMix64(9156871100L);
+        var rng2 = new SplitMix64(9156871100L);
+
+        // when
+        var values1 = IntStream.range(0, 1000).mapToDouble(i -> rng1.nextGaussian()).toArray();
+        var values2 = IntStream.range(0, 1000).mapToDouble(i -> Ziggurat.nextGaussian(rng2)).toArray();
+
+        // then
+        assertThat(values1).isEqualTo(values2);
+    }
+}
@@ -0,0 +1,53 @@
+package ppi.sensors.benchmark.cli.sampling;
+
+import org.junit.jupiter.api.Test;
+import ppi.sensors.benchmark.cli.random.SplitMix64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.ThrowableAssert.catchThrowable;
+
+public class AliasTableTest {
+
+    @Test
+    public void shouldSelectIndicesProportionallyToWeights() {
+        // given
+        var weights = new double[]{5, 0, 1, 3, 1};
+        var draws = 1_000_000;
+        var objectUnderTest = new AliasTable(weights);
+        var rng = new SplitMix64(31L);
+
+        // when
+        var counts = new int[weights.length];
+        for (var i = 0; i < draws; i++) counts[objectUnderTest.next(rng)]++;
+
+        // then
+        assertThat(objectUnderTest.size()).isEqualTo(weights.length);
+        assertThat(counts[1]).isZero();
+        for (var i = 0; i < weights.length; i++)
+            assertThat((double) counts[i] / draws).isCloseTo(weights[i] / 10, within(0.003));
+    }
+
+    @Test
+    public void shouldAlwaysSelectSingleIndex() {
+        // given
+        var objectUnderTest = new AliasTable(new double[]{0, 0, 2.5, 0});
+        var rng = new SplitMix64(7L);
+
+        // when / then
+        for (var i = 0; i < 10_000; i++) assertThat(objectUnderTest.next(rng)).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRejectInvalidWeights() {
+        // when
+        var empty = catchThrowable(() -> new AliasTable(new double[0]));
+        var negative = catchThrowable(() -> new AliasTable(new double[]{1, -1}));
+        var zero = catchThrowable(() -> new AliasTable(new double[]{0, 0}));
+
+        // then
+        assertThat(empty).isInstanceOf(IllegalArgumentException.class);
+        assertThat(negative).isInstanceOf(IllegalArgumentException.class);
+        assertThat(zero).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package ppi.sensors.benchmark.cli.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class BernoulliIndexSourceTest {
+
+    @Test
+    public void shouldSelectIncreasingIndicesWithExpectedFrequency() {
+        // given
+        var size = 1_000_000;
+        var probability = 0.05;
+        var objectUnderTest = new BernoulliIndexSource(size, probability, 42L);
+
+        // when
+        var indices = toArray(objectUnderTest);
+
+        // then
+        assertThat(indices).isSorted().doesNotHaveDuplicates();
+        assertThat(indices[0]).isGreaterThanOrEqualTo(0);
+        assertThat(indices[indices.length - 1]).isLessThan(size);
+        // odchylenie standardowe ~218, więc 5 sigma to ~1090
+        assertThat((double) indices.length).isCloseTo(size * probability, offset(1100.0));
+    }
+
+    @Test
+    public void shouldReplaySameIndices() {
+        // given
+        var objectUnderTest = new BernoulliIndexSource(10_000, 0.3, 7L);
+
+        // when
+        var first = toArray(objectUnderTest);
+        var second = toArray(objectUnderTest);
+
+        // then
+        assertThat(second).containsExactly(first);
+        assertThat(objectUnderTest.count()).isEqualTo(first.length);
+    }
+
+    @Test
+    public void shouldHandleBoundaryProbabilities() {
+        // given
+        var all = new BernoulliIndexSource(100, 1.0, 1L);
+        var none = new BernoulliIndexSource(100, 0.0, 1L);
+
+        // when
+        var allIndices = toArray(all);
+        var noIndices = toArray(none);
+
+        // then
+        assertThat(allIndices).hasSize(100).startsWith(0).endsWith(99);
+        assertThat(noIndices).isEmpty();
+    }
+
+    private static int[] toArray(BernoulliIndexSource source) {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(source.iterator(), 0), false)
+                .toArray();
+    }
+}
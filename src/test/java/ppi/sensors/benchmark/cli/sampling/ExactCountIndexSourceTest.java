@@ -0,0 +1,59 @@
+package ppi.sensors.benchmark.cli.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.ThrowableAssert.catchThrowable;
+
+public class ExactCountIndexSourceTest {
+
+    @Test
+    public void shouldSelectExactNumberOfIndices() {
+        // given
+        var size = 10_000;
+
+        for (var count : new int[]{0, 1, 100, 4_999, 5_000, 5_001, 9_999, 10_000}) {
+            // when
+            var objectUnderTest = new ExactCountIndexSource(size, count, 31L + count);
+            var indices = toArray(objectUnderTest);
+
+            // then
+            assertThat(indices).hasSize(count).isSorted().doesNotHaveDuplicates();
+            assertThat(objectUnderTest.count()).isEqualTo(count);
+            if (count > 0) assertThat(indices[count - 1]).isLessThan(size);
+            assertThat(toArray(objectUnderTest)).containsExactly(indices);
+        }
+    }
+
+    @Test
+    public void shouldSelectSameIndicesForSameSeed() {
+        // given
+        var first = new ExactCountIndexSource(1000, 300, 5L);
+        var second = new ExactCountIndexSource(1000, 300, 5L);
+        var other = new ExactCountIndexSource(1000, 300, 6L);
+
+        // when
+        var firstIndices = toArray(first);
+
+        // then
+        assertThat(toArray(second)).containsExactly(firstIndices);
+        assertThat(toArray(other)).isNotEqualTo(firstIndices);
+    }
+
+    @Test
+    public void shouldRejectCountGreaterThanSize() {
+        // when
+        var thrown = catchThrowable(() -> new ExactCountIndexSource(10, 11, 1L));
+
+        // then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int[] toArray(ExactCountIndexSource source) {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(source.iterator(), 0), false)
+                .toArray();
+    }
+}
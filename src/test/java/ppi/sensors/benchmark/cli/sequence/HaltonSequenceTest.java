@@ -0,0 +1,60 @@
+package ppi.sensors.benchmark.cli.sequence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HaltonSequenceTest {
+
+    @Test
+    public void shouldJumpToSameTermAsIncrementalGeneration() {
+        // given
+        var incremental = new HaltonSequence(5, 7);
+        var objectUnderTest = new HaltonSequence(5, 7);
+
+        for (var index = 1; index < 5000; index++) {
+            incremental.next();
+
+            // when
+            objectUnderTest.jump(index);
+
+            // then
+            assertThat(objectUnderTest.index()).isEqualTo(incremental.index());
+            assertThat(objectUnderTest.x()).isEqualTo(incremental.x());
+            assertThat(objectUnderTest.y()).isEqualTo(incremental.y());
+        }
+    }
+
+    @Test
+    public void shouldComputeRadicalInverseAtLargeIndex() {
+        // given
+        var objectUnderTest = new HaltonSequence();
+
+        // when
+        objectUnderTest.jump((1L << 40) + 1);
+
+        // then
+        assertThat(objectUnderTest.x()).isEqualTo(0.5 + 0x1p-41);
+        assertThat(objectUnderTest.y()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    public void shouldSplitIntoPartsGeneratingSamePoints() {
+        // given
+        var objectUnderTest = new HaltonSequence.PointSpliterator(2, 3, 10, 100010, 1.0);
+
+        // when
+        var prefix = objectUnderTest.trySplit();
+
+        // then
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize() + objectUnderTest.estimateSize()).isEqualTo(100000);
+        var parallel = StreamSupport.stream(new HaltonSequence.PointSpliterator(2, 3, 10, 100010, 1.0), true)
+                .toArray();
+        var sequential = StreamSupport.stream(new HaltonSequence.PointSpliterator(2, 3, 10, 100010, 1.0), false)
+                .toArray();
+        assertThat(parallel).isEqualTo(sequential);
+    }
+}
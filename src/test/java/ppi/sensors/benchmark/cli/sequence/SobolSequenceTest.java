@@ -0,0 +1,40 @@
+package ppi.sensors.benchmark.cli.sequence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SobolSequenceTest {
+
+    @Test
+    public void shouldJumpToSameTermAsIncrementalGeneration() {
+        // given
+        var incremental = new SobolSequence(0x12345678, 0x9abcdef0);
+        var objectUnderTest = new SobolSequence(0x12345678, 0x9abcdef0);
+
+        for (var index = 1; index < 5000; index++) {
+            incremental.next();
+
+            // when
+            objectUnderTest.jump(index);
+
+            // then
+            assertThat(objectUnderTest.index()).isEqualTo(incremental.index());
+            assertThat(objectUnderTest.x()).isEqualTo(incremental.x());
+            assertThat(objectUnderTest.y()).isEqualTo(incremental.y());
+        }
+    }
+
+    @Test
+    public void shouldCoverUnitSquareAtLargeIndices() {
+        // given
+        var objectUnderTest = new SobolSequence();
+
+        // when
+        objectUnderTest.jump(SobolSequence.MAX_INDEX - 1);
+
+        // then
+        assertThat(objectUnderTest.x()).isBetween(0.0, 1.0);
+        assertThat(objectUnderTest.y()).isBetween(0.0, 1.0);
+    }
+}
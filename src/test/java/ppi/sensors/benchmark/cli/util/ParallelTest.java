@@ -0,0 +1,64 @@
+package ppi.sensors.benchmark.cli.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelTest {
+
+    @Test
+    public void shouldUseSameChunksWithAndWithoutPool() throws Exception {
+        // given
+        var sequential = new ConcurrentHashMap<Integer, List<Integer>>();
+        var pooled = new ConcurrentHashMap<Integer, List<Integer>>();
+        var pool = new ForkJoinPool(3);
+
+        // when
+        Parallel.forEachChunk(1001, 7, null, (c, from, to) -> sequential.put(c, List.of(from, to)));
+        try {
+            pool.submit(() -> Parallel.forEachChunk(1001, 7, Parallel.currentPool(),
+                    (c, from, to) -> pooled.put(c, List.of(from, to)))).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        assertThat(sequential).hasSize(7).isEqualTo(pooled);
+        assertThat(sequential.get(0).get(0)).isEqualTo(0);
+        assertThat(sequential.get(6).get(1)).isEqualTo(1001);
+    }
+
+    @Test
+    public void shouldRunNestedChunksOnlyOnThreadsOfCurrentPool() throws Exception {
+        // given
+        var pool = new ForkJoinPool(2);
+        var pools = ConcurrentHashMap.<ForkJoinPool>newKeySet();
+        var tasks = new ArrayList<Callable<Void>>();
+        for (var i = 0; i < 6; i++) {
+            tasks.add(() -> {
+                var current = Parallel.currentPool();
+                Parallel.forEachChunk(64, Parallel.chunkCount(64, Parallel.parallelism(current), 1), current,
+                        (c, from, to) -> pools.add(Parallel.currentPool()));
+                return null;
+            });
+        }
+
+        // when
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) future.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        assertThat(Parallel.currentPool()).isNull();
+        assertThat(pools).containsExactly(pool);
+    }
+}
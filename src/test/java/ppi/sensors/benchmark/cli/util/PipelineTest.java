@@ -0,0 +1,115 @@
+package ppi.sensors.benchmark.cli.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PipelineTest {
+
+    @Test
+    public void shouldProcessEveryItemExactlyOnce() throws IOException {
+        // given
+        var objectUnderTest = new Pipeline(3, 2, 4, 2);
+        var written = ConcurrentHashMap.<Integer>newKeySet();
+        var duplicates = new AtomicInteger();
+
+        // when
+        var report = objectUnderTest.run(1000, i -> i, i -> "item-" + i, item -> {
+            if (!written.add(Integer.parseInt(item.substring(5)))) duplicates.incrementAndGet();
+        });
+
+        // then
+        assertThat(written).hasSize(1000).allMatch(i -> i >= 0 && i < 1000);
+        assertThat(duplicates).hasValue(0);
+        assertThat(report.stages).extracting(stage -> stage.name).containsExactly("generate", "serialize", "write");
+        assertThat(report.stages).allMatch(stage -> stage.items == 1000);
+    }
+
+    @Test
+    public void shouldLimitNumberOfItemsInFlight() throws IOException {
+        // given
+        var objectUnderTest = new Pipeline(2, 1, 1, 1);
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+
+        // when
+        objectUnderTest.run(50, i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return i;
+        }, i -> i, i -> {
+            sleep(2);
+            inFlight.decrementAndGet();
+        });
+
+        // then
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(objectUnderTest.capacity());
+    }
+
+    @Test
+    public void shouldReportSlowestStageAsBottleneck() throws IOException {
+        // given
+        var objectUnderTest = new Pipeline(1, 1, 1, 1);
+
+        // when
+        var report = objectUnderTest.run(20, i -> i, i -> i, i -> sleep(10));
+
+        // then
+        assertThat(report.bottleneck().name).isEqualTo("write");
+        assertThat(report.stages.get(1).outputWaitNanos).isPositive();
+    }
+
+    @Test
+    public void shouldPropagateFailureOfAnyStage() {
+        // given
+        var objectUnderTest = new Pipeline(2, 2, 2, 1);
+        var failure = new IOException("disk full");
+
+        // when
+        var thrown = catchThrowable(() -> objectUnderTest.run(10000, i -> i, i -> i, i -> {
+            if (i == 7) throw failure;
+        }));
+
+        // then
+        assertThat(thrown).isSameAs(failure);
+    }
+
+    @Test
+    public void shouldPropagateFailureOfFirstGeneratedItem() {
+        for (var run = 0; run < 200; run++) {
+            // given
+            var objectUnderTest = new Pipeline(1, 8, 8, 4);
+            var failure = new IOException("boom");
+
+            // when
+            var thrown = catchThrowable(() -> objectUnderTest.run(10, i -> {
+                throw failure;
+            }, i -> i, i -> {
+            }));
+
+            // then
+            assertThat(thrown).isSameAs(failure);
+        }
+    }
+
+    @Test
+    public void shouldRejectNonPositiveSizes() {
+        // when
+        var thrown = catchThrowable(() -> new Pipeline(1, 1, 0, 1));
+
+        // then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}